@@ -1,5 +1,9 @@
 package com.example.events_calendar.controller;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+
 /**
  * Defines a contract for processing a textual request and returning
  * a textual response, potentially throwing an EventCalendarException.
@@ -13,4 +17,74 @@ public interface Command {
      * @throws EventCalendarException if the request is invalid or processing fails
      */
     String execute(String request) throws EventCalendarException;
+
+    /**
+     * Executes this command on a request whose arguments start at the given offset.
+     * <p>
+     * The controller has already located the command name, so implementations can find
+     * their arguments without searching the request again. Arguments needed as a string,
+     * such as a title, are copied once with {@link #arguments(String, int)}.
+     * The default implementation ignores the offset and calls {@link #execute(String)}.
+     *
+     * @param request    the raw command input
+     * @param argsOffset the index of the first character after the command name and its
+     *                   delimiter, or {@code request.length()} if there are no arguments
+     * @return the textual result of command execution
+     * @throws EventCalendarException if the request is invalid or processing fails
+     */
+    default String execute(String request, int argsOffset) throws EventCalendarException {
+        return execute(request);
+    }
+
+    /**
+     * Executes this command and writes its result to the given stream instead of returning it.
+     * <p>
+     * Commands with large results override this method to serialize them straight to the
+     * stream without building an intermediate {@code String}. Nothing is written when the
+     * requested item does not exist. The default implementation writes the result of
+     * {@link #execute(String, int)} in UTF-8. The stream is left open.
+     *
+     * @param request    the raw command input
+     * @param argsOffset the offset of the arguments, as for {@link #execute(String, int)}
+     * @param out        the stream receiving the result
+     * @return {@code true} if a result was written, {@code false} if the requested item does not exist
+     * @throws EventCalendarException if the request is invalid or processing fails
+     * @throws IOException            if writing to the stream fails
+     */
+    default boolean execute(String request, int argsOffset, OutputStream out)
+            throws EventCalendarException, IOException {
+        out.write(execute(request, argsOffset).getBytes(StandardCharsets.UTF_8));
+        return true;
+    }
+
+    /**
+     * Returns the offset of the arguments in a request of the form "COMMAND_NAME [arguments]".
+     *
+     * @param request the raw command input
+     * @return the index following the first space, or {@code request.length()} if there is none
+     */
+    static int argumentsOffset(String request) {
+        int idx = request.indexOf(' ');
+        return idx == -1 ? request.length() : idx + 1;
+    }
+
+    /**
+     * Returns the arguments of a request without leading and trailing whitespace,
+     * copying only the characters that remain.
+     *
+     * @param request    the raw command input
+     * @param argsOffset the offset of the arguments, as passed to {@link #execute(String, int)}
+     * @return the trimmed arguments; empty if there are none
+     */
+    static String arguments(String request, int argsOffset) {
+        int start = argsOffset;
+        int end = request.length();
+        while (start < end && request.charAt(start) <= ' ') {
+            start++;
+        }
+        while (end > start && request.charAt(end - 1) <= ' ') {
+            end--;
+        }
+        return request.substring(start, end);
+    }
 }
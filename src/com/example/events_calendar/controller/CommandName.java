@@ -27,6 +27,26 @@ public enum CommandName {
      * Command to list all events currently in the calendar.
      */
     LIST_EVENT,
+    /**
+     * Command to list the events taking place on a date or within a date range.
+     */
+    LIST_EVENT_BY_DATE,
+    /**
+     * Command to list the events run by a specific organizer.
+     */
+    LIST_EVENT_BY_ORGANIZER,
+    /**
+     * Command to add several events to the calendar at once from a JSON array.
+     */
+    IMPORT_EVENTS,
+    /**
+     * Command to execute several requests, given as a JSON array, with their changes persisted together.
+     */
+    BATCH,
+    /**
+     * Command to report the latency histograms and counters recorded by the application.
+     */
+    METRICS,
     /**
      * Fallback command for unknown or unsupported request names.
      */
@@ -25,6 +25,10 @@ public class EventCalendarController {
      * Processes the given request by extracting the command name, executing the corresponding
      * command, and returning its output. If any exception occurs during parsing or execution,
      * an error message is returned.
+     * <p>
+     * The command name is matched in place and the command receives the offset of its
+     * arguments, so dispatching itself copies no part of the request. Commands that need
+     * their arguments as a string, such as a title, still copy that part once.
      *
      * @param request the raw input string, expected in the form "COMMAND_NAME [arguments]"
      * @return the result of the command execution, or "ERROR" if execution fails
@@ -32,18 +36,20 @@ public class EventCalendarController {
     public String doAction(String request) {
         String response;
         try {
-            String commandName;
-            Command executionCommand;
+            int nameEnd;
+            int argsOffset;
 
             int delimIndex = request.indexOf(DELIM);
             if (delimIndex == -1) {
-                commandName = request;
+                nameEnd = request.length();
+                argsOffset = nameEnd;
             } else {
-                commandName = request.substring(0, delimIndex);
+                nameEnd = delimIndex;
+                argsOffset = delimIndex + 1;
             }
 
-            executionCommand = provider.getCommand(commandName);
-            response = executionCommand.execute(request);
+            Command executionCommand = provider.getCommand(request, 0, nameEnd);
+            response = executionCommand.execute(request, argsOffset);
         } catch (Exception e) {
             response = "ERROR";
         }
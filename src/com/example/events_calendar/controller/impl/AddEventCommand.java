@@ -37,25 +37,37 @@ public class AddEventCommand implements Command {
         this.service = ServiceProvider.getInstance().getEventService();
     }
 
+    /**
+     * Executes the command on a request whose arguments follow the first space.
+     *
+     * @param request the raw command string
+     * @return the result of {@link #execute(String, int)}
+     * @throws EventCalendarException if the request is invalid or processing fails
+     */
+    @Override
+    public String execute(String request) throws EventCalendarException {
+        return execute(request, Command.argumentsOffset(request));
+    }
+
     /**
      * Executes the command by parsing the request, deserializing the event JSON,
      * and adding the event to the calendar.
      *
      * @param request the raw command string, expected to contain a space
      *                followed by the JSON representation of an Event
+     * @param argsOffset the offset of the arguments in the request
      * @return a success message including the title of the added event
      * @throws EventCalendarException if the request is malformed,
      *                                the JSON is empty or invalid,
      *                                or an internal error occurs during addition
      */
     @Override
-    public String execute(String request) throws EventCalendarException {
+    public String execute(String request, int argsOffset) throws EventCalendarException {
         try {
-            int idx = request.indexOf(' ');
-            if (idx == -1) {
+            if (argsOffset >= request.length()) {
                 throw new EventCalendarException("Event data not transferred");
             }
-            String eventJson = request.substring(idx + 1).trim();
+            String eventJson = Command.arguments(request, argsOffset);
             if (eventJson.isEmpty()) {
                 throw new EventCalendarException("Empty event data");
             }
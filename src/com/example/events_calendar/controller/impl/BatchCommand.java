@@ -0,0 +1,133 @@
+package com.example.events_calendar.controller.impl;
+
+import com.example.events_calendar.controller.Command;
+import com.example.events_calendar.controller.EventCalendarException;
+import com.example.events_calendar.service.EventCalendarService;
+import com.example.events_calendar.service.ServiceException;
+import com.example.events_calendar.service.ServiceProvider;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Command implementation that executes several requests in one round trip.
+ * <p>
+ * The argument is a JSON array of requests, each written as it would be sent on its own,
+ * for example {@code BATCH ["ADD_EVENT {...}", "GET_EVENT Meeting"]}. The requests are
+ * dispatched in order to the same {@link Command} implementations as single requests, inside
+ * a service batch, so all the changes they make are persisted together once the last request
+ * has run. The result is a JSON array holding the response of each request in the same order;
+ * a request that fails gets {@code ERROR}, like a single request, without affecting the others.
+ * If the changes cannot be persisted, the whole command fails.
+ */
+public class BatchCommand implements Command {
+    /**
+     * Character that delimits the command name from its arguments in each request.
+     */
+    private static final char DELIM = ' ';
+
+    /**
+     * Response of a request in the batch that failed.
+     */
+    private static final String ERROR = "ERROR";
+
+    /**
+     * Provider resolving the commands of the requests in the batch.
+     */
+    private final CommandProvider provider;
+
+    /**
+     * Jackson mapper reading the requests and writing the responses.
+     */
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    /**
+     * Service whose batch groups the changes of the requests.
+     */
+    private final EventCalendarService service;
+
+    /**
+     * Constructs a BatchCommand dispatching to the commands of the given provider.
+     * Obtains the {@link EventCalendarService} from the {@link ServiceProvider}.
+     *
+     * @param provider the provider resolving the commands of the requests
+     */
+    public BatchCommand(CommandProvider provider) {
+        this.provider = provider;
+        this.service = ServiceProvider.getInstance().getEventService();
+    }
+
+    /**
+     * Executes the command on a request whose arguments follow the first space.
+     *
+     * @param request the raw command string
+     * @return the result of {@link #execute(String, int)}
+     * @throws EventCalendarException if the request is invalid or processing fails
+     */
+    @Override
+    public String execute(String request) throws EventCalendarException {
+        return execute(request, Command.argumentsOffset(request));
+    }
+
+    /**
+     * Executes the command by running each request of the JSON array in order within a
+     * single service batch and collecting their responses.
+     *
+     * @param request    the raw command string, expected to contain a JSON array of requests
+     * @param argsOffset the offset of the arguments in the request
+     * @return a JSON array string holding the response of each request, in order
+     * @throws EventCalendarException if the array is missing or malformed,
+     *                                or if the changes of the batch could not be persisted
+     */
+    @Override
+    public String execute(String request, int argsOffset) throws EventCalendarException {
+        try {
+            if (argsOffset >= request.length()) {
+                throw new EventCalendarException("Batch requests not passed");
+            }
+            String requestsJson = Command.arguments(request, argsOffset);
+            if (requestsJson.isEmpty()) {
+                throw new EventCalendarException("Empty batch");
+            }
+            List<String> requests = mapper.readValue(requestsJson, new TypeReference<List<String>>() {});
+            List<String> responses = new ArrayList<>(requests.size());
+            service.beginBatch();
+            try {
+                for (String item : requests) {
+                    responses.add(executeItem(item));
+                }
+            } finally {
+                service.endBatch();
+            }
+            return mapper.writeValueAsString(responses);
+        } catch (EventCalendarException e) {
+            throw e;
+        } catch (ServiceException e) {
+            throw new EventCalendarException("Error when persisting a batch: ", e);
+        } catch (Exception e) {
+            throw new EventCalendarException("Error when executing a batch: ", e);
+        }
+    }
+
+    /**
+     * Executes one request of the batch as the controller would.
+     *
+     * @param item the request
+     * @return the response of the request, or {@value #ERROR} if it failed
+     */
+    private String executeItem(String item) {
+        if (item == null) {
+            return ERROR;
+        }
+        try {
+            int delimIndex = item.indexOf(DELIM);
+            int nameEnd = delimIndex == -1 ? item.length() : delimIndex;
+            int argsOffset = delimIndex == -1 ? nameEnd : delimIndex + 1;
+            return provider.getCommand(item, 0, nameEnd).execute(item, argsOffset);
+        } catch (Exception e) {
+            return ERROR;
+        }
+    }
+}
@@ -2,21 +2,31 @@ package com.example.events_calendar.controller.impl;
 
 import com.example.events_calendar.controller.Command;
 import com.example.events_calendar.controller.CommandName;
+import com.example.events_calendar.jfr.CommandDispatchEvent;
+import com.example.events_calendar.metrics.MetricsRegistry;
+import com.example.events_calendar.service.ServiceProvider;
 
-import java.util.HashMap;
+import java.util.EnumMap;
 import java.util.Map;
 
 /**
  * Provides the mapping between command names and their corresponding {@link Command} implementations.
  * <p>
  * When given a string key, it returns the appropriate {@link Command}, defaulting to the
- * {@link CommandName#WRONG_REQUEST} handler if the key is invalid or missing.
+ * {@link CommandName#WRONG_REQUEST} handler if the key is invalid or missing. Names are
+ * compared in place, ignoring case, so a lookup allocates nothing and throws nothing.
+ * Lookups are reported to Flight Recorder as {@link CommandDispatchEvent}s.
  */
 public class CommandProvider {
+    /**
+     * All command names, cached because {@link CommandName#values()} returns a new array on each call.
+     */
+    private static final CommandName[] NAMES = CommandName.values();
+
     /**
      * Repository of available commands indexed by their {@link CommandName}.
      */
-    private final Map<CommandName, Command> repo = new HashMap<>();
+    private final Map<CommandName, Command> repo = new EnumMap<>(CommandName.class);
 
     /**
      * Initializes the command repository with all supported commands.
@@ -28,16 +38,31 @@ public class CommandProvider {
      *     <li>{@link CommandName#UPDATE_EVENT}</li>
      *     <li>{@link CommandName#DELETE_EVENT}</li>
      *     <li>{@link CommandName#LIST_EVENT}</li>
+     *     <li>{@link CommandName#LIST_EVENT_BY_DATE}</li>
+     *     <li>{@link CommandName#LIST_EVENT_BY_ORGANIZER}</li>
+     *     <li>{@link CommandName#IMPORT_EVENTS}</li>
+     *     <li>{@link CommandName#BATCH}</li>
+     *     <li>{@link CommandName#METRICS}</li>
      *     <li>{@link CommandName#WRONG_REQUEST}</li>
      * </ul>
+     * Each handler is wrapped in a {@link TimedCommand} recording its latency, failures and misses.
      */
     public CommandProvider() {
-        repo.put(CommandName.ADD_EVENT, new AddEventCommand());
-        repo.put(CommandName.GET_EVENT, new GetEventCommand());
-        repo.put(CommandName.UPDATE_EVENT, new UpdateEventCommand());
-        repo.put(CommandName.DELETE_EVENT, new DeleteEventCommand());
-        repo.put(CommandName.LIST_EVENT, new ListEventCommand());
-        repo.put(CommandName.WRONG_REQUEST, new NoSuchCommand());
+        SerializedEventCache cache = new SerializedEventCache(ServiceProvider.getInstance().getEventService());
+        register(CommandName.ADD_EVENT, new AddEventCommand());
+        register(CommandName.GET_EVENT, new GetEventCommand(cache));
+        register(CommandName.UPDATE_EVENT, new UpdateEventCommand());
+        register(CommandName.DELETE_EVENT, new DeleteEventCommand());
+        register(CommandName.LIST_EVENT, new ListEventCommand(cache));
+        register(CommandName.LIST_EVENT_BY_DATE, new ListEventByDateCommand());
+        register(CommandName.LIST_EVENT_BY_ORGANIZER, new ListEventByOrganizerCommand());
+        register(CommandName.IMPORT_EVENTS, new ImportEventsCommand());
+        register(CommandName.BATCH, new BatchCommand(this));
+        register(CommandName.METRICS, new MetricsCommand());
+        register(CommandName.WRONG_REQUEST, new NoSuchCommand());
+        MetricsRegistry metrics = MetricsRegistry.getInstance();
+        metrics.registerCounter("events_response_cache_hits_total", cache::getHits);
+        metrics.registerCounter("events_response_cache_misses_total", cache::getMisses);
     }
 
     /**
@@ -51,16 +76,68 @@ public class CommandProvider {
      * @return the matching {@link Command}, or the "wrong request" handler if not found
      */
     public Command getCommand(String name) {
-        CommandName commandName;
-        Command command;
+        if (name == null) {
+            return repo.get(CommandName.WRONG_REQUEST);
+        }
+        return getCommand(name, 0, name.length());
+    }
 
-        try {
-            commandName = CommandName.valueOf(name.toUpperCase());
-            command = repo.get(commandName);
-        } catch (IllegalArgumentException | NullPointerException e) {
-            command = repo.get(CommandName.WRONG_REQUEST);
+    /**
+     * Returns the {@link Command} whose name occupies the given region of a request.
+     * <p>
+     * The region is compared with the known names without copying it, ignoring case.
+     *
+     * @param request the text holding the command name
+     * @param start   the index of the first character of the name
+     * @param end     the index following the last character of the name
+     * @return the matching {@link Command}, or the "wrong request" handler if not found
+     */
+    public Command getCommand(CharSequence request, int start, int end) {
+        CommandDispatchEvent event = CommandDispatchEvent.beginIfEnabled();
+        CommandName commandName = match(request, start, end);
+        if (commandName == null) {
+            commandName = CommandName.WRONG_REQUEST;
         }
+        if (event != null) {
+            event.finish(commandName.name(), request, start, end);
+        }
+        return repo.get(commandName);
+    }
 
-        return command;
+    /**
+     * Adds the handler of a command, wrapped so that its requests are measured.
+     */
+    private void register(CommandName name, Command command) {
+        repo.put(name, new TimedCommand(name, command));
+    }
+
+    /**
+     * Finds the command name equal, ignoring case, to the given region.
+     *
+     * @return the matching name, or {@code null} if there is none
+     */
+    private static CommandName match(CharSequence request, int start, int end) {
+        int length = end - start;
+        for (CommandName commandName : NAMES) {
+            String name = commandName.name();
+            if (name.length() == length && equalsIgnoreCase(request, start, name)) {
+                return commandName;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Compares the characters of a request, starting at {@code start}, with an upper-case name.
+     */
+    private static boolean equalsIgnoreCase(CharSequence request, int start, String name) {
+        for (int i = 0; i < name.length(); i++) {
+            char c = request.charAt(start + i);
+            char expected = name.charAt(i);
+            if (c != expected && Character.toUpperCase(c) != expected) {
+                return false;
+            }
+        }
+        return true;
     }
 }
@@ -15,22 +15,34 @@ public class DeleteEventCommand implements Command {
      */
     private final EventCalendarService service = ServiceProvider.getInstance().getEventService();
 
+    /**
+     * Executes the command on a request whose arguments follow the first space.
+     *
+     * @param request the raw command string
+     * @return the result of {@link #execute(String, int)}
+     * @throws EventCalendarException if the request is invalid or processing fails
+     */
+    @Override
+    public String execute(String request) throws EventCalendarException {
+        return execute(request, Command.argumentsOffset(request));
+    }
+
     /**
      * Executes the delete command by extracting the event title from the request string
      * and delegating the deletion to the {@link EventCalendarService}.
      *
      * @param request the raw command string, expected to contain a space followed by the event title
+     * @param argsOffset the offset of the arguments in the request
      * @return a confirmation message upon successful deletion
      * @throws EventCalendarException if the title is missing, empty, or if an error occurs during deletion
      */
     @Override
-    public String execute(String request) throws EventCalendarException {
+    public String execute(String request, int argsOffset) throws EventCalendarException {
         try {
-            int idx = request.indexOf(' ');
-            if (idx == -1) {
+            if (argsOffset >= request.length()) {
                 throw new EventCalendarException("Event name not passed");
             }
-            String title = request.substring(idx + 1).trim();
+            String title = Command.arguments(request, argsOffset);
             if (title.isEmpty()) {
                 throw new EventCalendarException("Empty event name");
             }
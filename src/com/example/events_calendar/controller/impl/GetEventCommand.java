@@ -5,16 +5,29 @@ import com.example.events_calendar.controller.EventCalendarException;
 import com.example.events_calendar.model.Event;
 import com.example.events_calendar.service.EventCalendarService;
 import com.example.events_calendar.service.ServiceProvider;
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Optional;
+
 /**
  * Command implementation for fetching an {@link Event} by its title.
  * <p>
  * It parses the event title from the input request string, invokes the service layer
- * to retrieve the event, and returns the event serialized as JSON.
+ * to retrieve the event, and returns the event serialized as JSON, or {@value #NOT_FOUND}
+ * if no event has that title. A missing event is a normal outcome and throws no exception.
+ * The JSON of events is kept in a {@link SerializedEventCache}, so an unchanged event is
+ * serialized only once.
  */
 public class GetEventCommand implements Command {
+    /**
+     * Response returned when no event has the requested title.
+     */
+    public static final String NOT_FOUND = "NOT_FOUND";
     /**
      * Jackson object mapper configured to support Java 8 date/time types.
      */
@@ -23,6 +36,10 @@ public class GetEventCommand implements Command {
      * Service responsible for managing calendar events.
      */
     private final EventCalendarService service;
+    /**
+     * Cache of the JSON of events, shared with the other commands returning them.
+     */
+    private final SerializedEventCache cache;
 
     /**
      * Constructs a GetEventCommand.
@@ -30,11 +47,27 @@ public class GetEventCommand implements Command {
      * Initializes the JSON mapper with {@link JavaTimeModule} to handle
      * {@link java.time.LocalDate} and other Java 8 date/time types.
      * Obtains the {@link EventCalendarService} from the {@link ServiceProvider}.
+     *
+     * @param cache the cache of the JSON of events
      */
-    public GetEventCommand() {
+    public GetEventCommand(SerializedEventCache cache) {
         this.mapper = new ObjectMapper();
         this.mapper.registerModule(new JavaTimeModule());
+        this.mapper.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
         this.service = ServiceProvider.getInstance().getEventService();
+        this.cache = cache;
+    }
+
+    /**
+     * Executes the command on a request whose arguments follow the first space.
+     *
+     * @param request the raw command string
+     * @return the result of {@link #execute(String, int)}
+     * @throws EventCalendarException if the request is invalid or processing fails
+     */
+    @Override
+    public String execute(String request) throws EventCalendarException {
+        return execute(request, Command.argumentsOffset(request));
     }
 
     /**
@@ -43,23 +76,68 @@ public class GetEventCommand implements Command {
      *
      * @param request the raw command string, expected to contain a space
      *                followed by the title of the event to fetch
-     * @return the JSON representation of the requested event
+     * @param argsOffset the offset of the arguments in the request
+     * @return the JSON representation of the requested event, or {@value #NOT_FOUND} if it does not exist
      * @throws EventCalendarException if the title is missing or empty,
      *                                or if an error occurs during retrieval or serialization
      */
     @Override
-    public String execute(String request) throws EventCalendarException {
+    public String execute(String request, int argsOffset) throws EventCalendarException {
+        byte[] json = render(request, argsOffset);
+        return json == null ? NOT_FOUND : new String(json, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Executes the command and serializes the result straight to the given stream.
+     *
+     * @param request    the raw command string
+     * @param argsOffset the offset of the arguments in the request
+     * @param out        the stream receiving the JSON result; left open
+     * @return {@code true} if the event was written, {@code false} if it does not exist
+     * @throws EventCalendarException if the request is invalid or an error occurs during retrieval
+     * @throws IOException            if the result cannot be serialized or written
+     */
+    @Override
+    public boolean execute(String request, int argsOffset, OutputStream out) throws EventCalendarException, IOException {
+        byte[] json = render(request, argsOffset);
+        if (json == null) {
+            return false;
+        }
+        out.write(json);
+        return true;
+    }
+
+    /**
+     * Parses the arguments of the request and returns the JSON of the requested event,
+     * from the cache if it is there, otherwise fetched from the service and offered to the cache.
+     *
+     * @param request    the raw command string
+     * @param argsOffset the offset of the arguments in the request
+     * @return the UTF-8 JSON of the requested event, or {@code null} if it does not exist
+     * @throws EventCalendarException if the arguments are missing or malformed,
+     *                                or if an error occurs during retrieval or serialization
+     */
+    private byte[] render(String request, int argsOffset) throws EventCalendarException {
         try {
-            int idx = request.indexOf(' ');
-            if (idx == -1) {
+            if (argsOffset >= request.length()) {
                 throw new EventCalendarException("Event name not passed");
             }
-            String title = request.substring(idx + 1).trim();
+            String title = Command.arguments(request, argsOffset);
             if (title.isEmpty()) {
                 throw new EventCalendarException("Empty event name");
             }
-            Event event = service.getEvent(title);
-            return mapper.writeValueAsString(event);
+            byte[] json = cache.getEvent(title);
+            if (json != null) {
+                return json;
+            }
+            long generation = cache.generation();
+            Optional<Event> event = service.findEventByTitle(title);
+            if (event.isEmpty()) {
+                return null;
+            }
+            json = mapper.writeValueAsBytes(event.get());
+            cache.putEvent(title, json, generation);
+            return json;
         } catch (EventCalendarException e) {
             throw e;
         } catch (Exception e) {
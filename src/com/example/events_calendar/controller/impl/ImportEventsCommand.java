@@ -0,0 +1,87 @@
+package com.example.events_calendar.controller.impl;
+
+import com.example.events_calendar.controller.Command;
+import com.example.events_calendar.controller.EventCalendarException;
+import com.example.events_calendar.model.Event;
+import com.example.events_calendar.service.EventCalendarService;
+import com.example.events_calendar.service.ServiceProvider;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+import java.util.List;
+
+/**
+ * Command implementation that adds several {@link Event}s to the calendar at once.
+ * <p>
+ * It extracts a JSON array of events from the request string, deserializes it and
+ * delegates the whole batch to the {@link EventCalendarService}, which adds either
+ * every event or none of them and persists them with a single write.
+ */
+public class ImportEventsCommand implements Command {
+    /**
+     * Jackson object mapper configured to support Java 8 date/time types.
+     */
+    private final ObjectMapper mapper;
+    /**
+     * Service responsible for managing calendar events.
+     */
+    private final EventCalendarService service;
+
+    /**
+     * Constructs an ImportEventsCommand.
+     * <p>
+     * Initializes the JSON mapper with {@link JavaTimeModule} to handle
+     * {@link java.time.LocalDate} and other Java 8 date/time types.
+     * Obtains the {@link EventCalendarService} from the {@link ServiceProvider}.
+     */
+    public ImportEventsCommand() {
+        this.mapper = new ObjectMapper();
+        this.mapper.registerModule(new JavaTimeModule());
+        this.service = ServiceProvider.getInstance().getEventService();
+    }
+
+    /**
+     * Executes the command on a request whose arguments follow the first space.
+     *
+     * @param request the raw command string
+     * @return the result of {@link #execute(String, int)}
+     * @throws EventCalendarException if the request is invalid or processing fails
+     */
+    @Override
+    public String execute(String request) throws EventCalendarException {
+        return execute(request, Command.argumentsOffset(request));
+    }
+
+    /**
+     * Executes the command by parsing the request, deserializing the JSON array of events,
+     * and adding them to the calendar as a single batch.
+     *
+     * @param request the raw command string, expected to contain a space
+     *                followed by a JSON array of Events
+     * @param argsOffset the offset of the arguments in the request
+     * @return a success message including the number of imported events
+     * @throws EventCalendarException if the request is malformed,
+     *                                the JSON is empty or invalid,
+     *                                or an internal error occurs during the import
+     */
+    @Override
+    public String execute(String request, int argsOffset) throws EventCalendarException {
+        try {
+            if (argsOffset >= request.length()) {
+                throw new EventCalendarException("Event data not transferred");
+            }
+            String eventsJson = Command.arguments(request, argsOffset);
+            if (eventsJson.isEmpty()) {
+                throw new EventCalendarException("Empty event data");
+            }
+            List<Event> events = mapper.readValue(eventsJson, new TypeReference<List<Event>>() {});
+            service.addEvents(events);
+            return "Events have been successfully imported: " + events.size();
+        } catch (EventCalendarException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new EventCalendarException("Error when importing events: ", e);
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package com.example.events_calendar.controller.impl;
+
+import com.example.events_calendar.controller.Command;
+import com.example.events_calendar.controller.EventCalendarException;
+import com.example.events_calendar.model.Event;
+import com.example.events_calendar.service.EventCalendarService;
+import com.example.events_calendar.service.ServiceProvider;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+
+/**
+ * Command implementation for listing the events on a date or within a date range.
+ * <p>
+ * The request carries one ISO-8601 date ({@code LIST_EVENT_BY_DATE 2024-07-01}) or two
+ * dates delimiting an inclusive range ({@code LIST_EVENT_BY_DATE 2024-07-01 2024-07-07}).
+ * The matching events are returned as a JSON array ordered by date.
+ */
+public class ListEventByDateCommand implements Command {
+    /**
+     * Jackson mapper configured to handle Java 8 date/time types.
+     */
+    private final ObjectMapper mapper = new ObjectMapper();
+    /**
+     * Service responsible for managing calendar events.
+     */
+    private final EventCalendarService service = ServiceProvider.getInstance().getEventService();
+
+    /**
+     * Constructs a new ListEventByDateCommand and registers the
+     * {@link JavaTimeModule} on the JSON mapper to support
+     * serialization of Java 8 date/time objects.
+     */
+    public ListEventByDateCommand() {
+        mapper.registerModule(new JavaTimeModule());
+        mapper.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+    }
+
+    /**
+     * Executes the command on a request whose arguments follow the first space.
+     *
+     * @param request the raw command string
+     * @return the result of {@link #execute(String, int)}
+     * @throws EventCalendarException if the request is invalid or processing fails
+     */
+    @Override
+    public String execute(String request) throws EventCalendarException {
+        return execute(request, Command.argumentsOffset(request));
+    }
+
+    /**
+     * Executes the command by parsing the requested dates, fetching the matching
+     * events from the service and serializing them into a JSON array.
+     *
+     * @param request the raw command string, expected to contain a space followed by
+     *                one date or two space-separated dates in {@code yyyy-MM-dd} format
+     * @param argsOffset the offset of the arguments in the request
+     * @return a JSON array string representing the matching events
+     * @throws EventCalendarException if the dates are missing or malformed,
+     *                                or if an error occurs during retrieval or serialization
+     */
+    @Override
+    public String execute(String request, int argsOffset) throws EventCalendarException {
+        try {
+            return mapper.writeValueAsString(query(request, argsOffset));
+        } catch (JsonProcessingException e) {
+            throw new EventCalendarException("Error when retrieving events by date: ", e);
+        }
+    }
+
+    /**
+     * Executes the command and serializes the result straight to the given stream.
+     *
+     * @param request    the raw command string
+     * @param argsOffset the offset of the arguments in the request
+     * @param out        the stream receiving the JSON result; left open
+     * @return always {@code true}
+     * @throws EventCalendarException if the request is invalid or an error occurs during retrieval
+     * @throws IOException            if the result cannot be serialized or written
+     */
+    @Override
+    public boolean execute(String request, int argsOffset, OutputStream out) throws EventCalendarException, IOException {
+        mapper.writeValue(out, query(request, argsOffset));
+        return true;
+    }
+
+    /**
+     * Parses the arguments of the request and fetches the requested data from the service.
+     *
+     * @param request    the raw command string
+     * @param argsOffset the offset of the arguments in the request
+     * @return the events on the date or in the range
+     * @throws EventCalendarException if the arguments are missing or malformed, or retrieval fails
+     */
+    private List<Event> query(String request, int argsOffset) throws EventCalendarException {
+        try {
+            if (argsOffset >= request.length()) {
+                throw new EventCalendarException("Date not passed");
+            }
+            String[] dates = Command.arguments(request, argsOffset).split("\\s+");
+            if (dates[0].isEmpty() || dates.length > 2) {
+                throw new EventCalendarException("Expected a date or a date range");
+            }
+            List<Event> events;
+            if (dates.length == 1) {
+                events = service.getEventsOnDate(LocalDate.parse(dates[0]));
+            } else {
+                events = service.getEventsByDateRange(LocalDate.parse(dates[0]), LocalDate.parse(dates[1]));
+            }
+            return events;
+        } catch (EventCalendarException e) {
+            throw e;
+        } catch (DateTimeParseException e) {
+            throw new EventCalendarException("Invalid date: ", e);
+        } catch (Exception e) {
+            throw new EventCalendarException("Error when retrieving events by date: ", e);
+        }
+    }
+}
\ No newline at end of file
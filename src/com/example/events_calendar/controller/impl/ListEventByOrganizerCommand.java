@@ -0,0 +1,115 @@
+package com.example.events_calendar.controller.impl;
+
+import com.example.events_calendar.controller.Command;
+import com.example.events_calendar.controller.EventCalendarException;
+import com.example.events_calendar.model.Event;
+import com.example.events_calendar.service.EventCalendarService;
+import com.example.events_calendar.service.ServiceProvider;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+
+/**
+ * Command implementation for listing the events run by a specific organizer.
+ * <p>
+ * It parses the organizer name from the request string, fetches the organizer's
+ * events from the service, and returns them as a JSON array ordered by title.
+ */
+public class ListEventByOrganizerCommand implements Command {
+    /**
+     * Jackson mapper configured to handle Java 8 date/time types.
+     */
+    private final ObjectMapper mapper = new ObjectMapper();
+    /**
+     * Service responsible for managing calendar events.
+     */
+    private final EventCalendarService service = ServiceProvider.getInstance().getEventService();
+
+    /**
+     * Constructs a new ListEventByOrganizerCommand and registers the
+     * {@link JavaTimeModule} on the JSON mapper to support
+     * serialization of Java 8 date/time objects.
+     */
+    public ListEventByOrganizerCommand() {
+        mapper.registerModule(new JavaTimeModule());
+        mapper.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+    }
+
+    /**
+     * Executes the command on a request whose arguments follow the first space.
+     *
+     * @param request the raw command string
+     * @return the result of {@link #execute(String, int)}
+     * @throws EventCalendarException if the request is invalid or processing fails
+     */
+    @Override
+    public String execute(String request) throws EventCalendarException {
+        return execute(request, Command.argumentsOffset(request));
+    }
+
+    /**
+     * Executes the command by extracting the organizer name from the request string,
+     * fetching the organizer's events and serializing them into a JSON array.
+     *
+     * @param request the raw command string, expected to contain a space
+     *                followed by the name of the organizer
+     * @param argsOffset the offset of the arguments in the request
+     * @return a JSON array string representing the organizer's events
+     * @throws EventCalendarException if the name is missing or empty,
+     *                                or if an error occurs during retrieval or serialization
+     */
+    @Override
+    public String execute(String request, int argsOffset) throws EventCalendarException {
+        try {
+            return mapper.writeValueAsString(query(request, argsOffset));
+        } catch (JsonProcessingException e) {
+            throw new EventCalendarException("Error when retrieving events by organizer: ", e);
+        }
+    }
+
+    /**
+     * Executes the command and serializes the result straight to the given stream.
+     *
+     * @param request    the raw command string
+     * @param argsOffset the offset of the arguments in the request
+     * @param out        the stream receiving the JSON result; left open
+     * @return always {@code true}
+     * @throws EventCalendarException if the request is invalid or an error occurs during retrieval
+     * @throws IOException            if the result cannot be serialized or written
+     */
+    @Override
+    public boolean execute(String request, int argsOffset, OutputStream out) throws EventCalendarException, IOException {
+        mapper.writeValue(out, query(request, argsOffset));
+        return true;
+    }
+
+    /**
+     * Parses the arguments of the request and fetches the requested data from the service.
+     *
+     * @param request    the raw command string
+     * @param argsOffset the offset of the arguments in the request
+     * @return the events of the organizer
+     * @throws EventCalendarException if the arguments are missing or malformed, or retrieval fails
+     */
+    private List<Event> query(String request, int argsOffset) throws EventCalendarException {
+        try {
+            if (argsOffset >= request.length()) {
+                throw new EventCalendarException("Organizer name not passed");
+            }
+            String organizerName = Command.arguments(request, argsOffset);
+            if (organizerName.isEmpty()) {
+                throw new EventCalendarException("Empty organizer name");
+            }
+            return service.getEventsByOrganizer(organizerName);
+        } catch (EventCalendarException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new EventCalendarException("Error when retrieving events by organizer: ", e);
+        }
+    }
+}
\ No newline at end of file
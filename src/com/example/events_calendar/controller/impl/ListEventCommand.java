@@ -3,20 +3,44 @@ package com.example.events_calendar.controller.impl;
 import com.example.events_calendar.controller.Command;
 import com.example.events_calendar.controller.EventCalendarException;
 import com.example.events_calendar.model.Event;
+import com.example.events_calendar.model.EventPage;
 import com.example.events_calendar.service.EventCalendarService;
+import com.example.events_calendar.service.ServiceException;
 import com.example.events_calendar.service.ServiceProvider;
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 
-import java.util.List;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
 
 /**
- * Command implementation for retrieving the full list of events.
+ * Command implementation for retrieving the list of events.
  * <p>
- * It delegates to the {@link EventCalendarService} to fetch all events
- * and returns their JSON representation.
+ * Without arguments it delegates to the {@link EventCalendarService} to fetch all events
+ * and returns their JSON representation. With a page size and an optional cursor
+ * ({@code LIST_EVENT 100 <cursor>}) it returns a single page of events ordered by title,
+ * as a JSON object holding the {@code events} and the {@code nextCursor} to pass with the
+ * following request, which is {@code null} on the last page.
+ * <p>
+ * With the argument {@value #NDJSON} ({@code LIST_EVENT ndjson}) the events are written to a
+ * stream as newline-delimited JSON, one event per line, in no particular order. The events are
+ * streamed from the service one at a time, so memory use does not grow with the calendar and
+ * the first line is sent as soon as it is serialized. The output has several lines, so it is
+ * only available through {@link #execute(String, int, OutputStream)}: returned as a
+ * {@code String}, it would break the one-line responses of line-oriented front ends.
+ * <p>
+ * The JSON array of all events is kept in a {@link SerializedEventCache} until an event changes.
  */
 public class ListEventCommand implements Command {
+    /**
+     * Argument selecting the newline-delimited JSON output.
+     */
+    public static final String NDJSON = "ndjson";
     /**
      * Jackson mapper configured to handle Java 8 date/time types.
      */
@@ -25,31 +49,186 @@ public class ListEventCommand implements Command {
      * Service responsible for managing calendar events.
      */
     private final EventCalendarService service = ServiceProvider.getInstance().getEventService();
+    /**
+     * Writer of single events to a shared generator, which leaves flushing to the caller.
+     */
+    private final ObjectWriter lineWriter;
+    /**
+     * Cache of the JSON of events, shared with the other commands returning them.
+     */
+    private final SerializedEventCache cache;
 
     /**
      * Constructs a new ListEventCommand and registers the
      * {@link JavaTimeModule} on the JSON mapper to support
      * serialization of Java 8 date/time objects.
+     *
+     * @param cache the cache of the JSON array of all events
      */
-    public ListEventCommand() {
+    public ListEventCommand(SerializedEventCache cache) {
+        this.cache = cache;
         mapper.registerModule(new JavaTimeModule());
+        mapper.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        lineWriter = mapper.writerFor(Event.class).without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
     }
 
     /**
-     * Executes the command by fetching all events from the service
-     * and serializing them into a JSON array.
+     * Executes the command on a request whose arguments follow the first space.
      *
-     * @param request the raw command string (ignored by this implementation)
-     * @return a JSON array string representing all events
-     * @throws EventCalendarException if an error occurs during retrieval or serialization
+     * @param request the raw command string
+     * @return the result of {@link #execute(String, int)}
+     * @throws EventCalendarException if the request is invalid or processing fails
      */
     @Override
     public String execute(String request) throws EventCalendarException {
+        return execute(request, Command.argumentsOffset(request));
+    }
+
+    /**
+     * Executes the command by fetching all events, or one page of events, from the
+     * service and serializing them to JSON.
+     *
+     * @param request the raw command string, optionally followed by a page size
+     *                and the cursor returned with the previous page
+     * @param argsOffset the offset of the arguments in the request
+     * @return a JSON array string representing all events, or a JSON object
+     *         representing the requested {@link EventPage}
+     * @throws EventCalendarException if the page size is malformed, if newline-delimited JSON
+     *                                is requested, or if an error occurs during retrieval or serialization
+     */
+    @Override
+    public String execute(String request, int argsOffset) throws EventCalendarException {
+        if (isNdjson(request, argsOffset)) {
+            throw new EventCalendarException("Newline-delimited JSON can only be written to a stream");
+        }
+        try {
+            if (isAll(request, argsOffset)) {
+                return new String(renderAll(), StandardCharsets.UTF_8);
+            }
+            return mapper.writeValueAsString(query(request, argsOffset));
+        } catch (EventCalendarException e) {
+            throw e;
+        } catch (IOException e) {
+            throw new EventCalendarException("Error when retrieving the list of events: ", e);
+        }
+    }
+
+    /**
+     * Executes the command and serializes the result straight to the given stream.
+     *
+     * @param request    the raw command string
+     * @param argsOffset the offset of the arguments in the request
+     * @param out        the stream receiving the JSON result; left open
+     * @return always {@code true}
+     * @throws EventCalendarException if the request is invalid or an error occurs during retrieval
+     * @throws IOException            if the result cannot be serialized or written
+     */
+    @Override
+    public boolean execute(String request, int argsOffset, OutputStream out) throws EventCalendarException, IOException {
+        if (isNdjson(request, argsOffset)) {
+            writeNdjson(out);
+        } else if (isAll(request, argsOffset)) {
+            out.write(renderAll());
+        } else {
+            mapper.writeValue(out, query(request, argsOffset));
+        }
+        return true;
+    }
+
+    /**
+     * Writes every event to the stream as one line of JSON, visiting the events one at a time.
+     * The first line is flushed at once; later lines leave the generator whenever its buffer fills.
+     *
+     * @param out the stream receiving the lines; left open
+     * @throws EventCalendarException if an error occurs during retrieval
+     * @throws IOException            if an event cannot be serialized or written
+     */
+    private void writeNdjson(OutputStream out) throws EventCalendarException, IOException {
+        try (JsonGenerator generator = mapper.getFactory().createGenerator(out)) {
+            generator.setRootValueSeparator(null);
+            boolean[] first = {true};
+            service.forEachEvent(event -> {
+                try {
+                    lineWriter.writeValue(generator, event);
+                    generator.writeRaw('\n');
+                    if (first[0]) {
+                        first[0] = false;
+                        generator.flush();
+                    }
+                    return true;
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        } catch (ServiceException e) {
+            throw new EventCalendarException("Error when retrieving the list of events: ", e);
+        }
+    }
+
+    /**
+     * Returns the JSON array of all events, from the cache if it is there, otherwise fetched
+     * from the service and offered to the cache.
+     *
+     * @return the UTF-8 JSON array of all events
+     * @throws EventCalendarException if an error occurs during retrieval
+     * @throws IOException            if the events cannot be serialized
+     */
+    private byte[] renderAll() throws EventCalendarException, IOException {
+        byte[] json = cache.getList();
+        if (json != null) {
+            return json;
+        }
+        long generation = cache.generation();
+        try {
+            json = mapper.writeValueAsBytes(service.getAllEvents());
+        } catch (ServiceException e) {
+            throw new EventCalendarException("Error when retrieving the list of events: ", e);
+        }
+        cache.putList(json, generation);
+        return json;
+    }
+
+    /**
+     * Tells whether the request asks for all events as one JSON array.
+     */
+    private static boolean isAll(String request, int argsOffset) {
+        return Command.arguments(request, argsOffset).isEmpty();
+    }
+
+    /**
+     * Tells whether the request asks for newline-delimited JSON.
+     */
+    private static boolean isNdjson(String request, int argsOffset) {
+        return argsOffset < request.length() && Command.arguments(request, argsOffset).equalsIgnoreCase(NDJSON);
+    }
+
+    /**
+     * Parses the arguments of the request and fetches the requested data from the service.
+     *
+     * @param request    the raw command string
+     * @param argsOffset the offset of the arguments in the request
+     * @return the list of all events, or the requested {@link EventPage}
+     * @throws EventCalendarException if the arguments are missing or malformed, or retrieval fails
+     */
+    private Object query(String request, int argsOffset) throws EventCalendarException {
         try {
-            List<Event> events = service.getAllEvents();
-            return mapper.writeValueAsString(events);
+            String args = Command.arguments(request, argsOffset);
+            if (args.isEmpty()) {
+                return service.getAllEvents();
+            }
+            String[] parts = args.split("\\s+");
+            if (parts.length > 2) {
+                throw new EventCalendarException("Expected a page size and an optional cursor");
+            }
+            return service.getEventPage(parts.length == 2 ? parts[1] : null, Integer.parseInt(parts[0]));
+        } catch (EventCalendarException e) {
+            throw e;
+        } catch (NumberFormatException e) {
+            throw new EventCalendarException("Invalid page size: ", e);
         } catch (Exception e) {
             throw new EventCalendarException("Error when retrieving the list of events: ", e);
         }
     }
-}
+}
\ No newline at end of file
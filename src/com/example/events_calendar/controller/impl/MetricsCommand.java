@@ -0,0 +1,93 @@
+package com.example.events_calendar.controller.impl;
+
+import com.example.events_calendar.controller.Command;
+import com.example.events_calendar.controller.EventCalendarException;
+import com.example.events_calendar.metrics.MetricsRegistry;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Command implementation reporting the metrics recorded by the controller, service and DAO layers.
+ * <p>
+ * Without arguments it returns the {@link MetricsRegistry#snapshot()} as a single line of JSON.
+ * With the argument {@value #PROMETHEUS} ({@code METRICS prometheus}) it writes the metrics to a
+ * stream in the Prometheus text exposition format, as the HTTP adapter does for
+ * {@code GET /metrics}. That format spans several lines, so it is only available through
+ * {@link #execute(String, int, OutputStream)}: returned as a {@code String}, it would break the
+ * one-line responses of line-oriented front ends.
+ */
+public class MetricsCommand implements Command {
+    /**
+     * Argument selecting the Prometheus text format.
+     */
+    public static final String PROMETHEUS = "prometheus";
+    /**
+     * Jackson mapper writing the JSON snapshot.
+     */
+    private final ObjectMapper mapper = new ObjectMapper();
+    /**
+     * Registry holding the metrics.
+     */
+    private final MetricsRegistry metrics = MetricsRegistry.getInstance();
+
+    /**
+     * Executes the command on a request whose arguments follow the first space.
+     *
+     * @param request the raw command string
+     * @return the result of {@link #execute(String, int)}
+     * @throws EventCalendarException if the request is invalid or processing fails
+     */
+    @Override
+    public String execute(String request) throws EventCalendarException {
+        return execute(request, Command.argumentsOffset(request));
+    }
+
+    /**
+     * Executes the command by rendering the current metrics in the requested format.
+     *
+     * @param request    the raw command string, without arguments
+     * @param argsOffset the offset of the arguments in the request
+     * @return the metrics as JSON
+     * @throws EventCalendarException if a format is given, since Prometheus text can only be
+     *                                written to a stream, or if the metrics cannot be serialized
+     */
+    @Override
+    public String execute(String request, int argsOffset) throws EventCalendarException {
+        String format = Command.arguments(request, argsOffset);
+        if (format.equalsIgnoreCase(PROMETHEUS)) {
+            throw new EventCalendarException("Prometheus text can only be written to a stream");
+        }
+        if (!format.isEmpty()) {
+            throw new EventCalendarException("Unknown metrics format: " + format);
+        }
+        try {
+            return mapper.writeValueAsString(metrics.snapshot());
+        } catch (JsonProcessingException e) {
+            throw new EventCalendarException("Error when reporting metrics: ", e);
+        }
+    }
+
+    /**
+     * Executes the command and writes the metrics in the requested format to the given stream.
+     *
+     * @param request    the raw command string, optionally followed by {@value #PROMETHEUS}
+     * @param argsOffset the offset of the arguments in the request
+     * @param out        the stream receiving the metrics as JSON, or as Prometheus text; left open
+     * @return always {@code true}
+     * @throws EventCalendarException if the format is unknown or the metrics cannot be serialized
+     * @throws IOException            if writing to the stream fails
+     */
+    @Override
+    public boolean execute(String request, int argsOffset, OutputStream out) throws EventCalendarException, IOException {
+        if (Command.arguments(request, argsOffset).equalsIgnoreCase(PROMETHEUS)) {
+            out.write(metrics.toPrometheusText().getBytes(StandardCharsets.UTF_8));
+            return true;
+        }
+        out.write(execute(request, argsOffset).getBytes(StandardCharsets.UTF_8));
+        return true;
+    }
+}
@@ -17,7 +17,7 @@ public class NoSuchCommand implements Command {
      */
     @Override
     public String execute(String request) {
-        String cmd = request.split("\n")[0];
-        return "Unknown command: " + cmd;
+        int lineEnd = request.indexOf('\n');
+        return "Unknown command: " + (lineEnd == -1 ? request : request.substring(0, lineEnd));
     }
 }
@@ -0,0 +1,229 @@
+package com.example.events_calendar.controller.impl;
+
+import com.example.events_calendar.dao.EventMutationListener;
+import com.example.events_calendar.service.EventCalendarService;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Cache of events already serialized to JSON, shared by the commands that return them.
+ * <p>
+ * It holds the UTF-8 JSON of single events, keyed by title, and the JSON array of all events.
+ * Entries are dropped precisely: a change of one event, reported through
+ * {@link EventMutationListener}, removes that event and the list, and only a change of unknown
+ * scope clears everything. The total size of the cached JSON is bounded; when it is exceeded,
+ * the least recently used events are evicted. A list larger than the bound is not cached.</p>
+ * <p>
+ * A command serializes a response outside the cache and offers it afterwards, so the event may
+ * change in between. To keep such a response out, {@link #generation()} is read before the
+ * event is fetched, and the response is only stored if no change was reported since.</p>
+ * <p>
+ * The cache only works if the service reports every change; otherwise it stays disabled
+ * and every lookup misses.</p>
+ */
+public class SerializedEventCache implements EventMutationListener {
+
+    /** System property holding the bound on the cached JSON, in bytes; 0 disables the cache. */
+    public static final String MAX_BYTES_PROPERTY = "events.response.cache.bytes";
+
+    /** Bound on the cached JSON used when {@value #MAX_BYTES_PROPERTY} is not set, in bytes. */
+    public static final long DEFAULT_MAX_BYTES = 32L * 1024 * 1024;
+
+    /** Bound on the total size of the cached JSON, in bytes. */
+    private final long maxBytes;
+
+    /** Whether the service accepted the cache as a mutation listener. */
+    private final boolean enabled;
+
+    /** JSON of single events by title, in access order; guarded by {@code this}. */
+    private final LinkedHashMap<String, byte[]> events = new LinkedHashMap<>(16, 0.75f, true);
+
+    /** JSON array of all events, or {@code null}; guarded by {@code this}. */
+    private byte[] list;
+
+    /** Total size of {@link #events} and {@link #list}, in bytes; guarded by {@code this}. */
+    private long size;
+
+    /** Number of changes reported so far; guarded by {@code this}. */
+    private long generation;
+
+    /** Number of lookups answered from the cache; guarded by {@code this}. */
+    private long hits;
+
+    /** Number of lookups that missed; guarded by {@code this}. */
+    private long misses;
+
+    /**
+     * Creates a cache bounded by {@value #MAX_BYTES_PROPERTY}, or {@value #DEFAULT_MAX_BYTES}
+     * bytes by default, and registers it with the service.
+     *
+     * @param service the service reporting the changes of the events
+     */
+    public SerializedEventCache(EventCalendarService service) {
+        this(service, Long.getLong(MAX_BYTES_PROPERTY, DEFAULT_MAX_BYTES));
+    }
+
+    /**
+     * Creates a cache with the given bound and registers it with the service.
+     *
+     * @param service  the service reporting the changes of the events
+     * @param maxBytes the bound on the total size of the cached JSON; 0 disables the cache
+     */
+    public SerializedEventCache(EventCalendarService service, long maxBytes) {
+        this.maxBytes = maxBytes;
+        this.enabled = maxBytes > 0 && service.addMutationListener(this);
+    }
+
+    /**
+     * Returns whether responses are cached at all.
+     *
+     * @return {@code false} if the cache is disabled or the service cannot report every change
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Returns the number of changes reported so far. Read it before fetching an event whose
+     * JSON is to be offered with {@link #putEvent} or {@link #putList}.
+     *
+     * @return the current generation
+     */
+    public synchronized long generation() {
+        return generation;
+    }
+
+    /**
+     * Returns the cached JSON of an event.
+     *
+     * @param title the title of the event
+     * @return the UTF-8 JSON of the event, or {@code null} if it is not cached; must not be modified
+     */
+    public byte[] getEvent(String title) {
+        if (!enabled) return null;
+        synchronized (this) {
+            byte[] json = events.get(title);
+            if (json == null) {
+                misses++;
+            } else {
+                hits++;
+            }
+            return json;
+        }
+    }
+
+    /**
+     * Offers the JSON of an event, which is stored unless a change was reported since the
+     * given generation or it is larger than the bound.
+     *
+     * @param title      the title of the event
+     * @param json       the UTF-8 JSON of the event; must not be modified afterwards
+     * @param generation the {@link #generation()} read before the event was fetched
+     */
+    public void putEvent(String title, byte[] json, long generation) {
+        if (!enabled || json.length > maxBytes) return;
+        synchronized (this) {
+            if (generation != this.generation) return;
+            byte[] previous = events.put(title, json);
+            size += json.length - (previous == null ? 0 : previous.length);
+            evict();
+        }
+    }
+
+    /**
+     * Returns the cached JSON array of all events.
+     *
+     * @return the UTF-8 JSON array, or {@code null} if it is not cached; must not be modified
+     */
+    public byte[] getList() {
+        if (!enabled) return null;
+        synchronized (this) {
+            if (list == null) {
+                misses++;
+            } else {
+                hits++;
+            }
+            return list;
+        }
+    }
+
+    /**
+     * Offers the JSON array of all events, which is stored unless a change was reported since
+     * the given generation or it is larger than the bound.
+     *
+     * @param json       the UTF-8 JSON array; must not be modified afterwards
+     * @param generation the {@link #generation()} read before the events were fetched
+     */
+    public void putList(byte[] json, long generation) {
+        if (!enabled || json.length > maxBytes) return;
+        synchronized (this) {
+            if (generation != this.generation) return;
+            size += json.length - (list == null ? 0 : list.length);
+            list = json;
+            evict();
+        }
+    }
+
+    /**
+     * Drops the JSON of the changed event and the list, or everything if the title is {@code null}.
+     *
+     * @param title the title of the changed event, or {@code null} if any event may have changed
+     */
+    @Override
+    public synchronized void eventChanged(String title) {
+        generation++;
+        if (title == null) {
+            events.clear();
+            size = 0;
+        } else {
+            byte[] removed = events.remove(title);
+            if (removed != null) size -= removed.length;
+            if (list != null) size -= list.length;
+        }
+        list = null;
+    }
+
+    /**
+     * Returns the number of lookups answered from the cache.
+     *
+     * @return the hit count
+     */
+    public synchronized long getHits() {
+        return hits;
+    }
+
+    /**
+     * Returns the number of lookups that missed the cache while it was enabled.
+     *
+     * @return the miss count
+     */
+    public synchronized long getMisses() {
+        return misses;
+    }
+
+    /**
+     * Returns the total size of the cached JSON.
+     *
+     * @return the size in bytes
+     */
+    public synchronized long getSize() {
+        return size;
+    }
+
+    /**
+     * Evicts the least recently used events, and then the list, until the bound is met.
+     */
+    private void evict() {
+        Iterator<Map.Entry<String, byte[]>> eldest = events.entrySet().iterator();
+        while (size > maxBytes && eldest.hasNext()) {
+            size -= eldest.next().getValue().length;
+            eldest.remove();
+        }
+        if (size > maxBytes && list != null) {
+            size -= list.length;
+            list = null;
+        }
+    }
+}
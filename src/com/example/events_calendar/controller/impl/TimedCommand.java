@@ -0,0 +1,137 @@
+package com.example.events_calendar.controller.impl;
+
+import com.example.events_calendar.controller.Command;
+import com.example.events_calendar.controller.CommandName;
+import com.example.events_calendar.controller.EventCalendarException;
+import com.example.events_calendar.jfr.CommandExecutionEvent;
+import com.example.events_calendar.metrics.Counter;
+import com.example.events_calendar.metrics.LatencyHistogram;
+import com.example.events_calendar.metrics.MetricsRegistry;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Command decorator recording the latency, the failures and the misses of another command,
+ * and reporting each execution to Flight Recorder as a {@link CommandExecutionEvent}.
+ * <p>
+ * {@link CommandProvider} wraps every command in one, so each request is measured once,
+ * whether it comes from the controller, a server or a {@code BATCH}. A failure is a thrown
+ * exception, which the controller answers with {@code ERROR}; a miss is a request for an
+ * item that does not exist, answered with {@value GetEventCommand#NOT_FOUND}.
+ */
+final class TimedCommand implements Command {
+    /**
+     * Name of the command.
+     */
+    private final String name;
+    /**
+     * The command doing the work.
+     */
+    private final Command command;
+    /**
+     * Latency of the requests, including failed ones.
+     */
+    private final LatencyHistogram latency;
+    /**
+     * Number of requests that failed.
+     */
+    private final Counter errors;
+    /**
+     * Number of requests for items that do not exist.
+     */
+    private final Counter misses;
+
+    /**
+     * Constructs a TimedCommand recording to the metrics of the given command name.
+     *
+     * @param name    the name of the command, used as the {@code command} label
+     * @param command the command to measure
+     */
+    TimedCommand(CommandName name, Command command) {
+        MetricsRegistry metrics = MetricsRegistry.getInstance();
+        this.name = name.name();
+        this.command = command;
+        this.latency = metrics.histogram("events_command_duration_seconds", "command", name.name());
+        this.errors = metrics.counter("events_command_errors_total", "command", name.name());
+        this.misses = metrics.counter("events_command_misses_total", "command", name.name());
+    }
+
+    @Override
+    public String execute(String request) throws EventCalendarException {
+        CommandExecutionEvent event = CommandExecutionEvent.beginIfEnabled();
+        long start = latency.start();
+        String outcome = CommandExecutionEvent.ERROR;
+        try {
+            String response = command.execute(request);
+            outcome = countMiss(response);
+            return response;
+        } catch (EventCalendarException | RuntimeException e) {
+            errors.increment();
+            throw e;
+        } finally {
+            latency.recordSince(start);
+            if (event != null) {
+                event.finish(name, request, request == null ? 0 : Command.argumentsOffset(request), outcome, false);
+            }
+        }
+    }
+
+    @Override
+    public String execute(String request, int argsOffset) throws EventCalendarException {
+        CommandExecutionEvent event = CommandExecutionEvent.beginIfEnabled();
+        long start = latency.start();
+        String outcome = CommandExecutionEvent.ERROR;
+        try {
+            String response = command.execute(request, argsOffset);
+            outcome = countMiss(response);
+            return response;
+        } catch (EventCalendarException | RuntimeException e) {
+            errors.increment();
+            throw e;
+        } finally {
+            latency.recordSince(start);
+            if (event != null) {
+                event.finish(name, request, argsOffset, outcome, false);
+            }
+        }
+    }
+
+    @Override
+    public boolean execute(String request, int argsOffset, OutputStream out) throws EventCalendarException, IOException {
+        CommandExecutionEvent event = CommandExecutionEvent.beginIfEnabled();
+        long start = latency.start();
+        String outcome = CommandExecutionEvent.ERROR;
+        try {
+            boolean found = command.execute(request, argsOffset, out);
+            if (found) {
+                outcome = CommandExecutionEvent.OK;
+            } else {
+                misses.increment();
+                outcome = CommandExecutionEvent.NOT_FOUND;
+            }
+            return found;
+        } catch (EventCalendarException | IOException | RuntimeException e) {
+            errors.increment();
+            throw e;
+        } finally {
+            latency.recordSince(start);
+            if (event != null) {
+                event.finish(name, request, argsOffset, outcome, true);
+            }
+        }
+    }
+
+    /**
+     * Counts the response as a miss if it says that the requested item does not exist.
+     *
+     * @return the outcome of the execution
+     */
+    private String countMiss(String response) {
+        if (GetEventCommand.NOT_FOUND.equals(response)) {
+            misses.increment();
+            return CommandExecutionEvent.NOT_FOUND;
+        }
+        return CommandExecutionEvent.OK;
+    }
+}
@@ -0,0 +1,127 @@
+package com.example.events_calendar.dao;
+
+import com.example.events_calendar.model.Event;
+import com.example.events_calendar.model.EventPage;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Non-blocking counterpart of {@link EventCalendarDao}.
+ * <p>
+ * Every operation returns immediately with a {@link CompletableFuture} that is completed
+ * once the data store has been accessed. Failures complete the future exceptionally with
+ * a {@link DaoException}; callers that need an operation to observe an earlier write
+ * should chain it on the future of that write.</p>
+ */
+public interface AsyncEventCalendarDao {
+
+    /**
+     * Persists a new event in the data store.
+     *
+     * @param event the {@link Event} to create; must not be null
+     * @return a future completed once the event is stored
+     */
+    CompletableFuture<Void> create(Event event);
+
+    /**
+     * Retrieves an event by its title.
+     *
+     * @param title the title of the event to read; must not be null
+     * @return a future completed with the {@link Event} with the specified title
+     */
+    CompletableFuture<Event> read(String title);
+
+    /**
+     * Looks up an event by its title, reporting a missing event as an empty result.
+     *
+     * @param title the title of the event to look up; must not be null
+     * @return a future completed with the {@link Event}, or with an empty {@link Optional} if there is none
+     */
+    CompletableFuture<Optional<Event>> findByTitle(String title);
+
+    /**
+     * Updates an existing event in the data store.
+     *
+     * @param event the {@link Event} containing updated data; must not be null
+     * @return a future completed once the event is stored
+     */
+    CompletableFuture<Void> update(Event event);
+
+    /**
+     * Removes an event from the data store by its title.
+     *
+     * @param title the title of the event to delete; must not be null
+     * @return a future completed once the event is removed
+     */
+    CompletableFuture<Void> delete(String title);
+
+    /**
+     * Persists a batch of new events atomically: either all of them are created or none is.
+     *
+     * @param events the events to create; must not contain null events or duplicate titles
+     * @return a future completed once the batch is stored
+     */
+    CompletableFuture<Void> createAll(List<Event> events);
+
+    /**
+     * Updates a batch of existing events atomically: either all of them are updated or none is.
+     *
+     * @param events the events containing updated data; must not contain null events or duplicate titles
+     * @return a future completed once the batch is stored
+     */
+    CompletableFuture<Void> updateAll(List<Event> events);
+
+    /**
+     * Removes a batch of events atomically: either all of them are removed or none is.
+     *
+     * @param titles the titles of the events to delete; must not contain null or duplicate titles
+     * @return a future completed once the batch is removed
+     */
+    CompletableFuture<Void> deleteAll(List<String> titles);
+
+    /**
+     * Returns all events currently stored in the data store.
+     *
+     * @return a future completed with a {@link List} of all {@link Event} instances
+     */
+    CompletableFuture<List<Event>> findAll();
+
+    /**
+     * Returns one page of events in ascending title order.
+     *
+     * @param cursor the cursor returned with the previous page, or {@code null} for the first page
+     * @param limit  the maximum number of events on the page; must be positive
+     * @return a future completed with the page of events and the cursor of the next page
+     */
+    CompletableFuture<EventPage> findPage(String cursor, int limit);
+
+    /**
+     * Returns the events taking place between two dates, inclusive, ordered by date and then by title.
+     *
+     * @param from the first date of the range; must not be null
+     * @param to   the last date of the range; must not be null
+     * @return a future completed with a {@link List} of matching {@link Event} instances
+     */
+    CompletableFuture<List<Event>> findByDateRange(LocalDate from, LocalDate to);
+
+    /**
+     * Returns the events taking place on the given date, ordered by title.
+     *
+     * @param date the date to look up; must not be null
+     * @return a future completed with a {@link List} of matching {@link Event} instances
+     */
+    default CompletableFuture<List<Event>> findOnDate(LocalDate date) {
+        return findByDateRange(date, date);
+    }
+
+    /**
+     * Returns the events run by the organizer with the given name, ordered by title.
+     *
+     * @param organizerName the name of the organizer; must not be null
+     * @return a future completed with a {@link List} of matching {@link Event} instances
+     */
+    CompletableFuture<List<Event>> findByOrganizer(String organizerName);
+}
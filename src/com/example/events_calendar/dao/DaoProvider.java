@@ -1,25 +1,82 @@
 package com.example.events_calendar.dao;
 
+import com.example.events_calendar.dao.impl.AsyncEventCalendarDaoImpl;
+import com.example.events_calendar.dao.impl.BinaryEventDaoImpl;
+import com.example.events_calendar.dao.impl.JdbcEventDaoImpl;
 import com.example.events_calendar.dao.impl.JsonEventDaoImpl;
+import com.example.events_calendar.dao.impl.LogEventDaoImpl;
+import com.example.events_calendar.dao.impl.MappedEventDaoImpl;
+import com.example.events_calendar.dao.impl.StorageFileWatcher;
+import com.example.events_calendar.dao.impl.TimedEventCalendarDao;
 
 /**
  * Singleton provider for Data Access Object (DAO) instances.
  *
- * <p>Initializes and holds a single {@link EventCalendarDao} implementation
- * backed by a JSON file. Consumers call {@link #getEventDao()} to retrieve
- * the DAO for performing CRUD operations on events.</p>
+ * <p>Initializes and holds a single {@link EventCalendarDao} implementation. Consumers call
+ * {@link #getEventDao()} to retrieve the DAO for performing CRUD operations on events, or
+ * {@link #getAsyncEventDao()} for a non-blocking view of the same DAO running on dedicated
+ * I/O threads.</p>
+ *
+ * <p>The implementation is chosen with the {@value #DAO_PROPERTY} system property:</p>
+ * <ul>
+ *     <li>{@code json} (default) — {@link JsonEventDaoImpl} cached in memory;</li>
+ *     <li>{@code binary} — {@link BinaryEventDaoImpl} cached in memory;</li>
+ *     <li>{@code log} — {@link LogEventDaoImpl};</li>
+ *     <li>{@code mapped} — {@link MappedEventDaoImpl};</li>
+ *     <li>{@code jdbc} — {@link JdbcEventDaoImpl} on the database named by {@value #JDBC_URL_PROPERTY}.</li>
+ * </ul>
+ * <p>File-based implementations store their data in the file named by {@value #FILE_PROPERTY},
+ * {@code events} with an extension matching the implementation by default. The {@code json} and
+ * {@code binary} implementations reload the file when another program changes it; the file is
+ * checked at the interval in milliseconds given by {@value #WATCH_INTERVAL_PROPERTY},
+ * 1000 by default; 0 turns the check off.</p>
+ * <p>When {@value #MULTI_PROCESS_PROPERTY} is {@code true}, the {@code json} and {@code binary}
+ * implementations run in {@link JsonEventDaoImpl.Mode#MULTI_PROCESS} mode instead, so that
+ * several processes can safely share the same file; the file is then read on every operation
+ * and not watched.</p>
+ * <p>The {@code json} and {@code binary} implementations record their own metrics; the others
+ * are wrapped in a {@link TimedEventCalendarDao}, so every implementation reports its reads
+ * and writes.</p>
  */
 public final class DaoProvider {
+    /** System property selecting the DAO implementation. */
+    public static final String DAO_PROPERTY = "events.dao";
+
+    /** System property naming the storage file of file-based implementations. */
+    public static final String FILE_PROPERTY = "events.file";
+
+    /** System property holding the JDBC URL used by the {@code jdbc} implementation. */
+    public static final String JDBC_URL_PROPERTY = "events.jdbc.url";
+
+    /** System property holding the delay between two checks of the storage file for external changes. */
+    public static final String WATCH_INTERVAL_PROPERTY = "events.watch.interval";
+
+    /** System property that, when {@code true}, lets several processes share the storage file. */
+    public static final String MULTI_PROCESS_PROPERTY = "events.multiprocess";
+
+    /** JDBC URL used when {@value #JDBC_URL_PROPERTY} is not set: an embedded, file-backed H2 database. */
+    public static final String DEFAULT_JDBC_URL = "jdbc:h2:file:./events";
+
     private static final DaoProvider instance = new DaoProvider();
 
     private final EventCalendarDao eventCalendarDao;
 
+    private final AsyncEventCalendarDao asyncEventCalendarDao;
+
+    private final StorageFileWatcher fileWatcher;
+
     private DaoProvider() {
         try {
-            this.eventCalendarDao = new JsonEventDaoImpl("events.json");
+            this.eventCalendarDao = createDao(System.getProperty(DAO_PROPERTY, "json"));
         } catch (DaoException e) {
             throw new ExceptionInInitializerError(e);
         }
+        long watchInterval = Long.getLong(WATCH_INTERVAL_PROPERTY, StorageFileWatcher.DEFAULT_POLL_INTERVAL_MILLIS);
+        this.fileWatcher = eventCalendarDao instanceof JsonEventDaoImpl
+                && ((JsonEventDaoImpl) eventCalendarDao).getProcessLock() == null && watchInterval > 0
+                ? new StorageFileWatcher((JsonEventDaoImpl) eventCalendarDao, watchInterval)
+                : null;
+        this.asyncEventCalendarDao = new AsyncEventCalendarDaoImpl(eventCalendarDao);
     }
 
     public static DaoProvider getInstance() {
@@ -29,4 +86,40 @@ public final class DaoProvider {
     public EventCalendarDao getEventDao() {
         return eventCalendarDao;
     }
+
+    public AsyncEventCalendarDao getAsyncEventDao() {
+        return asyncEventCalendarDao;
+    }
+
+    public StorageFileWatcher getFileWatcher() {
+        return fileWatcher;
+    }
+
+    /**
+     * Creates the DAO implementation with the given name.
+     *
+     * @param type the name of the implementation
+     * @return the new DAO
+     * @throws DaoException if the name is unknown or the DAO cannot be opened
+     */
+    private static EventCalendarDao createDao(String type) throws DaoException {
+        JsonEventDaoImpl.Mode fileMode = Boolean.getBoolean(MULTI_PROCESS_PROPERTY)
+                ? JsonEventDaoImpl.Mode.MULTI_PROCESS
+                : JsonEventDaoImpl.Mode.CACHED;
+        switch (type) {
+            case "json":
+                return new JsonEventDaoImpl(System.getProperty(FILE_PROPERTY, "events.json"), fileMode);
+            case "binary":
+                return new BinaryEventDaoImpl(System.getProperty(FILE_PROPERTY, "events.bin"), fileMode);
+            case "log":
+                return new TimedEventCalendarDao(new LogEventDaoImpl(System.getProperty(FILE_PROPERTY, "events.log")));
+            case "mapped":
+                return new TimedEventCalendarDao(new MappedEventDaoImpl(System.getProperty(FILE_PROPERTY, "events.dat")));
+            case "jdbc":
+                return new TimedEventCalendarDao(new JdbcEventDaoImpl(
+                        System.getProperty(JDBC_URL_PROPERTY, DEFAULT_JDBC_URL)));
+            default:
+                throw new DaoException("Unknown DAO implementation: " + type);
+        }
+    }
 }
\ No newline at end of file
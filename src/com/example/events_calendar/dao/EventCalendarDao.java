@@ -1,8 +1,12 @@
 package com.example.events_calendar.dao;
 
 import com.example.events_calendar.model.Event;
+import com.example.events_calendar.model.EventPage;
 
+import java.time.LocalDate;
 import java.util.List;
+import java.util.Optional;
+import java.util.function.Predicate;
 
 /**
  * Defines CRUD operations for storing and retrieving {@link Event} instances
@@ -27,6 +31,18 @@ public interface EventCalendarDao {
      */
     Event read(String title) throws DaoException;
 
+    /**
+     * Looks up an event by its title, reporting a missing event as an empty result.
+     * <p>
+     * Unlike {@link #read(String)}, a missing title is an expected outcome here and costs no
+     * exception, which matters on paths where lookups of unknown titles are frequent.
+     *
+     * @param title the title of the event to look up; must not be null
+     * @return the {@link Event} with the specified title, or an empty {@link Optional} if there is none
+     * @throws DaoException if the title is null or a data-access error occurs
+     */
+    Optional<Event> findByTitle(String title) throws DaoException;
+
     /**
      * Updates an existing event in the data store.
      *
@@ -50,4 +66,128 @@ public interface EventCalendarDao {
      * @throws DaoException if a data-access error occurs
      */
     List<Event> findAll() throws DaoException;
+
+    /**
+     * Persists a batch of new events atomically: either all of them are created or none is.
+     *
+     * @param events the events to create; must not contain null events or duplicate titles
+     * @throws DaoException if the batch is invalid, any event already exists, or a data-access error occurs
+     */
+    void createAll(List<Event> events) throws DaoException;
+
+    /**
+     * Updates a batch of existing events atomically: either all of them are updated or none is.
+     *
+     * @param events the events containing updated data; must not contain null events or duplicate titles
+     * @throws DaoException if the batch is invalid, any event does not exist, or a data-access error occurs
+     */
+    void updateAll(List<Event> events) throws DaoException;
+
+    /**
+     * Removes a batch of events atomically: either all of them are removed or none is.
+     *
+     * @param titles the titles of the events to delete; must not contain null or duplicate titles
+     * @throws DaoException if the batch is invalid, any event does not exist, or a data-access error occurs
+     */
+    void deleteAll(List<String> titles) throws DaoException;
+
+    /**
+     * Returns one page of events in ascending title order.
+     * <p>
+     * Pages are read from a stable order, so following the returned cursors visits every
+     * event that exists throughout the walk exactly once without loading all events at once.
+     *
+     * @param cursor the cursor returned with the previous page, or {@code null} for the first page
+     * @param limit  the maximum number of events on the page; must be positive
+     * @return the page of events and the cursor of the next page
+     * @throws DaoException if the cursor is malformed, the limit is not positive, or a data-access error occurs
+     */
+    EventPage findPage(String cursor, int limit) throws DaoException;
+
+    /**
+     * Returns the events taking place between two dates, inclusive,
+     * ordered by date and then by title.
+     *
+     * @param from the first date of the range; must not be null
+     * @param to   the last date of the range; must not be null
+     * @return a {@link List} of matching {@link Event} instances; empty if {@code from} is after {@code to}
+     * @throws DaoException if a date is null or a data-access error occurs
+     */
+    List<Event> findByDateRange(LocalDate from, LocalDate to) throws DaoException;
+
+    /**
+     * Returns the events taking place on the given date, ordered by title.
+     *
+     * @param date the date to look up; must not be null
+     * @return a {@link List} of matching {@link Event} instances
+     * @throws DaoException if the date is null or a data-access error occurs
+     */
+    default List<Event> findOnDate(LocalDate date) throws DaoException {
+        return findByDateRange(date, date);
+    }
+
+    /**
+     * Returns the events run by the organizer with the given name, ordered by title.
+     *
+     * @param organizerName the name of the organizer; must not be null
+     * @return a {@link List} of matching {@link Event} instances
+     * @throws DaoException if the name is null or a data-access error occurs
+     */
+    List<Event> findByOrganizer(String organizerName) throws DaoException;
+
+    /**
+     * Passes every stored event to a visitor, one at a time, until the visitor returns {@code false}.
+     * <p>
+     * Unlike {@link #findAll()}, implementations may stream the events without holding them all,
+     * so memory use does not grow with the calendar. The events are not ordered, and changes
+     * made during the iteration may or may not be visited. Runtime exceptions thrown by the
+     * visitor propagate unchanged. The default implementation iterates over {@link #findAll()}.
+     *
+     * @param visitor receives the events and returns whether to continue
+     * @throws DaoException if a data-access error occurs
+     */
+    default void forEachEvent(Predicate<Event> visitor) throws DaoException {
+        for (Event event : findAll()) {
+            if (!visitor.test(event)) return;
+        }
+    }
+
+    /**
+     * Registers a listener notified after every change of the stored events.
+     * <p>
+     * A DAO accepts listeners only if it can report every change its readers may observe,
+     * including changes made to the data store by other programs that it picks up. The default
+     * implementation accepts none.
+     *
+     * @param listener the listener to notify; must not be null
+     * @return {@code true} if the listener was registered, {@code false} if this DAO cannot
+     *         report every change, in which case data derived from the events must not be cached
+     */
+    default boolean addMutationListener(EventMutationListener listener) {
+        return false;
+    }
+
+    /**
+     * Starts a batch on the calling thread, letting the mutations it makes until
+     * {@link #endBatch()} share a single persist.
+     * <p>
+     * Inside a batch each mutation is applied and visible as usual, but does not wait to be
+     * durable; {@link #endBatch()} persists them together and waits for all of them. Every
+     * call must be paired with {@link #endBatch()} on the same thread, typically in a
+     * {@code finally} block. The default implementation does nothing, so each mutation is
+     * persisted on its own.
+     *
+     * @throws DaoException if a batch is already open on the calling thread
+     */
+    default void beginBatch() throws DaoException {
+    }
+
+    /**
+     * Ends the batch started on the calling thread and waits until its mutations are durable.
+     *
+     * @throws DaoException if no batch is open on the calling thread, or the mutations of the
+     *                      batch could not be persisted
+     */
+    default void endBatch() throws DaoException {
+    }
 }
@@ -0,0 +1,22 @@
+package com.example.events_calendar.dao;
+
+/**
+ * Receives notice of changes to the stored events, so that data derived from them, such as
+ * serialized responses, can be invalidated.
+ * <p>
+ * A notice is sent after every attempt to create, update or delete an event, including
+ * attempts that failed and may have been rolled back, so listeners must treat it as
+ * "may have changed". Listeners are called on the thread that made the change and must
+ * return quickly without calling back into the DAO.</p>
+ */
+@FunctionalInterface
+public interface EventMutationListener {
+
+    /**
+     * Called after the event with the given title may have been created, updated or deleted.
+     *
+     * @param title the title of the event, or {@code null} if any event may have changed,
+     *              for example after the storage file was reloaded
+     */
+    void eventChanged(String title);
+}
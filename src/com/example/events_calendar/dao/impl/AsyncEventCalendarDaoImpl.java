@@ -0,0 +1,423 @@
+package com.example.events_calendar.dao.impl;
+
+import com.example.events_calendar.dao.AsyncEventCalendarDao;
+import com.example.events_calendar.dao.DaoException;
+import com.example.events_calendar.dao.EventCalendarDao;
+import com.example.events_calendar.model.Event;
+import com.example.events_calendar.model.EventPage;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Implementation of {@link AsyncEventCalendarDao} running a blocking {@link EventCalendarDao}
+ * on a dedicated pool of I/O threads.
+ * <p>
+ * Reads are executed concurrently on the pool. Writes are queued and applied one drain at a
+ * time in submission order; consecutive creations, updates or deletions of distinct titles
+ * that are waiting in the queue are coalesced into a single {@code createAll},
+ * {@code updateAll} or {@code deleteAll} call, so a burst of writes costs one persist
+ * instead of one per event. If a coalesced batch is rejected, its writes are retried one
+ * by one, so each future reports the outcome of its own write.</p>
+ */
+public class AsyncEventCalendarDaoImpl implements AsyncEventCalendarDao, AutoCloseable {
+
+    /** Default largest number of queued writes merged into one batch. */
+    public static final int DEFAULT_MAX_BATCH_SIZE = 256;
+
+    /** Kinds of queued writes. */
+    private enum Kind {
+        CREATE,
+        UPDATE,
+        DELETE,
+        /** An explicit batch, applied on its own. */
+        BATCH
+    }
+
+    /** Blocking DAO performing the actual data access. */
+    private final EventCalendarDao dao;
+
+    /** Pool of threads running the blocking calls. */
+    private final ExecutorService executor;
+
+    /** Writes waiting to be applied, in submission order. */
+    private final Queue<Write> writes = new ConcurrentLinkedQueue<>();
+
+    /** Whether a drain of {@link #writes} is scheduled or running. */
+    private final AtomicBoolean draining = new AtomicBoolean();
+
+    /** Largest number of queued writes merged into one batch. */
+    private final int maxBatchSize;
+
+    /** Whether {@link #close()} has been called. */
+    private volatile boolean closed;
+
+    /**
+     * Constructs a new AsyncEventCalendarDaoImpl with one I/O thread per processor, but at least two.
+     *
+     * @param dao the blocking DAO to run; must not be null
+     */
+    public AsyncEventCalendarDaoImpl(EventCalendarDao dao) {
+        this(dao, Math.max(2, Runtime.getRuntime().availableProcessors()), DEFAULT_MAX_BATCH_SIZE);
+    }
+
+    /**
+     * Constructs a new AsyncEventCalendarDaoImpl.
+     *
+     * @param dao          the blocking DAO to run; must not be null
+     * @param ioThreads    the number of I/O threads; must be positive
+     * @param maxBatchSize the largest number of queued writes merged into one batch; must be positive
+     */
+    public AsyncEventCalendarDaoImpl(EventCalendarDao dao, int ioThreads, int maxBatchSize) {
+        if (dao == null) throw new IllegalArgumentException("DAO cannot be null");
+        if (ioThreads <= 0) throw new IllegalArgumentException("I/O thread count must be positive");
+        if (maxBatchSize <= 0) throw new IllegalArgumentException("Batch size must be positive");
+        this.dao = dao;
+        this.maxBatchSize = maxBatchSize;
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(ioThreads, task -> {
+            Thread thread = new Thread(task, "event-io-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Queues the creation of an {@link Event}.
+     *
+     * @param event the event to create; must not be null
+     * @return a future completed once the event is stored, or exceptionally with a {@link DaoException}
+     */
+    @Override
+    public CompletableFuture<Void> create(Event event) {
+        if (event == null) return CompletableFuture.failedFuture(new DaoException("Event cannot be null"));
+        return enqueue(new Write(Kind.CREATE, event.getTitle(), event, null));
+    }
+
+    /**
+     * Reads an {@link Event} by its title on an I/O thread.
+     *
+     * @param title the title of the event to read; must not be null
+     * @return a future completed with the event, or exceptionally with a {@link DaoException}
+     */
+    @Override
+    public CompletableFuture<Event> read(String title) {
+        return supply(() -> dao.read(title));
+    }
+
+    /**
+     * Looks up an {@link Event} by its title on an I/O thread.
+     *
+     * @param title the title of the event to look up; must not be null
+     * @return a future completed with the event or an empty {@link Optional},
+     *         or exceptionally with a {@link DaoException}
+     */
+    @Override
+    public CompletableFuture<Optional<Event>> findByTitle(String title) {
+        return supply(() -> dao.findByTitle(title));
+    }
+
+    /**
+     * Queues the update of an {@link Event}.
+     *
+     * @param event the event containing updated data; must not be null
+     * @return a future completed once the event is stored, or exceptionally with a {@link DaoException}
+     */
+    @Override
+    public CompletableFuture<Void> update(Event event) {
+        if (event == null) return CompletableFuture.failedFuture(new DaoException("Event cannot be null"));
+        return enqueue(new Write(Kind.UPDATE, event.getTitle(), event, null));
+    }
+
+    /**
+     * Queues the deletion of the {@link Event} with the given title.
+     *
+     * @param title the title of the event to delete; must not be null
+     * @return a future completed once the event is removed, or exceptionally with a {@link DaoException}
+     */
+    @Override
+    public CompletableFuture<Void> delete(String title) {
+        if (title == null) return CompletableFuture.failedFuture(new DaoException("Title cannot be null"));
+        return enqueue(new Write(Kind.DELETE, title, null, null));
+    }
+
+    /**
+     * Queues the creation of a batch of {@link Event}s, applied atomically on its own.
+     *
+     * @param events the events to create
+     * @return a future completed once the batch is stored, or exceptionally with a {@link DaoException}
+     */
+    @Override
+    public CompletableFuture<Void> createAll(List<Event> events) {
+        return enqueue(new Write(Kind.BATCH, null, null, () -> {
+            dao.createAll(events);
+            return null;
+        }));
+    }
+
+    /**
+     * Queues the update of a batch of {@link Event}s, applied atomically on its own.
+     *
+     * @param events the events containing updated data
+     * @return a future completed once the batch is stored, or exceptionally with a {@link DaoException}
+     */
+    @Override
+    public CompletableFuture<Void> updateAll(List<Event> events) {
+        return enqueue(new Write(Kind.BATCH, null, null, () -> {
+            dao.updateAll(events);
+            return null;
+        }));
+    }
+
+    /**
+     * Queues the deletion of a batch of {@link Event}s, applied atomically on its own.
+     *
+     * @param titles the titles of the events to delete
+     * @return a future completed once the batch is removed, or exceptionally with a {@link DaoException}
+     */
+    @Override
+    public CompletableFuture<Void> deleteAll(List<String> titles) {
+        return enqueue(new Write(Kind.BATCH, null, null, () -> {
+            dao.deleteAll(titles);
+            return null;
+        }));
+    }
+
+    /**
+     * Reads every stored event on an I/O thread.
+     *
+     * @return a future completed with all events, or exceptionally with a {@link DaoException}
+     */
+    @Override
+    public CompletableFuture<List<Event>> findAll() {
+        return supply(dao::findAll);
+    }
+
+    /**
+     * Reads one page of events on an I/O thread.
+     *
+     * @param cursor the cursor returned with the previous page, or {@code null} for the first page
+     * @param limit  the maximum number of events on the page; must be positive
+     * @return a future completed with the page, or exceptionally with a {@link DaoException}
+     */
+    @Override
+    public CompletableFuture<EventPage> findPage(String cursor, int limit) {
+        return supply(() -> dao.findPage(cursor, limit));
+    }
+
+    /**
+     * Reads the events taking place between two dates on an I/O thread.
+     *
+     * @param from the first date of the range; must not be null
+     * @param to   the last date of the range; must not be null
+     * @return a future completed with the matching events, or exceptionally with a {@link DaoException}
+     */
+    @Override
+    public CompletableFuture<List<Event>> findByDateRange(LocalDate from, LocalDate to) {
+        return supply(() -> dao.findByDateRange(from, to));
+    }
+
+    /**
+     * Reads the events run by the given organizer on an I/O thread.
+     *
+     * @param organizerName the name of the organizer; must not be null
+     * @return a future completed with the matching events, or exceptionally with a {@link DaoException}
+     */
+    @Override
+    public CompletableFuture<List<Event>> findByOrganizer(String organizerName) {
+        return supply(() -> dao.findByOrganizer(organizerName));
+    }
+
+    /**
+     * Stops accepting operations, lets the queued ones finish and stops the I/O threads.
+     * The wrapped DAO is left open.
+     *
+     * @throws DaoException if interrupted while waiting for the queued operations
+     */
+    @Override
+    public void close() throws DaoException {
+        closed = true;
+        executor.shutdown();
+        try {
+            executor.awaitTermination(1, TimeUnit.MINUTES);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new DaoException("Interrupted while stopping I/O threads", e);
+        }
+    }
+
+    /**
+     * Runs a blocking call on an I/O thread.
+     */
+    private <T> CompletableFuture<T> supply(DaoCall<T> call) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        if (closed) {
+            result.completeExceptionally(new DaoException("DAO is closed"));
+            return result;
+        }
+        try {
+            executor.execute(() -> complete(result, call));
+        } catch (RejectedExecutionException e) {
+            result.completeExceptionally(new DaoException("DAO is closed", e));
+        }
+        return result;
+    }
+
+    /**
+     * Adds a write to the queue and makes sure a drain will pick it up.
+     */
+    private CompletableFuture<Void> enqueue(Write write) {
+        if (closed) {
+            write.result.completeExceptionally(new DaoException("DAO is closed"));
+            return write.result;
+        }
+        writes.add(write);
+        if (draining.compareAndSet(false, true)) {
+            try {
+                executor.execute(this::drain);
+            } catch (RejectedExecutionException e) {
+                draining.set(false);
+                Write pending;
+                while ((pending = writes.poll()) != null) {
+                    pending.result.completeExceptionally(new DaoException("DAO is closed", e));
+                }
+            }
+        }
+        return write.result;
+    }
+
+    /**
+     * Applies queued writes until the queue is empty, merging runs of compatible writes.
+     */
+    private void drain() {
+        do {
+            Write carried = null;
+            while (true) {
+                Write first = carried != null ? carried : writes.poll();
+                carried = null;
+                if (first == null) break;
+                if (first.kind == Kind.BATCH) {
+                    complete(first.result, first.batch);
+                    continue;
+                }
+                List<Write> run = new ArrayList<>();
+                Set<String> titles = new HashSet<>();
+                run.add(first);
+                titles.add(first.title);
+                while (run.size() < maxBatchSize) {
+                    Write next = writes.poll();
+                    if (next == null) break;
+                    if (next.kind != first.kind || !titles.add(next.title)) {
+                        carried = next;
+                        break;
+                    }
+                    run.add(next);
+                }
+                apply(first.kind, run);
+            }
+            draining.set(false);
+        } while (!writes.isEmpty() && draining.compareAndSet(false, true));
+    }
+
+    /**
+     * Applies a run of writes of the same kind with a single call, falling back to
+     * one call per write if the batch is rejected.
+     */
+    private void apply(Kind kind, List<Write> run) {
+        if (run.size() > 1) {
+            try {
+                switch (kind) {
+                    case CREATE -> dao.createAll(eventsOf(run));
+                    case UPDATE -> dao.updateAll(eventsOf(run));
+                    default -> dao.deleteAll(titlesOf(run));
+                }
+                for (Write write : run) {
+                    write.result.complete(null);
+                }
+                return;
+            } catch (DaoException | RuntimeException e) {
+                // Batches are atomic, so nothing was applied; retry each write on its own.
+            }
+        }
+        for (Write write : run) {
+            complete(write.result, () -> {
+                switch (kind) {
+                    case CREATE -> dao.create(write.event);
+                    case UPDATE -> dao.update(write.event);
+                    default -> dao.delete(write.title);
+                }
+                return null;
+            });
+        }
+    }
+
+    /**
+     * Runs a blocking call and completes the future with its outcome.
+     */
+    private static <T> void complete(CompletableFuture<T> result, DaoCall<T> call) {
+        try {
+            result.complete(call.call());
+        } catch (DaoException e) {
+            result.completeExceptionally(e);
+        } catch (RuntimeException e) {
+            result.completeExceptionally(new DaoException("Data access failed", e));
+        }
+    }
+
+    private static List<Event> eventsOf(List<Write> run) {
+        List<Event> events = new ArrayList<>(run.size());
+        for (Write write : run) {
+            events.add(write.event);
+        }
+        return events;
+    }
+
+    private static List<String> titlesOf(List<Write> run) {
+        List<String> titles = new ArrayList<>(run.size());
+        for (Write write : run) {
+            titles.add(write.title);
+        }
+        return titles;
+    }
+
+    /**
+     * Blocking data-access call.
+     *
+     * @param <T> the type of the result
+     */
+    @FunctionalInterface
+    private interface DaoCall<T> {
+        T call() throws DaoException;
+    }
+
+    /**
+     * A queued write and the future reporting its outcome.
+     */
+    private static final class Write {
+        final Kind kind;
+        final String title;
+        final Event event;
+        final DaoCall<Void> batch;
+        final CompletableFuture<Void> result = new CompletableFuture<>();
+
+        Write(Kind kind, String title, Event event, DaoCall<Void> batch) {
+            this.kind = kind;
+            this.title = title;
+            this.event = event;
+            this.batch = batch;
+        }
+    }
+}
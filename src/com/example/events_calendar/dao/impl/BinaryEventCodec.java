@@ -0,0 +1,308 @@
+package com.example.events_calendar.dao.impl;
+
+import com.example.events_calendar.model.Event;
+import com.example.events_calendar.model.Organizer;
+import com.example.events_calendar.model.Schedule;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Map;
+import java.util.function.Predicate;
+
+/**
+ * Compact, versioned binary encoding of {@link Event} instances.
+ *
+ * <p>A file starts with the magic bytes {@code EVTB}, a format version byte and the number
+ * of records. Each record is prefixed with its length, so readers can skip a record after
+ * looking at its title, which is always encoded first. Within a record:</p>
+ * <ul>
+ *     <li>integers are unsigned LEB128 varints, signed ones zigzag-encoded first;</li>
+ *     <li>strings are the varint byte length plus one (zero meaning {@code null}) followed by UTF-8 bytes;</li>
+ *     <li>a flags byte tells whether the date, organizer and schedule are present;</li>
+ *     <li>the date is its epoch day;</li>
+ *     <li>the schedule is its number of entries followed by time and activity pairs, where a
+ *     time is stored as minutes of the day unless it carries seconds or nanoseconds.</li>
+ * </ul>
+ */
+public final class BinaryEventCodec {
+
+    /** Version of the format written by this codec. */
+    public static final int FORMAT_VERSION = 1;
+
+    /** Magic bytes identifying a binary events file. */
+    private static final byte[] MAGIC = {'E', 'V', 'T', 'B'};
+
+    /** Flag set when the event has a date. */
+    private static final int HAS_DATE = 1;
+
+    /** Flag set when the event has an organizer. */
+    private static final int HAS_ORGANIZER = 1 << 1;
+
+    /** Flag set when the event has a schedule. */
+    private static final int HAS_SCHEDULE = 1 << 2;
+
+    /** Time tag: the time is a whole minute, stored as minutes of the day. */
+    private static final int TIME_MINUTES = 0;
+
+    /** Time tag: the time is a whole second, stored as seconds of the day. */
+    private static final int TIME_SECONDS = 1;
+
+    /** Time tag: seconds of the day followed by the nanosecond of the second. */
+    private static final int TIME_NANOS = 2;
+
+    private BinaryEventCodec() {
+    }
+
+    /**
+     * Encodes a whole map of events as a binary events file.
+     *
+     * @param data the map from event titles to Event objects
+     * @param out  the stream to write to; left open
+     * @throws IOException if the stream cannot be written
+     */
+    public static void writeFile(Map<String, Event> data, OutputStream out) throws IOException {
+        out.write(MAGIC);
+        out.write(FORMAT_VERSION);
+        writeVarLong(out, data.size());
+        for (Event event : data.values()) {
+            byte[] record = encode(event);
+            writeVarLong(out, record.length);
+            out.write(record);
+        }
+    }
+
+    /**
+     * Streams the records of a binary events file.
+     * <p>
+     * Only records whose title is wanted are decoded and passed to the visitor,
+     * which returns {@code false} to stop reading.
+     *
+     * @param in      the stream to read from; left open
+     * @param wanted  decides from its title whether a record needs to be decoded
+     * @param visitor receives the wanted events and returns whether to continue
+     * @throws IOException if the stream cannot be read, is truncated, or has an unsupported format
+     */
+    public static void scanFile(InputStream in, Predicate<String> wanted, Predicate<Event> visitor) throws IOException {
+        DataInputStream data = new DataInputStream(in);
+        byte[] magic = new byte[MAGIC.length];
+        data.readFully(magic);
+        for (int i = 0; i < MAGIC.length; i++) {
+            if (magic[i] != MAGIC[i]) throw new IOException("Not a binary events file");
+        }
+        int version = data.readUnsignedByte();
+        if (version != FORMAT_VERSION) throw new IOException("Unsupported binary format version: " + version);
+        long count = readVarLong(data);
+        byte[] record = new byte[256];
+        for (long i = 0; i < count; i++) {
+            long size = readVarLong(data);
+            if (size > Integer.MAX_VALUE - 8) throw new IOException("Malformed binary event record length");
+            int length = (int) size;
+            if (record.length < length) record = new byte[Math.max(length, record.length * 2)];
+            data.readFully(record, 0, length);
+            ByteBuffer buffer = ByteBuffer.wrap(record, 0, length);
+            try {
+                if (wanted.test(decodeTitle(buffer.duplicate())) && !visitor.test(decode(buffer))) return;
+            } catch (BufferUnderflowException | IllegalArgumentException | DateTimeException e) {
+                throw new IOException("Malformed binary event record", e);
+            }
+        }
+    }
+
+    /**
+     * Encodes a single event as a record body, without its length prefix.
+     *
+     * @param event the event to encode
+     * @return the encoded record
+     */
+    public static byte[] encode(Event event) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(64);
+        try {
+            writeString(out, event.getTitle());
+            Schedule schedule = event.getSchedule();
+            int flags = (event.getDate() != null ? HAS_DATE : 0)
+                    | (event.getOrganizer() != null ? HAS_ORGANIZER : 0)
+                    | (schedule != null ? HAS_SCHEDULE : 0);
+            out.write(flags);
+            if (event.getDate() != null) {
+                writeVarLong(out, zigzag(event.getDate().toEpochDay()));
+            }
+            if (event.getOrganizer() != null) {
+                writeString(out, event.getOrganizer().getName());
+            }
+            if (schedule != null) {
+                writeVarLong(out, schedule.getActivitiesByTime().size());
+                for (Map.Entry<LocalTime, String> activity : schedule.getActivitiesByTime().entrySet()) {
+                    writeTime(out, activity.getKey());
+                    writeString(out, activity.getValue());
+                }
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("In-memory write failed", e);
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * Decodes a record body, advancing the buffer past it.
+     *
+     * @param buffer the buffer positioned at the start of a record body
+     * @return the decoded event
+     * @throws BufferUnderflowException if the record is truncated
+     * @throws IllegalArgumentException if the record holds an invalid varint or time encoding
+     * @throws DateTimeException        if the record holds an out-of-range date or time
+     */
+    public static Event decode(ByteBuffer buffer) {
+        String title = readString(buffer);
+        int flags = buffer.get();
+        LocalDate date = (flags & HAS_DATE) != 0 ? LocalDate.ofEpochDay(unzigzag(readVarLong(buffer))) : null;
+        Organizer organizer = (flags & HAS_ORGANIZER) != 0 ? new Organizer(readString(buffer)) : null;
+        Schedule schedule = null;
+        if ((flags & HAS_SCHEDULE) != 0) {
+            schedule = new Schedule();
+            long activities = readVarLong(buffer);
+            for (long i = 0; i < activities; i++) {
+                LocalTime time = readTime(buffer);
+                schedule.getActivitiesByTime().put(time, readString(buffer));
+            }
+        }
+        return new Event(title, date, organizer, schedule);
+    }
+
+    /**
+     * Decodes only the title of a record body, advancing the buffer past the title.
+     *
+     * @param buffer the buffer positioned at the start of a record body
+     * @return the title of the encoded event
+     * @throws BufferUnderflowException if the record is truncated
+     */
+    public static String decodeTitle(ByteBuffer buffer) {
+        return readString(buffer);
+    }
+
+    /**
+     * Writes a time using the shortest of the minute, second and nanosecond encodings.
+     */
+    private static void writeTime(OutputStream out, LocalTime time) throws IOException {
+        if (time.getNano() != 0) {
+            writeVarLong(out, (long) time.toSecondOfDay() << 2 | TIME_NANOS);
+            writeVarLong(out, time.getNano());
+        } else if (time.getSecond() != 0) {
+            writeVarLong(out, (long) time.toSecondOfDay() << 2 | TIME_SECONDS);
+        } else {
+            writeVarLong(out, (long) (time.toSecondOfDay() / 60) << 2 | TIME_MINUTES);
+        }
+    }
+
+    /**
+     * Reads a time written by {@link #writeTime(OutputStream, LocalTime)}.
+     */
+    private static LocalTime readTime(ByteBuffer buffer) {
+        long value = readVarLong(buffer);
+        long amount = value >>> 2;
+        switch ((int) (value & 3)) {
+            case TIME_MINUTES:
+                return LocalTime.ofSecondOfDay(amount * 60);
+            case TIME_SECONDS:
+                return LocalTime.ofSecondOfDay(amount);
+            case TIME_NANOS:
+                return LocalTime.ofSecondOfDay(amount).withNano((int) readVarLong(buffer));
+            default:
+                throw new IllegalArgumentException("Unknown time encoding");
+        }
+    }
+
+    /**
+     * Writes a nullable string as its length plus one followed by its UTF-8 bytes.
+     */
+    private static void writeString(OutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.write(0);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeVarLong(out, bytes.length + 1L);
+        out.write(bytes);
+    }
+
+    /**
+     * Reads a string written by {@link #writeString(OutputStream, String)}.
+     */
+    private static String readString(ByteBuffer buffer) {
+        long length = readVarLong(buffer);
+        if (length == 0) return null;
+        int size = (int) (length - 1);
+        if (size > buffer.remaining()) throw new BufferUnderflowException();
+        String value;
+        if (buffer.hasArray()) {
+            value = new String(buffer.array(), buffer.arrayOffset() + buffer.position(), size, StandardCharsets.UTF_8);
+            buffer.position(buffer.position() + size);
+        } else {
+            byte[] bytes = new byte[size];
+            buffer.get(bytes);
+            value = new String(bytes, StandardCharsets.UTF_8);
+        }
+        return value;
+    }
+
+    /**
+     * Writes an unsigned LEB128 varint.
+     */
+    private static void writeVarLong(OutputStream out, long value) throws IOException {
+        while ((value & ~0x7FL) != 0) {
+            out.write((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.write((int) value);
+    }
+
+    /**
+     * Reads an unsigned LEB128 varint from a buffer.
+     */
+    private static long readVarLong(ByteBuffer buffer) {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            byte b = buffer.get();
+            value |= (long) (b & 0x7F) << shift;
+            if (b >= 0) return value;
+        }
+        throw new IllegalArgumentException("Malformed varint");
+    }
+
+    /**
+     * Reads an unsigned LEB128 varint from a stream.
+     */
+    private static long readVarLong(DataInputStream in) throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = in.read();
+            if (b < 0) throw new EOFException("Truncated binary events file");
+            value |= (long) (b & 0x7F) << shift;
+            if (b < 0x80) return value;
+        }
+        throw new IOException("Malformed varint");
+    }
+
+    /**
+     * Maps signed values to unsigned ones so that small magnitudes stay short.
+     */
+    private static long zigzag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    /**
+     * Reverses {@link #zigzag(long)}.
+     */
+    private static long unzigzag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+}
@@ -0,0 +1,85 @@
+package com.example.events_calendar.dao.impl;
+
+import com.example.events_calendar.dao.DaoException;
+import com.example.events_calendar.dao.EventCalendarDao;
+import com.example.events_calendar.model.Event;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Binary file implementation of {@link EventCalendarDao}.
+ * <p>
+ * Behaves exactly like {@link JsonEventDaoImpl}, including its locking, caching and
+ * group commit, but persists events in the compact {@link BinaryEventCodec} format
+ * through a {@link BinaryStorageHandler}. Existing JSON files can be imported, and
+ * the stored events can be exported back to JSON.</p>
+ */
+public class BinaryEventDaoImpl extends JsonEventDaoImpl {
+
+    /**
+     * Constructs a new BinaryEventDaoImpl that stores events in the given binary file.
+     *
+     * @param filePath the path to the binary file used for event persistence
+     * @throws DaoException if the storage handler cannot be initialized
+     */
+    public BinaryEventDaoImpl(String filePath) throws DaoException {
+        this(filePath, Mode.DIRECT);
+    }
+
+    /**
+     * Constructs a new BinaryEventDaoImpl that stores events in the given binary file
+     * using the given access mode.
+     *
+     * @param filePath the path to the binary file used for event persistence
+     * @param mode     the strategy used to access the file
+     * @throws DaoException if the storage handler cannot be initialized or the file cannot be loaded
+     */
+    public BinaryEventDaoImpl(String filePath, Mode mode) throws DaoException {
+        super(openHandler(filePath, mode, () -> new BinaryStorageHandler(filePath)), mode);
+    }
+
+    /**
+     * Adds every event of a JSON events file as a single batch.
+     *
+     * @param jsonPath the path to an existing JSON events file
+     * @return the number of imported events
+     * @throws DaoException if the file is missing or unreadable, or an imported event already exists
+     */
+    public int importJson(String jsonPath) throws DaoException {
+        if (!new File(jsonPath).isFile()) throw new DaoException("JSON file not found: " + jsonPath);
+        List<Event> events;
+        try (JsonStorageHandler json = new JsonStorageHandler(jsonPath)) {
+            events = new ArrayList<>(json.read().values());
+        } catch (IOException e) {
+            throw new DaoException("Failed to import events", e);
+        }
+        createAll(events);
+        return events.size();
+    }
+
+    /**
+     * Writes a consistent snapshot of the stored events to a JSON events file,
+     * replacing the file if it exists.
+     *
+     * @param jsonPath the path of the JSON file to write
+     * @return the number of exported events
+     * @throws DaoException if the events cannot be read or the file cannot be written
+     */
+    public int exportJson(String jsonPath) throws DaoException {
+        Map<String, Event> data = new HashMap<>();
+        for (Event event : findAll()) {
+            data.put(event.getTitle(), event);
+        }
+        try (JsonStorageHandler json = new JsonStorageHandler(jsonPath)) {
+            json.write(data);
+        } catch (IOException e) {
+            throw new DaoException("Failed to export events", e);
+        }
+        return data.size();
+    }
+}
@@ -0,0 +1,72 @@
+package com.example.events_calendar.dao.impl;
+
+import com.example.events_calendar.model.Event;
+
+import java.io.BufferedInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Map;
+import java.util.function.Predicate;
+
+/**
+ * Provides binary persistence for Event objects, storing them in a file
+ * encoded with {@link BinaryEventCodec}.
+ *
+ * <p>The binary file is several times smaller than the equivalent indented JSON file
+ * and is decoded without any text parsing. Writes share the crash-safe group commit of
+ * {@link FileStorageHandler}.</p>
+ */
+public class BinaryStorageHandler extends FileStorageHandler {
+
+    /** Size of the read buffer used when streaming the file. */
+    private static final int READ_BUFFER_SIZE = 64 * 1024;
+
+    /**
+     * Constructs a handler that reads from and writes to the specified file path,
+     * using the default group-commit window.
+     * <p>
+     * If the file does not exist, it is created and initialized with an empty map.
+     *
+     * @param filePath the file path where event data will be stored
+     * @throws IOException if the file cannot be created or initialized
+     */
+    public BinaryStorageHandler(String filePath) throws IOException {
+        this(filePath, DEFAULT_GROUP_COMMIT_WINDOW_MILLIS);
+    }
+
+    /**
+     * Constructs a handler that reads from and writes to the specified file path.
+     * <p>
+     * If the file does not exist, it is created and initialized with an empty map.
+     *
+     * @param filePath                the file path where event data will be stored
+     * @param groupCommitWindowMillis time a flush waits for further commits to join it;
+     *                                0 flushes as soon as the previous flush has finished
+     * @throws IOException if the file cannot be created or initialized
+     */
+    public BinaryStorageHandler(String filePath, long groupCommitWindowMillis) throws IOException {
+        super(filePath, groupCommitWindowMillis);
+        initializeFile();
+    }
+
+    /**
+     * Encodes the map with {@link BinaryEventCodec#writeFile(Map, OutputStream)}.
+     */
+    @Override
+    protected void writeData(Map<String, Event> data, OutputStream out) throws IOException {
+        BinaryEventCodec.writeFile(data, out);
+    }
+
+    /**
+     * Streams the records with {@link BinaryEventCodec#scanFile(InputStream, Predicate, Predicate)}.
+     */
+    @Override
+    protected void scanData(File file, Predicate<String> wanted, Predicate<Event> visitor) throws IOException {
+        try (InputStream in = new BufferedInputStream(new FileInputStream(file), READ_BUFFER_SIZE)) {
+            BinaryEventCodec.scanFile(in, wanted, visitor);
+        }
+    }
+}
@@ -0,0 +1,480 @@
+package com.example.events_calendar.dao.impl;
+
+import com.example.events_calendar.model.Event;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+
+/**
+ * {@link EventStorageService} variant that keeps the whole storage map in memory.
+ *
+ * <p>The storage file is parsed once on construction. Reads are served from the in-memory
+ * map, while create, update and delete operations modify the map and write it through
+ * to the file using the storage handler's group commit. The cached state of a title and
+ * its index entries always change together, atomically per title. If the write fails,
+ * the in-memory change is rolled back, unless a later mutation has replaced it in the meantime;
+ * the rollback passes the DAO's {@link MutationGate} like a mutation, so a consistent query
+ * never observes a half-reverted batch. A flush copies the cache while holding the gate,
+ * so a batch, or its rollback, reaches the file entirely or not at all.
+ * Lookups by title are counted as cache hits or misses, and date range and organizer
+ * queries are answered from an {@link EventIndex} kept in step with the cache.</p>
+ *
+ * <p>Events are copied on the way in and on the way out, so a caller changing the
+ * schedule of an event it passed in or got back cannot alter the cached state behind
+ * the storage file, the index or the listeners.</p>
+ *
+ * <p>State loaded from a file changed by another program is merged in with
+ * {@link #applyExternalState(Map)}, which touches only the titles that differ.</p>
+ */
+public class CachedEventStorageService extends EventStorageService {
+
+    /** Handler responsible for low-level file read/write operations. */
+    private final FileStorageHandler storageHandler;
+
+    /** In-memory copy of the storage file, keyed by event title. */
+    private final Map<String, Event> cache;
+
+    /** Secondary indexes over the cached events. */
+    private final EventIndex index = new EventIndex();
+
+    /** Gate shared with the DAO, which rollbacks of failed writes pass like mutations. */
+    private final MutationGate gate;
+
+    /** Number of title lookups answered from the cache. */
+    private final AtomicLong hits = new AtomicLong();
+
+    /** Number of title lookups for events that are not stored. */
+    private final AtomicLong misses = new AtomicLong();
+
+    /**
+     * Constructs a new CachedEventStorageService and loads the storage file into memory.
+     *
+     * @param storageHandler the handler used to read from and write to the storage file
+     * @throws IOException if the storage file cannot be read
+     */
+    public CachedEventStorageService(FileStorageHandler storageHandler) throws IOException {
+        this(storageHandler, new MutationGate());
+    }
+
+    /**
+     * Constructs a new CachedEventStorageService whose rollbacks pass the given mutation gate,
+     * and loads the storage file into memory.
+     *
+     * @param storageHandler the handler used to read from and write to the storage file
+     * @param gate           the gate the mutations of the owning DAO pass
+     * @throws IOException if the storage file cannot be read
+     */
+    CachedEventStorageService(FileStorageHandler storageHandler, MutationGate gate) throws IOException {
+        super(storageHandler);
+        this.storageHandler = storageHandler;
+        this.gate = gate;
+        this.cache = new ConcurrentHashMap<>();
+        storageHandler.scan(title -> true, event -> {
+            cache.put(event.getTitle(), event);
+            index.add(event);
+            return true;
+        });
+    }
+
+    /**
+     * Adds a new event to the cache and writes it through to the file.
+     *
+     * @param event the {@link Event} to add; must not already exist in storage
+     * @return an acknowledgement completed once the change is durable
+     * @throws IllegalStateException if an event with the same title already exists
+     */
+    @Override
+    public CompletableFuture<Void> addEvent(Event event) throws IllegalStateException {
+        Event stored = event.copy();
+        if (!transition(stored.getTitle(), null, stored)) {
+            throw new IllegalStateException("Event already exists: " + stored.getTitle());
+        }
+        return commit(() -> transition(stored.getTitle(), stored, null));
+    }
+
+    /**
+     * Retrieves an event by its title from the cache.
+     *
+     * @param title the title of the event to retrieve; must not be null or blank
+     * @return the {@link Event} matching the given title
+     * @throws NoSuchElementException if no event with the given title is found
+     */
+    @Override
+    public Event getEvent(String title) throws NoSuchElementException {
+        Event event = findEvent(title);
+        if (event == null) {
+            throw new NoSuchElementException("Event not found: " + title);
+        }
+        return event;
+    }
+
+    /**
+     * Looks up an event by its title in the cache without failing when it does not exist.
+     *
+     * @param title the title of the event to look up; must not be null
+     * @return the {@link Event} matching the given title, or {@code null} if there is none
+     */
+    @Override
+    public Event findEvent(String title) {
+        Event event = cache.get(title);
+        if (event == null) {
+            misses.incrementAndGet();
+        } else {
+            hits.incrementAndGet();
+            event = event.copy();
+        }
+        return event;
+    }
+
+    /**
+     * Replaces an existing event in the cache and writes the change through to the file.
+     *
+     * @param event the {@link Event} containing updated data; must already exist
+     * @return an acknowledgement completed once the change is durable
+     * @throws NoSuchElementException if no event with the given title is found
+     */
+    @Override
+    public CompletableFuture<Void> updateEvent(Event event) throws NoSuchElementException {
+        Event stored = event.copy();
+        Event previous;
+        do {
+            previous = cache.get(stored.getTitle());
+            if (previous == null) {
+                throw new NoSuchElementException("Event not found: " + stored.getTitle());
+            }
+        } while (!transition(stored.getTitle(), previous, stored));
+        Event replaced = previous;
+        return commit(() -> transition(stored.getTitle(), stored, replaced));
+    }
+
+    /**
+     * Removes an event from the cache and writes the change through to the file.
+     *
+     * @param title the title of the event to delete; must already exist
+     * @return an acknowledgement completed once the change is durable
+     * @throws NoSuchElementException if no event with the given title is found
+     */
+    @Override
+    public CompletableFuture<Void> deleteEvent(String title) throws NoSuchElementException {
+        Event previous;
+        do {
+            previous = cache.get(title);
+            if (previous == null) {
+                throw new NoSuchElementException("Event not found: " + title);
+            }
+        } while (!transition(title, previous, null));
+        Event removed = previous;
+        return commit(() -> transition(title, null, removed));
+    }
+
+    /**
+     * Adds a batch of new events to the cache and writes them through with a single write.
+     *
+     * @param events the events to add; none may already exist in storage
+     * @return an acknowledgement completed once the change is durable
+     * @throws IllegalStateException if an event with one of the titles already exists
+     */
+    @Override
+    public CompletableFuture<Void> addEvents(List<Event> events) throws IllegalStateException {
+        List<Event> expected = new ArrayList<>(events.size());
+        for (Event event : events) {
+            if (cache.containsKey(event.getTitle())) {
+                throw new IllegalStateException("Event already exists: " + event.getTitle());
+            }
+            expected.add(null);
+        }
+        return transitionAll(titlesOf(events), expected, copiesOf(events));
+    }
+
+    /**
+     * Replaces a batch of existing events in the cache and writes them through with a single write.
+     *
+     * @param events the events containing updated data; all must already exist
+     * @return an acknowledgement completed once the change is durable
+     * @throws NoSuchElementException if no event with one of the titles is found
+     */
+    @Override
+    public CompletableFuture<Void> updateEvents(List<Event> events) throws NoSuchElementException {
+        List<String> titles = titlesOf(events);
+        return transitionAll(titles, currentStates(titles), copiesOf(events));
+    }
+
+    /**
+     * Removes a batch of events from the cache and writes the change through with a single write.
+     *
+     * @param titles the titles of the events to delete; all must already exist
+     * @return an acknowledgement completed once the change is durable
+     * @throws NoSuchElementException if no event with one of the titles is found
+     */
+    @Override
+    public CompletableFuture<Void> deleteEvents(List<String> titles) throws NoSuchElementException {
+        List<Event> removed = new ArrayList<>(titles.size());
+        for (int i = 0; i < titles.size(); i++) {
+            removed.add(null);
+        }
+        return transitionAll(titles, currentStates(titles), removed);
+    }
+
+    /**
+     * Passes copies of the cached events to a visitor. Changes made during the iteration
+     * may or may not be visited, but every event is visited at most once.
+     *
+     * @param visitor receives the events and returns whether to continue
+     */
+    @Override
+    public void forEach(Predicate<Event> visitor) {
+        for (Event event : cache.values()) {
+            if (!visitor.test(event.copy())) return;
+        }
+    }
+
+    /**
+     * Returns a list of all cached events.
+     *
+     * @return a {@link List} of all {@link Event} instances in storage
+     */
+    @Override
+    public List<Event> findAll() {
+        return copiesOf(cache.values());
+    }
+
+    /**
+     * Returns up to {@code limit} cached events ordered by title, starting right after
+     * the given title, using the title index.
+     *
+     * @param after the title to continue after, or {@code null} to start with the first event
+     * @param limit the maximum number of events to return
+     * @return a {@link List} of at most {@code limit} events
+     */
+    @Override
+    public List<Event> findPage(String after, int limit) {
+        return resolve(index.titlesAfter(after, limit));
+    }
+
+    /**
+     * Returns the cached events taking place between two dates, inclusive,
+     * ordered by date and then by title, using the date index.
+     *
+     * @param from the first date of the range
+     * @param to   the last date of the range
+     * @return a {@link List} of matching {@link Event} instances
+     */
+    @Override
+    public List<Event> findByDateRange(LocalDate from, LocalDate to) {
+        return resolve(index.titlesBetween(from, to));
+    }
+
+    /**
+     * Returns the cached events run by the given organizer, ordered by title,
+     * using the organizer index.
+     *
+     * @param organizerName the name of the organizer
+     * @return a {@link List} of matching {@link Event} instances
+     */
+    @Override
+    public List<Event> findByOrganizer(String organizerName) {
+        return resolve(index.titlesOrganizedBy(organizerName));
+    }
+
+    /**
+     * Replaces the cached state with the contents of a file changed by another program.
+     * <p>
+     * Only titles whose event differs are changed, each atomically together with its index
+     * entries; unchanged events keep their cache and index entries, and readers are never
+     * blocked. Must be called while no mutation is in progress.
+     *
+     * @param state the events stored in the changed file, keyed by title
+     * @return the number of titles that were added, replaced or removed
+     */
+    public int applyExternalState(Map<String, Event> state) {
+        int changed = 0;
+        for (Map.Entry<String, Event> entry : state.entrySet()) {
+            Event current = cache.get(entry.getKey());
+            if (!Objects.equals(current, entry.getValue()) && transition(entry.getKey(), current, entry.getValue())) {
+                changed++;
+            }
+        }
+        for (Map.Entry<String, Event> entry : cache.entrySet()) {
+            if (!state.containsKey(entry.getKey()) && transition(entry.getKey(), entry.getValue(), null)) {
+                changed++;
+            }
+        }
+        return changed;
+    }
+
+    /**
+     * Returns the number of title lookups that found a cached event.
+     *
+     * @return the cache hit count
+     */
+    public long getHits() {
+        return hits.get();
+    }
+
+    /**
+     * Returns the number of title lookups for events that are not stored.
+     *
+     * @return the cache miss count
+     */
+    public long getMisses() {
+        return misses.get();
+    }
+
+    /**
+     * Atomically replaces the cached state of a title, together with its index entries,
+     * provided the title is still mapped to {@code expected}.
+     *
+     * @param title       the event title
+     * @param expected    the state the title must currently have; {@code null} for absent
+     * @param replacement the new state; {@code null} to remove the title
+     * @return {@code true} if the state was replaced, {@code false} if it did not match
+     */
+    private boolean transition(String title, Event expected, Event replacement) {
+        boolean[] applied = {false};
+        cache.compute(title, (key, current) -> {
+            if (current != expected) return current;
+            index.replace(current, replacement);
+            applied[0] = true;
+            return replacement;
+        });
+        return applied[0];
+    }
+
+    /**
+     * Applies a batch of transitions atomically and commits them with a single write.
+     * <p>
+     * If any transition no longer matches the cached state, the transitions applied so far
+     * are reverted and the batch is rejected. If the write fails, the whole batch is rolled back.
+     *
+     * @param titles       the titles to change
+     * @param expected     the current state of each title
+     * @param replacements the new state of each title
+     * @return an acknowledgement completed once the change is durable
+     * @throws IllegalStateException if a title was modified concurrently
+     */
+    private CompletableFuture<Void> transitionAll(List<String> titles, List<Event> expected, List<Event> replacements) {
+        for (int i = 0; i < titles.size(); i++) {
+            if (!transition(titles.get(i), expected.get(i), replacements.get(i))) {
+                revert(titles.subList(0, i), expected, replacements);
+                throw new IllegalStateException("Event modified concurrently: " + titles.get(i));
+            }
+        }
+        return commit(() -> revert(titles, expected, replacements));
+    }
+
+    /**
+     * Commits the cache and registers a rollback to run if the write fails.
+     * <p>
+     * The rollback normally runs on the flushing thread and passes the mutation gate like
+     * a mutation. If the write failed before the rollback could be registered, it runs right
+     * away on the committing thread, which is still inside the gate.
+     *
+     * @param rollback undoes the change if the write fails
+     * @return an acknowledgement completed once the change is durable or rolled back
+     */
+    private CompletableFuture<Void> commit(Runnable rollback) {
+        Thread committer = Thread.currentThread();
+        return storageHandler.commit(this::consistentState).whenComplete((ignored, failure) -> {
+            if (failure == null) return;
+            if (Thread.currentThread() == committer) {
+                rollback.run();
+                return;
+            }
+            long stamp = gate.enter();
+            try {
+                rollback.run();
+            } finally {
+                gate.exit(stamp);
+            }
+        });
+    }
+
+    /**
+     * Copies the cache for a flush while holding off mutations and rollbacks,
+     * so that no batch is written half-applied.
+     *
+     * @return a copy of the cached state
+     */
+    private Map<String, Event> consistentState() {
+        long stamp = gate.lock();
+        try {
+            return new HashMap<>(cache);
+        } finally {
+            gate.unlock(stamp);
+        }
+    }
+
+    /**
+     * Reverts the transitions of the given titles, skipping titles changed again since.
+     */
+    private void revert(List<String> titles, List<Event> expected, List<Event> replacements) {
+        for (int i = titles.size() - 1; i >= 0; i--) {
+            transition(titles.get(i), replacements.get(i), expected.get(i));
+        }
+    }
+
+    /**
+     * Returns the cached state of every title.
+     *
+     * @throws NoSuchElementException if one of the titles is not cached
+     */
+    private List<Event> currentStates(List<String> titles) throws NoSuchElementException {
+        List<Event> states = new ArrayList<>(titles.size());
+        for (String title : titles) {
+            Event event = cache.get(title);
+            if (event == null) {
+                throw new NoSuchElementException("Event not found: " + title);
+            }
+            states.add(event);
+        }
+        return states;
+    }
+
+    /**
+     * Returns the titles of the given events, in order.
+     */
+    private static List<String> titlesOf(List<Event> events) {
+        List<String> titles = new ArrayList<>(events.size());
+        for (Event event : events) {
+            titles.add(event.getTitle());
+        }
+        return titles;
+    }
+
+    /**
+     * Returns copies of the given events, in order.
+     */
+    private static List<Event> copiesOf(Collection<Event> events) {
+        List<Event> copies = new ArrayList<>(events.size());
+        for (Event event : events) {
+            copies.add(event.copy());
+        }
+        return copies;
+    }
+
+    /**
+     * Looks up indexed titles in the cache, skipping events removed in the meantime.
+     *
+     * @param titles the titles to resolve
+     * @return copies of the cached events, in the order of {@code titles}
+     */
+    private List<Event> resolve(List<String> titles) {
+        List<Event> events = new ArrayList<>(titles.size());
+        for (String title : titles) {
+            Event event = cache.get(title);
+            if (event != null) events.add(event.copy());
+        }
+        return events;
+    }
+}
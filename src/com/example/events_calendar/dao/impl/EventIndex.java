@@ -0,0 +1,145 @@
+package com.example.events_calendar.dao.impl;
+
+import com.example.events_calendar.model.Event;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.NavigableSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * Secondary indexes over a set of stored {@link Event} instances.
+ *
+ * <p>The index only holds event titles; callers resolve them against their own
+ * primary storage. It must be told about every change of that storage through
+ * {@link #add(Event)}, {@link #remove(Event)} and {@link #replace(Event, Event)}.
+ * Besides the date and organizer indexes it keeps all titles in order for paging.
+ * A replacement moves the event between dates and organizers in one step.
+ * Updates are serialized internally, while lookups never block and may run
+ * concurrently with updates.</p>
+ */
+public class EventIndex {
+
+    /** All event titles in ascending order. */
+    private final NavigableSet<String> titles = new ConcurrentSkipListSet<>();
+
+    /** Event titles grouped by event date, both in ascending order. */
+    private final NavigableMap<LocalDate, NavigableSet<String>> titlesByDate = new ConcurrentSkipListMap<>();
+
+    /** Event titles in ascending order, grouped by organizer name. */
+    private final Map<String, NavigableSet<String>> titlesByOrganizer = new ConcurrentHashMap<>();
+
+    /**
+     * Indexes a newly stored event.
+     *
+     * @param event the stored event
+     */
+    public synchronized void add(Event event) {
+        titles.add(event.getTitle());
+        if (event.getDate() != null) {
+            titlesByDate.computeIfAbsent(event.getDate(), date -> new ConcurrentSkipListSet<>())
+                    .add(event.getTitle());
+        }
+        String organizer = organizerName(event);
+        if (organizer != null) {
+            titlesByOrganizer.computeIfAbsent(organizer, name -> new ConcurrentSkipListSet<>())
+                    .add(event.getTitle());
+        }
+    }
+
+    /**
+     * Removes a no longer stored event from the index.
+     *
+     * @param event the removed event
+     */
+    public synchronized void remove(Event event) {
+        titles.remove(event.getTitle());
+        if (event.getDate() != null) {
+            removeTitle(titlesByDate, event.getDate(), event.getTitle());
+        }
+        String organizer = organizerName(event);
+        if (organizer != null) {
+            removeTitle(titlesByOrganizer, organizer, event.getTitle());
+        }
+    }
+
+    /**
+     * Re-indexes an event whose stored state changed.
+     *
+     * @param previous the previously stored state, or {@code null} if there was none
+     * @param current  the newly stored state, or {@code null} if the event was removed
+     */
+    public synchronized void replace(Event previous, Event current) {
+        if (previous != null) remove(previous);
+        if (current != null) add(current);
+    }
+
+    /**
+     * Returns titles in ascending order, starting right after the given title.
+     *
+     * @param after the title to continue after, or {@code null} to start with the first title
+     * @param limit the maximum number of titles to return
+     * @return at most {@code limit} titles
+     */
+    public List<String> titlesAfter(String after, int limit) {
+        List<String> page = new ArrayList<>(Math.min(limit, 1024));
+        for (String title : after == null ? titles : titles.tailSet(after, false)) {
+            if (page.size() == limit) break;
+            page.add(title);
+        }
+        return page;
+    }
+
+    /**
+     * Returns the titles of events taking place between two dates, inclusive,
+     * ordered by date and then by title.
+     *
+     * @param from the first date of the range
+     * @param to   the last date of the range
+     * @return the matching titles; empty if {@code from} is after {@code to}
+     */
+    public List<String> titlesBetween(LocalDate from, LocalDate to) {
+        List<String> titles = new ArrayList<>();
+        if (from.isAfter(to)) return titles;
+        for (NavigableSet<String> sameDay : titlesByDate.subMap(from, true, to, true).values()) {
+            titles.addAll(sameDay);
+        }
+        return titles;
+    }
+
+    /**
+     * Returns the titles of events run by the given organizer, in ascending order.
+     *
+     * @param organizerName the name of the organizer
+     * @return the matching titles
+     */
+    public List<String> titlesOrganizedBy(String organizerName) {
+        NavigableSet<String> titles = titlesByOrganizer.get(organizerName);
+        return titles == null ? new ArrayList<>() : new ArrayList<>(titles);
+    }
+
+    /**
+     * Removes a title from the group stored under {@code key}, dropping the group once it is empty.
+     */
+    private static <K> void removeTitle(Map<K, NavigableSet<String>> groups, K key, String title) {
+        NavigableSet<String> titles = groups.get(key);
+        if (titles != null) {
+            titles.remove(title);
+            if (titles.isEmpty()) {
+                groups.remove(key);
+            }
+        }
+    }
+
+    /**
+     * Returns the organizer name of the event, or {@code null} if it has none.
+     */
+    private static String organizerName(Event event) {
+        return event.getOrganizer() == null ? null : event.getOrganizer().getName();
+    }
+}
@@ -0,0 +1,349 @@
+package com.example.events_calendar.dao.impl;
+
+import com.example.events_calendar.model.Event;
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.RandomAccessFile;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Provides append-only persistence for event mutations, storing one JSON record per line.
+ *
+ * <p>Each record describes a single create, update or delete, or a batch of them written
+ * as one line so that it is replayed entirely or not at all. Replaying the records of a
+ * log in order rebuilds the state they describe. Every append is forced to disk before
+ * it returns, so an acknowledged record survives a crash. An append that fails is cut
+ * back off the file, so a record reported as failed never reappears later. A partially
+ * written last line left behind by a crash is ignored on replay; an unreadable line
+ * anywhere else means the log is corrupt.</p>
+ */
+public class EventLogHandler {
+
+    /**
+     * Kind of mutation described by a {@link LogRecord}.
+     */
+    public enum Operation {
+        CREATE,
+        UPDATE,
+        DELETE,
+        /**
+         * Several mutations applied together; see {@link LogRecord#getRecords()}.
+         */
+        BATCH
+    }
+
+    /**
+     * Single mutation stored in the log.
+     */
+    public static final class LogRecord {
+        /** Kind of mutation. */
+        private final Operation op;
+
+        /** Title of the affected event. */
+        private final String title;
+
+        /** New state of the event, or {@code null} for deletions. */
+        private final Event event;
+
+        /** Mutations of a {@link Operation#BATCH} record, or {@code null} for other records. */
+        @JsonInclude(JsonInclude.Include.NON_NULL)
+        private final List<LogRecord> records;
+
+        /**
+         * Constructs a new log record describing a single mutation.
+         *
+         * @param op    the kind of mutation
+         * @param title the title of the affected event
+         * @param event the new state of the event, or {@code null} for deletions
+         */
+        public LogRecord(Operation op, String title, Event event) {
+            this(op, title, event, null);
+        }
+
+        /**
+         * Constructs a new log record.
+         *
+         * @param op      the kind of mutation
+         * @param title   the title of the affected event, or {@code null} for batches
+         * @param event   the new state of the event, or {@code null} for deletions and batches
+         * @param records the mutations of a batch, or {@code null} for other records
+         */
+        @JsonCreator
+        public LogRecord(
+                @JsonProperty("op") Operation op,
+                @JsonProperty("title") String title,
+                @JsonProperty("event") Event event,
+                @JsonProperty("records") List<LogRecord> records) {
+            this.op = op;
+            this.title = title;
+            this.event = event;
+            this.records = records;
+        }
+
+        /**
+         * Constructs a record applying several mutations together.
+         *
+         * @param records the mutations of the batch, in order
+         * @return the batch record
+         */
+        public static LogRecord batch(List<LogRecord> records) {
+            return new LogRecord(Operation.BATCH, null, null, List.copyOf(records));
+        }
+
+        /**
+         * Returns the kind of mutation.
+         *
+         * @return the operation
+         */
+        public Operation getOp() {
+            return op;
+        }
+
+        /**
+         * Returns the title of the affected event.
+         *
+         * @return the event title
+         */
+        public String getTitle() {
+            return title;
+        }
+
+        /**
+         * Returns the new state of the event.
+         *
+         * @return the event, or {@code null} for deletions
+         */
+        public Event getEvent() {
+            return event;
+        }
+
+        /**
+         * Returns the mutations of a batch record.
+         *
+         * @return the mutations in order, or {@code null} if this is not a batch
+         */
+        public List<LogRecord> getRecords() {
+            return records;
+        }
+    }
+
+    /** Jackson mapper configured for Java 8 date/time and compact single-line output. */
+    private final ObjectMapper mapper;
+
+    /** File the records are appended to. */
+    private final File file;
+
+    /** Stream appending to {@link #file}, used to force appended records to disk. */
+    private FileOutputStream out;
+
+    /** Writer appending to {@link #file} through {@link #out}, or {@code null} after a failed append. */
+    private Writer writer;
+
+    /** Length the file is cut back to before it is reopened after a failed append, or -1. */
+    private long validLength = -1;
+
+    /** Number of records appended to the current file. */
+    private long recordCount;
+
+    /**
+     * Constructs a handler that appends to the specified file path, creating the file if needed.
+     *
+     * @param filePath the file path where log records will be stored
+     * @throws IOException if the file cannot be opened for appending
+     */
+    public EventLogHandler(String filePath) throws IOException {
+        this.file = new File(filePath);
+        this.mapper = new ObjectMapper();
+        mapper.registerModule(new JavaTimeModule());
+        truncateTornTail();
+        this.writer = openWriter();
+    }
+
+    /**
+     * Appends a record to the log and forces it to disk.
+     * <p>
+     * If the record cannot be written or forced, the writer and whatever it still buffers are
+     * dropped and the file is truncated to its length before the append, so the failed record
+     * is neither written later nor merged with the next one.
+     *
+     * @param record the record to append
+     * @throws IOException if the record cannot be written or forced to disk
+     */
+    public synchronized void append(LogRecord record) throws IOException {
+        String line = mapper.writeValueAsString(record);
+        reopenIfFailed();
+        long length = out.getChannel().size();
+        try {
+            writer.write(line);
+            writer.write('\n');
+            writer.flush();
+            out.getChannel().force(false);
+        } catch (IOException e) {
+            // closing the writer would flush the failed record, so only its stream is closed
+            writer = null;
+            validLength = length;
+            try {
+                out.close();
+            } catch (IOException closeFailure) {
+                e.addSuppressed(closeFailure);
+            }
+            try {
+                reopenIfFailed();
+            } catch (IOException reopenFailure) {
+                // retried by the next append
+                e.addSuppressed(reopenFailure);
+            }
+            throw e;
+        }
+        recordCount++;
+    }
+
+    /**
+     * Replays every complete record of the given log file in order.
+     * <p>
+     * A last line that cannot be parsed is a record torn by a crash and is skipped. A line
+     * that cannot be parsed followed by further records means the file is corrupt: replaying
+     * past it could silently drop acknowledged records, so replay fails instead.
+     *
+     * @param source   the log file to replay; a missing file is treated as empty
+     * @param consumer receives each record in append order
+     * @return the number of records replayed
+     * @throws IOException if the file cannot be read, or a line other than the last cannot be parsed
+     */
+    public long replay(File source, Consumer<LogRecord> consumer) throws IOException {
+        if (!source.exists()) return 0;
+        long count = 0;
+        try (BufferedReader reader = Files.newBufferedReader(source.toPath(), StandardCharsets.UTF_8)) {
+            String line;
+            long lineNumber = 0;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank()) continue;
+                LogRecord record;
+                try {
+                    record = mapper.readValue(line, LogRecord.class);
+                } catch (JsonProcessingException e) {
+                    String next;
+                    while ((next = reader.readLine()) != null) {
+                        if (!next.isBlank()) {
+                            throw new IOException("Corrupt record at line " + lineNumber + " of " + source, e);
+                        }
+                    }
+                    break;
+                }
+                consumer.accept(record);
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Replays the records of the current log file and resets the record count to match it.
+     *
+     * @param consumer receives each record in append order
+     * @throws IOException if the file cannot be read
+     */
+    public synchronized void replay(Consumer<LogRecord> consumer) throws IOException {
+        reopenIfFailed();
+        writer.flush();
+        recordCount = replay(file, consumer);
+    }
+
+    /**
+     * Moves the current log file to {@code target} and starts a new, empty log.
+     *
+     * @param target the file the current log is renamed to
+     * @throws IOException if the log cannot be moved or reopened
+     */
+    public synchronized void rotate(File target) throws IOException {
+        reopenIfFailed();
+        writer.close();
+        try {
+            Files.move(file.toPath(), target.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            writer = openWriter();
+        }
+        recordCount = 0;
+    }
+
+    /**
+     * Returns the number of records in the current log file.
+     *
+     * @return the record count
+     */
+    public synchronized long getRecordCount() {
+        return recordCount;
+    }
+
+    /**
+     * Closes the underlying file.
+     *
+     * @throws IOException if the file cannot be closed
+     */
+    public synchronized void close() throws IOException {
+        if (writer != null) {
+            writer.close();
+        }
+    }
+
+    /**
+     * Truncates the file to its length before a failed append and reopens it, unless the
+     * writer is still usable.
+     *
+     * @throws IOException if the file cannot be truncated or reopened
+     */
+    private void reopenIfFailed() throws IOException {
+        if (writer != null) return;
+        if (validLength >= 0) {
+            try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+                if (raf.length() > validLength) {
+                    raf.setLength(validLength);
+                }
+            }
+            validLength = -1;
+        }
+        writer = openWriter();
+    }
+
+    /**
+     * Cuts off a partially written last line so that new records start on a line of their own.
+     *
+     * @throws IOException if the file cannot be read or truncated
+     */
+    private void truncateTornTail() throws IOException {
+        if (!file.exists()) return;
+        try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+            long end = raf.length();
+            while (end > 0) {
+                raf.seek(end - 1);
+                if (raf.read() == '\n') break;
+                end--;
+            }
+            if (end < raf.length()) {
+                raf.setLength(end);
+            }
+        }
+    }
+
+    private Writer openWriter() throws IOException {
+        out = new FileOutputStream(file, true);
+        return new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+    }
+}
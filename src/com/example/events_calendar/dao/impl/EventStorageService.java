@@ -3,30 +3,44 @@ package com.example.events_calendar.dao.impl;
 import com.example.events_calendar.model.Event;
 
 import java.io.IOException;
+import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
+import java.util.NavigableMap;
 import java.util.NoSuchElementException;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Predicate;
 
 /**
- * Provides CRUD operations for persisting {@link Event} instances using a JSON-based storage handler.
+ * Provides CRUD operations for persisting {@link Event} instances using a file-based storage handler.
  *
- * <p>This service wraps a {@link JsonStorageHandler} to read the entire storage map,
- * apply modifications (create, read, update, delete), and write the updated map back
- * to the underlying JSON file. It ensures that events are uniquely identified by their titles
+ * <p>This service wraps a {@link FileStorageHandler}, such as a {@link JsonStorageHandler},
+ * to read the entire storage map, apply modifications (create, read, update, delete),
+ * and write the updated map back to the underlying file. It ensures that events are uniquely identified by their titles
  * and throws appropriate exceptions when operations cannot be completed.</p>
+ *
+ * <p>Mutations are handed to the storage handler's group commit and return an
+ * acknowledgement that completes once the change is durable. Because every mutation
+ * rewrites the whole map, mutations of this class are synchronized, so concurrent callers
+ * never lose each other's changes; callers may wait for the acknowledgement afterwards.</p>
+ *
+ * <p>Queries stream the file instead of reading the whole map, so they only hold the
+ * events they return.</p>
  */
 public class EventStorageService {
 
-    /** Handler responsible for low-level JSON file read/write operations. */
-    private final JsonStorageHandler storageHandler;
+    /** Handler responsible for low-level file read/write operations. */
+    private final FileStorageHandler storageHandler;
 
     /**
-     * Constructs a new EventStorageService with the specified JSON storage handler.
+     * Constructs a new EventStorageService with the specified storage handler.
      *
-     * @param storageHandler the handler used to read from and write to the JSON storage file
+     * @param storageHandler the handler used to read from and write to the storage file
      */
-    public EventStorageService(JsonStorageHandler storageHandler) {
+    public EventStorageService(FileStorageHandler storageHandler) {
         this.storageHandler = storageHandler;
     }
 
@@ -34,20 +48,23 @@ public class EventStorageService {
      * Adds a new event to the storage.
      *
      * @param event the {@link Event} to add; must not already exist in storage
-     * @throws IOException           if an I/O error occurs while reading or writing the file
+     * @return an acknowledgement completed once the change is durable
+     * @throws IOException           if an I/O error occurs while reading the file
      * @throws IllegalStateException if an event with the same title already exists
      */
-    public void addEvent(Event event) throws IOException, IllegalStateException {
+    public synchronized CompletableFuture<Void> addEvent(Event event) throws IOException, IllegalStateException {
         Map<String, Event> storage = storageHandler.read();
         if (storage.containsKey(event.getTitle())) {
             throw new IllegalStateException("Event already exists: " + event.getTitle());
         }
         storage.put(event.getTitle(), event);
-        storageHandler.write(storage);
+        return storageHandler.commit(() -> storage);
     }
 
     /**
      * Retrieves an event by its title.
+     * <p>
+     * This implementation streams the file and stops at the matching entry.
      *
      * @param title the title of the event to retrieve; must not be null or blank
      * @return the {@link Event} matching the given title
@@ -55,44 +72,121 @@ public class EventStorageService {
      * @throws NoSuchElementException if no event with the given title is found
      */
     public Event getEvent(String title) throws IOException, NoSuchElementException {
-        Map<String, Event> storage = storageHandler.read();
-        Event event = storage.get(title);
+        Event event = findEvent(title);
         if (event == null) {
             throw new NoSuchElementException("Event not found: " + title);
         }
         return event;
     }
 
+    /**
+     * Looks up an event by its title without failing when it does not exist.
+     * <p>
+     * This implementation streams the file and stops at the matching entry.
+     *
+     * @param title the title of the event to look up; must not be null
+     * @return the {@link Event} matching the given title, or {@code null} if there is none
+     * @throws IOException if an I/O error occurs while reading the file
+     */
+    public Event findEvent(String title) throws IOException {
+        return storageHandler.find(title);
+    }
+
     /**
      * Updates an existing event in storage.
      *
      * @param event the {@link Event} containing updated data; must already exist
-     * @throws IOException            if an I/O error occurs while reading or writing the file
+     * @return an acknowledgement completed once the change is durable
+     * @throws IOException            if an I/O error occurs while reading the file
      * @throws NoSuchElementException if no event with the given title is found
      */
-    public void updateEvent(Event event) throws IOException, NoSuchElementException {
+    public synchronized CompletableFuture<Void> updateEvent(Event event) throws IOException, NoSuchElementException {
         Map<String, Event> storage = storageHandler.read();
         if (!storage.containsKey(event.getTitle())) {
             throw new NoSuchElementException("Event not found: " + event.getTitle());
         }
         storage.put(event.getTitle(), event);
-        storageHandler.write(storage);
+        return storageHandler.commit(() -> storage);
     }
 
     /**
      * Deletes an event from storage by its title.
      *
      * @param title the title of the event to delete; must already exist
-     * @throws IOException            if an I/O error occurs while reading or writing the file
+     * @return an acknowledgement completed once the change is durable
+     * @throws IOException            if an I/O error occurs while reading the file
      * @throws NoSuchElementException if no event with the given title is found
      */
-    public void deleteEvent(String title) throws IOException, NoSuchElementException {
+    public synchronized CompletableFuture<Void> deleteEvent(String title) throws IOException, NoSuchElementException {
         Map<String, Event> storage = storageHandler.read();
         if (!storage.containsKey(title)) {
             throw new NoSuchElementException("Event not found: " + title);
         }
         storage.remove(title);
-        storageHandler.write(storage);
+        return storageHandler.commit(() -> storage);
+    }
+
+    /**
+     * Adds a batch of new events to the storage with a single write.
+     *
+     * @param events the events to add; none may already exist in storage
+     * @return an acknowledgement completed once the change is durable
+     * @throws IOException           if an I/O error occurs while reading the file
+     * @throws IllegalStateException if an event with one of the titles already exists
+     */
+    public synchronized CompletableFuture<Void> addEvents(List<Event> events) throws IOException, IllegalStateException {
+        Map<String, Event> storage = storageHandler.read();
+        for (Event event : events) {
+            if (storage.containsKey(event.getTitle())) {
+                throw new IllegalStateException("Event already exists: " + event.getTitle());
+            }
+        }
+        for (Event event : events) {
+            storage.put(event.getTitle(), event);
+        }
+        return storageHandler.commit(() -> storage);
+    }
+
+    /**
+     * Updates a batch of existing events in storage with a single write.
+     *
+     * @param events the events containing updated data; all must already exist
+     * @return an acknowledgement completed once the change is durable
+     * @throws IOException            if an I/O error occurs while reading the file
+     * @throws NoSuchElementException if no event with one of the titles is found
+     */
+    public synchronized CompletableFuture<Void> updateEvents(List<Event> events) throws IOException, NoSuchElementException {
+        Map<String, Event> storage = storageHandler.read();
+        for (Event event : events) {
+            if (!storage.containsKey(event.getTitle())) {
+                throw new NoSuchElementException("Event not found: " + event.getTitle());
+            }
+        }
+        for (Event event : events) {
+            storage.put(event.getTitle(), event);
+        }
+        return storageHandler.commit(() -> storage);
+    }
+
+    /**
+     * Deletes a batch of events from storage with a single write.
+     *
+     * @param titles the titles of the events to delete; all must already exist
+     * @return an acknowledgement completed once the change is durable
+     * @throws IOException            if an I/O error occurs while reading the file
+     * @throws NoSuchElementException if no event with one of the titles is found
+     */
+    public synchronized CompletableFuture<Void> deleteEvents(List<String> titles) throws IOException, NoSuchElementException {
+        Map<String, Event> storage = storageHandler.read();
+        for (String title : titles) {
+            if (!storage.containsKey(title)) {
+                throw new NoSuchElementException("Event not found: " + title);
+            }
+        }
+        for (String title : titles) {
+            storage.remove(title);
+        }
+        return storageHandler.commit(() -> storage);
     }
 
     /**
@@ -102,7 +196,89 @@ public class EventStorageService {
      * @throws IOException if an I/O error occurs while reading the file
      */
     public List<Event> findAll() throws IOException {
-        return new ArrayList<>(storageHandler.read().values());
+        List<Event> result = new ArrayList<>();
+        storageHandler.scan(title -> true, result::add);
+        return result;
+    }
+
+    /**
+     * Passes every stored event to a visitor, one at a time, until the visitor returns {@code false}.
+     * <p>
+     * This implementation streams the file, so only the event being visited is held.
+     *
+     * @param visitor receives the events and returns whether to continue
+     * @throws IOException if an I/O error occurs while reading the file
+     */
+    public void forEach(Predicate<Event> visitor) throws IOException {
+        storageHandler.scan(title -> true, visitor);
+    }
+
+    /**
+     * Returns up to {@code limit} events ordered by title, starting right after the given title.
+     * <p>
+     * This implementation streams the file, binding only events that may still belong
+     * to the page, and keeps no more than {@code limit} of them at a time.
+     *
+     * @param after the title to continue after, or {@code null} to start with the first event
+     * @param limit the maximum number of events to return
+     * @return a {@link List} of at most {@code limit} events
+     * @throws IOException if an I/O error occurs while reading the file
+     */
+    public List<Event> findPage(String after, int limit) throws IOException {
+        NavigableMap<String, Event> page = new TreeMap<>();
+        storageHandler.scan(
+                title -> (after == null || title.compareTo(after) > 0)
+                        && (page.size() < limit || title.compareTo(page.lastKey()) < 0),
+                event -> {
+                    page.put(event.getTitle(), event);
+                    if (page.size() > limit) page.pollLastEntry();
+                    return true;
+                });
+        return new ArrayList<>(page.values());
+    }
+
+    /**
+     * Returns the events taking place between two dates, inclusive, ordered by date and then by title.
+     * <p>
+     * This implementation streams the file and keeps only the matching events.
+     *
+     * @param from the first date of the range
+     * @param to   the last date of the range
+     * @return a {@link List} of matching {@link Event} instances
+     * @throws IOException if an I/O error occurs while reading the file
+     */
+    public List<Event> findByDateRange(LocalDate from, LocalDate to) throws IOException {
+        List<Event> result = new ArrayList<>();
+        storageHandler.scan(title -> true, event -> {
+            LocalDate date = event.getDate();
+            if (date != null && !date.isBefore(from) && !date.isAfter(to)) {
+                result.add(event);
+            }
+            return true;
+        });
+        result.sort(Comparator.comparing(Event::getDate).thenComparing(Event::getTitle));
+        return result;
+    }
+
+    /**
+     * Returns the events run by the organizer with the given name, ordered by title.
+     * <p>
+     * This implementation streams the file and keeps only the matching events.
+     *
+     * @param organizerName the name of the organizer
+     * @return a {@link List} of matching {@link Event} instances
+     * @throws IOException if an I/O error occurs while reading the file
+     */
+    public List<Event> findByOrganizer(String organizerName) throws IOException {
+        List<Event> result = new ArrayList<>();
+        storageHandler.scan(title -> true, event -> {
+            if (event.getOrganizer() != null && organizerName.equals(event.getOrganizer().getName())) {
+                result.add(event);
+            }
+            return true;
+        });
+        result.sort(Comparator.comparing(Event::getTitle));
+        return result;
     }
 }
 
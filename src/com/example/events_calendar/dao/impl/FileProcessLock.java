@@ -0,0 +1,221 @@
+package com.example.events_calendar.dao.impl;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Read/write lock on a storage file shared by several processes.
+ * <p>
+ * The lock is taken with {@link FileChannel#lock(long, long, boolean)} on a sidecar file
+ * named after the storage file with a {@code .lock} suffix; the storage file itself cannot
+ * be locked because every write replaces it with a new file. Shared holders may run
+ * together in any process, while an exclusive holder runs alone across all processes.</p>
+ * <p>
+ * File locks belong to the whole JVM, so within a process the lock is combined with a fair
+ * {@link ReentrantReadWriteLock}: concurrent shared holders in one JVM share a single shared
+ * file lock, and exclusive holders take the file lock one at a time. There is one instance
+ * per storage file and JVM, obtained with {@link #forFile(String)}.</p>
+ * <p>
+ * The time spent waiting for the lock is recorded, separately for shared and exclusive
+ * acquisitions, to show how much the processes contend.</p>
+ */
+public final class FileProcessLock {
+
+    /** Locks by absolute path of the lock file. */
+    private static final ConcurrentMap<Path, FileProcessLock> LOCKS = new ConcurrentHashMap<>();
+
+    /** Path of the lock file. */
+    private final Path lockPath;
+
+    /** Lock coordinating the threads of this process. */
+    private final ReentrantReadWriteLock localLock = new ReentrantReadWriteLock(true);
+
+    /** Channel of the lock file, reopened if an interrupt closed it; guarded by {@code this}. */
+    private FileChannel channel;
+
+    /** Number of threads of this process holding the shared lock; guarded by {@code this}. */
+    private int sharedHolders;
+
+    /** Shared file lock held on behalf of {@link #sharedHolders}; guarded by {@code this}. */
+    private FileLock sharedFileLock;
+
+    private final LongAdder sharedAcquisitions = new LongAdder();
+    private final LongAdder exclusiveAcquisitions = new LongAdder();
+    private final LongAdder sharedWaitNanos = new LongAdder();
+    private final LongAdder exclusiveWaitNanos = new LongAdder();
+    private final AtomicLong maxWaitNanos = new AtomicLong();
+
+    private FileProcessLock(Path lockPath) {
+        this.lockPath = lockPath;
+    }
+
+    /**
+     * Returns the lock guarding the given storage file.
+     *
+     * @param storagePath the path of the storage file
+     * @return the lock of the file, shared by every caller in this JVM
+     */
+    public static FileProcessLock forFile(String storagePath) {
+        Path lockPath = Paths.get(storagePath + ".lock").toAbsolutePath().normalize();
+        return LOCKS.computeIfAbsent(lockPath, FileProcessLock::new);
+    }
+
+    /**
+     * Runs an operation while holding the lock in shared mode.
+     *
+     * @param operation the operation to run
+     * @param <T>       the type of the result
+     * @return the result of the operation
+     * @throws IOException if the lock cannot be acquired or the operation fails
+     */
+    public <T> T shared(LockedOperation<T> operation) throws IOException {
+        if (localLock.isWriteLockedByCurrentThread()) {
+            return operation.run();
+        }
+        long start = System.nanoTime();
+        localLock.readLock().lock();
+        try {
+            synchronized (this) {
+                if (sharedHolders == 0) {
+                    sharedFileLock = channel().lock(0, Long.MAX_VALUE, true);
+                }
+                sharedHolders++;
+            }
+        } catch (IOException | RuntimeException e) {
+            localLock.readLock().unlock();
+            throw e;
+        }
+        record(sharedAcquisitions, sharedWaitNanos, System.nanoTime() - start);
+        try {
+            return operation.run();
+        } finally {
+            try {
+                synchronized (this) {
+                    if (--sharedHolders == 0) {
+                        FileLock held = sharedFileLock;
+                        sharedFileLock = null;
+                        if (held.isValid()) held.release();
+                    }
+                }
+            } finally {
+                localLock.readLock().unlock();
+            }
+        }
+    }
+
+    /**
+     * Runs an operation while holding the lock in exclusive mode. Reentrant.
+     *
+     * @param operation the operation to run
+     * @param <T>       the type of the result
+     * @return the result of the operation
+     * @throws IOException if the lock cannot be acquired or the operation fails
+     */
+    public <T> T exclusive(LockedOperation<T> operation) throws IOException {
+        if (localLock.isWriteLockedByCurrentThread()) {
+            return operation.run();
+        }
+        long start = System.nanoTime();
+        localLock.writeLock().lock();
+        FileLock fileLock;
+        try {
+            synchronized (this) {
+                fileLock = channel().lock();
+            }
+        } catch (IOException | RuntimeException e) {
+            localLock.writeLock().unlock();
+            throw e;
+        }
+        record(exclusiveAcquisitions, exclusiveWaitNanos, System.nanoTime() - start);
+        try {
+            return operation.run();
+        } finally {
+            try {
+                if (fileLock.isValid()) fileLock.release();
+            } finally {
+                localLock.writeLock().unlock();
+            }
+        }
+    }
+
+    /**
+     * Returns the number of shared acquisitions.
+     *
+     * @return the shared acquisition count
+     */
+    public long getSharedAcquisitions() {
+        return sharedAcquisitions.sum();
+    }
+
+    /**
+     * Returns the number of exclusive acquisitions.
+     *
+     * @return the exclusive acquisition count
+     */
+    public long getExclusiveAcquisitions() {
+        return exclusiveAcquisitions.sum();
+    }
+
+    /**
+     * Returns the total time spent waiting for the shared lock.
+     *
+     * @return the wait time in nanoseconds
+     */
+    public long getSharedWaitNanos() {
+        return sharedWaitNanos.sum();
+    }
+
+    /**
+     * Returns the total time spent waiting for the exclusive lock.
+     *
+     * @return the wait time in nanoseconds
+     */
+    public long getExclusiveWaitNanos() {
+        return exclusiveWaitNanos.sum();
+    }
+
+    /**
+     * Returns the longest time a single acquisition waited, in either mode.
+     *
+     * @return the wait time in nanoseconds
+     */
+    public long getMaxWaitNanos() {
+        return maxWaitNanos.get();
+    }
+
+    /**
+     * Returns the channel of the lock file, opening it if needed. Must be called while holding {@code this}.
+     */
+    private FileChannel channel() throws IOException {
+        if (channel == null || !channel.isOpen()) {
+            channel = FileChannel.open(lockPath, StandardOpenOption.CREATE,
+                    StandardOpenOption.READ, StandardOpenOption.WRITE);
+        }
+        return channel;
+    }
+
+    private void record(LongAdder acquisitions, LongAdder waitNanos, long waited) {
+        acquisitions.increment();
+        waitNanos.add(waited);
+        maxWaitNanos.accumulateAndGet(waited, Math::max);
+    }
+
+    /**
+     * Operation run while holding the lock.
+     *
+     * @param <T> the type of the result
+     */
+    @FunctionalInterface
+    public interface LockedOperation<T> {
+        T run() throws IOException;
+    }
+}
@@ -0,0 +1,643 @@
+package com.example.events_calendar.dao.impl;
+
+import com.example.events_calendar.metrics.Counter;
+import com.example.events_calendar.metrics.LatencyHistogram;
+import com.example.events_calendar.metrics.MetricsRegistry;
+import com.example.events_calendar.model.Event;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Provides file-based persistence for Event objects, storing them in a single file
+ * as a map from event titles to Event instances.
+ *
+ * <p>Subclasses define the file format by encoding a whole map and by streaming the
+ * entries of an encoded file; this class takes care of when and how files are written.</p>
+ *
+ * <p>Writes are crash-safe: data is written to a temporary file, forced to disk and
+ * atomically renamed over the storage file, so readers only ever see a complete file.
+ * Writes requested through {@link #commit(Supplier)} are grouped: requests arriving
+ * within the group-commit window are persisted by a single flush of the latest state,
+ * and each caller receives its own acknowledgement once that flush is durable. A thread
+ * that calls {@link #deferCommits()} has its commits only accumulate until it calls
+ * {@link #releaseCommits()}, so a burst of its commits is persisted by a single flush;
+ * commits of other threads are flushed as usual meanwhile.</p>
+ *
+ * <p>Besides reading the whole map, the file can be streamed with {@link #find(String)} and
+ * {@link #scan(Predicate, Predicate)}, which bind only the events the caller asks for and
+ * stop as soon as the caller is done, so lookups and filters over large files do not
+ * hold every event in memory.</p>
+ *
+ * <p>The handler remembers the modification time, size and identity of the file as it last
+ * wrote or loaded it, so {@link #readExternalChange()} can tell a file replaced or edited
+ * by another program from its own writes.</p>
+ */
+public abstract class FileStorageHandler implements AutoCloseable {
+
+    /** Default time a flush waits for further commits to join it, in milliseconds. */
+    public static final long DEFAULT_GROUP_COMMIT_WINDOW_MILLIS = 2;
+
+    /** File used to persist the data. */
+    private final File file;
+
+    /** Temporary file the next version of {@link #file} is written to before the rename. */
+    private final File tempFile;
+
+    /** Time a flush waits for further commits to join it, in milliseconds. */
+    private final long groupCommitWindowMillis;
+
+    /** Single background thread performing group flushes. */
+    private final ExecutorService flusher;
+
+    /** Lock object guarding the group-commit state below. */
+    private final Object commitLock = new Object();
+
+    /** Latest state requested by a commit that no flush has picked up yet. */
+    private Supplier<? extends Map<String, Event>> pendingState;
+
+    /** Acknowledgement shared by all commits waiting for the next flush. */
+    private CompletableFuture<Void> pendingAck;
+
+    /** Sequence number of {@link #pendingState}. */
+    private long pendingSequence;
+
+    /** Latest committed state that is not yet durable, or {@code null} if the file is current. */
+    private Supplier<? extends Map<String, Event>> unflushedState;
+
+    /** Number of commits requested so far, used to number them, guarded by {@link #commitLock}. */
+    private long commitSequence;
+
+    /** Sequence number of the latest commit known to be durable, guarded by {@link #commitLock}. */
+    private long flushedSequence;
+
+    /** Whether a flush task is scheduled or running. */
+    private boolean flushScheduled;
+
+    /** Number of successful flushes, guarded by {@link #commitLock}. */
+    private long flushCount;
+
+    /** Commits deferred by each thread between {@link #deferCommits()} and {@link #releaseCommits()}. */
+    private final ThreadLocal<Deferral> deferrals = new ThreadLocal<>();
+
+    /** Latency of the flushes, from encoding the state until the file is renamed in place. */
+    private final LatencyHistogram persistLatency =
+            MetricsRegistry.getInstance().histogram("events_dao_duration_seconds", "operation", "persist");
+
+    /** Number of flushes that failed. */
+    private final Counter persistErrors = MetricsRegistry.getInstance().counter("events_dao_errors_total", "operation", "persist");
+
+    /** Lock object held while the file is replaced or checked for external changes. */
+    private final Object fileLock = new Object();
+
+    /** Fingerprint of the file as this handler last wrote or loaded it, guarded by {@link #fileLock}. */
+    private FileFingerprint knownFingerprint;
+
+    /**
+     * Constructs a handler that reads from and writes to the specified file path.
+     * <p>
+     * Subclasses must call {@link #initializeFile()} once they are fully constructed.
+     *
+     * @param filePath                the file path where event data will be stored
+     * @param groupCommitWindowMillis time a flush waits for further commits to join it;
+     *                                0 flushes as soon as the previous flush has finished
+     */
+    protected FileStorageHandler(String filePath, long groupCommitWindowMillis) {
+        this.file = new File(filePath);
+        this.tempFile = new File(filePath + ".tmp");
+        this.groupCommitWindowMillis = groupCommitWindowMillis;
+        this.flusher = Executors.newSingleThreadExecutor(task -> {
+            Thread thread = new Thread(task, "storage-flusher");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Returns the file used to persist the data.
+     *
+     * @return the storage file
+     */
+    public File getFile() {
+        return file;
+    }
+
+    /**
+     * Encodes a complete map of events into the file format.
+     *
+     * @param data the map from event titles to Event objects
+     * @param out  the stream to write to; must be left open
+     * @throws IOException if the data cannot be encoded or written
+     */
+    protected abstract void writeData(Map<String, Event> data, OutputStream out) throws IOException;
+
+    /**
+     * Streams the entries of an encoded file, as described by {@link #scan(Predicate, Predicate)}.
+     *
+     * @param file    the existing storage file
+     * @param wanted  decides from its title whether an event needs to be decoded
+     * @param visitor receives the wanted events and returns whether to continue
+     * @throws IOException if the file cannot be read or is malformed
+     */
+    protected abstract void scanData(File file, Predicate<String> wanted, Predicate<Event> visitor) throws IOException;
+
+    /**
+     * Decodes a complete encoded file into a map of events.
+     * <p>
+     * The default implementation collects the entries streamed by {@link #scanData}.
+     *
+     * @param file the existing storage file
+     * @return a map where keys are event titles and values are Event objects
+     * @throws IOException if the file cannot be read or is malformed
+     */
+    protected Map<String, Event> readData(File file) throws IOException {
+        Map<String, Event> data = new HashMap<>();
+        scanData(file, title -> true, event -> {
+            data.put(event.getTitle(), event);
+            return true;
+        });
+        return data;
+    }
+
+    /**
+     * Ensures the storage file exists. If it does not, writes an empty map to it.
+     *
+     * @throws IOException if an error occurs during file creation or writing
+     */
+    protected void initializeFile() throws IOException {
+        if (!file.exists()) {
+            write(new HashMap<>());
+        }
+        synchronized (fileLock) {
+            if (knownFingerprint == null) {
+                knownFingerprint = FileFingerprint.of(file.toPath());
+            }
+        }
+    }
+
+    /**
+     * Reads and decodes the contents of the storage file into a map of events.
+     * <p>
+     * If a committed state has not been flushed yet, a copy of that state is returned
+     * instead, so callers always observe their own commits. If the file does not exist
+     * at call time, returns an empty map.
+     *
+     * @return a map where keys are event titles and values are Event objects
+     * @throws IOException if an error occurs during file reading or decoding
+     */
+    public Map<String, Event> read() throws IOException {
+        Supplier<? extends Map<String, Event>> unflushed;
+        synchronized (commitLock) {
+            unflushed = unflushedState;
+        }
+        if (unflushed != null) return new HashMap<>(unflushed.get());
+        if (!file.exists()) return new HashMap<>();
+        return readData(file);
+    }
+
+    /**
+     * Looks up a single event, reading the file only up to its entry.
+     * <p>
+     * Events stored before the requested one are skipped without being bound.
+     * Like {@link #read()}, a committed state that is not flushed yet takes precedence.
+     *
+     * @param title the title of the event
+     * @return the event, or {@code null} if no event has the given title
+     * @throws IOException if an error occurs during file reading or decoding
+     */
+    public Event find(String title) throws IOException {
+        Event[] found = new Event[1];
+        scan(title::equals, event -> {
+            found[0] = event;
+            return false;
+        });
+        return found[0];
+    }
+
+    /**
+     * Streams the stored events to a visitor, one entry at a time.
+     * <p>
+     * Each title is first offered to {@code wanted}; only events whose title is wanted
+     * are bound and passed to {@code visitor}, which returns {@code false} to stop the scan.
+     * Like {@link #read()}, a committed state that is not flushed yet takes precedence.
+     *
+     * @param wanted  decides from its title whether an event needs to be bound
+     * @param visitor receives the wanted events and returns whether to continue
+     * @throws IOException if an error occurs during file reading or decoding
+     */
+    public void scan(Predicate<String> wanted, Predicate<Event> visitor) throws IOException {
+        Supplier<? extends Map<String, Event>> unflushed;
+        synchronized (commitLock) {
+            unflushed = unflushedState;
+        }
+        if (unflushed != null) {
+            for (Map.Entry<String, Event> entry : unflushed.get().entrySet()) {
+                if (wanted.test(entry.getKey()) && !visitor.test(entry.getValue())) return;
+            }
+            return;
+        }
+        if (!file.exists()) return;
+        scanData(file, wanted, visitor);
+    }
+
+    /**
+     * Encodes the given map of events to the storage file and waits until it is durable.
+     *
+     * @param data the map from event titles to Event objects to write
+     * @throws IOException if an error occurs during file writing or encoding
+     */
+    public void write(Map<String, Event> data) throws IOException {
+        await(commit(() -> data));
+    }
+
+    /**
+     * Requests that the given state be persisted as part of the next group flush.
+     * <p>
+     * The supplier is evaluated by the flushing thread when the flush starts, and only the
+     * most recently committed supplier is written; it must therefore return a state that
+     * includes every earlier commit. The returned future completes once a flush that
+     * started after this call has been forced to disk, or completes exceptionally with
+     * the {@link IOException} that made the flush fail.
+     * <p>
+     * While the calling thread defers its commits, the state is visible to readers at once,
+     * but no flush is requested, and the returned acknowledgement is the one shared by all
+     * commits deferred by the thread, completed after {@link #releaseCommits()}.
+     *
+     * @param state supplier of the complete map to persist
+     * @return an acknowledgement completed when the state is durable
+     */
+    public CompletableFuture<Void> commit(Supplier<? extends Map<String, Event>> state) {
+        Deferral deferral = deferrals.get();
+        if (deferral != null) {
+            synchronized (commitLock) {
+                unflushedState = state;
+                deferral.sequence = ++commitSequence;
+            }
+            return deferral.ack;
+        }
+        CompletableFuture<Void> ack;
+        boolean schedule = false;
+        synchronized (commitLock) {
+            pendingState = state;
+            pendingSequence = ++commitSequence;
+            unflushedState = state;
+            if (pendingAck == null) {
+                pendingAck = new CompletableFuture<>();
+            }
+            ack = pendingAck;
+            if (!flushScheduled) {
+                flushScheduled = true;
+                schedule = true;
+            }
+        }
+        if (schedule) {
+            flusher.execute(this::flushPending);
+        }
+        return ack;
+    }
+
+    /**
+     * Defers the commits of the calling thread until it calls {@link #releaseCommits()}.
+     * <p>
+     * Commits the thread makes meanwhile are applied to the state seen by readers but do not
+     * request a flush. Commits of other threads are flushed as usual, and since each commit
+     * persists the complete latest state, their flushes may make the deferred changes durable
+     * early. Every deferral must be released, since the acknowledgement of the deferred
+     * commits completes only afterwards.
+     *
+     * @throws IllegalStateException if the calling thread already defers its commits
+     */
+    public void deferCommits() {
+        if (deferrals.get() != null) throw new IllegalStateException("Commits are already deferred");
+        deferrals.set(new Deferral());
+    }
+
+    /**
+     * Ends the deferral started by {@link #deferCommits()} on the calling thread, requesting
+     * a single flush of the latest state unless a flush since the last deferred commit has
+     * already made it durable.
+     * <p>
+     * The acknowledgement of the deferred commits completes once they are durable. If they
+     * cannot be, it completes exceptionally on the flushing thread, like any failed flush.
+     *
+     * @throws IllegalStateException if the calling thread does not defer its commits
+     */
+    public void releaseCommits() {
+        Deferral deferral = deferrals.get();
+        if (deferral == null) throw new IllegalStateException("Commits are not deferred");
+        deferrals.remove();
+        Supplier<? extends Map<String, Event>> latest;
+        synchronized (commitLock) {
+            if (deferral.sequence == 0 || flushedSequence >= deferral.sequence) {
+                latest = null;
+            } else if (unflushedState == null) {
+                // the flush covering the deferred commits failed and nothing was committed since
+                flusher.execute(() -> deferral.ack.completeExceptionally(
+                        new IOException("Failed to persist deferred commits")));
+                return;
+            } else {
+                latest = unflushedState;
+            }
+        }
+        if (latest == null) {
+            deferral.ack.complete(null);
+            return;
+        }
+        commit(latest).whenCompleteAsync((ignored, failure) -> {
+            if (failure == null) {
+                deferral.ack.complete(null);
+            } else {
+                deferral.ack.completeExceptionally(failure);
+            }
+        }, flusher);
+    }
+
+    /**
+     * Returns the number of successful flushes, each of which rewrote the file once.
+     *
+     * @return the flush count
+     */
+    public long getFlushCount() {
+        synchronized (commitLock) {
+            return flushCount;
+        }
+    }
+
+    /**
+     * Reads the storage file if it was replaced or modified by another program since this
+     * handler last wrote or loaded it.
+     * <p>
+     * Changes are detected by comparing the modification time, size and identity of the
+     * file, so the handler's own writes are never reported. Nothing is reported while a
+     * committed state is waiting to be flushed, since that flush replaces the file anyway,
+     * nor while the file is missing. A detected change is reported once, even if the file
+     * cannot be decoded; the next modification is detected again. Flushes wait while the
+     * file is being read.
+     *
+     * @return the changed contents of the file, or {@code null} if there is nothing new to load
+     * @throws IOException if the changed file cannot be read or decoded
+     */
+    public ExternalChange readExternalChange() throws IOException {
+        synchronized (fileLock) {
+            long generation;
+            synchronized (commitLock) {
+                if (unflushedState != null) return null;
+                generation = flushCount;
+            }
+            FileFingerprint current = FileFingerprint.of(file.toPath());
+            if (current == null || current.equals(knownFingerprint)) return null;
+            knownFingerprint = current;
+            return new ExternalChange(readData(file), generation);
+        }
+    }
+
+    /**
+     * Checks whether a change returned by {@link #readExternalChange()} still reflects the file,
+     * that is, no state has been committed or flushed by this handler since it was read.
+     *
+     * @param change the change to check
+     * @return {@code true} if the change can be applied to in-memory state
+     */
+    public boolean isCurrent(ExternalChange change) {
+        synchronized (commitLock) {
+            return unflushedState == null && flushCount == change.generation;
+        }
+    }
+
+    /**
+     * Waits for an acknowledgement returned by {@link #commit(Supplier)}.
+     *
+     * @param ack the acknowledgement to wait for
+     * @throws IOException if the flush covering the commit failed
+     */
+    public static void await(CompletableFuture<Void> ack) throws IOException {
+        try {
+            ack.join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException) throw (IOException) cause;
+            if (cause instanceof RuntimeException) throw (RuntimeException) cause;
+            throw new IOException("Failed to persist events", cause);
+        }
+    }
+
+    /**
+     * Stops the flushing thread once every commit requested so far is durable.
+     * No further commits may be requested afterwards.
+     *
+     * @throws IOException if the pending flushes do not finish in time or the wait is interrupted
+     */
+    @Override
+    public void close() throws IOException {
+        flusher.shutdown();
+        try {
+            if (!flusher.awaitTermination(1, TimeUnit.MINUTES)) {
+                throw new IOException("Timed out waiting for pending writes");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for pending writes");
+        }
+    }
+
+    /**
+     * Flushes pending commits until none are left. Runs on the {@link #flusher} thread.
+     */
+    private void flushPending() {
+        if (groupCommitWindowMillis > 0) {
+            try {
+                Thread.sleep(groupCommitWindowMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        while (true) {
+            Supplier<? extends Map<String, Event>> state;
+            CompletableFuture<Void> ack;
+            long sequence;
+            synchronized (commitLock) {
+                if (pendingState == null) {
+                    flushScheduled = false;
+                    return;
+                }
+                state = pendingState;
+                ack = pendingAck;
+                sequence = pendingSequence;
+                pendingState = null;
+                pendingAck = null;
+            }
+            long start = persistLatency.start();
+            try {
+                writeAtomically(state.get());
+                persistLatency.recordSince(start);
+                synchronized (commitLock) {
+                    if (unflushedState == state) unflushedState = null;
+                    flushedSequence = Math.max(flushedSequence, sequence);
+                    flushCount++;
+                }
+                ack.complete(null);
+            } catch (IOException | RuntimeException e) {
+                persistLatency.recordSince(start);
+                persistErrors.increment();
+                synchronized (commitLock) {
+                    if (unflushedState == state) unflushedState = null;
+                }
+                ack.completeExceptionally(e);
+            }
+        }
+    }
+
+    /**
+     * Writes the data to a temporary file, forces it to disk and renames it over the storage file.
+     *
+     * @param data the map from event titles to Event objects to write
+     * @throws IOException if an error occurs during file writing or encoding
+     */
+    private void writeAtomically(Map<String, Event> data) throws IOException {
+        synchronized (fileLock) {
+            replaceFile(data);
+            knownFingerprint = FileFingerprint.of(file.toPath());
+        }
+    }
+
+    /**
+     * Performs the steps of {@link #writeAtomically(Map)}. Must be called while holding {@link #fileLock}.
+     *
+     * @param data the map from event titles to Event objects to write
+     * @throws IOException if an error occurs during file writing or encoding
+     */
+    private void replaceFile(Map<String, Event> data) throws IOException {
+        try (FileOutputStream out = new FileOutputStream(tempFile)) {
+            BufferedOutputStream buffered = new BufferedOutputStream(out);
+            writeData(data, buffered);
+            buffered.flush();
+            out.getFD().sync();
+        }
+        Path source = tempFile.toPath();
+        Path target = file.toPath();
+        try {
+            Files.move(source, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+        syncDirectory(target.toAbsolutePath().getParent());
+    }
+
+    /**
+     * Forces the directory entry of the renamed file to disk where the platform supports it.
+     *
+     * @param directory the directory containing the storage file
+     */
+    private void syncDirectory(Path directory) {
+        if (directory == null) return;
+        try (FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (IOException e) {
+            // directories cannot be opened for syncing on every platform
+        }
+    }
+
+    /**
+     * Contents of the storage file written by another program, as returned by {@link #readExternalChange()}.
+     */
+    public static final class ExternalChange {
+
+        /** Events stored in the changed file, keyed by title. */
+        private final Map<String, Event> events;
+
+        /** Number of flushes performed by the handler when the file was read. */
+        private final long generation;
+
+        private ExternalChange(Map<String, Event> events, long generation) {
+            this.events = events;
+            this.generation = generation;
+        }
+
+        /**
+         * Returns the events stored in the changed file.
+         *
+         * @return a map from event titles to events
+         */
+        public Map<String, Event> getEvents() {
+            return events;
+        }
+    }
+
+    /**
+     * Commits deferred by one thread.
+     */
+    private static final class Deferral {
+        /** Acknowledgement shared by the deferred commits. */
+        private final CompletableFuture<Void> ack = new CompletableFuture<>();
+
+        /** Sequence number of the latest deferred commit, or 0 if there is none. */
+        private long sequence;
+    }
+
+    /**
+     * Modification time, size and identity of a file, used to notice that it changed.
+     */
+    private static final class FileFingerprint {
+        private final long modifiedNanos;
+        private final long size;
+        private final Object fileKey;
+
+        private FileFingerprint(long modifiedNanos, long size, Object fileKey) {
+            this.modifiedNanos = modifiedNanos;
+            this.size = size;
+            this.fileKey = fileKey;
+        }
+
+        /**
+         * Reads the fingerprint of a file.
+         *
+         * @param path the file
+         * @return the fingerprint, or {@code null} if the file does not exist
+         * @throws IOException if the attributes cannot be read
+         */
+        static FileFingerprint of(Path path) throws IOException {
+            try {
+                BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+                return new FileFingerprint(attributes.lastModifiedTime().to(TimeUnit.NANOSECONDS),
+                        attributes.size(), attributes.fileKey());
+            } catch (NoSuchFileException e) {
+                return null;
+            }
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof FileFingerprint)) return false;
+            FileFingerprint other = (FileFingerprint) o;
+            return modifiedNanos == other.modifiedNanos && size == other.size
+                    && Objects.equals(fileKey, other.fileKey);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(modifiedNanos, size, fileKey);
+        }
+    }
+}
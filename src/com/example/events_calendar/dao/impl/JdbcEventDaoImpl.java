@@ -0,0 +1,558 @@
+package com.example.events_calendar.dao.impl;
+
+import com.example.events_calendar.dao.DaoException;
+import com.example.events_calendar.dao.EventCalendarDao;
+import com.example.events_calendar.model.Event;
+import com.example.events_calendar.model.EventPage;
+import com.example.events_calendar.model.Organizer;
+import com.example.events_calendar.model.Schedule;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * JDBC implementation of {@link EventCalendarDao} for an embedded, file-backed database
+ * such as H2 ({@code jdbc:h2:file:./events}) or SQLite ({@code jdbc:sqlite:events.db}).
+ * <p>
+ * Events are stored in the {@code events} table keyed by title, with indexes on the date
+ * and on the organizer name; schedule activities are normalized into the
+ * {@code schedule_activities} table keyed by title and time. Dates and times are stored
+ * as epoch days and nanoseconds of the day so the schema works the same way on every
+ * database. The tables and indexes are created on first use.</p>
+ * <p>
+ * The DAO keeps a single connection with every statement prepared once and reused.
+ * Each operation, including a whole batch, runs in its own transaction, so it is applied
+ * atomically. Operations are serialized on the connection.</p>
+ */
+public class JdbcEventDaoImpl implements EventCalendarDao, AutoCloseable {
+
+    /** Schema statements, run in order when the DAO is opened. */
+    private static final String[] SCHEMA = {
+            "CREATE TABLE IF NOT EXISTS events ("
+                    + "title VARCHAR(4096) NOT NULL PRIMARY KEY, "
+                    + "event_day BIGINT, "
+                    + "organizer VARCHAR(4096), "
+                    + "flags INTEGER NOT NULL)",
+            "CREATE TABLE IF NOT EXISTS schedule_activities ("
+                    + "title VARCHAR(4096) NOT NULL REFERENCES events (title), "
+                    + "activity_time BIGINT NOT NULL, "
+                    + "description VARCHAR(4096), "
+                    + "PRIMARY KEY (title, activity_time))",
+            "CREATE INDEX IF NOT EXISTS events_day_idx ON events (event_day, title)",
+            "CREATE INDEX IF NOT EXISTS events_organizer_idx ON events (organizer, title)"
+    };
+
+    /** Columns selected by every query returning whole events, in the order read by {@link #readEvents}. */
+    private static final String EVENT_COLUMNS =
+            "e.title, e.event_day, e.organizer, e.flags, a.activity_time, a.description";
+
+    /** Join attaching the activities to the selected events. */
+    private static final String ACTIVITY_JOIN = " LEFT JOIN schedule_activities a ON a.title = e.title";
+
+    /** Flag set when the event has an organizer, even one without a name. */
+    private static final int HAS_ORGANIZER = 1;
+
+    /** Flag set when the event has a schedule, even an empty one. */
+    private static final int HAS_SCHEDULE = 1 << 1;
+
+    /** Connection to the embedded database. */
+    private final Connection connection;
+
+    private final PreparedStatement existsStatement;
+    private final PreparedStatement insertEventStatement;
+    private final PreparedStatement updateEventStatement;
+    private final PreparedStatement deleteEventStatement;
+    private final PreparedStatement insertActivityStatement;
+    private final PreparedStatement deleteActivitiesStatement;
+    private final PreparedStatement selectEventStatement;
+    private final PreparedStatement selectAllStatement;
+    private final PreparedStatement selectFirstPageStatement;
+    private final PreparedStatement selectPageStatement;
+    private final PreparedStatement selectByDateRangeStatement;
+    private final PreparedStatement selectByOrganizerStatement;
+
+    /**
+     * Constructs a new JdbcEventDaoImpl connected to the database at the given JDBC URL.
+     *
+     * @param url the JDBC URL of an embedded database; its driver must be on the class path
+     * @throws DaoException if the database cannot be opened or the schema cannot be created
+     */
+    public JdbcEventDaoImpl(String url) throws DaoException {
+        Connection opened = null;
+        try {
+            opened = DriverManager.getConnection(url);
+            this.connection = opened;
+            try (Statement statement = connection.createStatement()) {
+                for (String sql : SCHEMA) {
+                    statement.execute(sql);
+                }
+            }
+            connection.setAutoCommit(false);
+            this.existsStatement = connection.prepareStatement("SELECT 1 FROM events WHERE title = ?");
+            this.insertEventStatement = connection.prepareStatement(
+                    "INSERT INTO events (title, event_day, organizer, flags) VALUES (?, ?, ?, ?)");
+            this.updateEventStatement = connection.prepareStatement(
+                    "UPDATE events SET event_day = ?, organizer = ?, flags = ? WHERE title = ?");
+            this.deleteEventStatement = connection.prepareStatement("DELETE FROM events WHERE title = ?");
+            this.insertActivityStatement = connection.prepareStatement(
+                    "INSERT INTO schedule_activities (title, activity_time, description) VALUES (?, ?, ?)");
+            this.deleteActivitiesStatement = connection.prepareStatement(
+                    "DELETE FROM schedule_activities WHERE title = ?");
+            this.selectEventStatement = connection.prepareStatement(
+                    "SELECT " + EVENT_COLUMNS + " FROM events e" + ACTIVITY_JOIN + " WHERE e.title = ?");
+            this.selectAllStatement = connection.prepareStatement(
+                    "SELECT " + EVENT_COLUMNS + " FROM events e" + ACTIVITY_JOIN + " ORDER BY e.title");
+            this.selectFirstPageStatement = connection.prepareStatement(
+                    "SELECT " + EVENT_COLUMNS + " FROM (SELECT * FROM events ORDER BY title LIMIT ?) e"
+                            + ACTIVITY_JOIN + " ORDER BY e.title");
+            this.selectPageStatement = connection.prepareStatement(
+                    "SELECT " + EVENT_COLUMNS + " FROM (SELECT * FROM events WHERE title > ? ORDER BY title LIMIT ?) e"
+                            + ACTIVITY_JOIN + " ORDER BY e.title");
+            this.selectByDateRangeStatement = connection.prepareStatement(
+                    "SELECT " + EVENT_COLUMNS + " FROM events e" + ACTIVITY_JOIN
+                            + " WHERE e.event_day BETWEEN ? AND ? ORDER BY e.event_day, e.title");
+            this.selectByOrganizerStatement = connection.prepareStatement(
+                    "SELECT " + EVENT_COLUMNS + " FROM events e" + ACTIVITY_JOIN
+                            + " WHERE e.organizer = ? ORDER BY e.title");
+        } catch (SQLException e) {
+            if (opened != null) {
+                try {
+                    opened.close();
+                } catch (SQLException closeFailure) {
+                    e.addSuppressed(closeFailure);
+                }
+            }
+            throw new DaoException("Initialization failed", e);
+        }
+    }
+
+    /**
+     * Inserts a new {@link Event} and its activities.
+     *
+     * @param event the event to create; must not be null
+     * @throws DaoException if the event is null, already exists, or cannot be written
+     */
+    @Override
+    public void create(Event event) throws DaoException {
+        if (event == null) throw new DaoException("Event cannot be null");
+        createAll(List.of(event));
+    }
+
+    /**
+     * Reads an {@link Event} by its title using the primary key.
+     *
+     * @param title the title of the event to read; must not be null
+     * @return the event with the specified title
+     * @throws DaoException if the title is null, no such event exists, or the query fails
+     */
+    @Override
+    public synchronized Event read(String title) throws DaoException {
+        if (title == null) throw new DaoException("Title cannot be null");
+        try {
+            selectEventStatement.setString(1, title);
+            List<Event> events = query(selectEventStatement);
+            if (events.isEmpty()) {
+                throw new DaoException("Event not found: " + title);
+            }
+            return events.get(0);
+        } catch (SQLException e) {
+            throw new DaoException("Failed to read event", e);
+        }
+    }
+
+    /**
+     * Looks up an {@link Event} by its title using the primary key, without failing when it is missing.
+     *
+     * @param title the title of the event to look up; must not be null
+     * @return the event with the specified title, or an empty {@link Optional} if there is none
+     * @throws DaoException if the title is null or the query fails
+     */
+    @Override
+    public synchronized Optional<Event> findByTitle(String title) throws DaoException {
+        if (title == null) throw new DaoException("Title cannot be null");
+        try {
+            selectEventStatement.setString(1, title);
+            List<Event> events = query(selectEventStatement);
+            return events.isEmpty() ? Optional.empty() : Optional.of(events.get(0));
+        } catch (SQLException e) {
+            throw new DaoException("Failed to read event", e);
+        }
+    }
+
+    /**
+     * Replaces an existing {@link Event} and its activities.
+     *
+     * @param event the event containing updated data; must not be null
+     * @throws DaoException if the event does not exist or cannot be written
+     */
+    @Override
+    public void update(Event event) throws DaoException {
+        if (event == null) throw new DaoException("Event cannot be null");
+        updateAll(List.of(event));
+    }
+
+    /**
+     * Deletes the {@link Event} with the given title and its activities.
+     *
+     * @param title the title of the event to delete; must not be null
+     * @throws DaoException if the event does not exist or cannot be deleted
+     */
+    @Override
+    public void delete(String title) throws DaoException {
+        if (title == null) throw new DaoException("Title cannot be null");
+        deleteAll(List.of(title));
+    }
+
+    /**
+     * Inserts a batch of new {@link Event}s in one transaction.
+     *
+     * @param events the events to create; must not be null or contain duplicate titles
+     * @throws DaoException if the batch is invalid, an event already exists, or the batch cannot be written
+     */
+    @Override
+    public synchronized void createAll(List<Event> events) throws DaoException {
+        Map<String, Event> batch = toBatch(events);
+        try {
+            for (String title : batch.keySet()) {
+                if (exists(title)) {
+                    throw new DaoException("Event already exists: " + title);
+                }
+            }
+            for (Event event : batch.values()) {
+                insertEventStatement.setString(1, event.getTitle());
+                bindFields(insertEventStatement, 2, event);
+                insertEventStatement.addBatch();
+            }
+            insertEventStatement.executeBatch();
+            insertActivities(batch.values());
+            connection.commit();
+        } catch (SQLException e) {
+            rollback(e);
+            throw new DaoException("Failed to create events", e);
+        } catch (DaoException e) {
+            rollback(e);
+            throw e;
+        }
+    }
+
+    /**
+     * Replaces a batch of existing {@link Event}s in one transaction.
+     *
+     * @param events the events containing updated data; must not be null or contain duplicate titles
+     * @throws DaoException if the batch is invalid, an event does not exist, or the batch cannot be written
+     */
+    @Override
+    public synchronized void updateAll(List<Event> events) throws DaoException {
+        Map<String, Event> batch = toBatch(events);
+        try {
+            checkExisting(batch.keySet());
+            for (Event event : batch.values()) {
+                int next = bindFields(updateEventStatement, 1, event);
+                updateEventStatement.setString(next, event.getTitle());
+                updateEventStatement.addBatch();
+                deleteActivitiesStatement.setString(1, event.getTitle());
+                deleteActivitiesStatement.addBatch();
+            }
+            updateEventStatement.executeBatch();
+            deleteActivitiesStatement.executeBatch();
+            insertActivities(batch.values());
+            connection.commit();
+        } catch (SQLException e) {
+            rollback(e);
+            throw new DaoException("Failed to update events", e);
+        } catch (DaoException e) {
+            rollback(e);
+            throw e;
+        }
+    }
+
+    /**
+     * Deletes a batch of {@link Event}s and their activities in one transaction.
+     *
+     * @param titles the titles of the events to delete; must not be null or contain duplicates
+     * @throws DaoException if the batch is invalid, an event does not exist, or the batch cannot be written
+     */
+    @Override
+    public synchronized void deleteAll(List<String> titles) throws DaoException {
+        if (titles == null) throw new DaoException("Titles cannot be null");
+        Map<String, Event> batch = new LinkedHashMap<>();
+        for (String title : titles) {
+            if (title == null) throw new DaoException("Title cannot be null");
+            if (batch.containsKey(title)) throw new DaoException("Duplicate title in batch: " + title);
+            batch.put(title, null);
+        }
+        try {
+            checkExisting(batch.keySet());
+            for (String title : batch.keySet()) {
+                deleteActivitiesStatement.setString(1, title);
+                deleteActivitiesStatement.addBatch();
+                deleteEventStatement.setString(1, title);
+                deleteEventStatement.addBatch();
+            }
+            deleteActivitiesStatement.executeBatch();
+            deleteEventStatement.executeBatch();
+            connection.commit();
+        } catch (SQLException e) {
+            rollback(e);
+            throw new DaoException("Failed to delete events", e);
+        } catch (DaoException e) {
+            rollback(e);
+            throw e;
+        }
+    }
+
+    /**
+     * Reads every stored event, ordered by title.
+     *
+     * @return a {@link List} of all {@link Event} instances
+     * @throws DaoException if the query fails
+     */
+    @Override
+    public synchronized List<Event> findAll() throws DaoException {
+        try {
+            return query(selectAllStatement);
+        } catch (SQLException e) {
+            throw new DaoException("Failed to read events", e);
+        }
+    }
+
+    /**
+     * Returns one page of events in ascending title order, read through the primary key index.
+     *
+     * @param cursor the cursor returned with the previous page, or {@code null} for the first page
+     * @param limit  the maximum number of events on the page; must be positive
+     * @return the page of events and the cursor of the next page
+     * @throws DaoException if the cursor is malformed, the limit is not positive, or the query fails
+     */
+    @Override
+    public synchronized EventPage findPage(String cursor, int limit) throws DaoException {
+        String after = JsonEventDaoImpl.pageStart(cursor, limit);
+        try {
+            PreparedStatement statement;
+            if (after == null) {
+                statement = selectFirstPageStatement;
+                statement.setInt(1, limit + 1);
+            } else {
+                statement = selectPageStatement;
+                statement.setString(1, after);
+                statement.setInt(2, limit + 1);
+            }
+            return EventPage.of(query(statement), limit);
+        } catch (SQLException e) {
+            throw new DaoException("Failed to read event page", e);
+        }
+    }
+
+    /**
+     * Returns the events taking place between two dates, inclusive, using the date index.
+     *
+     * @param from the first date of the range; must not be null
+     * @param to   the last date of the range; must not be null
+     * @return a {@link List} of matching {@link Event} instances, ordered by date and then by title
+     * @throws DaoException if a date is null or the query fails
+     */
+    @Override
+    public synchronized List<Event> findByDateRange(LocalDate from, LocalDate to) throws DaoException {
+        if (from == null || to == null) throw new DaoException("Dates cannot be null");
+        try {
+            selectByDateRangeStatement.setLong(1, from.toEpochDay());
+            selectByDateRangeStatement.setLong(2, to.toEpochDay());
+            return query(selectByDateRangeStatement);
+        } catch (SQLException e) {
+            throw new DaoException("Failed to read events by date", e);
+        }
+    }
+
+    /**
+     * Returns the events run by the organizer with the given name, using the organizer index.
+     *
+     * @param organizerName the name of the organizer; must not be null
+     * @return a {@link List} of matching {@link Event} instances, ordered by title
+     * @throws DaoException if the name is null or the query fails
+     */
+    @Override
+    public synchronized List<Event> findByOrganizer(String organizerName) throws DaoException {
+        if (organizerName == null) throw new DaoException("Organizer name cannot be null");
+        try {
+            selectByOrganizerStatement.setString(1, organizerName);
+            return query(selectByOrganizerStatement);
+        } catch (SQLException e) {
+            throw new DaoException("Failed to read events by organizer", e);
+        }
+    }
+
+    /**
+     * Closes the prepared statements and the connection.
+     *
+     * @throws DaoException if the connection cannot be closed
+     */
+    @Override
+    public synchronized void close() throws DaoException {
+        try {
+            connection.close();
+        } catch (SQLException e) {
+            throw new DaoException("Failed to close database connection", e);
+        }
+    }
+
+    /**
+     * Checks whether an event with the given title is stored.
+     */
+    private boolean exists(String title) throws SQLException {
+        existsStatement.setString(1, title);
+        try (ResultSet rows = existsStatement.executeQuery()) {
+            return rows.next();
+        }
+    }
+
+    /**
+     * Checks that every title of a batch is stored.
+     */
+    private void checkExisting(Iterable<String> titles) throws SQLException, DaoException {
+        for (String title : titles) {
+            if (!exists(title)) {
+                throw new DaoException("Event not found: " + title);
+            }
+        }
+    }
+
+    /**
+     * Binds the date, organizer and flags of an event starting at the given parameter index.
+     *
+     * @return the index of the next parameter
+     */
+    private static int bindFields(PreparedStatement statement, int index, Event event) throws SQLException {
+        if (event.getDate() == null) {
+            statement.setNull(index, Types.BIGINT);
+        } else {
+            statement.setLong(index, event.getDate().toEpochDay());
+        }
+        Organizer organizer = event.getOrganizer();
+        if (organizer == null || organizer.getName() == null) {
+            statement.setNull(index + 1, Types.VARCHAR);
+        } else {
+            statement.setString(index + 1, organizer.getName());
+        }
+        int flags = (organizer != null ? HAS_ORGANIZER : 0) | (event.getSchedule() != null ? HAS_SCHEDULE : 0);
+        statement.setInt(index + 2, flags);
+        return index + 3;
+    }
+
+    /**
+     * Inserts the schedule activities of the given events as one JDBC batch.
+     */
+    private void insertActivities(Iterable<Event> events) throws SQLException {
+        boolean any = false;
+        for (Event event : events) {
+            if (event.getSchedule() == null) continue;
+            for (Map.Entry<LocalTime, String> activity : event.getSchedule().getActivitiesByTime().entrySet()) {
+                insertActivityStatement.setString(1, event.getTitle());
+                insertActivityStatement.setLong(2, activity.getKey().toNanoOfDay());
+                insertActivityStatement.setString(3, activity.getValue());
+                insertActivityStatement.addBatch();
+                any = true;
+            }
+        }
+        if (any) {
+            insertActivityStatement.executeBatch();
+        }
+    }
+
+    /**
+     * Runs a query selecting {@link #EVENT_COLUMNS} and ends its read transaction.
+     */
+    private List<Event> query(PreparedStatement statement) throws SQLException {
+        try (ResultSet rows = statement.executeQuery()) {
+            return readEvents(rows);
+        } finally {
+            connection.commit();
+        }
+    }
+
+    /**
+     * Rebuilds events from rows of {@link #EVENT_COLUMNS}, where the rows of one event are adjacent.
+     */
+    private static List<Event> readEvents(ResultSet rows) throws SQLException {
+        List<Event> events = new ArrayList<>();
+        String title = null;
+        long day = 0;
+        boolean hasDay = false;
+        String organizer = null;
+        int flags = 0;
+        Schedule schedule = null;
+        while (rows.next()) {
+            String rowTitle = rows.getString(1);
+            if (!rowTitle.equals(title)) {
+                if (title != null) {
+                    events.add(toEvent(title, hasDay, day, organizer, flags, schedule));
+                }
+                title = rowTitle;
+                day = rows.getLong(2);
+                hasDay = !rows.wasNull();
+                organizer = rows.getString(3);
+                flags = rows.getInt(4);
+                schedule = new Schedule();
+            }
+            long time = rows.getLong(5);
+            if (!rows.wasNull()) {
+                schedule.getActivitiesByTime().put(LocalTime.ofNanoOfDay(time), rows.getString(6));
+            }
+        }
+        if (title != null) {
+            events.add(toEvent(title, hasDay, day, organizer, flags, schedule));
+        }
+        return events;
+    }
+
+    private static Event toEvent(String title, boolean hasDay, long day, String organizer, int flags,
+                                 Schedule schedule) {
+        return new Event(title,
+                hasDay ? LocalDate.ofEpochDay(day) : null,
+                (flags & HAS_ORGANIZER) != 0 ? new Organizer(organizer) : null,
+                (flags & HAS_SCHEDULE) != 0 ? schedule : null);
+    }
+
+    /**
+     * Discards pending statement batches and rolls back the current transaction,
+     * keeping the original failure as the primary one.
+     */
+    private void rollback(Exception failure) {
+        try {
+            for (PreparedStatement statement : List.of(insertEventStatement, updateEventStatement,
+                    deleteEventStatement, insertActivityStatement, deleteActivitiesStatement)) {
+                statement.clearBatch();
+            }
+            connection.rollback();
+        } catch (SQLException e) {
+            failure.addSuppressed(e);
+        }
+    }
+
+    /**
+     * Converts a batch of events into a map keyed by title after checking that the batch is well-formed.
+     */
+    private static Map<String, Event> toBatch(List<Event> events) throws DaoException {
+        if (events == null) throw new DaoException("Events cannot be null");
+        Map<String, Event> batch = new LinkedHashMap<>();
+        for (Event event : events) {
+            if (event == null) throw new DaoException("Event cannot be null");
+            if (event.getTitle() == null) throw new DaoException("Title cannot be null");
+            if (batch.put(event.getTitle(), event) != null) {
+                throw new DaoException("Duplicate title in batch: " + event.getTitle());
+            }
+        }
+        return batch;
+    }
+}
@@ -2,24 +2,134 @@ package com.example.events_calendar.dao.impl;
 
 import com.example.events_calendar.dao.DaoException;
 import com.example.events_calendar.dao.EventCalendarDao;
+import com.example.events_calendar.dao.EventMutationListener;
+import com.example.events_calendar.jfr.DaoOperationEvent;
+import com.example.events_calendar.metrics.Counter;
+import com.example.events_calendar.metrics.LatencyHistogram;
+import com.example.events_calendar.metrics.MetricsRegistry;
 import com.example.events_calendar.model.Event;
+import com.example.events_calendar.model.EventPage;
 import java.io.IOException;
+import java.time.LocalDate;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Predicate;
 
 /**
  * JSON-based implementation of {@link EventCalendarDao}.
  * <p>
  * Internally delegates CRUD operations to an {@link EventStorageService},
- * persisting events in a JSON file. All methods synchronize on an internal lock
- * to ensure thread safety when accessing the underlying storage.</p>
+ * persisting events in a JSON file. Mutations lock only the stripe of their title in
+ * {@link TitleLockStripes}, so operations on the same title are linearizable while
+ * mutations of unrelated titles proceed concurrently. Lookups by title take no lock.
+ * Queries spanning several events see a consistent snapshot: they run optimistically
+ * and are retried, eventually holding off all mutations, if a mutation overlapped them.
+ * Mutations wait for their write to become durable only after releasing their locks,
+ * so concurrent mutations can share a single group-committed flush.</p>
+ *
+ * <p>In {@link Mode#CACHED} mode the file is loaded once and reads are served from
+ * memory, while mutations are written through to the file. In {@link Mode#DIRECT} mode
+ * every mutation rewrites the whole file, so the storage service serializes them.
+ * {@link Mode#MULTI_PROCESS} mode works like {@link Mode#DIRECT}, and additionally
+ * coordinates with other processes using the same file through a {@link FileProcessLock},
+ * so that concurrent writers in different JVMs do not lose each other's updates.</p>
+ *
+ * <p>Inside a batch opened with {@link #beginBatch()}, the commits of the calling thread are
+ * deferred and its mutations do not wait for their writes, so all mutations of the batch reach
+ * the file in one flush when {@link #endBatch()} is called. Mutations of other threads are
+ * flushed as usual meanwhile and never wait for the batch.
+ * In {@link Mode#MULTI_PROCESS} mode each mutation must be durable before the process lock
+ * is released, so batches there only defer the waiting.</p>
+ *
+ * <p>In {@link Mode#CACHED} mode, {@link EventMutationListener}s are notified after each
+ * mutation and after a reload that changed events. Other modes read the file on every
+ * operation and cannot tell when another program changes it, so they accept no listeners.</p>
+ *
+ * <p>A cached DAO picks up changes made to the file by other programs when
+ * {@link #reloadIfChanged()} is called, typically by a {@link StorageFileWatcher}.
+ * The file is re-read without holding any lock, and only the events that differ are
+ * replaced in the cache and indexes. If the DAO writes the file before an external change
+ * is applied, the DAO's write wins.</p>
+ *
+ * <p>Lookups, queries and mutations are reported to Flight Recorder as {@link DaoOperationEvent}s,
+ * with the time spent waiting for locks; without a recording they cost nothing.</p>
+ *
+ * <p>Subclasses such as {@link BinaryEventDaoImpl} keep the same behaviour over another
+ * file format by passing their own {@link FileStorageHandler}.</p>
  */
 public class JsonEventDaoImpl implements EventCalendarDao {
 
+    /**
+     * Strategy used to access the JSON file.
+     */
+    public enum Mode {
+        /**
+         * Every operation reads the file and every mutation rewrites it.
+         */
+        DIRECT,
+        /**
+         * The file is loaded once; reads are served from memory and mutations are written through.
+         */
+        CACHED,
+        /**
+         * Like {@link #DIRECT}, but the file may be shared with other processes: operations hold a
+         * {@link FileProcessLock}, shared for reads and exclusive for mutations.
+         */
+        MULTI_PROCESS
+    }
+
+    /** Number of title lock stripes. */
+    private static final int LOCK_STRIPES = 64;
+
+    /** Number of optimistic attempts of a snapshot query before it holds off mutations. */
+    private static final int OPTIMISTIC_SNAPSHOT_ATTEMPTS = 3;
+
     /** Service handling low-level JSON file read/write and in-memory map operations. */
     private final EventStorageService storageService;
 
-    /** Lock object used to synchronize access to the storageService. */
-    private final Object lock = new Object();
+    /** Cache-backed storage service, or {@code null} when running in {@link Mode#DIRECT} mode. */
+    private final CachedEventStorageService cache;
+
+    /** Handler reading and writing the storage file. */
+    private final FileStorageHandler storageHandler;
+
+    /** Lock shared with other processes, or {@code null} unless running in {@link Mode#MULTI_PROCESS} mode. */
+    private final FileProcessLock processLock;
+
+    /** Locks serializing mutations of the same title. */
+    private final TitleLockStripes titleLocks = new TitleLockStripes(LOCK_STRIPES);
+
+    /**
+     * Gate between mutations and snapshot queries: mutations, and in {@link Mode#CACHED} mode
+     * the rollbacks of failed writes, pass it in shared mode; a snapshot query that failed
+     * optimistically holds it exclusively.
+     */
+    private final MutationGate snapshotGate = new MutationGate();
+
+    /** Listeners notified after the events change. */
+    private final List<EventMutationListener> mutationListeners = new CopyOnWriteArrayList<>();
+
+    /** Acknowledgements of the mutations made in the batch open on each thread, if any. */
+    private final ThreadLocal<List<CompletableFuture<Void>>> batchAcks = new ThreadLocal<>();
+
+    /** Latency of lookups and snapshot queries. */
+    private final LatencyHistogram readLatency =
+            MetricsRegistry.getInstance().histogram("events_dao_duration_seconds", "operation", "read");
+
+    /** Latency of mutations, from acquiring their locks until the change is queued for flushing. */
+    private final LatencyHistogram writeLatency =
+            MetricsRegistry.getInstance().histogram("events_dao_duration_seconds", "operation", "write");
+
+    /** Number of reads that failed with an I/O error. */
+    private final Counter readErrors = MetricsRegistry.getInstance().counter("events_dao_errors_total", "operation", "read");
+
+    /** Number of mutations that were rejected or failed. */
+    private final Counter writeErrors = MetricsRegistry.getInstance().counter("events_dao_errors_total", "operation", "write");
+
+    /** Number of lookups of titles that are not stored. */
+    private final Counter misses = MetricsRegistry.getInstance().counter("events_dao_misses_total");
 
     /**
      * Constructs a new JsonEventDaoImpl that stores events in the given JSON file.
@@ -28,9 +138,66 @@ public class JsonEventDaoImpl implements EventCalendarDao {
      * @throws DaoException if the storage handler cannot be initialized
      */
     public JsonEventDaoImpl(String filePath) throws DaoException {
+        this(filePath, Mode.DIRECT);
+    }
+
+    /**
+     * Constructs a new JsonEventDaoImpl that stores events in the given JSON file
+     * using the given access mode.
+     *
+     * @param filePath the path to the JSON file used for event persistence
+     * @param mode     the strategy used to access the file
+     * @throws DaoException if the storage handler cannot be initialized or the file cannot be loaded
+     */
+    public JsonEventDaoImpl(String filePath, Mode mode) throws DaoException {
+        this(openHandler(filePath, mode, () -> new JsonStorageHandler(filePath)), mode);
+    }
+
+    /**
+     * Constructs a new DAO that stores events through the given storage handler,
+     * which determines the file format.
+     *
+     * @param handler the handler reading and writing the storage file
+     * @param mode    the strategy used to access the file
+     * @throws DaoException if the file cannot be loaded
+     */
+    protected JsonEventDaoImpl(FileStorageHandler handler, Mode mode) throws DaoException {
+        this.storageHandler = handler;
+        try {
+            if (mode == Mode.CACHED) {
+                this.cache = new CachedEventStorageService(handler, snapshotGate);
+                this.processLock = null;
+                this.storageService = cache;
+            } else if (mode == Mode.MULTI_PROCESS) {
+                this.cache = null;
+                this.processLock = FileProcessLock.forFile(handler.getFile().getPath());
+                this.storageService = new ProcessLockedEventStorageService(handler, processLock);
+            } else {
+                this.cache = null;
+                this.processLock = null;
+                this.storageService = new EventStorageService(handler);
+            }
+        } catch (IOException e) {
+            throw new DaoException("Initialization failed", e);
+        }
+    }
+
+    /**
+     * Opens a storage file. In {@link Mode#MULTI_PROCESS} mode the handler is created while
+     * holding the exclusive {@link FileProcessLock}, so that two processes starting together
+     * cannot both initialize the file and overwrite events one of them has already written.
+     *
+     * @param filePath the path to the storage file
+     * @param mode     the strategy used to access the file
+     * @param opener   creates the handler of the file
+     * @param <H>      the handler type
+     * @return the handler of the file
+     * @throws DaoException if the storage handler cannot be initialized
+     */
+    protected static <H extends FileStorageHandler> H openHandler(String filePath, Mode mode,
+            FileProcessLock.LockedOperation<H> opener) throws DaoException {
         try {
-            JsonStorageHandler handler = new JsonStorageHandler(filePath);
-            this.storageService = new EventStorageService(handler);
+            return mode == Mode.MULTI_PROCESS ? FileProcessLock.forFile(filePath).exclusive(opener) : opener.run();
         } catch (IOException e) {
             throw new DaoException("Initialization failed", e);
         }
@@ -40,18 +207,16 @@ public class JsonEventDaoImpl implements EventCalendarDao {
      * Persists a new {@link Event} in the JSON store.
      *
      * @param event the event to create; must not be null
-     * @throws DaoException if the event is null, already exists, or an I/O error occurs
+     * @throws DaoException if the event or its title is null, the event already exists, or an I/O error occurs
      */
     @Override
     public void create(Event event) throws DaoException {
         if (event == null) throw new DaoException("Event cannot be null");
-        synchronized (lock) {
-            try {
-                storageService.addEvent(event);
-            } catch (IOException | IllegalStateException e) {
-                throw new DaoException("Failed to create event", e);
-            }
-        }
+        if (event.getTitle() == null) throw new DaoException("Title cannot be null");
+        CompletableFuture<Void> ack = mutate("create", List.of(titleLocks.forTitle(event.getTitle())),
+                () -> storageService.addEvent(event),
+                List.of(event.getTitle()), "Failed to create event");
+        completeMutation(ack, List.of(event.getTitle()), "Failed to create event");
     }
 
     /**
@@ -64,12 +229,49 @@ public class JsonEventDaoImpl implements EventCalendarDao {
     @Override
     public Event read(String title) throws DaoException {
         if (title == null) throw new DaoException("Title cannot be null");
-        synchronized (lock) {
-            try {
-                return storageService.getEvent(title);
-            } catch (IOException | NoSuchElementException e) {
-                throw new DaoException("Failed to read event", e);
-            }
+        DaoOperationEvent trace = DaoOperationEvent.beginIfEnabled();
+        long start = readLatency.start();
+        Event event = null;
+        try {
+            event = storageService.getEvent(title);
+            return event;
+        } catch (NoSuchElementException e) {
+            misses.increment();
+            throw new DaoException("Failed to read event", e);
+        } catch (IOException e) {
+            readErrors.increment();
+            throw new DaoException("Failed to read event", e);
+        } finally {
+            readLatency.recordSince(start);
+            if (trace != null) trace.finish("read", title, event == null ? 0 : 1, 0, event != null);
+        }
+    }
+
+    /**
+     * Looks up an {@link Event} by its title in the JSON store without failing when it is missing.
+     *
+     * @param title the title of the event to look up; must not be null
+     * @return the event with the specified title, or an empty {@link Optional} if there is none
+     * @throws DaoException if the title is null or an I/O error occurs
+     */
+    @Override
+    public Optional<Event> findByTitle(String title) throws DaoException {
+        if (title == null) throw new DaoException("Title cannot be null");
+        DaoOperationEvent trace = DaoOperationEvent.beginIfEnabled();
+        long start = readLatency.start();
+        Event event = null;
+        boolean succeeded = false;
+        try {
+            event = storageService.findEvent(title);
+            succeeded = true;
+            if (event == null) misses.increment();
+            return Optional.ofNullable(event);
+        } catch (IOException e) {
+            readErrors.increment();
+            throw new DaoException("Failed to read event", e);
+        } finally {
+            readLatency.recordSince(start);
+            if (trace != null) trace.finish("findByTitle", title, event == null ? 0 : 1, 0, succeeded);
         }
     }
 
@@ -77,17 +279,16 @@ public class JsonEventDaoImpl implements EventCalendarDao {
      * Updates an existing {@link Event} in the JSON store.
      *
      * @param event the event containing updated data; must not be null
-     * @throws DaoException if the event does not exist or an I/O error occurs
+     * @throws DaoException if the event or its title is null, the event does not exist, or an I/O error occurs
      */
     @Override
     public void update(Event event) throws DaoException {
-        synchronized (lock) {
-            try {
-                storageService.updateEvent(event);
-            } catch (IOException | NoSuchElementException e) {
-                throw new DaoException("Failed to update event", e);
-            }
-        }
+        if (event == null) throw new DaoException("Event cannot be null");
+        if (event.getTitle() == null) throw new DaoException("Title cannot be null");
+        CompletableFuture<Void> ack = mutate("update", List.of(titleLocks.forTitle(event.getTitle())),
+                () -> storageService.updateEvent(event),
+                List.of(event.getTitle()), "Failed to update event");
+        completeMutation(ack, List.of(event.getTitle()), "Failed to update event");
     }
 
     /**
@@ -98,13 +299,53 @@ public class JsonEventDaoImpl implements EventCalendarDao {
      */
     @Override
     public void delete(String title) throws DaoException {
-        synchronized (lock) {
-            try {
-                storageService.deleteEvent(title);
-            } catch (IOException | NoSuchElementException e) {
-                throw new DaoException("Failed to delete event", e);
-            }
-        }
+        if (title == null) throw new DaoException("Title cannot be null");
+        CompletableFuture<Void> ack = mutate("delete", List.of(titleLocks.forTitle(title)),
+                () -> storageService.deleteEvent(title),
+                List.of(title), "Failed to delete event");
+        completeMutation(ack, List.of(title), "Failed to delete event");
+    }
+
+    /**
+     * Persists a batch of new {@link Event}s in the JSON store with a single write.
+     *
+     * @param events the events to create; must not be null or contain duplicate titles
+     * @throws DaoException if the batch is invalid, an event already exists, or an I/O error occurs
+     */
+    @Override
+    public void createAll(List<Event> events) throws DaoException {
+        List<String> titles = titlesOf(events);
+        CompletableFuture<Void> ack = mutate("createAll", titleLocks.forTitles(titles),
+                () -> storageService.addEvents(events), titles, "Failed to create events");
+        completeMutation(ack, titles, "Failed to create events");
+    }
+
+    /**
+     * Updates a batch of existing {@link Event}s in the JSON store with a single write.
+     *
+     * @param events the events containing updated data; must not be null or contain duplicate titles
+     * @throws DaoException if the batch is invalid, an event does not exist, or an I/O error occurs
+     */
+    @Override
+    public void updateAll(List<Event> events) throws DaoException {
+        List<String> titles = titlesOf(events);
+        CompletableFuture<Void> ack = mutate("updateAll", titleLocks.forTitles(titles),
+                () -> storageService.updateEvents(events), titles, "Failed to update events");
+        completeMutation(ack, titles, "Failed to update events");
+    }
+
+    /**
+     * Deletes a batch of {@link Event}s from the JSON store with a single write.
+     *
+     * @param titles the titles of the events to delete; must not be null or contain duplicates
+     * @throws DaoException if the batch is invalid, an event does not exist, or an I/O error occurs
+     */
+    @Override
+    public void deleteAll(List<String> titles) throws DaoException {
+        checkTitles(titles);
+        CompletableFuture<Void> ack = mutate("deleteAll", titleLocks.forTitles(titles),
+                () -> storageService.deleteEvents(titles), titles, "Failed to delete events");
+        completeMutation(ack, titles, "Failed to delete events");
     }
 
     /**
@@ -115,13 +356,399 @@ public class JsonEventDaoImpl implements EventCalendarDao {
      */
     @Override
     public List<Event> findAll() throws DaoException {
-        synchronized (lock) {
+        return snapshot("findAll", storageService::findAll, "Failed to list events");
+    }
+
+    /**
+     * Returns one page of events in ascending title order.
+     *
+     * @param cursor the cursor returned with the previous page, or {@code null} for the first page
+     * @param limit  the maximum number of events on the page; must be positive
+     * @return the page of events and the cursor of the next page
+     * @throws DaoException if the cursor is malformed, the limit is not positive, or an I/O error occurs
+     */
+    @Override
+    public EventPage findPage(String cursor, int limit) throws DaoException {
+        String after = pageStart(cursor, limit);
+        List<Event> fetched = snapshot("findPage", () -> storageService.findPage(after, limit + 1), "Failed to list events");
+        return EventPage.of(fetched, limit);
+    }
+
+    /**
+     * Returns the events taking place between two dates, inclusive, ordered by date and then by title.
+     *
+     * @param from the first date of the range; must not be null
+     * @param to   the last date of the range; must not be null
+     * @return a {@link List} of matching {@link Event} instances
+     * @throws DaoException if a date is null or an I/O error occurs during retrieval
+     */
+    @Override
+    public List<Event> findByDateRange(LocalDate from, LocalDate to) throws DaoException {
+        if (from == null || to == null) throw new DaoException("Dates cannot be null");
+        return snapshot("findByDateRange", () -> storageService.findByDateRange(from, to), "Failed to find events by date");
+    }
+
+    /**
+     * Returns the events run by the organizer with the given name, ordered by title.
+     *
+     * @param organizerName the name of the organizer; must not be null
+     * @return a {@link List} of matching {@link Event} instances
+     * @throws DaoException if the name is null or an I/O error occurs during retrieval
+     */
+    @Override
+    public List<Event> findByOrganizer(String organizerName) throws DaoException {
+        if (organizerName == null) throw new DaoException("Organizer name cannot be null");
+        return snapshot("findByOrganizer", () -> storageService.findByOrganizer(organizerName), "Failed to find events by organizer");
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The events are streamed from the file, or from the cache in {@link Mode#CACHED} mode,
+     * without a snapshot, so mutations are not held off while a slow visitor runs.
+     */
+    @Override
+    public void forEachEvent(Predicate<Event> visitor) throws DaoException {
+        if (visitor == null) throw new DaoException("Visitor cannot be null");
+        try {
+            storageService.forEach(visitor);
+        } catch (IOException e) {
+            throw new DaoException("Failed to list events", e);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Listeners are accepted only in {@link Mode#CACHED} mode.
+     */
+    @Override
+    public boolean addMutationListener(EventMutationListener listener) {
+        if (listener == null) throw new IllegalArgumentException("Listener cannot be null");
+        if (cache == null) return false;
+        mutationListeners.add(listener);
+        return true;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Commits of the calling thread are deferred until {@link #endBatch()}, except in
+     * {@link Mode#MULTI_PROCESS} mode.
+     */
+    @Override
+    public void beginBatch() throws DaoException {
+        if (batchAcks.get() != null) throw new DaoException("A batch is already open on this thread");
+        batchAcks.set(new ArrayList<>());
+        if (processLock == null) {
+            storageHandler.deferCommits();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void endBatch() throws DaoException {
+        List<CompletableFuture<Void>> acks = batchAcks.get();
+        if (acks == null) throw new DaoException("No batch is open on this thread");
+        batchAcks.remove();
+        if (processLock == null) {
+            storageHandler.releaseCommits();
+        }
+        try {
+            for (CompletableFuture<Void> ack : acks) {
+                awaitDurable(ack, "Failed to persist batch");
+            }
+        } catch (DaoException e) {
+            // the failed flush rolled back mutations that were already reported
+            notifyChanged(null);
+            throw e;
+        }
+    }
+
+    /**
+     * Returns the number of times the storage file has been rewritten by this DAO.
+     *
+     * @return the flush count of the storage handler
+     */
+    public long getFlushCount() {
+        return storageHandler.getFlushCount();
+    }
+
+    /**
+     * Returns the number of reads answered from the in-memory cache.
+     *
+     * @return the cache hit count, or 0 when running in {@link Mode#DIRECT} mode
+     */
+    public long getCacheHits() {
+        return cache == null ? 0 : cache.getHits();
+    }
+
+    /**
+     * Returns the number of reads for titles that are not stored.
+     *
+     * @return the cache miss count, or 0 when running in {@link Mode#DIRECT} mode
+     */
+    public long getCacheMisses() {
+        return cache == null ? 0 : cache.getMisses();
+    }
+
+    /**
+     * Returns the lock coordinating this DAO with other processes using the same file,
+     * which also records how long operations waited for it.
+     *
+     * @return the process lock, or {@code null} unless running in {@link Mode#MULTI_PROCESS} mode
+     */
+    public FileProcessLock getProcessLock() {
+        return processLock;
+    }
+
+    /**
+     * Loads the storage file if another program changed it and merges the changes into the cache.
+     * <p>
+     * The file is read without blocking readers or mutations; the differences are then applied
+     * title by title while mutations are held off, so multi-event queries never observe a
+     * half-applied reload. A change that is overtaken by a write of this DAO is discarded.
+     *
+     * @return the number of events added, replaced or removed; 0 if the file did not change
+     *         or the DAO runs in {@link Mode#DIRECT} mode, which reads the file on every operation
+     * @throws DaoException if the changed file cannot be read or decoded
+     */
+    public int reloadIfChanged() throws DaoException {
+        if (cache == null) return 0;
+        FileStorageHandler.ExternalChange change;
+        try {
+            change = storageHandler.readExternalChange();
+        } catch (IOException | RuntimeException e) {
+            throw new DaoException("Failed to reload events", e);
+        }
+        if (change == null) return 0;
+        long stamp = snapshotGate.enterExclusive();
+        try {
+            int changed = storageHandler.isCurrent(change) ? cache.applyExternalState(change.getEvents()) : 0;
+            if (changed > 0) notifyChanged(null);
+            return changed;
+        } finally {
+            snapshotGate.exitExclusive(stamp);
+        }
+    }
+
+    /**
+     * Operation on the storage service that may fail with an I/O error.
+     *
+     * @param <T> the result type
+     */
+    @FunctionalInterface
+    private interface StorageOperation<T> {
+        T run() throws IOException;
+    }
+
+    /**
+     * Runs a storage mutation while holding the lock stripes of its titles and the shared
+     * side of the snapshot gate, then notifies the mutation listeners, whether it succeeded or not.
+     * The mutation is reported to Flight Recorder with the time spent waiting for the locks;
+     * the write that makes it durable is reported by the storage handler.
+     *
+     * @param operation    the name of the DAO method, reported to Flight Recorder
+     * @param locks        the stripes of the mutated titles, in stripe order
+     * @param mutation     the mutation returning its durability acknowledgement
+     * @param titles       the titles of the mutated events
+     * @param errorMessage message of the exception thrown if the mutation is rejected
+     * @return the acknowledgement of the mutation
+     * @throws DaoException if the mutation is rejected or an I/O error occurs
+     */
+    private CompletableFuture<Void> mutate(String operation, List<ReentrantLock> locks,
+                                           StorageOperation<CompletableFuture<Void>> mutation,
+                                           List<String> titles, String errorMessage) throws DaoException {
+        DaoOperationEvent trace = DaoOperationEvent.beginIfEnabled();
+        long start = writeLatency.start();
+        long lockRequested = trace != null ? System.nanoTime() : 0;
+        for (ReentrantLock lock : locks) {
+            lock.lock();
+        }
+        long stamp = snapshotGate.enter();
+        long lockWait = trace != null ? System.nanoTime() - lockRequested : 0;
+        boolean succeeded = false;
+        try {
+            CompletableFuture<Void> ack = mutation.run();
+            succeeded = true;
+            return ack;
+        } catch (IOException | IllegalStateException | NoSuchElementException e) {
+            writeErrors.increment();
+            throw new DaoException(errorMessage, e);
+        } finally {
+            snapshotGate.exit(stamp);
+            // notified under the title locks, so a listener never sees the change out of order
+            for (String title : titles) {
+                notifyChanged(title);
+            }
+            for (int i = locks.size() - 1; i >= 0; i--) {
+                locks.get(i).unlock();
+            }
+            writeLatency.recordSince(start);
+            if (trace != null) {
+                trace.finish(operation, titles.size() == 1 ? titles.get(0) : null, titles.size(), lockWait, succeeded);
+            }
+        }
+    }
+
+    /**
+     * Returns the titles of a batch of events after checking that the batch is well-formed.
+     *
+     * @param events the events of the batch
+     * @return the titles of the events, in order
+     * @throws DaoException if the batch or one of its events is null, or two events share a title
+     */
+    private static List<String> titlesOf(List<Event> events) throws DaoException {
+        if (events == null) throw new DaoException("Events cannot be null");
+        List<String> titles = new ArrayList<>(events.size());
+        for (Event event : events) {
+            if (event == null) throw new DaoException("Event cannot be null");
+            titles.add(event.getTitle());
+        }
+        checkTitles(titles);
+        return titles;
+    }
+
+    /**
+     * Checks that a batch of titles is well-formed.
+     *
+     * @param titles the titles of the batch
+     * @throws DaoException if the batch or one of its titles is null, or a title is repeated
+     */
+    private static void checkTitles(List<String> titles) throws DaoException {
+        if (titles == null) throw new DaoException("Titles cannot be null");
+        Set<String> seen = new HashSet<>();
+        for (String title : titles) {
+            if (title == null) throw new DaoException("Title cannot be null");
+            if (!seen.add(title)) throw new DaoException("Duplicate title in batch: " + title);
+        }
+    }
+
+    /**
+     * Runs a query spanning several events so that it observes a consistent state.
+     * <p>
+     * The query first runs optimistically and is accepted if no mutation was active
+     * or completed while it ran. After a few failed attempts it runs once more while
+     * holding off all mutations. The query is reported to Flight Recorder with the time
+     * spent waiting to hold off mutations, if it had to.
+     *
+     * @param operation    the name of the DAO method, reported to Flight Recorder
+     * @param query        the query to run
+     * @param errorMessage message of the exception thrown if the query fails
+     * @return the query result
+     * @throws DaoException if an I/O error occurs during retrieval
+     */
+    private <T> T snapshot(String operation, StorageOperation<T> query, String errorMessage) throws DaoException {
+        DaoOperationEvent trace = DaoOperationEvent.beginIfEnabled();
+        long start = readLatency.start();
+        T result = null;
+        long lockWait = 0;
+        try {
+            for (int attempt = 0; attempt < OPTIMISTIC_SNAPSHOT_ATTEMPTS; attempt++) {
+                long observed = snapshotGate.observe();
+                if (observed >= 0) {
+                    T candidate = query.run();
+                    if (snapshotGate.validate(observed)) {
+                        result = candidate;
+                        return result;
+                    }
+                }
+                Thread.onSpinWait();
+            }
+            long lockRequested = trace != null ? System.nanoTime() : 0;
+            long stamp = snapshotGate.lock();
+            if (trace != null) lockWait = System.nanoTime() - lockRequested;
+            try {
+                result = query.run();
+                return result;
+            } finally {
+                snapshotGate.unlock(stamp);
+            }
+        } catch (IOException e) {
+            readErrors.increment();
+            throw new DaoException(errorMessage, e);
+        } finally {
+            readLatency.recordSince(start);
+            if (trace != null) {
+                // every query returns a list of events, so a null result means it failed
+                trace.finish(operation, null, result instanceof Collection ? ((Collection<?>) result).size() : 0,
+                        lockWait, result != null);
+            }
+        }
+    }
+
+    /**
+     * Checks the arguments of a page query and decodes its cursor.
+     *
+     * @param cursor the cursor of the page, or {@code null} for the first page
+     * @param limit  the maximum number of events on the page
+     * @return the title the page starts after, or {@code null} for the first page
+     * @throws DaoException if the cursor is malformed or the limit is not positive
+     *                      or leaves no room to look one event ahead
+     */
+    static String pageStart(String cursor, int limit) throws DaoException {
+        if (limit <= 0 || limit == Integer.MAX_VALUE) throw new DaoException("Page size out of range: " + limit);
+        if (cursor == null) return null;
+        try {
+            return EventPage.titleAfter(cursor);
+        } catch (IllegalArgumentException e) {
+            throw new DaoException("Malformed page cursor", e);
+        }
+    }
+
+    /**
+     * Waits until a mutation is durable, or leaves the wait to {@link #endBatch()} if a batch
+     * is open on the calling thread.
+     *
+     * @param ack          the acknowledgement returned by the storage service
+     * @param titles       the titles of the mutated events, notified again if the write fails
+     * @param errorMessage message of the exception thrown if the write failed
+     * @throws DaoException if the change could not be persisted
+     */
+    private void completeMutation(CompletableFuture<Void> ack, List<String> titles, String errorMessage)
+            throws DaoException {
+        List<CompletableFuture<Void>> acks = batchAcks.get();
+        if (acks != null) {
+            acks.add(ack);
+        } else {
             try {
-                return storageService.findAll();
-            } catch (IOException e) {
-                throw new DaoException("Failed to list events", e);
+                awaitDurable(ack, errorMessage);
+            } catch (DaoException e) {
+                // the failed flush rolled the mutation back
+                for (String title : titles) {
+                    notifyChanged(title);
+                }
+                throw e;
             }
         }
     }
 
-}
\ No newline at end of file
+    /**
+     * Tells the registered listeners that an event may have changed.
+     *
+     * @param title the title of the event, or {@code null} if any event may have changed
+     */
+    private void notifyChanged(String title) {
+        for (EventMutationListener listener : mutationListeners) {
+            listener.eventChanged(title);
+        }
+    }
+
+    /**
+     * Waits until a mutation acknowledged by the storage layer is durable.
+     *
+     * @param ack          the acknowledgement returned by the storage service
+     * @param errorMessage message of the exception thrown if the write failed
+     * @throws DaoException if the change could not be persisted
+     */
+    private void awaitDurable(CompletableFuture<Void> ack, String errorMessage) throws DaoException {
+        try {
+            FileStorageHandler.await(ack);
+        } catch (IOException | RuntimeException e) {
+            throw new DaoException(errorMessage, e);
+        }
+    }
+
+}
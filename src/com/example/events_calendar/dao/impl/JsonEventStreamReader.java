@@ -0,0 +1,95 @@
+package com.example.events_calendar.dao.impl;
+
+import com.example.events_calendar.model.Event;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+
+/**
+ * Reads the entries of a JSON events file one at a time.
+ *
+ * <p>The file holds a single object mapping event titles to events. Instead of binding
+ * the whole object, the reader walks it with a Jackson {@link JsonParser}: callers move
+ * from title to title with {@link #nextTitle()} and then either bind the current event
+ * with {@link #readEvent()} or skip it with {@link #skipEvent()}. Only the event being
+ * bound is held in memory, and skipped events are never turned into objects.</p>
+ */
+public class JsonEventStreamReader implements Closeable {
+
+    /** Mapper binding single events. */
+    private final ObjectMapper mapper;
+
+    /** Parser positioned inside the top-level object. */
+    private final JsonParser parser;
+
+    /** Whether the value of the current title has been consumed. */
+    private boolean valueConsumed = true;
+
+    /**
+     * Opens a reader over the given file.
+     *
+     * @param mapper the mapper used to bind events; must support Java 8 date/time types
+     * @param file   the JSON events file
+     * @throws IOException if the file cannot be opened or does not hold a JSON object
+     */
+    public JsonEventStreamReader(ObjectMapper mapper, File file) throws IOException {
+        this.mapper = mapper;
+        this.parser = mapper.getFactory().createParser(file);
+        if (parser.nextToken() != JsonToken.START_OBJECT) {
+            parser.close();
+            throw new IOException("Expected a JSON object in " + file);
+        }
+    }
+
+    /**
+     * Advances to the next entry, skipping the value of the current one if it was not consumed.
+     *
+     * @return the title of the next entry, or {@code null} once the object is exhausted
+     * @throws IOException if the file cannot be read or is malformed
+     */
+    public String nextTitle() throws IOException {
+        if (!valueConsumed) skipEvent();
+        JsonToken token = parser.nextToken();
+        if (token == JsonToken.END_OBJECT || token == null) return null;
+        if (token != JsonToken.FIELD_NAME) throw new IOException("Malformed events file at " + parser.currentLocation());
+        valueConsumed = false;
+        return parser.currentName();
+    }
+
+    /**
+     * Binds the event of the current entry.
+     *
+     * @return the event stored under the current title
+     * @throws IOException if the event cannot be read or bound
+     */
+    public Event readEvent() throws IOException {
+        parser.nextToken();
+        valueConsumed = true;
+        return mapper.readValue(parser, Event.class);
+    }
+
+    /**
+     * Skips the event of the current entry without binding it.
+     *
+     * @throws IOException if the file cannot be read or is malformed
+     */
+    public void skipEvent() throws IOException {
+        parser.nextToken();
+        parser.skipChildren();
+        valueConsumed = true;
+    }
+
+    /**
+     * Closes the underlying file.
+     *
+     * @throws IOException if the file cannot be closed
+     */
+    @Override
+    public void close() throws IOException {
+        parser.close();
+    }
+}
@@ -1,32 +1,40 @@
 package com.example.events_calendar.dao.impl;
 
+import com.example.events_calendar.jfr.StorageParseEvent;
+import com.example.events_calendar.jfr.StorageWriteEvent;
 import com.example.events_calendar.model.Event;
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 
 import java.io.File;
+import java.io.FilterOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.function.Predicate;
 
 /**
  * Provides JSON-based persistence for Event objects, storing them in a file
  * as a map from event titles to Event instances.
  *
  * <p>Uses Jackson's ObjectMapper configured with JavaTimeModule for
- * proper serialization of Java 8 date/time types and indented output.</p>
+ * proper serialization of Java 8 date/time types and indented output.
+ * Entries are streamed with a {@link JsonEventStreamReader}.</p>
+ *
+ * <p>Parses and writes are reported to Flight Recorder as {@link StorageParseEvent}s and
+ * {@link StorageWriteEvent}s; the bytes written are counted only while a recording asks for them.</p>
  */
-public class JsonStorageHandler {
+public class JsonStorageHandler extends FileStorageHandler {
 
     /** Jackson mapper configured for Java 8 date/time and pretty printing. */
     private final ObjectMapper mapper;
 
-    /** File used to persist the JSON data. */
-    private final File file;
-
     /**
-     * Constructs a handler that reads from and writes to the specified file path.
+     * Constructs a handler that reads from and writes to the specified file path,
+     * using the default group-commit window.
      * <p>
      * If the file does not exist, it is created and initialized with an empty map.
      *
@@ -34,45 +42,98 @@ public class JsonStorageHandler {
      * @throws IOException if the file cannot be created or initialized
      */
     public JsonStorageHandler(String filePath) throws IOException {
-        this.file = new File(filePath);
+        this(filePath, DEFAULT_GROUP_COMMIT_WINDOW_MILLIS);
+    }
+
+    /**
+     * Constructs a handler that reads from and writes to the specified file path.
+     * <p>
+     * If the file does not exist, it is created and initialized with an empty map.
+     *
+     * @param filePath                the file path where event data will be stored
+     * @param groupCommitWindowMillis time a flush waits for further commits to join it;
+     *                                0 flushes as soon as the previous flush has finished
+     * @throws IOException if the file cannot be created or initialized
+     */
+    public JsonStorageHandler(String filePath, long groupCommitWindowMillis) throws IOException {
+        super(filePath, groupCommitWindowMillis);
         this.mapper = new ObjectMapper();
         mapper.registerModule(new JavaTimeModule());
         mapper.enable(SerializationFeature.INDENT_OUTPUT);
+        mapper.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
         initializeFile();
     }
 
     /**
-     * Ensures the storage file exists. If it does not, writes an empty map to it.
-     *
-     * @throws IOException if an error occurs during file creation or writing
+     * Serializes the map as a single indented JSON object.
      */
-    private void initializeFile() throws IOException {
-        if (!file.exists()) {
-            write(new HashMap<>());
+    @Override
+    protected void writeData(Map<String, Event> data, OutputStream out) throws IOException {
+        StorageWriteEvent event = StorageWriteEvent.beginIfEnabled();
+        if (event == null) {
+            mapper.writeValue(out, data);
+        } else {
+            CountingStream counted = new CountingStream(out);
+            mapper.writeValue(counted, data);
+            event.finish(getFile().getPath(), counted.count, data.size());
         }
     }
 
     /**
-     * Reads and deserializes the contents of the JSON file into a map of events.
-     * <p>
-     * If the file does not exist at call time, returns an empty map.
-     *
-     * @return a map where keys are event titles and values are Event objects
-     * @throws IOException if an error occurs during file reading or JSON parsing
+     * Binds the whole JSON object in one pass.
      */
-    public Map<String, Event> read() throws IOException {
-        if (!file.exists()) return new HashMap<>();
-        return mapper.readValue(file,
+    @Override
+    protected Map<String, Event> readData(File file) throws IOException {
+        StorageParseEvent event = StorageParseEvent.beginIfEnabled();
+        Map<String, Event> data = mapper.readValue(file,
                 mapper.getTypeFactory().constructMapType(HashMap.class, String.class, Event.class));
+        if (event != null) {
+            event.finish(file, data.size(), false);
+        }
+        return data;
     }
 
     /**
-     * Serializes the given map of events to the storage file in JSON format.
-     *
-     * @param data the map from event titles to Event objects to write
-     * @throws IOException if an error occurs during file writing or JSON serialization
+     * Walks the JSON object entry by entry, skipping unwanted events without binding them.
+     */
+    @Override
+    protected void scanData(File file, Predicate<String> wanted, Predicate<Event> visitor) throws IOException {
+        StorageParseEvent event = StorageParseEvent.beginIfEnabled();
+        int bound = 0;
+        try (JsonEventStreamReader reader = new JsonEventStreamReader(mapper, file)) {
+            String title;
+            while ((title = reader.nextTitle()) != null) {
+                if (wanted.test(title)) {
+                    bound++;
+                    if (!visitor.test(reader.readEvent())) break;
+                }
+            }
+        }
+        if (event != null) {
+            event.finish(file, bound, true);
+        }
+    }
+
+    /**
+     * Stream counting the bytes written through it to the underlying stream.
      */
-    public void write(Map<String, Event> data) throws IOException {
-        mapper.writeValue(file, data);
+    private static final class CountingStream extends FilterOutputStream {
+        private long count;
+
+        CountingStream(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            count += len;
+        }
     }
 }
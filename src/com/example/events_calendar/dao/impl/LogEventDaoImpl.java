@@ -0,0 +1,479 @@
+package com.example.events_calendar.dao.impl;
+
+import com.example.events_calendar.dao.DaoException;
+import com.example.events_calendar.dao.EventCalendarDao;
+import com.example.events_calendar.dao.impl.EventLogHandler.LogRecord;
+import com.example.events_calendar.dao.impl.EventLogHandler.Operation;
+import com.example.events_calendar.model.Event;
+import com.example.events_calendar.model.EventPage;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Append-only log implementation of {@link EventCalendarDao}.
+ * <p>
+ * Every mutation is appended to a log file as a single record and then applied to an
+ * in-memory map, so the cost of a write does not depend on the number of stored events.
+ * On startup the map is rebuilt from the latest snapshot followed by the log.
+ * A background task periodically compacts the log into a new snapshot once it holds
+ * more than a configured number of records. Batch mutations are appended as a single record,
+ * so they survive a crash entirely or not at all. Date range and organizer queries are answered
+ * from an {@link EventIndex} updated together with the map. Events are copied on the way in and
+ * out, so callers cannot change the map behind the log. All methods synchronize on an internal
+ * lock to ensure thread safety.</p>
+ *
+ * <p>Given a log path {@code events.log}, the snapshot is kept in {@code events.log.snapshot}
+ * and a log being compacted in {@code events.log.compacting}. Log records replace or remove
+ * whole events, so replaying records already contained in the snapshot is harmless.</p>
+ */
+public class LogEventDaoImpl implements EventCalendarDao, AutoCloseable {
+
+    /** Default number of log records that triggers a compaction. */
+    public static final int DEFAULT_COMPACTION_THRESHOLD = 10_000;
+
+    /** Default delay between two compaction checks, in milliseconds. */
+    public static final long DEFAULT_COMPACTION_INTERVAL_MILLIS = 1_000;
+
+    /** Handler appending mutation records to the log file. */
+    private final EventLogHandler logHandler;
+
+    /** Handler reading and writing the snapshot file. */
+    private final JsonStorageHandler snapshotHandler;
+
+    /** Log file moved aside while its contents are written into a snapshot. */
+    private final File compactingFile;
+
+    /** Current state of the calendar, keyed by event title. */
+    private final Map<String, Event> events = new HashMap<>();
+
+    /** Secondary indexes over the stored events. */
+    private final EventIndex index = new EventIndex();
+
+    /** Number of log records that triggers a compaction. */
+    private final int compactionThreshold;
+
+    /** Background executor running compactions. */
+    private final ScheduledExecutorService compactor;
+
+    /** Lock object used to synchronize access to the events map and the log. */
+    private final Object lock = new Object();
+
+    /** Lock object ensuring that only one compaction writes the snapshot at a time. */
+    private final Object compactionLock = new Object();
+
+    /**
+     * Constructs a new LogEventDaoImpl with the default compaction settings.
+     *
+     * @param logPath the path to the log file used for event persistence
+     * @throws DaoException if the log or snapshot cannot be opened or replayed
+     */
+    public LogEventDaoImpl(String logPath) throws DaoException {
+        this(logPath, DEFAULT_COMPACTION_THRESHOLD, DEFAULT_COMPACTION_INTERVAL_MILLIS);
+    }
+
+    /**
+     * Constructs a new LogEventDaoImpl and rebuilds the stored events from disk.
+     *
+     * @param logPath                  the path to the log file used for event persistence
+     * @param compactionThreshold      number of log records that triggers a compaction
+     * @param compactionIntervalMillis delay between two compaction checks, in milliseconds
+     * @throws DaoException if the log or snapshot cannot be opened or replayed
+     */
+    public LogEventDaoImpl(String logPath, int compactionThreshold, long compactionIntervalMillis)
+            throws DaoException {
+        if (compactionThreshold <= 0) throw new DaoException("Compaction threshold must be positive");
+        this.compactionThreshold = compactionThreshold;
+        this.compactingFile = new File(logPath + ".compacting");
+        try {
+            this.snapshotHandler = new JsonStorageHandler(logPath + ".snapshot");
+            this.logHandler = new EventLogHandler(logPath);
+            snapshotHandler.scan(title -> true, event -> {
+                events.put(event.getTitle(), event);
+                index.add(event);
+                return true;
+            });
+            logHandler.replay(compactingFile, this::apply);
+            logHandler.replay(this::apply);
+        } catch (IOException | RuntimeException e) {
+            throw new DaoException("Initialization failed", e);
+        }
+        this.compactor = Executors.newSingleThreadScheduledExecutor(task -> {
+            Thread thread = new Thread(task, "event-log-compactor");
+            thread.setDaemon(true);
+            return thread;
+        });
+        compactor.scheduleWithFixedDelay(this::compactQuietly,
+                compactionIntervalMillis, compactionIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Appends a creation record for a new {@link Event} and adds it to memory.
+     *
+     * @param event the event to create; must not be null
+     * @throws DaoException if the event is null, already exists, or the record cannot be written
+     */
+    @Override
+    public void create(Event event) throws DaoException {
+        if (event == null) throw new DaoException("Event cannot be null");
+        synchronized (lock) {
+            if (events.containsKey(event.getTitle())) {
+                throw new DaoException("Event already exists: " + event.getTitle());
+            }
+            write(new LogRecord(Operation.CREATE, event.getTitle(), event.copy()), "Failed to create event");
+        }
+    }
+
+    /**
+     * Reads an {@link Event} by its title from memory.
+     *
+     * @param title the title of the event to read; must not be null
+     * @return the event with the specified title
+     * @throws DaoException if the title is null or no such event exists
+     */
+    @Override
+    public Event read(String title) throws DaoException {
+        if (title == null) throw new DaoException("Title cannot be null");
+        synchronized (lock) {
+            Event event = events.get(title);
+            if (event == null) {
+                throw new DaoException("Event not found: " + title);
+            }
+            return event.copy();
+        }
+    }
+
+    /**
+     * Looks up an {@link Event} by its title in memory without failing when it is missing.
+     *
+     * @param title the title of the event to look up; must not be null
+     * @return the event with the specified title, or an empty {@link Optional} if there is none
+     * @throws DaoException if the title is null
+     */
+    @Override
+    public Optional<Event> findByTitle(String title) throws DaoException {
+        if (title == null) throw new DaoException("Title cannot be null");
+        synchronized (lock) {
+            return Optional.ofNullable(events.get(title)).map(Event::copy);
+        }
+    }
+
+    /**
+     * Appends an update record for an existing {@link Event} and applies it to memory.
+     *
+     * @param event the event containing updated data; must not be null
+     * @throws DaoException if the event does not exist or the record cannot be written
+     */
+    @Override
+    public void update(Event event) throws DaoException {
+        if (event == null) throw new DaoException("Event cannot be null");
+        synchronized (lock) {
+            if (!events.containsKey(event.getTitle())) {
+                throw new DaoException("Event not found: " + event.getTitle());
+            }
+            write(new LogRecord(Operation.UPDATE, event.getTitle(), event.copy()), "Failed to update event");
+        }
+    }
+
+    /**
+     * Appends a deletion record for the {@link Event} with the given title and removes it from memory.
+     *
+     * @param title the title of the event to delete; must not be null
+     * @throws DaoException if the event does not exist or the record cannot be written
+     */
+    @Override
+    public void delete(String title) throws DaoException {
+        if (title == null) throw new DaoException("Title cannot be null");
+        synchronized (lock) {
+            if (!events.containsKey(title)) {
+                throw new DaoException("Event not found: " + title);
+            }
+            write(new LogRecord(Operation.DELETE, title, null), "Failed to delete event");
+        }
+    }
+
+    /**
+     * Appends a single record creating a batch of new {@link Event}s and adds them to memory.
+     *
+     * @param events the events to create; must not be null or contain duplicate titles
+     * @throws DaoException if the batch is invalid, an event already exists, or the record cannot be written
+     */
+    @Override
+    public void createAll(List<Event> events) throws DaoException {
+        List<LogRecord> records = toRecords(events, Operation.CREATE);
+        synchronized (lock) {
+            for (LogRecord record : records) {
+                if (this.events.containsKey(record.getTitle())) {
+                    throw new DaoException("Event already exists: " + record.getTitle());
+                }
+            }
+            write(LogRecord.batch(records), "Failed to create events");
+        }
+    }
+
+    /**
+     * Appends a single record updating a batch of existing {@link Event}s and applies it to memory.
+     *
+     * @param events the events containing updated data; must not be null or contain duplicate titles
+     * @throws DaoException if the batch is invalid, an event does not exist, or the record cannot be written
+     */
+    @Override
+    public void updateAll(List<Event> events) throws DaoException {
+        List<LogRecord> records = toRecords(events, Operation.UPDATE);
+        synchronized (lock) {
+            checkExisting(records);
+            write(LogRecord.batch(records), "Failed to update events");
+        }
+    }
+
+    /**
+     * Appends a single record deleting a batch of {@link Event}s and removes them from memory.
+     *
+     * @param titles the titles of the events to delete; must not be null or contain duplicates
+     * @throws DaoException if the batch is invalid, an event does not exist, or the record cannot be written
+     */
+    @Override
+    public void deleteAll(List<String> titles) throws DaoException {
+        if (titles == null) throw new DaoException("Titles cannot be null");
+        List<LogRecord> records = new ArrayList<>(titles.size());
+        for (String title : titles) {
+            if (title == null) throw new DaoException("Title cannot be null");
+            records.add(new LogRecord(Operation.DELETE, title, null));
+        }
+        checkDistinct(records);
+        synchronized (lock) {
+            checkExisting(records);
+            write(LogRecord.batch(records), "Failed to delete events");
+        }
+    }
+
+    /**
+     * Returns a list of all events currently held in memory.
+     *
+     * @return a {@link List} of all {@link Event} instances
+     */
+    @Override
+    public List<Event> findAll() {
+        synchronized (lock) {
+            List<Event> result = new ArrayList<>(events.size());
+            for (Event event : events.values()) {
+                result.add(event.copy());
+            }
+            return result;
+        }
+    }
+
+    /**
+     * Returns one page of events in ascending title order, using the title index.
+     *
+     * @param cursor the cursor returned with the previous page, or {@code null} for the first page
+     * @param limit  the maximum number of events on the page; must be positive
+     * @return the page of events and the cursor of the next page
+     * @throws DaoException if the cursor is malformed or the limit is not positive
+     */
+    @Override
+    public EventPage findPage(String cursor, int limit) throws DaoException {
+        String after = JsonEventDaoImpl.pageStart(cursor, limit);
+        synchronized (lock) {
+            List<Event> fetched = new ArrayList<>();
+            for (String title : index.titlesAfter(after, limit + 1)) {
+                fetched.add(events.get(title).copy());
+            }
+            return EventPage.of(fetched, limit);
+        }
+    }
+
+    /**
+     * Returns the events taking place between two dates, inclusive, ordered by date and then by title.
+     *
+     * @param from the first date of the range; must not be null
+     * @param to   the last date of the range; must not be null
+     * @return a {@link List} of matching {@link Event} instances
+     * @throws DaoException if a date is null
+     */
+    @Override
+    public List<Event> findByDateRange(LocalDate from, LocalDate to) throws DaoException {
+        if (from == null || to == null) throw new DaoException("Dates cannot be null");
+        synchronized (lock) {
+            List<Event> result = new ArrayList<>();
+            for (String title : index.titlesBetween(from, to)) {
+                result.add(events.get(title).copy());
+            }
+            return result;
+        }
+    }
+
+    /**
+     * Returns the events run by the organizer with the given name, ordered by title.
+     *
+     * @param organizerName the name of the organizer; must not be null
+     * @return a {@link List} of matching {@link Event} instances
+     * @throws DaoException if the name is null
+     */
+    @Override
+    public List<Event> findByOrganizer(String organizerName) throws DaoException {
+        if (organizerName == null) throw new DaoException("Organizer name cannot be null");
+        synchronized (lock) {
+            List<Event> result = new ArrayList<>();
+            for (String title : index.titlesOrganizedBy(organizerName)) {
+                result.add(events.get(title).copy());
+            }
+            return result;
+        }
+    }
+
+    /**
+     * Writes the current state into a new snapshot and discards the log records it covers,
+     * provided the log holds at least the configured number of records.
+     * <p>
+     * Only copying the in-memory map and switching to a fresh log file happen under the lock;
+     * the snapshot itself is written while other operations proceed.
+     *
+     * @throws DaoException if the log cannot be rotated or the snapshot cannot be written
+     */
+    public void compact() throws DaoException {
+        synchronized (compactionLock) {
+            Map<String, Event> state;
+            synchronized (lock) {
+                if (logHandler.getRecordCount() < compactionThreshold) return;
+                state = new HashMap<>(events);
+                if (!compactingFile.exists()) {
+                    try {
+                        logHandler.rotate(compactingFile);
+                    } catch (IOException e) {
+                        throw new DaoException("Failed to rotate event log", e);
+                    }
+                }
+            }
+            try {
+                snapshotHandler.write(state);
+                Files.deleteIfExists(compactingFile.toPath());
+            } catch (IOException e) {
+                throw new DaoException("Failed to write snapshot", e);
+            }
+        }
+    }
+
+    /**
+     * Returns the number of records appended since the last compaction.
+     *
+     * @return the current log length in records
+     */
+    public long getLogRecordCount() {
+        return logHandler.getRecordCount();
+    }
+
+    /**
+     * Stops background compaction and closes the log and snapshot files, including the
+     * snapshot handler's flusher thread.
+     *
+     * @throws DaoException if the log cannot be closed
+     */
+    @Override
+    public void close() throws DaoException {
+        compactor.shutdown();
+        try {
+            compactor.awaitTermination(1, TimeUnit.MINUTES);
+            synchronized (lock) {
+                logHandler.close();
+            }
+            snapshotHandler.close();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new DaoException("Interrupted while stopping compaction", e);
+        } catch (IOException e) {
+            throw new DaoException("Failed to close event log", e);
+        }
+    }
+
+    /**
+     * Appends the record to the log and, once it is written, applies it to memory.
+     * Must be called while holding {@link #lock}.
+     */
+    private void write(LogRecord record, String errorMessage) throws DaoException {
+        try {
+            logHandler.append(record);
+        } catch (IOException e) {
+            throw new DaoException(errorMessage, e);
+        }
+        apply(record);
+    }
+
+    /**
+     * Converts a batch of events into log records after checking that the batch is well-formed.
+     */
+    private static List<LogRecord> toRecords(List<Event> events, Operation op) throws DaoException {
+        if (events == null) throw new DaoException("Events cannot be null");
+        List<LogRecord> records = new ArrayList<>(events.size());
+        for (Event event : events) {
+            if (event == null) throw new DaoException("Event cannot be null");
+            records.add(new LogRecord(op, event.getTitle(), event.copy()));
+        }
+        checkDistinct(records);
+        return records;
+    }
+
+    /**
+     * Checks that no two records of a batch affect the same title.
+     */
+    private static void checkDistinct(List<LogRecord> records) throws DaoException {
+        Set<String> seen = new HashSet<>();
+        for (LogRecord record : records) {
+            if (!seen.add(record.getTitle())) {
+                throw new DaoException("Duplicate title in batch: " + record.getTitle());
+            }
+        }
+    }
+
+    /**
+     * Checks that every record of a batch affects a stored event.
+     * Must be called while holding {@link #lock}.
+     */
+    private void checkExisting(List<LogRecord> records) throws DaoException {
+        for (LogRecord record : records) {
+            if (!events.containsKey(record.getTitle())) {
+                throw new DaoException("Event not found: " + record.getTitle());
+            }
+        }
+    }
+
+    /**
+     * Applies a log record to the in-memory map and index.
+     */
+    private void apply(LogRecord record) {
+        if (record.getOp() == Operation.BATCH) {
+            record.getRecords().forEach(this::apply);
+            return;
+        }
+        Event previous;
+        if (record.getOp() == Operation.DELETE) {
+            previous = events.remove(record.getTitle());
+        } else {
+            previous = events.put(record.getTitle(), record.getEvent());
+        }
+        index.replace(previous, record.getEvent());
+    }
+
+    /**
+     * Runs a scheduled compaction; failures are retried on the next run.
+     */
+    private void compactQuietly() {
+        try {
+            compact();
+        } catch (DaoException e) {
+            // the log is left intact and the next run tries again
+        }
+    }
+}
@@ -0,0 +1,383 @@
+package com.example.events_calendar.dao.impl;
+
+import com.example.events_calendar.dao.DaoException;
+import com.example.events_calendar.dao.EventCalendarDao;
+import com.example.events_calendar.model.Event;
+import com.example.events_calendar.model.EventPage;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Memory-mapped implementation of {@link EventCalendarDao} for very large calendars.
+ * <p>
+ * Events are kept encoded in a {@link MappedEventStore} and decoded only when they are
+ * read, so the heap holds no {@link Event} objects between operations; only titles are
+ * kept in memory, in the store's offset index and in an {@link EventIndex} answering
+ * date range, organizer and page queries. Every mutation, including a whole batch, is
+ * durable and atomic once the method returns. Reads run concurrently with each other,
+ * while mutations hold an exclusive lock.</p>
+ */
+public class MappedEventDaoImpl implements EventCalendarDao, AutoCloseable {
+
+    /** Store holding the encoded events. */
+    private final MappedEventStore store;
+
+    /** Secondary indexes over the stored events. */
+    private final EventIndex index = new EventIndex();
+
+    /** Lock letting reads proceed together while mutations run alone. */
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /**
+     * Constructs a new MappedEventDaoImpl that stores events in the given file.
+     *
+     * @param filePath the path to the mapped file used for event persistence
+     * @throws DaoException if the file cannot be opened, mapped or recovered
+     */
+    public MappedEventDaoImpl(String filePath) throws DaoException {
+        this(filePath, MappedEventStore.DEFAULT_SEGMENT_SIZE);
+    }
+
+    /**
+     * Constructs a new MappedEventDaoImpl that stores events in the given file,
+     * mapping it in segments of the given size.
+     *
+     * @param filePath    the path to the mapped file used for event persistence
+     * @param segmentSize the size of each mapped segment; must not change between runs
+     * @throws DaoException if the file cannot be opened, mapped or recovered
+     */
+    public MappedEventDaoImpl(String filePath, int segmentSize) throws DaoException {
+        try {
+            this.store = new MappedEventStore(filePath, segmentSize);
+            store.forEach(index::add);
+        } catch (IOException | RuntimeException e) {
+            throw new DaoException("Initialization failed", e);
+        }
+    }
+
+    /**
+     * Stores a new {@link Event}.
+     *
+     * @param event the event to create; must not be null
+     * @throws DaoException if the event is null, already exists, or cannot be written
+     */
+    @Override
+    public void create(Event event) throws DaoException {
+        if (event == null) throw new DaoException("Event cannot be null");
+        createAll(List.of(event));
+    }
+
+    /**
+     * Reads and decodes an {@link Event} by its title.
+     *
+     * @param title the title of the event to read; must not be null
+     * @return the event with the specified title
+     * @throws DaoException if the title is null or no such event exists
+     */
+    @Override
+    public Event read(String title) throws DaoException {
+        if (title == null) throw new DaoException("Title cannot be null");
+        lock.readLock().lock();
+        try {
+            Event event = store.read(title);
+            if (event == null) {
+                throw new DaoException("Event not found: " + title);
+            }
+            return event;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Looks up and decodes an {@link Event} by its title without failing when it is missing.
+     *
+     * @param title the title of the event to look up; must not be null
+     * @return the event with the specified title, or an empty {@link Optional} if there is none
+     * @throws DaoException if the title is null
+     */
+    @Override
+    public Optional<Event> findByTitle(String title) throws DaoException {
+        if (title == null) throw new DaoException("Title cannot be null");
+        lock.readLock().lock();
+        try {
+            return Optional.ofNullable(store.read(title));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Replaces an existing {@link Event}.
+     *
+     * @param event the event containing updated data; must not be null
+     * @throws DaoException if the event does not exist or cannot be written
+     */
+    @Override
+    public void update(Event event) throws DaoException {
+        if (event == null) throw new DaoException("Event cannot be null");
+        updateAll(List.of(event));
+    }
+
+    /**
+     * Deletes the {@link Event} with the given title.
+     *
+     * @param title the title of the event to delete; must not be null
+     * @throws DaoException if the event does not exist or the deletion cannot be written
+     */
+    @Override
+    public void delete(String title) throws DaoException {
+        if (title == null) throw new DaoException("Title cannot be null");
+        deleteAll(List.of(title));
+    }
+
+    /**
+     * Stores a batch of new {@link Event}s with a single commit.
+     *
+     * @param events the events to create; must not be null or contain duplicate titles
+     * @throws DaoException if the batch is invalid, an event already exists, or the batch cannot be written
+     */
+    @Override
+    public void createAll(List<Event> events) throws DaoException {
+        Map<String, Event> changes = toChanges(events);
+        lock.writeLock().lock();
+        try {
+            for (String title : changes.keySet()) {
+                if (store.contains(title)) {
+                    throw new DaoException("Event already exists: " + title);
+                }
+            }
+            apply(changes, "Failed to create events");
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Replaces a batch of existing {@link Event}s with a single commit.
+     *
+     * @param events the events containing updated data; must not be null or contain duplicate titles
+     * @throws DaoException if the batch is invalid, an event does not exist, or the batch cannot be written
+     */
+    @Override
+    public void updateAll(List<Event> events) throws DaoException {
+        Map<String, Event> changes = toChanges(events);
+        lock.writeLock().lock();
+        try {
+            checkExisting(changes);
+            apply(changes, "Failed to update events");
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Deletes a batch of {@link Event}s with a single commit.
+     *
+     * @param titles the titles of the events to delete; must not be null or contain duplicates
+     * @throws DaoException if the batch is invalid, an event does not exist, or the batch cannot be written
+     */
+    @Override
+    public void deleteAll(List<String> titles) throws DaoException {
+        if (titles == null) throw new DaoException("Titles cannot be null");
+        Map<String, Event> changes = new LinkedHashMap<>();
+        for (String title : titles) {
+            if (title == null) throw new DaoException("Title cannot be null");
+            if (changes.containsKey(title)) throw new DaoException("Duplicate title in batch: " + title);
+            changes.put(title, null);
+        }
+        lock.writeLock().lock();
+        try {
+            checkExisting(changes);
+            apply(changes, "Failed to delete events");
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Decodes every stored event.
+     *
+     * @return a {@link List} of all {@link Event} instances
+     */
+    @Override
+    public List<Event> findAll() {
+        lock.readLock().lock();
+        try {
+            List<Event> events = new ArrayList<>(store.size());
+            store.forEach(events::add);
+            return events;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns one page of events in ascending title order, using the title index.
+     *
+     * @param cursor the cursor returned with the previous page, or {@code null} for the first page
+     * @param limit  the maximum number of events on the page; must be positive
+     * @return the page of events and the cursor of the next page
+     * @throws DaoException if the cursor is malformed or the limit is not positive
+     */
+    @Override
+    public EventPage findPage(String cursor, int limit) throws DaoException {
+        String after = JsonEventDaoImpl.pageStart(cursor, limit);
+        lock.readLock().lock();
+        try {
+            return EventPage.of(resolve(index.titlesAfter(after, limit + 1)), limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the events taking place between two dates, inclusive, ordered by date and then by title.
+     *
+     * @param from the first date of the range; must not be null
+     * @param to   the last date of the range; must not be null
+     * @return a {@link List} of matching {@link Event} instances
+     * @throws DaoException if a date is null
+     */
+    @Override
+    public List<Event> findByDateRange(LocalDate from, LocalDate to) throws DaoException {
+        if (from == null || to == null) throw new DaoException("Dates cannot be null");
+        lock.readLock().lock();
+        try {
+            return resolve(index.titlesBetween(from, to));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the events run by the organizer with the given name, ordered by title.
+     *
+     * @param organizerName the name of the organizer; must not be null
+     * @return a {@link List} of matching {@link Event} instances
+     * @throws DaoException if the name is null
+     */
+    @Override
+    public List<Event> findByOrganizer(String organizerName) throws DaoException {
+        if (organizerName == null) throw new DaoException("Organizer name cannot be null");
+        lock.readLock().lock();
+        try {
+            return resolve(index.titlesOrganizedBy(organizerName));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the number of bytes of the file in use, including free space awaiting reuse.
+     *
+     * @return the used size of the mapped file
+     */
+    public long getUsedBytes() {
+        lock.readLock().lock();
+        try {
+            return store.getUsedBytes();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the number of bytes freed by updates and deletions and available for reuse.
+     *
+     * @return the free space inside the mapped file
+     */
+    public long getFreeBytes() {
+        lock.readLock().lock();
+        try {
+            return store.getFreeBytes();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Forces all changes to disk and unmaps the file.
+     *
+     * @throws DaoException if the file cannot be closed
+     */
+    @Override
+    public void close() throws DaoException {
+        lock.writeLock().lock();
+        try {
+            store.close();
+        } catch (IOException e) {
+            throw new DaoException("Failed to close event store", e);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Commits a batch of changes to the store and re-indexes the changed events.
+     * Must be called while holding the write lock.
+     */
+    private void apply(Map<String, Event> changes, String errorMessage) throws DaoException {
+        List<Event> previous = new ArrayList<>(changes.size());
+        for (String title : changes.keySet()) {
+            previous.add(store.read(title));
+        }
+        try {
+            store.apply(changes);
+        } catch (IOException | RuntimeException e) {
+            throw new DaoException(errorMessage, e);
+        }
+        int i = 0;
+        for (Event current : changes.values()) {
+            index.replace(previous.get(i++), current);
+        }
+    }
+
+    /**
+     * Converts a batch of events into changes keyed by title after checking that the batch is well-formed.
+     */
+    private static Map<String, Event> toChanges(List<Event> events) throws DaoException {
+        if (events == null) throw new DaoException("Events cannot be null");
+        Map<String, Event> changes = new LinkedHashMap<>();
+        for (Event event : events) {
+            if (event == null) throw new DaoException("Event cannot be null");
+            if (event.getTitle() == null) throw new DaoException("Title cannot be null");
+            if (changes.put(event.getTitle(), event) != null) {
+                throw new DaoException("Duplicate title in batch: " + event.getTitle());
+            }
+        }
+        return changes;
+    }
+
+    /**
+     * Checks that every title of a batch is stored.
+     * Must be called while holding the write lock.
+     */
+    private void checkExisting(Map<String, Event> changes) throws DaoException {
+        for (String title : changes.keySet()) {
+            if (!store.contains(title)) {
+                throw new DaoException("Event not found: " + title);
+            }
+        }
+    }
+
+    /**
+     * Decodes the events with the given titles, in order.
+     * Must be called while holding the read lock.
+     */
+    private List<Event> resolve(List<String> titles) {
+        List<Event> events = new ArrayList<>(titles.size());
+        for (String title : titles) {
+            events.add(store.read(title));
+        }
+        return events;
+    }
+}
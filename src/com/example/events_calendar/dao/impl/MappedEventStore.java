@@ -0,0 +1,619 @@
+package com.example.events_calendar.dao.impl;
+
+import com.example.events_calendar.model.Event;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.DateTimeException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+import java.util.zip.CRC32;
+
+/**
+ * Stores encoded events in slots of a memory-mapped file and locates them through a
+ * title-to-offset index, so events are only decoded when they are accessed.
+ *
+ * <p>The file starts with a header holding the magic number, the format version, the
+ * sequence number of the last committed change and the end of the used area. The rest of
+ * the file is split into segments, each mapped separately, so the file may grow beyond the
+ * size of a single mapping. Segments hold consecutive slots made of a slot header (capacity,
+ * record length, sequence number, CRC-32 of the record and slot kind) followed by a
+ * {@link BinaryEventCodec} record. A slot never crosses a segment boundary.</p>
+ *
+ * <p>Changes are never written over live data. Every change, or batch of changes, gets the
+ * next sequence number; new records, and tombstones for deletions, are written into free
+ * slots or appended, forced to disk, and only then committed by writing the sequence number
+ * into the header. Slots they supersede are freed afterwards and reused for later records,
+ * large free slots being split. On open, slots newer than the committed sequence number or
+ * failing their checksum are discarded, the newest slot of each title wins, and adjacent
+ * free slots are merged. A crash therefore leaves either every change of a batch or none.</p>
+ *
+ * <p>This class is not thread-safe: callers must serialize {@link #apply(Map)} and
+ * {@link #close()} against every other method, while reads may run concurrently.</p>
+ */
+public class MappedEventStore implements AutoCloseable {
+
+    /** Version of the file format written by this store. */
+    public static final int FORMAT_VERSION = 1;
+
+    /** Default size of a mapped segment, in bytes. */
+    public static final int DEFAULT_SEGMENT_SIZE = 1 << 30;
+
+    /** Smallest accepted segment size, in bytes. */
+    public static final int MIN_SEGMENT_SIZE = 4096;
+
+    /** Magic number identifying a mapped events file ({@code EVTM}). */
+    private static final int MAGIC = 0x4556544D;
+
+    /** Size of the file header. */
+    private static final int FILE_HEADER = 32;
+
+    /** Header offset of the format version. */
+    private static final int HEADER_VERSION = 4;
+
+    /** Header offset of the last committed sequence number. */
+    private static final int HEADER_COMMITTED = 8;
+
+    /** Header offset of the end of the used area. */
+    private static final int HEADER_DATA_END = 16;
+
+    /** Size of a slot header. */
+    private static final int SLOT_HEADER = 24;
+
+    /** Slot header offset of the record length. */
+    private static final int SLOT_LENGTH = 4;
+
+    /** Slot header offset of the sequence number. */
+    private static final int SLOT_SEQUENCE = 8;
+
+    /** Slot header offset of the record checksum. */
+    private static final int SLOT_CRC = 16;
+
+    /** Slot header offset of the slot kind. */
+    private static final int SLOT_KIND = 20;
+
+    /** Slot kind of free space. */
+    private static final int KIND_FREE = 0;
+
+    /** Slot kind of a stored event. */
+    private static final int KIND_RECORD = 1;
+
+    /** Slot kind of a deletion not yet cleaned up. */
+    private static final int KIND_TOMBSTONE = 2;
+
+    /** Smallest remainder worth splitting off a reused free slot, in bytes. */
+    private static final int MIN_SPLIT = 32;
+
+    /** Size a new file is created with. */
+    private static final long INITIAL_SIZE = 64 * 1024;
+
+    /** Channel of the mapped file. */
+    private final FileChannel channel;
+
+    /** Size of each mapped segment. */
+    private final int segmentSize;
+
+    /** Mapped segments, in file order. */
+    private final List<MappedByteBuffer> segments = new ArrayList<>();
+
+    /** Offsets of the slots holding each stored title. */
+    private final Map<String, Long> offsets = new HashMap<>();
+
+    /** Offsets of free slots, keyed by slot capacity. */
+    private final NavigableMap<Integer, ArrayDeque<Long>> freeSlots = new TreeMap<>();
+
+    /** Total number of bytes mapped. */
+    private long mappedSize;
+
+    /** End of the used area; slots are appended here. */
+    private long dataEnd;
+
+    /** Sequence number of the last committed change. */
+    private long committedSequence;
+
+    /** Total capacity of the free slots. */
+    private long freeBytes;
+
+    /** Set when a failed change could not be rolled back; the store must then be reopened. */
+    private boolean broken;
+
+    /**
+     * Opens the store in the given file, creating it if needed, with the default segment size.
+     *
+     * @param filePath the path to the mapped events file
+     * @throws IOException if the file cannot be opened or mapped, or is not a valid events file
+     */
+    public MappedEventStore(String filePath) throws IOException {
+        this(filePath, DEFAULT_SEGMENT_SIZE);
+    }
+
+    /**
+     * Opens the store in the given file, creating it if needed, and recovers its contents.
+     *
+     * @param filePath    the path to the mapped events file
+     * @param segmentSize the size of each mapped segment; a multiple of 8 of at least
+     *                    {@link #MIN_SEGMENT_SIZE} bytes, and the same every time the file is opened
+     * @throws IOException if the file cannot be opened or mapped, or is not a valid events file
+     */
+    public MappedEventStore(String filePath, int segmentSize) throws IOException {
+        if (segmentSize < MIN_SEGMENT_SIZE || segmentSize % 8 != 0) {
+            throw new IllegalArgumentException("Invalid segment size: " + segmentSize);
+        }
+        this.segmentSize = segmentSize;
+        this.channel = FileChannel.open(Path.of(filePath),
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            long size = channel.size();
+            if (size == 0) {
+                map(INITIAL_SIZE);
+                buffer(0).putInt(0, MAGIC);
+                buffer(0).putInt(HEADER_VERSION, FORMAT_VERSION);
+                dataEnd = FILE_HEADER;
+                writeHeader();
+            } else {
+                if (size < FILE_HEADER) throw new IOException("Not a mapped events file: " + filePath);
+                map(size);
+                if (buffer(0).getInt(0) != MAGIC) throw new IOException("Not a mapped events file: " + filePath);
+                int version = buffer(0).getInt(HEADER_VERSION);
+                if (version != FORMAT_VERSION) throw new IOException("Unsupported mapped format version: " + version);
+                committedSequence = buffer(0).getLong(HEADER_COMMITTED);
+                dataEnd = buffer(0).getLong(HEADER_DATA_END);
+                if (dataEnd < FILE_HEADER || dataEnd > size) throw new IOException("Corrupted mapped events file: " + filePath);
+                recover();
+            }
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Decodes the stored event with the given title.
+     *
+     * @param title the title of the event
+     * @return the event, or {@code null} if no event has the given title
+     */
+    public Event read(String title) {
+        Long position = offsets.get(title);
+        return position == null ? null : decode(position);
+    }
+
+    /**
+     * Returns whether an event with the given title is stored.
+     *
+     * @param title the title of the event
+     * @return {@code true} if the event is stored
+     */
+    public boolean contains(String title) {
+        return offsets.containsKey(title);
+    }
+
+    /**
+     * Decodes every stored event in turn, in no particular order.
+     *
+     * @param action receives each event
+     */
+    public void forEach(Consumer<Event> action) {
+        for (long position : offsets.values()) {
+            action.accept(decode(position));
+        }
+    }
+
+    /**
+     * Returns the number of stored events.
+     *
+     * @return the event count
+     */
+    public int size() {
+        return offsets.size();
+    }
+
+    /**
+     * Returns the number of bytes of the file in use, including free slots.
+     *
+     * @return the end of the used area
+     */
+    public long getUsedBytes() {
+        return dataEnd;
+    }
+
+    /**
+     * Returns the capacity of the free slots available for reuse.
+     *
+     * @return the number of free bytes inside the used area
+     */
+    public long getFreeBytes() {
+        return freeBytes;
+    }
+
+    /**
+     * Applies a batch of changes and makes them durable, all or nothing.
+     *
+     * @param changes the new state of each changed title, in order; a {@code null} value deletes the title
+     * @throws IOException if the changes cannot be written or forced to disk
+     */
+    public void apply(Map<String, Event> changes) throws IOException {
+        if (broken) throw new IOException("Mapped store must be reopened after a failed write");
+        long sequence = committedSequence + 1;
+        List<Long> written = new ArrayList<>();
+        try {
+            for (Map.Entry<String, Event> change : changes.entrySet()) {
+                Event event = change.getValue();
+                int kind = event == null ? KIND_TOMBSTONE : KIND_RECORD;
+                byte[] record = BinaryEventCodec.encode(event == null ? new Event(change.getKey(), null, null, null) : event);
+                long position = allocate(record.length);
+                written.add(position);
+                writeSlot(position, record, sequence, kind);
+            }
+            forceSlots(written, true);
+            committedSequence = sequence;
+            writeHeader();
+        } catch (IOException | RuntimeException e) {
+            committedSequence = sequence - 1;
+            buffer(0).putLong(HEADER_COMMITTED, committedSequence);
+            discard(written);
+            throw e;
+        }
+
+        List<Long> superseded = new ArrayList<>();
+        List<Long> tombstones = new ArrayList<>();
+        int index = 0;
+        for (Map.Entry<String, Event> change : changes.entrySet()) {
+            long position = written.get(index++);
+            Long previous = change.getValue() == null
+                    ? offsets.remove(change.getKey())
+                    : offsets.put(change.getKey(), position);
+            if (previous != null) superseded.add(previous);
+            if (change.getValue() == null) tombstones.add(position);
+        }
+        // Records must be freed durably before the tombstones hiding them disappear.
+        for (long position : superseded) {
+            release(position);
+        }
+        forceSlots(superseded, false);
+        for (long position : tombstones) {
+            release(position);
+        }
+    }
+
+    /**
+     * Forces every change to disk and closes the file.
+     *
+     * @throws IOException if the file cannot be forced or closed
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            for (MappedByteBuffer segment : segments) {
+                segment.force();
+            }
+        } finally {
+            segments.clear();
+            channel.close();
+        }
+    }
+
+    /**
+     * Rebuilds the index and free list from the slots of an existing file.
+     */
+    private void recover() throws IOException {
+        Map<String, Long> newest = new HashMap<>();
+        List<Long> losers = new ArrayList<>();
+        for (long position = firstSlot(FILE_HEADER); position < dataEnd; position = firstSlot(next(position))) {
+            if (!isValid(position)) {
+                if (kind(position) != KIND_FREE) losers.add(position);
+                continue;
+            }
+            String title = decodeTitle(position);
+            Long other = newest.get(title);
+            if (other == null || sequence(other) < sequence(position)) {
+                newest.put(title, position);
+                if (other != null) losers.add(other);
+            } else {
+                losers.add(position);
+            }
+        }
+        for (long position : losers) {
+            markFree(position);
+        }
+        forceAll();
+        boolean tombstonesFreed = false;
+        for (Map.Entry<String, Long> entry : newest.entrySet()) {
+            if (kind(entry.getValue()) == KIND_TOMBSTONE) {
+                markFree(entry.getValue());
+                tombstonesFreed = true;
+            } else {
+                offsets.put(entry.getKey(), entry.getValue());
+            }
+        }
+        if (tombstonesFreed) forceAll();
+        mergeFreeSlots();
+    }
+
+    /**
+     * Merges runs of adjacent free slots within each segment and registers the result as free space.
+     */
+    private void mergeFreeSlots() throws IOException {
+        long run = -1;
+        for (long position = firstSlot(FILE_HEADER); position < dataEnd; ) {
+            long following = next(position);
+            if (kind(position) == KIND_FREE) {
+                if (run >= 0 && segmentOf(run) == segmentOf(position)) {
+                    buffer(run).putInt(offsetOf(run), (int) (following - run - SLOT_HEADER));
+                } else {
+                    if (run >= 0) addFree(run);
+                    run = position;
+                }
+            } else {
+                if (run >= 0) addFree(run);
+                run = -1;
+            }
+            position = firstSlot(following);
+        }
+        if (run >= 0) addFree(run);
+        forceAll();
+    }
+
+    /**
+     * Returns whether the slot holds a committed, intact record or tombstone.
+     */
+    private boolean isValid(long position) {
+        int kind = kind(position);
+        if (kind != KIND_RECORD && kind != KIND_TOMBSTONE) return false;
+        int length = buffer(position).getInt(offsetOf(position) + SLOT_LENGTH);
+        if (length < 0 || length > capacity(position) || sequence(position) > committedSequence) return false;
+        CRC32 crc = new CRC32();
+        crc.update(body(position, length));
+        return (int) crc.getValue() == buffer(position).getInt(offsetOf(position) + SLOT_CRC);
+    }
+
+    /**
+     * Finds a slot with room for a record of the given length, reusing free space when possible.
+     *
+     * @return the position of the slot, whose capacity is already set
+     */
+    private long allocate(int length) throws IOException {
+        int needed = (Math.max(length, 8) + 7) & ~7;
+        if ((long) FILE_HEADER + SLOT_HEADER + needed > segmentSize) {
+            throw new IOException("Event too large for a segment: " + length + " bytes");
+        }
+        Map.Entry<Integer, ArrayDeque<Long>> fit = freeSlots.ceilingEntry(needed);
+        if (fit != null) {
+            long position = fit.getValue().poll();
+            if (fit.getValue().isEmpty()) freeSlots.remove(fit.getKey());
+            int capacity = fit.getKey();
+            freeBytes -= capacity;
+            if (capacity - needed >= SLOT_HEADER + MIN_SPLIT) {
+                long remainder = position + SLOT_HEADER + needed;
+                writeFreeSlot(remainder, capacity - needed - SLOT_HEADER);
+                force(remainder, SLOT_HEADER);
+                addFree(remainder);
+                buffer(position).putInt(offsetOf(position), needed);
+            }
+            return position;
+        }
+        long position = dataEnd;
+        int room = segmentSize - offsetOf(position);
+        if (SLOT_HEADER + needed > room) {
+            if (room >= SLOT_HEADER) {
+                map(position + room);
+                writeFreeSlot(position, room - SLOT_HEADER);
+                force(position, SLOT_HEADER);
+                addFree(position);
+            }
+            position += room;
+        }
+        map(position + SLOT_HEADER + needed);
+        buffer(position).putInt(offsetOf(position), needed);
+        dataEnd = position + SLOT_HEADER + needed;
+        return position;
+    }
+
+    /**
+     * Returns the slots written by a failed change to the free list, durably.
+     */
+    private void discard(List<Long> written) {
+        try {
+            for (long position : written) {
+                markFree(position);
+                force(position, SLOT_HEADER);
+                addFree(position);
+            }
+        } catch (IOException | RuntimeException e) {
+            broken = true;
+        }
+    }
+
+    /**
+     * Frees a slot that no longer holds live data and makes it available for reuse.
+     */
+    private void release(long position) {
+        markFree(position);
+        addFree(position);
+    }
+
+    /**
+     * Writes a record into a slot whose capacity is already set.
+     */
+    private void writeSlot(long position, byte[] record, long sequence, int kind) {
+        MappedByteBuffer buffer = buffer(position);
+        int offset = offsetOf(position);
+        CRC32 crc = new CRC32();
+        crc.update(record);
+        buffer.put(offset + SLOT_HEADER, record);
+        buffer.putInt(offset + SLOT_LENGTH, record.length);
+        buffer.putLong(offset + SLOT_SEQUENCE, sequence);
+        buffer.putInt(offset + SLOT_CRC, (int) crc.getValue());
+        buffer.putInt(offset + SLOT_KIND, kind);
+    }
+
+    /**
+     * Writes the header of a free slot.
+     */
+    private void writeFreeSlot(long position, int capacity) {
+        MappedByteBuffer buffer = buffer(position);
+        int offset = offsetOf(position);
+        buffer.putInt(offset, capacity);
+        buffer.putInt(offset + SLOT_LENGTH, -1);
+        buffer.putLong(offset + SLOT_SEQUENCE, 0);
+        buffer.putInt(offset + SLOT_CRC, 0);
+        buffer.putInt(offset + SLOT_KIND, KIND_FREE);
+    }
+
+    /**
+     * Marks a slot as free on disk without registering it in the free list.
+     */
+    private void markFree(long position) {
+        buffer(position).putInt(offsetOf(position) + SLOT_KIND, KIND_FREE);
+    }
+
+    /**
+     * Registers a free slot in the free list.
+     */
+    private void addFree(long position) {
+        int capacity = capacity(position);
+        freeSlots.computeIfAbsent(capacity, key -> new ArrayDeque<>()).add(position);
+        freeBytes += capacity;
+    }
+
+    /**
+     * Writes the committed sequence number and the end of the used area, and forces them to disk.
+     */
+    private void writeHeader() throws IOException {
+        buffer(0).putLong(HEADER_COMMITTED, committedSequence);
+        buffer(0).putLong(HEADER_DATA_END, dataEnd);
+        force(0, FILE_HEADER);
+    }
+
+    /**
+     * Decodes the event stored in a slot.
+     */
+    private Event decode(long position) {
+        int length = buffer(position).getInt(offsetOf(position) + SLOT_LENGTH);
+        return BinaryEventCodec.decode(body(position, length));
+    }
+
+    /**
+     * Decodes only the title of the event stored in a slot.
+     */
+    private String decodeTitle(long position) throws IOException {
+        int length = buffer(position).getInt(offsetOf(position) + SLOT_LENGTH);
+        try {
+            return BinaryEventCodec.decodeTitle(body(position, length));
+        } catch (BufferUnderflowException | IllegalArgumentException | DateTimeException e) {
+            throw new IOException("Malformed record at offset " + position, e);
+        }
+    }
+
+    /**
+     * Returns a view of the record stored in a slot.
+     */
+    private ByteBuffer body(long position, int length) {
+        return buffer(position).slice(offsetOf(position) + SLOT_HEADER, length);
+    }
+
+    /**
+     * Returns the position right after a slot, checking that the slot is well-formed.
+     */
+    private long next(long position) throws IOException {
+        int capacity = capacity(position);
+        if (capacity < 0 || capacity % 8 != 0 || (long) offsetOf(position) + SLOT_HEADER + capacity > segmentSize
+                || position + SLOT_HEADER + capacity > dataEnd) {
+            throw new IOException("Corrupted slot at offset " + position);
+        }
+        return position + SLOT_HEADER + capacity;
+    }
+
+    /**
+     * Returns the first position at or after the given one where a slot may start,
+     * skipping segment tails too short to hold a slot header.
+     */
+    private long firstSlot(long position) {
+        int room = segmentSize - offsetOf(position);
+        return room < SLOT_HEADER ? position + room : position;
+    }
+
+    private int capacity(long position) {
+        return buffer(position).getInt(offsetOf(position));
+    }
+
+    private long sequence(long position) {
+        return buffer(position).getLong(offsetOf(position) + SLOT_SEQUENCE);
+    }
+
+    private int kind(long position) {
+        return buffer(position).getInt(offsetOf(position) + SLOT_KIND);
+    }
+
+    private MappedByteBuffer buffer(long position) {
+        return segments.get(segmentOf(position));
+    }
+
+    private int segmentOf(long position) {
+        return (int) (position / segmentSize);
+    }
+
+    private int offsetOf(long position) {
+        return (int) (position % segmentSize);
+    }
+
+    private void force(long position, int length) throws IOException {
+        buffer(position).force(offsetOf(position), length);
+    }
+
+    /**
+     * Forces the given slots to disk with one call per segment.
+     *
+     * @param positions  the positions of the slots
+     * @param wholeSlots whether to force the records too, or only the slot headers
+     */
+    private void forceSlots(List<Long> positions, boolean wholeSlots) throws IOException {
+        Map<Integer, long[]> ranges = new TreeMap<>();
+        for (long position : positions) {
+            long end = position + (wholeSlots ? SLOT_HEADER + capacity(position) : SLOT_HEADER);
+            long[] range = ranges.computeIfAbsent(segmentOf(position), segment -> new long[]{position, end});
+            range[0] = Math.min(range[0], position);
+            range[1] = Math.max(range[1], end);
+        }
+        for (long[] range : ranges.values()) {
+            force(range[0], (int) (range[1] - range[0]));
+        }
+    }
+
+    private void forceAll() {
+        for (MappedByteBuffer segment : segments) {
+            segment.force();
+        }
+    }
+
+    /**
+     * Makes sure at least {@code size} bytes are mapped, growing the file geometrically.
+     */
+    private void map(long size) throws IOException {
+        if (size <= mappedSize) return;
+        long target = Math.max(size, Math.min(mappedSize * 2, mappedSize + DEFAULT_SEGMENT_SIZE));
+        for (int i = 0; (long) i * segmentSize < target; i++) {
+            long start = (long) i * segmentSize;
+            long length = Math.min(segmentSize, target - start);
+            if (i < segments.size() && segments.get(i).capacity() == length) continue;
+            MappedByteBuffer segment = channel.map(FileChannel.MapMode.READ_WRITE, start, length);
+            if (i < segments.size()) {
+                segments.set(i, segment);
+            } else {
+                segments.add(segment);
+            }
+        }
+        mappedSize = target;
+    }
+}
@@ -0,0 +1,108 @@
+package com.example.events_calendar.dao.impl;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * Gate between changes to the in-memory state of a DAO and the readers that need a consistent view of it.
+ * <p>
+ * Changes, including rollbacks of writes that failed, pass the gate in shared mode and are counted,
+ * so a query can run optimistically and then check whether any change overlapped it. A query that
+ * keeps failing, or a flush copying the state to write it, holds the gate exclusively and so sees
+ * no change in progress. A reload replacing many titles passes in exclusive mode and is counted too.
+ * The gate is not reentrant.
+ */
+final class MutationGate {
+
+    /** Shared by changes, exclusive for readers and reloads that hold off every change. */
+    private final StampedLock lock = new StampedLock();
+
+    /** Number of changes currently in progress. */
+    private final AtomicInteger active = new AtomicInteger();
+
+    /** Number of completed changes, used to validate optimistic reads. */
+    private final AtomicLong completed = new AtomicLong();
+
+    /**
+     * Enters the gate for a change, alongside other changes.
+     *
+     * @return the stamp to pass to {@link #exit(long)}
+     */
+    long enter() {
+        long stamp = lock.readLock();
+        active.incrementAndGet();
+        return stamp;
+    }
+
+    /**
+     * Leaves the gate after a change entered with {@link #enter()}.
+     *
+     * @param stamp the stamp returned by {@link #enter()}
+     */
+    void exit(long stamp) {
+        completed.incrementAndGet();
+        active.decrementAndGet();
+        lock.unlockRead(stamp);
+    }
+
+    /**
+     * Enters the gate for a change that must not overlap any other change.
+     *
+     * @return the stamp to pass to {@link #exitExclusive(long)}
+     */
+    long enterExclusive() {
+        long stamp = lock.writeLock();
+        active.incrementAndGet();
+        return stamp;
+    }
+
+    /**
+     * Leaves the gate after a change entered with {@link #enterExclusive()}.
+     *
+     * @param stamp the stamp returned by {@link #enterExclusive()}
+     */
+    void exitExclusive(long stamp) {
+        completed.incrementAndGet();
+        active.decrementAndGet();
+        lock.unlockWrite(stamp);
+    }
+
+    /**
+     * Holds off every change, waiting for those in progress, without counting as one.
+     *
+     * @return the stamp to pass to {@link #unlock(long)}
+     */
+    long lock() {
+        return lock.writeLock();
+    }
+
+    /**
+     * Lets changes through again after {@link #lock()}.
+     *
+     * @param stamp the stamp returned by {@link #lock()}
+     */
+    void unlock(long stamp) {
+        lock.unlockWrite(stamp);
+    }
+
+    /**
+     * Starts an optimistic read.
+     *
+     * @return a token to pass to {@link #validate(long)}, or {@code -1} if a change is in progress
+     */
+    long observe() {
+        long observed = completed.get();
+        return active.get() == 0 ? observed : -1;
+    }
+
+    /**
+     * Checks that no change overlapped an optimistic read.
+     *
+     * @param observed the token returned by {@link #observe()}
+     * @return {@code true} if the read saw a consistent state
+     */
+    boolean validate(long observed) {
+        return active.get() == 0 && completed.get() == observed;
+    }
+}
@@ -0,0 +1,203 @@
+package com.example.events_calendar.dao.impl;
+
+import com.example.events_calendar.model.Event;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Predicate;
+
+/**
+ * {@link EventStorageService} variant that is safe when several processes share the storage file.
+ *
+ * <p>Every operation reads the file afresh under a {@link FileProcessLock}: queries hold it
+ * in shared mode, and mutations hold it in exclusive mode from the moment they read the
+ * file until their write is durable. A mutation therefore always starts from the latest
+ * state written by any process, and no process reads a file while another is replacing it,
+ * so updates are neither lost nor torn.</p>
+ */
+public class ProcessLockedEventStorageService extends EventStorageService {
+
+    /** Lock shared with the other processes using the file. */
+    private final FileProcessLock processLock;
+
+    /**
+     * Constructs a new ProcessLockedEventStorageService.
+     *
+     * @param storageHandler the handler used to read from and write to the storage file
+     * @param processLock    the lock guarding the storage file
+     */
+    public ProcessLockedEventStorageService(FileStorageHandler storageHandler, FileProcessLock processLock) {
+        super(storageHandler);
+        this.processLock = processLock;
+    }
+
+    /**
+     * Returns the lock guarding the storage file.
+     *
+     * @return the process lock, which also records lock-wait metrics
+     */
+    public FileProcessLock getProcessLock() {
+        return processLock;
+    }
+
+    /**
+     * Adds a new event to the file while holding the exclusive lock.
+     *
+     * @param event the {@link Event} to add; must not already exist in storage
+     * @return an acknowledgement that is already completed
+     * @throws IllegalStateException if an event with the same title already exists
+     */
+    @Override
+    public CompletableFuture<Void> addEvent(Event event) throws IOException, IllegalStateException {
+        return exclusive(() -> super.addEvent(event));
+    }
+
+    /**
+     * Looks up an event in the file while holding the shared lock.
+     *
+     * @param title the title of the event to look up
+     * @return the {@link Event} matching the given title, or {@code null} if there is none
+     */
+    @Override
+    public Event findEvent(String title) throws IOException {
+        return processLock.shared(() -> super.findEvent(title));
+    }
+
+    /**
+     * Replaces an existing event in the file while holding the exclusive lock.
+     *
+     * @param event the {@link Event} containing updated data; must already exist
+     * @return an acknowledgement that is already completed
+     * @throws NoSuchElementException if no event with the given title is found
+     */
+    @Override
+    public CompletableFuture<Void> updateEvent(Event event) throws IOException, NoSuchElementException {
+        return exclusive(() -> super.updateEvent(event));
+    }
+
+    /**
+     * Removes an event from the file while holding the exclusive lock.
+     *
+     * @param title the title of the event to delete; must already exist
+     * @return an acknowledgement that is already completed
+     * @throws NoSuchElementException if no event with the given title is found
+     */
+    @Override
+    public CompletableFuture<Void> deleteEvent(String title) throws IOException, NoSuchElementException {
+        return exclusive(() -> super.deleteEvent(title));
+    }
+
+    /**
+     * Adds a batch of new events to the file while holding the exclusive lock.
+     *
+     * @param events the events to add; none may already exist in storage
+     * @return an acknowledgement that is already completed
+     * @throws IllegalStateException if an event with one of the titles already exists
+     */
+    @Override
+    public CompletableFuture<Void> addEvents(List<Event> events) throws IOException, IllegalStateException {
+        return exclusive(() -> super.addEvents(events));
+    }
+
+    /**
+     * Replaces a batch of existing events while holding the exclusive lock.
+     *
+     * @param events the events containing updated data; all must already exist
+     * @return an acknowledgement that is already completed
+     * @throws NoSuchElementException if no event with one of the titles is found
+     */
+    @Override
+    public CompletableFuture<Void> updateEvents(List<Event> events) throws IOException, NoSuchElementException {
+        return exclusive(() -> super.updateEvents(events));
+    }
+
+    /**
+     * Removes a batch of events while holding the exclusive lock.
+     *
+     * @param titles the titles of the events to delete; all must already exist
+     * @return an acknowledgement that is already completed
+     * @throws NoSuchElementException if no event with one of the titles is found
+     */
+    @Override
+    public CompletableFuture<Void> deleteEvents(List<String> titles) throws IOException, NoSuchElementException {
+        return exclusive(() -> super.deleteEvents(titles));
+    }
+
+    /**
+     * Streams every event to a visitor while holding the shared lock.
+     *
+     * @param visitor receives the events and returns whether to continue
+     */
+    @Override
+    public void forEach(Predicate<Event> visitor) throws IOException {
+        processLock.shared(() -> {
+            super.forEach(visitor);
+            return null;
+        });
+    }
+
+    /**
+     * Reads every event while holding the shared lock.
+     *
+     * @return a {@link List} of all {@link Event} instances in storage
+     */
+    @Override
+    public List<Event> findAll() throws IOException {
+        return processLock.shared(super::findAll);
+    }
+
+    /**
+     * Reads one page of events ordered by title while holding the shared lock.
+     *
+     * @param after the title to continue after, or {@code null} to start with the first event
+     * @param limit the maximum number of events to return
+     * @return a {@link List} of at most {@code limit} events
+     */
+    @Override
+    public List<Event> findPage(String after, int limit) throws IOException {
+        return processLock.shared(() -> super.findPage(after, limit));
+    }
+
+    /**
+     * Reads the events taking place between two dates while holding the shared lock.
+     *
+     * @param from the first date of the range
+     * @param to   the last date of the range
+     * @return a {@link List} of matching {@link Event} instances
+     */
+    @Override
+    public List<Event> findByDateRange(LocalDate from, LocalDate to) throws IOException {
+        return processLock.shared(() -> super.findByDateRange(from, to));
+    }
+
+    /**
+     * Reads the events run by the given organizer while holding the shared lock.
+     *
+     * @param organizerName the name of the organizer
+     * @return a {@link List} of matching {@link Event} instances
+     */
+    @Override
+    public List<Event> findByOrganizer(String organizerName) throws IOException {
+        return processLock.shared(() -> super.findByOrganizer(organizerName));
+    }
+
+    /**
+     * Runs a mutation under the exclusive lock and waits until its write is durable before
+     * releasing the lock.
+     *
+     * @param mutation the mutation returning its acknowledgement
+     * @return the completed acknowledgement
+     * @throws IOException if the lock cannot be acquired or the write fails
+     */
+    private CompletableFuture<Void> exclusive(FileProcessLock.LockedOperation<CompletableFuture<Void>> mutation)
+            throws IOException {
+        return processLock.exclusive(() -> {
+            CompletableFuture<Void> ack = mutation.run();
+            FileStorageHandler.await(ack);
+            return ack;
+        });
+    }
+}
@@ -0,0 +1,107 @@
+package com.example.events_calendar.dao.impl;
+
+import com.example.events_calendar.dao.DaoException;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Background watcher reloading a cached {@link JsonEventDaoImpl} when its storage file
+ * is replaced or edited by another program.
+ * <p>
+ * The file is polled on a daemon thread by comparing its modification time, size and
+ * identity with those of the last version the DAO wrote or loaded, which works the same
+ * way for in-place edits and for files renamed over the original, on every file system.
+ * Each change is handled by {@link JsonEventDaoImpl#reloadIfChanged()}, so readers are
+ * never blocked and only changed events are replaced. A file that cannot be decoded, for
+ * example while another program is still writing it, is skipped until it changes again.</p>
+ */
+public class StorageFileWatcher implements AutoCloseable {
+
+    /** Default delay between two checks of the file, in milliseconds. */
+    public static final long DEFAULT_POLL_INTERVAL_MILLIS = 1_000;
+
+    /** DAO reloaded on changes. */
+    private final JsonEventDaoImpl dao;
+
+    /** Single background thread polling the file. */
+    private final ScheduledExecutorService poller;
+
+    /** Number of external changes that modified at least one event. */
+    private final AtomicLong reloads = new AtomicLong();
+
+    /** Number of events added, replaced or removed by reloads. */
+    private final AtomicLong changedEvents = new AtomicLong();
+
+    /** Number of changed files that could not be loaded. */
+    private final AtomicLong failures = new AtomicLong();
+
+    /**
+     * Starts watching the storage file of the given DAO.
+     *
+     * @param dao                the cached DAO to reload
+     * @param pollIntervalMillis delay between two checks of the file, in milliseconds; must be positive
+     */
+    public StorageFileWatcher(JsonEventDaoImpl dao, long pollIntervalMillis) {
+        if (pollIntervalMillis <= 0) throw new IllegalArgumentException("Poll interval must be positive");
+        this.dao = dao;
+        this.poller = Executors.newSingleThreadScheduledExecutor(task -> {
+            Thread thread = new Thread(task, "storage-watcher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        poller.scheduleWithFixedDelay(this::check, pollIntervalMillis, pollIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Returns the number of external changes that modified at least one event.
+     *
+     * @return the reload count
+     */
+    public long getReloadCount() {
+        return reloads.get();
+    }
+
+    /**
+     * Returns the number of events added, replaced or removed by reloads.
+     *
+     * @return the changed event count
+     */
+    public long getChangedEventCount() {
+        return changedEvents.get();
+    }
+
+    /**
+     * Returns the number of changed files that could not be loaded.
+     *
+     * @return the failure count
+     */
+    public long getFailureCount() {
+        return failures.get();
+    }
+
+    /**
+     * Stops watching the file. A check in progress is allowed to finish.
+     */
+    @Override
+    public void close() {
+        poller.shutdown();
+    }
+
+    /**
+     * Checks the file once and reloads it if it changed. Runs on the {@link #poller} thread.
+     */
+    private void check() {
+        try {
+            int changed = dao.reloadIfChanged();
+            if (changed > 0) {
+                reloads.incrementAndGet();
+                changedEvents.addAndGet(changed);
+            }
+        } catch (DaoException | RuntimeException e) {
+            failures.incrementAndGet();
+        }
+    }
+}
@@ -0,0 +1,197 @@
+package com.example.events_calendar.dao.impl;
+
+import com.example.events_calendar.dao.DaoException;
+import com.example.events_calendar.dao.EventCalendarDao;
+import com.example.events_calendar.dao.EventMutationListener;
+import com.example.events_calendar.metrics.Counter;
+import com.example.events_calendar.metrics.LatencyHistogram;
+import com.example.events_calendar.metrics.MetricsRegistry;
+import com.example.events_calendar.model.Event;
+import com.example.events_calendar.model.EventPage;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Predicate;
+
+/**
+ * Decorator of an {@link EventCalendarDao} recording the latency and the failures of its reads
+ * and writes in the same metrics as {@link JsonEventDaoImpl}, which measures itself.
+ * <p>
+ * Reads are the lookups and queries returning events; writes are the changes and
+ * {@link #endBatch()}, which persists a batch. A {@link #findByTitle(String)} finding nothing
+ * counts as a miss; a failed {@link #read(String)} counts as an error, since a missing event
+ * cannot be told apart from other failures. {@link #forEachEvent(Predicate)} is not timed,
+ * because it lasts as long as its visitor.</p>
+ */
+public class TimedEventCalendarDao implements EventCalendarDao {
+
+    /** DAO doing the work. */
+    private final EventCalendarDao dao;
+
+    /** Latency of the reads. */
+    private final LatencyHistogram reads;
+
+    /** Latency of the writes. */
+    private final LatencyHistogram writes;
+
+    /** Number of reads that failed. */
+    private final Counter readErrors;
+
+    /** Number of writes that failed. */
+    private final Counter writeErrors;
+
+    /** Number of lookups of titles that are not stored. */
+    private final Counter misses;
+
+    /**
+     * Constructs a TimedEventCalendarDao measuring the given DAO.
+     *
+     * @param dao the DAO to measure
+     */
+    public TimedEventCalendarDao(EventCalendarDao dao) {
+        MetricsRegistry metrics = MetricsRegistry.getInstance();
+        this.dao = dao;
+        this.reads = metrics.histogram("events_dao_duration_seconds", "operation", "read");
+        this.writes = metrics.histogram("events_dao_duration_seconds", "operation", "write");
+        this.readErrors = metrics.counter("events_dao_errors_total", "operation", "read");
+        this.writeErrors = metrics.counter("events_dao_errors_total", "operation", "write");
+        this.misses = metrics.counter("events_dao_misses_total");
+    }
+
+    @Override
+    public void create(Event event) throws DaoException {
+        write(() -> {
+            dao.create(event);
+            return null;
+        });
+    }
+
+    @Override
+    public Event read(String title) throws DaoException {
+        return read(() -> dao.read(title));
+    }
+
+    @Override
+    public Optional<Event> findByTitle(String title) throws DaoException {
+        Optional<Event> event = read(() -> dao.findByTitle(title));
+        if (event.isEmpty()) misses.increment();
+        return event;
+    }
+
+    @Override
+    public void update(Event event) throws DaoException {
+        write(() -> {
+            dao.update(event);
+            return null;
+        });
+    }
+
+    @Override
+    public void delete(String title) throws DaoException {
+        write(() -> {
+            dao.delete(title);
+            return null;
+        });
+    }
+
+    @Override
+    public List<Event> findAll() throws DaoException {
+        return read(dao::findAll);
+    }
+
+    @Override
+    public void createAll(List<Event> events) throws DaoException {
+        write(() -> {
+            dao.createAll(events);
+            return null;
+        });
+    }
+
+    @Override
+    public void updateAll(List<Event> events) throws DaoException {
+        write(() -> {
+            dao.updateAll(events);
+            return null;
+        });
+    }
+
+    @Override
+    public void deleteAll(List<String> titles) throws DaoException {
+        write(() -> {
+            dao.deleteAll(titles);
+            return null;
+        });
+    }
+
+    @Override
+    public EventPage findPage(String cursor, int limit) throws DaoException {
+        return read(() -> dao.findPage(cursor, limit));
+    }
+
+    @Override
+    public List<Event> findByDateRange(LocalDate from, LocalDate to) throws DaoException {
+        return read(() -> dao.findByDateRange(from, to));
+    }
+
+    @Override
+    public List<Event> findOnDate(LocalDate date) throws DaoException {
+        return read(() -> dao.findOnDate(date));
+    }
+
+    @Override
+    public List<Event> findByOrganizer(String organizerName) throws DaoException {
+        return read(() -> dao.findByOrganizer(organizerName));
+    }
+
+    @Override
+    public void forEachEvent(Predicate<Event> visitor) throws DaoException {
+        dao.forEachEvent(visitor);
+    }
+
+    @Override
+    public boolean addMutationListener(EventMutationListener listener) {
+        return dao.addMutationListener(listener);
+    }
+
+    @Override
+    public void beginBatch() throws DaoException {
+        dao.beginBatch();
+    }
+
+    @Override
+    public void endBatch() throws DaoException {
+        write(() -> {
+            dao.endBatch();
+            return null;
+        });
+    }
+
+    private <T> T read(DaoCall<T> call) throws DaoException {
+        return measure(call, reads, readErrors);
+    }
+
+    private <T> T write(DaoCall<T> call) throws DaoException {
+        return measure(call, writes, writeErrors);
+    }
+
+    private static <T> T measure(DaoCall<T> call, LatencyHistogram latency, Counter errors) throws DaoException {
+        long start = latency.start();
+        try {
+            return call.call();
+        } catch (DaoException | RuntimeException e) {
+            errors.increment();
+            throw e;
+        } finally {
+            latency.recordSince(start);
+        }
+    }
+
+    /**
+     * Call to the measured DAO.
+     */
+    @FunctionalInterface
+    private interface DaoCall<T> {
+        T call() throws DaoException;
+    }
+}
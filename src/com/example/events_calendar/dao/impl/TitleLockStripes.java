@@ -0,0 +1,78 @@
+package com.example.events_calendar.dao.impl;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Fixed set of locks shared by event titles.
+ *
+ * <p>Each title maps to one of the stripes by its hash code, so operations on the same
+ * title always use the same lock, while operations on unrelated titles usually use
+ * different locks and can proceed concurrently.</p>
+ */
+public class TitleLockStripes {
+
+    /** Locks indexed by the masked title hash. */
+    private final ReentrantLock[] stripes;
+
+    /** Mask selecting a stripe index from a spread hash code. */
+    private final int mask;
+
+    /**
+     * Constructs a set of stripes.
+     *
+     * @param minimumStripes the minimum number of locks; rounded up to a power of two
+     */
+    public TitleLockStripes(int minimumStripes) {
+        int size = Integer.highestOneBit(Math.max(1, minimumStripes - 1)) << 1;
+        this.stripes = new ReentrantLock[size];
+        for (int i = 0; i < size; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+        this.mask = size - 1;
+    }
+
+    /**
+     * Returns the lock guarding the given title.
+     *
+     * @param title the event title
+     * @return the stripe lock for the title
+     */
+    public ReentrantLock forTitle(String title) {
+        return stripes[indexOf(title)];
+    }
+
+    /**
+     * Returns the distinct locks guarding the given titles, ordered by stripe.
+     * <p>
+     * Acquiring several stripes always in this order prevents deadlocks between
+     * operations that lock overlapping sets of titles.
+     *
+     * @param titles the event titles
+     * @return the stripe locks for the titles, without duplicates
+     */
+    public List<ReentrantLock> forTitles(Collection<String> titles) {
+        boolean[] used = new boolean[stripes.length];
+        for (String title : titles) {
+            used[indexOf(title)] = true;
+        }
+        List<ReentrantLock> locks = new ArrayList<>();
+        for (int i = 0; i < stripes.length; i++) {
+            if (used[i]) locks.add(stripes[i]);
+        }
+        return locks;
+    }
+
+    /**
+     * Returns the stripe index used for the given title.
+     *
+     * @param title the event title
+     * @return an index between 0 and the number of stripes minus one
+     */
+    private int indexOf(String title) {
+        int h = title.hashCode();
+        return (h ^ (h >>> 16)) & mask;
+    }
+}
@@ -0,0 +1,68 @@
+package com.example.events_calendar.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight Recorder event for the lookup of the command named by a request.
+ * <p>
+ * Disabled by default: a lookup takes a few nanoseconds and every request makes one, so
+ * recording them would double the size of a recording. Enable it in the recording settings
+ * when investigating requests routed to the wrong command. It is created through
+ * {@link #beginIfEnabled()} only while a recording enables it, so lookups allocate nothing
+ * otherwise.</p>
+ */
+@Name("com.example.events_calendar.CommandDispatch")
+@Label("Command Dispatch")
+@Category({"Events Calendar", "Controller"})
+@Description("Lookup of the command named by a request")
+@StackTrace(false)
+@Enabled(false)
+public final class CommandDispatchEvent extends Event {
+
+    /** Instance only asked whether the event is enabled, which does not depend on the instance. */
+    private static final CommandDispatchEvent PROBE = new CommandDispatchEvent();
+
+    /** Name of the command found, {@code WRONG_REQUEST} if there is none. */
+    @Label("Command")
+    private String command;
+
+    /** Command name as written in the request. */
+    @Label("Requested Name")
+    private String requestedName;
+
+    /**
+     * Creates and begins an event if a recording enables this type; otherwise allocates nothing.
+     *
+     * @return the begun event, or {@code null} if the event is not enabled
+     */
+    public static CommandDispatchEvent beginIfEnabled() {
+        if (!PROBE.isEnabled()) {
+            return null;
+        }
+        CommandDispatchEvent event = new CommandDispatchEvent();
+        event.begin();
+        return event;
+    }
+
+    /**
+     * Sets the fields and commits the event if it is recorded.
+     *
+     * @param command the name of the command found
+     * @param request the text holding the requested name
+     * @param start   the index of the first character of the name
+     * @param end     the index following the last character of the name
+     */
+    public void finish(String command, CharSequence request, int start, int end) {
+        if (shouldCommit()) {
+            this.command = command;
+            this.requestedName = Truncation.truncate(request, start, end);
+            commit();
+        }
+    }
+}
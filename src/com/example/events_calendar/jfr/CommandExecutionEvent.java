@@ -0,0 +1,89 @@
+package com.example.events_calendar.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * Flight Recorder event for the execution of one command, from parsing its arguments to
+ * returning or streaming its response.
+ * <p>
+ * Only executions lasting at least the threshold, 1 ms by default, are recorded, so a
+ * recording left running in production holds the slow requests rather than all of them.
+ * The event is created through {@link #beginIfEnabled()} only while a recording enables it,
+ * and the arguments are copied only when it is committed.</p>
+ */
+@Name("com.example.events_calendar.CommandExecution")
+@Label("Command Execution")
+@Category({"Events Calendar", "Controller"})
+@Description("Execution of a command, from parsing its arguments to producing its response")
+@StackTrace(false)
+@Threshold("1 ms")
+public final class CommandExecutionEvent extends Event {
+
+    /** Instance only asked whether the event is enabled, which does not depend on the instance. */
+    private static final CommandExecutionEvent PROBE = new CommandExecutionEvent();
+
+    /** Outcome of a command that produced a response. */
+    public static final String OK = "OK";
+
+    /** Outcome of a command asked for an item that does not exist. */
+    public static final String NOT_FOUND = "NOT_FOUND";
+
+    /** Outcome of a command that threw an exception. */
+    public static final String ERROR = "ERROR";
+
+    /** Name of the command. */
+    @Label("Command")
+    private String command;
+
+    /** Arguments of the request, cut to 256 characters. */
+    @Label("Arguments")
+    private String arguments;
+
+    /** One of {@link #OK}, {@link #NOT_FOUND} and {@link #ERROR}. */
+    @Label("Outcome")
+    private String outcome;
+
+    /** Whether the response was written to a stream instead of returned. */
+    @Label("Streamed")
+    private boolean streamed;
+
+    /**
+     * Creates and begins an event if a recording enables this type; otherwise allocates nothing.
+     *
+     * @return the begun event, or {@code null} if the event is not enabled
+     */
+    public static CommandExecutionEvent beginIfEnabled() {
+        if (!PROBE.isEnabled()) {
+            return null;
+        }
+        CommandExecutionEvent event = new CommandExecutionEvent();
+        event.begin();
+        return event;
+    }
+
+    /**
+     * Sets the fields and commits the event if it is recorded.
+     *
+     * @param command    the name of the command
+     * @param request    the raw command input, possibly {@code null}
+     * @param argsOffset the offset of the arguments in the request
+     * @param outcome    one of {@link #OK}, {@link #NOT_FOUND} and {@link #ERROR}
+     * @param streamed   whether the response was written to a stream
+     */
+    public void finish(String command, String request, int argsOffset, String outcome, boolean streamed) {
+        if (shouldCommit()) {
+            this.command = command;
+            this.arguments = request == null ? null
+                    : Truncation.truncate(request, Math.min(argsOffset, request.length()), request.length());
+            this.outcome = outcome;
+            this.streamed = streamed;
+            commit();
+        }
+    }
+}
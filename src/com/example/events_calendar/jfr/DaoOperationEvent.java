@@ -0,0 +1,85 @@
+package com.example.events_calendar.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+import jdk.jfr.Timespan;
+
+/**
+ * Flight Recorder event for one operation of a DAO, lock waits included.
+ * <p>
+ * Only operations lasting at least the threshold, 1 ms by default, are recorded. The event
+ * is created through {@link #beginIfEnabled()} only while a recording enables it; callers
+ * measure the lock wait only when they got an event, so without a recording an operation
+ * pays for one flag check.</p>
+ */
+@Name("com.example.events_calendar.DaoOperation")
+@Label("DAO Operation")
+@Category({"Events Calendar", "DAO"})
+@Description("Lookup, query or mutation of the stored events")
+@StackTrace(false)
+@Threshold("1 ms")
+public final class DaoOperationEvent extends Event {
+
+    /** Instance only asked whether the event is enabled, which does not depend on the instance. */
+    private static final DaoOperationEvent PROBE = new DaoOperationEvent();
+
+    /** Name of the DAO method, such as {@code findByTitle} or {@code createAll}. */
+    @Label("Operation")
+    private String operation;
+
+    /** Title of the event looked up or mutated, or {@code null} if there are several or none. */
+    @Label("Title")
+    private String title;
+
+    /** Number of events found by a read or mutated by a write. */
+    @Label("Event Count")
+    private int eventCount;
+
+    /** Time spent waiting for locks before running the operation. */
+    @Label("Lock Wait")
+    @Timespan(Timespan.NANOSECONDS)
+    private long lockWait;
+
+    /** Whether the operation completed without an exception. */
+    @Label("Succeeded")
+    private boolean succeeded;
+
+    /**
+     * Creates and begins an event if a recording enables this type; otherwise allocates nothing.
+     *
+     * @return the begun event, or {@code null} if the event is not enabled
+     */
+    public static DaoOperationEvent beginIfEnabled() {
+        if (!PROBE.isEnabled()) {
+            return null;
+        }
+        DaoOperationEvent event = new DaoOperationEvent();
+        event.begin();
+        return event;
+    }
+
+    /**
+     * Sets the fields and commits the event if it is recorded.
+     *
+     * @param operation  the name of the DAO method
+     * @param title      the title of the event concerned, or {@code null} if there are several or none
+     * @param eventCount the number of events found or mutated
+     * @param lockWait   the time spent waiting for locks, in nanoseconds
+     * @param succeeded  whether the operation completed without an exception
+     */
+    public void finish(String operation, String title, int eventCount, long lockWait, boolean succeeded) {
+        if (shouldCommit()) {
+            this.operation = operation;
+            this.title = title;
+            this.eventCount = eventCount;
+            this.lockWait = lockWait;
+            this.succeeded = succeeded;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.example.events_calendar.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+import java.io.File;
+
+/**
+ * Flight Recorder event for the parsing of a storage file, whole or streamed.
+ * <p>
+ * Created through {@link #beginIfEnabled()} only while a recording enables it.</p>
+ */
+@Name("com.example.events_calendar.StorageParse")
+@Label("Storage Parse")
+@Category({"Events Calendar", "Storage"})
+@Description("Parsing of the file holding the events")
+@StackTrace(false)
+public final class StorageParseEvent extends Event {
+
+    /** Instance only asked whether the event is enabled, which does not depend on the instance. */
+    private static final StorageParseEvent PROBE = new StorageParseEvent();
+
+    /** Path of the file. */
+    @Label("Path")
+    private String path;
+
+    /** Size of the file; a streamed parse may stop before its end. */
+    @Label("Bytes Read")
+    @DataAmount
+    private long bytesRead;
+
+    /** Number of events bound; a streamed parse skips the others. */
+    @Label("Event Count")
+    private int eventCount;
+
+    /** Whether the file was streamed entry by entry instead of bound in one pass. */
+    @Label("Streamed")
+    private boolean streamed;
+
+    /**
+     * Creates and begins an event if a recording enables this type; otherwise allocates nothing.
+     *
+     * @return the begun event, or {@code null} if the event is not enabled
+     */
+    public static StorageParseEvent beginIfEnabled() {
+        if (!PROBE.isEnabled()) {
+            return null;
+        }
+        StorageParseEvent event = new StorageParseEvent();
+        event.begin();
+        return event;
+    }
+
+    /**
+     * Sets the fields and commits the event if it is recorded.
+     *
+     * @param file       the file parsed
+     * @param eventCount the number of events bound
+     * @param streamed   whether the file was streamed entry by entry
+     */
+    public void finish(File file, int eventCount, boolean streamed) {
+        if (shouldCommit()) {
+            this.path = file.getPath();
+            this.bytesRead = file.length();
+            this.eventCount = eventCount;
+            this.streamed = streamed;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.example.events_calendar.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight Recorder event for the serialization of all events to a storage file.
+ * <p>
+ * Created through {@link #beginIfEnabled()} only while a recording enables it; writers
+ * count the bytes only when they got an event.</p>
+ */
+@Name("com.example.events_calendar.StorageWrite")
+@Label("Storage Write")
+@Category({"Events Calendar", "Storage"})
+@Description("Serialization of the events to the file holding them")
+@StackTrace(false)
+public final class StorageWriteEvent extends Event {
+
+    /** Instance only asked whether the event is enabled, which does not depend on the instance. */
+    private static final StorageWriteEvent PROBE = new StorageWriteEvent();
+
+    /** Path of the file. */
+    @Label("Path")
+    private String path;
+
+    /** Number of bytes written. */
+    @Label("Bytes Written")
+    @DataAmount
+    private long bytesWritten;
+
+    /** Number of events written. */
+    @Label("Event Count")
+    private int eventCount;
+
+    /**
+     * Creates and begins an event if a recording enables this type; otherwise allocates nothing.
+     *
+     * @return the begun event, or {@code null} if the event is not enabled
+     */
+    public static StorageWriteEvent beginIfEnabled() {
+        if (!PROBE.isEnabled()) {
+            return null;
+        }
+        StorageWriteEvent event = new StorageWriteEvent();
+        event.begin();
+        return event;
+    }
+
+    /**
+     * Sets the fields and commits the event if it is recorded.
+     *
+     * @param path         the path of the file
+     * @param bytesWritten the number of bytes written
+     * @param eventCount   the number of events written
+     */
+    public void finish(String path, long bytesWritten, int eventCount) {
+        if (shouldCommit()) {
+            this.path = path;
+            this.bytesWritten = bytesWritten;
+            this.eventCount = eventCount;
+            commit();
+        }
+    }
+}
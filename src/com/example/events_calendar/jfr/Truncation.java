@@ -0,0 +1,26 @@
+package com.example.events_calendar.jfr;
+
+/**
+ * Shortens the request text copied into events, so a large request such as an import
+ * does not bloat the recording.
+ */
+final class Truncation {
+
+    /** Maximum number of characters of request text kept in an event. */
+    static final int MAX_LENGTH = 256;
+
+    private Truncation() {
+    }
+
+    /**
+     * Copies a region of a text, cut to {@value #MAX_LENGTH} characters.
+     *
+     * @param text  the text
+     * @param start the index of the first character of the region
+     * @param end   the index following the last character of the region
+     * @return the region, at most {@value #MAX_LENGTH} characters long
+     */
+    static String truncate(CharSequence text, int start, int end) {
+        return text.subSequence(start, Math.min(end, start + MAX_LENGTH)).toString();
+    }
+}
@@ -0,0 +1,77 @@
+package com.example.events_calendar.main;
+
+import com.example.events_calendar.dao.DaoException;
+import com.example.events_calendar.dao.impl.AsyncEventCalendarDaoImpl;
+import com.example.events_calendar.dao.impl.JsonEventDaoImpl;
+import com.example.events_calendar.model.Event;
+import com.example.events_calendar.model.Organizer;
+import com.example.events_calendar.model.Schedule;
+
+import java.io.File;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+
+/**
+ * Compares write throughput of blocking clients calling {@link JsonEventDaoImpl} directly with
+ * clients submitting the same writes to {@link AsyncEventCalendarDaoImpl}, which coalesces them.
+ * <p>
+ * Usage: {@code AsyncWriteBenchmark [events] [clients]}.
+ */
+public class AsyncWriteBenchmark {
+    private static final String TEST_FILE = "bench_events_async.json";
+
+    public static void main(String[] args) throws Exception {
+        int eventCount = args.length > 0 ? Integer.parseInt(args[0]) : 2_000;
+        int clients = args.length > 1 ? Integer.parseInt(args[1]) : 16;
+
+        System.out.printf("Events: %d, clients: %d%n", eventCount, clients);
+        System.out.printf("%-10s %12s %14s%n", "api", "ms", "writes/s");
+
+        new File(TEST_FILE).delete();
+        JsonEventDaoImpl blockingDao = new JsonEventDaoImpl(TEST_FILE);
+        long start = System.nanoTime();
+        CountDownLatch done = new CountDownLatch(clients);
+        for (int c = 0; c < clients; c++) {
+            int client = c;
+            new Thread(() -> {
+                try {
+                    for (int i = client; i < eventCount; i += clients) {
+                        blockingDao.create(event(i));
+                    }
+                } catch (DaoException e) {
+                    e.printStackTrace();
+                } finally {
+                    done.countDown();
+                }
+            }).start();
+        }
+        done.await();
+        report("blocking", start, eventCount);
+
+        new File(TEST_FILE).delete();
+        AsyncEventCalendarDaoImpl asyncDao = new AsyncEventCalendarDaoImpl(new JsonEventDaoImpl(TEST_FILE));
+        start = System.nanoTime();
+        List<CompletableFuture<Void>> writes = new ArrayList<>(eventCount);
+        for (int i = 0; i < eventCount; i++) {
+            writes.add(asyncDao.create(event(i)));
+        }
+        CompletableFuture.allOf(writes.toArray(new CompletableFuture<?>[0])).join();
+        report("async", start, eventCount);
+        asyncDao.close();
+
+        new File(TEST_FILE).delete();
+    }
+
+    private static Event event(int i) {
+        return new Event("Event " + i, LocalDate.of(2024, 1, 1).plusDays(i % 365),
+                new Organizer("Organizer " + (i % 50)), new Schedule());
+    }
+
+    private static void report(String api, long start, int eventCount) {
+        double millis = (System.nanoTime() - start) / 1e6;
+        System.out.printf("%-10s %12.0f %14.0f%n", api, millis, eventCount / (millis / 1000));
+    }
+}
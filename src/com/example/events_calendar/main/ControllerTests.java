@@ -1,14 +1,19 @@
 package com.example.events_calendar.main;
 
 import com.example.events_calendar.controller.EventCalendarController;
+import com.example.events_calendar.controller.impl.CommandProvider;
 import com.example.events_calendar.model.Event;
 import com.example.events_calendar.model.Organizer;
 import com.example.events_calendar.model.Schedule;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 
+import java.io.ByteArrayOutputStream;
 import java.io.File;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
+import java.util.List;
 
 public class ControllerTests {
     private static final String TEST_FILE = "test_events_controller.json";
@@ -37,6 +42,10 @@ public class ControllerTests {
             String getResp = controller.doAction("GET_EVENT CtrlTest");
             System.out.println("GetEvent: " + (getResp.contains("CtrlTest") ? "OK" : "FAIL"));
 
+            // Тест: имя команды без учёта регистра, аргументы без лишних пробелов
+            String lowerResp = controller.doAction("get_Event   CtrlTest  ");
+            System.out.println("CommandCase: " + (lowerResp.equals(getResp) ? "OK" : "FAIL"));
+
             // Тест: обновление события
             Event updated = new Event("CtrlTest", LocalDate.of(2024, 7, 2), new Organizer("CtrlUser2"), schedule);
             String updatedJson = mapper.writeValueAsString(updated);
@@ -47,18 +56,133 @@ public class ControllerTests {
             String listResp = controller.doAction("LIST_EVENT");
             System.out.println("ListEvent: " + (listResp.contains("CtrlTest") ? "OK" : "FAIL"));
 
+            // Тест: постраничный список событий
+            String pageResp = controller.doAction("LIST_EVENT 1");
+            String badPage = controller.doAction("LIST_EVENT many");
+            System.out.println("ListEventPage: " + (pageResp.contains("\"nextCursor\"") && pageResp.startsWith("{")
+                    && badPage.startsWith("ERROR") ? "OK" : "FAIL"));
+
+            // Тест: список событий по диапазону дат
+            String rangeResp = controller.doAction("LIST_EVENT_BY_DATE 2024-07-01 2024-07-03");
+            String emptyRange = controller.doAction("LIST_EVENT_BY_DATE 2024-08-01");
+            System.out.println("ListEventByDate: " + (rangeResp.contains("CtrlTest") && !emptyRange.contains("CtrlTest") ? "OK" : "FAIL"));
+
+            // Тест: список событий организатора (после обновления событие перешло к CtrlUser2)
+            String byNewOrganizer = controller.doAction("LIST_EVENT_BY_ORGANIZER CtrlUser2");
+            String byOldOrganizer = controller.doAction("LIST_EVENT_BY_ORGANIZER CtrlUser");
+            System.out.println("ListEventByOrganizer: " + (byNewOrganizer.contains("CtrlTest") && !byOldOrganizer.contains("CtrlTest") ? "OK" : "FAIL"));
+
             // Тест: удаление события
             String delResp = controller.doAction("DELETE_EVENT CtrlTest");
             System.out.println("DeleteEvent: " + (delResp.contains("успешно") ? "OK" : "FAIL"));
 
             // Тест: получение несуществующего события
             String getFail = controller.doAction("GET_EVENT CtrlTest");
-            System.out.println("GetEvent (not found): " + (getFail.startsWith("ERROR") ? "OK" : "FAIL"));
+            System.out.println("GetEvent (not found): " + (getFail.equals("NOT_FOUND") ? "OK" : "FAIL"));
 
             // Тест: неизвестная команда
             String wrongCmd = controller.doAction("UNKNOWN_CMD");
             System.out.println("WrongCommand: " + (wrongCmd.contains("Unknown command") ? "OK" : "FAIL"));
 
+            // Тест: имя команды длиннее или короче известного, пустой запрос
+            boolean prefixOk = controller.doAction("GET_EVENTS CtrlTest").startsWith("Unknown command")
+                    && controller.doAction("GET CtrlTest").startsWith("Unknown command")
+                    && controller.doAction("").startsWith("Unknown command");
+            System.out.println("CommandPrefix: " + (prefixOk ? "OK" : "FAIL"));
+
+            // Тест: импорт нескольких событий одним пакетом
+            String importJson = mapper.writeValueAsString(List.of(
+                    new Event("CtrlImport1", LocalDate.of(2024, 7, 3), new Organizer("CtrlUser"), schedule),
+                    new Event("CtrlImport2", LocalDate.of(2024, 7, 4), new Organizer("CtrlUser"), schedule)));
+            String importResp = controller.doAction("IMPORT_EVENTS " + importJson);
+            String importAgain = controller.doAction("IMPORT_EVENTS " + importJson);
+            System.out.println("ImportEvents: " + (importResp.contains("2") && importAgain.startsWith("ERROR")
+                    && controller.doAction("GET_EVENT CtrlImport2").contains("CtrlImport2") ? "OK" : "FAIL"));
+            controller.doAction("DELETE_EVENT CtrlImport1");
+            controller.doAction("DELETE_EVENT CtrlImport2");
+
+            // Тест: несколько запросов одной командой, ответы по порядку, ошибка одного не мешает остальным
+            String batchEvent = mapper.writeValueAsString(
+                    new Event("CtrlBatch", LocalDate.of(2024, 7, 5), new Organizer("CtrlUser"), schedule));
+            String batchResp = controller.doAction("BATCH " + mapper.writeValueAsString(List.of(
+                    "ADD_EVENT " + batchEvent,
+                    "ADD_EVENT " + batchEvent,
+                    "GET_EVENT CtrlBatch",
+                    "BATCH []",
+                    "DELETE_EVENT CtrlBatch",
+                    "GET_EVENT CtrlBatch")));
+            List<String> batchResults = mapper.readValue(batchResp,
+                    mapper.getTypeFactory().constructCollectionType(List.class, String.class));
+            boolean batchOk = batchResults.size() == 6
+                    && !batchResults.get(0).equals("ERROR")
+                    && batchResults.get(1).equals("ERROR")
+                    && batchResults.get(2).contains("CtrlBatch")
+                    && batchResults.get(3).equals("ERROR")
+                    && !batchResults.get(4).equals("ERROR")
+                    && batchResults.get(5).equals("NOT_FOUND")
+                    && controller.doAction("BATCH not json").equals("ERROR")
+                    && controller.doAction("BATCH []").equals("[]");
+            System.out.println("Batch: " + (batchOk ? "OK" : "FAIL"));
+
+            // Тест: список событий в формате NDJSON — по одному событию в строке, только в поток
+            controller.doAction("IMPORT_EVENTS " + importJson);
+            ByteArrayOutputStream ndjsonOut = new ByteArrayOutputStream();
+            new CommandProvider().getCommand("LIST_EVENT")
+                    .execute("LIST_EVENT ndjson", "LIST_EVENT ".length(), ndjsonOut);
+            String ndjson = ndjsonOut.toString(StandardCharsets.UTF_8);
+            List<Event> arrayEvents = mapper.readValue(controller.doAction("LIST_EVENT"),
+                    mapper.getTypeFactory().constructCollectionType(List.class, Event.class));
+            String[] lines = ndjson.split("\n");
+            boolean ndjsonOk = ndjson.endsWith("\n") && lines.length == arrayEvents.size()
+                    && controller.doAction("LIST_EVENT ndjson").equals("ERROR");
+            for (String line : lines) {
+                ndjsonOk = ndjsonOk && arrayEvents.contains(mapper.readValue(line, Event.class));
+            }
+            System.out.println("ListEventNdjson: " + (ndjsonOk ? "OK" : "FAIL"));
+            controller.doAction("DELETE_EVENT CtrlImport1");
+            controller.doAction("DELETE_EVENT CtrlImport2");
+
+            // Тест: закэшированный JSON сбрасывается при каждом изменении события
+            controller.doAction("ADD_EVENT " + mapper.writeValueAsString(
+                    new Event("CtrlCache", LocalDate.of(2024, 7, 6), new Organizer("CacheUser"), schedule)));
+            boolean cacheOk = controller.doAction("GET_EVENT CtrlCache").contains("CacheUser")
+                    && controller.doAction("GET_EVENT CtrlCache").contains("CacheUser")
+                    && controller.doAction("LIST_EVENT").contains("CtrlCache");
+            controller.doAction("UPDATE_EVENT " + mapper.writeValueAsString(
+                    new Event("CtrlCache", LocalDate.of(2024, 7, 6), new Organizer("CacheUser2"), schedule)));
+            cacheOk = cacheOk && controller.doAction("GET_EVENT CtrlCache").contains("CacheUser2")
+                    && controller.doAction("LIST_EVENT").contains("CacheUser2");
+            controller.doAction("BATCH " + mapper.writeValueAsString(List.of("IMPORT_EVENTS " + importJson)));
+            cacheOk = cacheOk && controller.doAction("LIST_EVENT").contains("CtrlImport1");
+            controller.doAction("DELETE_EVENT CtrlCache");
+            cacheOk = cacheOk && controller.doAction("GET_EVENT CtrlCache").equals("NOT_FOUND")
+                    && !controller.doAction("LIST_EVENT").contains("CtrlCache");
+            System.out.println("ResponseCache: " + (cacheOk ? "OK" : "FAIL"));
+            controller.doAction("DELETE_EVENT CtrlImport1");
+            controller.doAction("DELETE_EVENT CtrlImport2");
+
+            // Тест: метрики команд — задержки, ошибки и промахи
+            JsonNode before = mapper.readTree(controller.doAction("METRICS"));
+            controller.doAction("GET_EVENT CtrlMissing");
+            controller.doAction("GET_EVENT");
+            JsonNode after = mapper.readTree(controller.doAction("metrics"));
+            // многострочный текст Prometheus выдаётся только в поток
+            ByteArrayOutputStream prometheusOut = new ByteArrayOutputStream();
+            new CommandProvider().getCommand("METRICS").execute("METRICS prometheus", "METRICS ".length(), prometheusOut);
+            String prometheus = prometheusOut.toString(StandardCharsets.UTF_8);
+            boolean metricsOk = count(after, "events_command_duration_seconds", "GET_EVENT")
+                    == count(before, "events_command_duration_seconds", "GET_EVENT") + 2
+                    && count(after, "events_command_misses_total", "GET_EVENT")
+                    == count(before, "events_command_misses_total", "GET_EVENT") + 1
+                    && count(after, "events_command_errors_total", "GET_EVENT")
+                    == count(before, "events_command_errors_total", "GET_EVENT") + 1
+                    && after.path("events_dao_duration_seconds").has("write")
+                    && after.path("events_service_duration_seconds").has("read")
+                    && prometheus.contains("events_command_errors_total{command=\"GET_EVENT\"} ")
+                    && controller.doAction("METRICS json").equals("ERROR")
+                    && controller.doAction("METRICS prometheus").equals("ERROR");
+            System.out.println("Metrics: " + (metricsOk ? "OK" : "FAIL"));
+
             // Очистка
             new File(TEST_FILE).delete();
         } catch (Exception e) {
@@ -66,4 +190,9 @@ public class ControllerTests {
             System.out.println("Test failed: " + e.getMessage());
         }
     }
+
+    private static long count(JsonNode metrics, String family, String command) {
+        JsonNode metric = metrics.path(family).path(command);
+        return metric.isObject() ? metric.path("count").asLong() : metric.asLong();
+    }
 }
\ No newline at end of file
@@ -0,0 +1,144 @@
+package com.example.events_calendar.main;
+
+import com.example.events_calendar.dao.DaoException;
+import com.example.events_calendar.dao.impl.JsonEventDaoImpl;
+import com.example.events_calendar.dao.impl.JsonStorageHandler;
+import com.example.events_calendar.model.Event;
+import com.example.events_calendar.model.EventPage;
+import com.example.events_calendar.model.Organizer;
+import com.example.events_calendar.model.Schedule;
+
+import java.io.File;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Measures how the throughput of the cached {@link JsonEventDaoImpl} scales with the number of
+ * reader threads while a writer keeps updating events.
+ * <p>
+ * Readers alternate between title lookups, date range queries, organizer queries and pages,
+ * so the index and the snapshot path are exercised together with the lock-free title lookup.
+ * A single writer updates random events at a fixed rate ({@code 0} disables it). Thread counts
+ * double from 1 up to {@code maxThreads}; runs with more threads than cores measure contention,
+ * not scaling.
+ * <p>
+ * Usage: {@code DaoConcurrencyBenchmark [events] [secondsPerRun] [writesPerSecond] [maxThreads]}.
+ */
+public class DaoConcurrencyBenchmark {
+    private static final String TEST_FILE = "bench_events_concurrency.json";
+    private static final int ORGANIZERS = 50;
+
+    public static void main(String[] args) throws Exception {
+        int cores = Runtime.getRuntime().availableProcessors();
+        int eventCount = args.length > 0 ? Integer.parseInt(args[0]) : 10_000;
+        int seconds = args.length > 1 ? Integer.parseInt(args[1]) : 2;
+        int writesPerSecond = args.length > 2 ? Integer.parseInt(args[2]) : 100;
+        int maxThreads = args.length > 3 ? Integer.parseInt(args[3]) : Math.max(4, cores);
+
+        new File(TEST_FILE).delete();
+        Map<String, Event> seed = new HashMap<>();
+        for (int i = 0; i < eventCount; i++) {
+            seed.put("Event " + i, eventFor(i, 0));
+        }
+        new JsonStorageHandler(TEST_FILE).write(seed);
+        JsonEventDaoImpl dao = new JsonEventDaoImpl(TEST_FILE, JsonEventDaoImpl.Mode.CACHED);
+
+        System.out.printf("Events: %d, cores: %d, writer: %d updates/s, %d s per run%n",
+                eventCount, cores, writesPerSecond, seconds);
+        if (cores < maxThreads) {
+            System.out.printf("Only %d core(s): speedup beyond %dx cannot be measured on this machine%n",
+                    cores, cores);
+        }
+        System.out.printf("%8s %14s %14s %12s %10s%n", "threads", "lookups/s", "queries/s", "writes/s", "speedup");
+        double baseline = 0;
+        for (int threads = 1; threads <= maxThreads; threads *= 2) {
+            double[] result = measure(dao, threads, eventCount, seconds, writesPerSecond);
+            double throughput = result[0] + result[1];
+            if (baseline == 0) baseline = throughput;
+            System.out.printf("%8d %14.0f %14.0f %12.0f %9.2fx%n",
+                    threads, result[0], result[1], result[2], throughput / baseline);
+        }
+
+        new File(TEST_FILE).delete();
+    }
+
+    private static double[] measure(JsonEventDaoImpl dao, int threads, int eventCount, int seconds,
+                                    int writesPerSecond) throws InterruptedException {
+        LongAdder lookups = new LongAdder();
+        LongAdder queries = new LongAdder();
+        LongAdder writes = new LongAdder();
+        AtomicBoolean running = new AtomicBoolean(true);
+        CountDownLatch done = new CountDownLatch(threads + (writesPerSecond > 0 ? 1 : 0));
+        for (int t = 0; t < threads; t++) {
+            Thread reader = new Thread(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                try {
+                    for (int op = 0; running.get(); op++) {
+                        switch (op & 3) {
+                            case 0 -> {
+                                dao.read("Event " + random.nextInt(eventCount));
+                                lookups.increment();
+                            }
+                            case 1 -> {
+                                LocalDate from = LocalDate.of(2024, 1, 1).plusDays(random.nextInt(335));
+                                dao.findByDateRange(from, from.plusDays(30));
+                                queries.increment();
+                            }
+                            case 2 -> {
+                                dao.findByOrganizer("Organizer " + random.nextInt(ORGANIZERS));
+                                queries.increment();
+                            }
+                            default -> {
+                                dao.findPage(EventPage.cursorAfter("Event " + random.nextInt(eventCount)), 50);
+                                queries.increment();
+                            }
+                        }
+                    }
+                } catch (DaoException e) {
+                    e.printStackTrace();
+                } finally {
+                    done.countDown();
+                }
+            });
+            reader.start();
+        }
+        if (writesPerSecond > 0) {
+            Thread writer = new Thread(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                long interval = TimeUnit.SECONDS.toNanos(1) / writesPerSecond;
+                long next = System.nanoTime();
+                try {
+                    for (int version = 1; running.get(); version++) {
+                        dao.update(eventFor(random.nextInt(eventCount), version));
+                        writes.increment();
+                        next += interval;
+                        long delay = next - System.nanoTime();
+                        if (delay > 0) LockSupport.parkNanos(delay);
+                    }
+                } catch (DaoException e) {
+                    e.printStackTrace();
+                } finally {
+                    done.countDown();
+                }
+            });
+            writer.start();
+        }
+        Thread.sleep(seconds * 1000L);
+        running.set(false);
+        done.await();
+        return new double[]{lookups.sum() / (double) seconds, queries.sum() / (double) seconds,
+                writes.sum() / (double) seconds};
+    }
+
+    private static Event eventFor(int i, int version) {
+        return new Event("Event " + i, LocalDate.of(2024, 1, 1).plusDays((i + version) % 365),
+                new Organizer("Organizer " + ((i + version) % ORGANIZERS)), new Schedule());
+    }
+}
@@ -2,14 +2,47 @@ package com.example.events_calendar.main;
 
 import com.example.events_calendar.dao.DaoException;
 import com.example.events_calendar.dao.EventCalendarDao;
+import com.example.events_calendar.dao.impl.AsyncEventCalendarDaoImpl;
+import com.example.events_calendar.dao.impl.BinaryEventCodec;
+import com.example.events_calendar.dao.impl.BinaryEventDaoImpl;
+import com.example.events_calendar.dao.impl.EventLogHandler;
+import com.example.events_calendar.dao.impl.JdbcEventDaoImpl;
 import com.example.events_calendar.dao.impl.JsonEventDaoImpl;
+import com.example.events_calendar.dao.impl.JsonStorageHandler;
+import com.example.events_calendar.dao.impl.LogEventDaoImpl;
+import com.example.events_calendar.dao.impl.MappedEventDaoImpl;
+import com.example.events_calendar.dao.impl.StorageFileWatcher;
+import com.example.events_calendar.dao.impl.TimedEventCalendarDao;
+import com.example.events_calendar.metrics.Counter;
+import com.example.events_calendar.metrics.LatencyHistogram;
+import com.example.events_calendar.metrics.MetricsRegistry;
 import com.example.events_calendar.model.Event;
+import com.example.events_calendar.model.EventPage;
 import com.example.events_calendar.model.Organizer;
 import com.example.events_calendar.model.Schedule;
 
 import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.DriverManager;
+import java.sql.SQLException;
 import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
 public class DaoTests {
     private static final String TEST_FILE = "test_events.json";
@@ -36,6 +69,11 @@ public class DaoTests {
             assert loaded != null && loaded.getTitle().equals("Test Event");
             System.out.println("Read: OK");
 
+            // Тест: поиск по названию без исключения для отсутствующего события
+            boolean findOk = dao.findByTitle("Test Event").map(Event::getTitle).orElse("").equals("Test Event")
+                    && dao.findByTitle("Missing Event").isEmpty();
+            System.out.println("FindByTitle: " + (findOk ? "OK" : "FAIL"));
+
             // Тест: обновление события
             Event updated = new Event(
                     "Test Event",
@@ -62,6 +100,615 @@ public class DaoTests {
                 System.out.println("Delete: OK");
             }
 
+            // Тест: кэширующий режим (hit/miss и запись на диск)
+            new File(TEST_FILE).delete();
+            JsonEventDaoImpl cachedDao = new JsonEventDaoImpl(TEST_FILE, JsonEventDaoImpl.Mode.CACHED);
+            cachedDao.create(event);
+            cachedDao.read("Test Event");
+            try {
+                cachedDao.read("Missing Event");
+            } catch (DaoException e) {
+                // ожидаемый промах
+            }
+            EventCalendarDao reopened = new JsonEventDaoImpl(TEST_FILE);
+            boolean cacheOk = cachedDao.getCacheHits() == 1 && cachedDao.getCacheMisses() == 1
+                    && reopened.read("Test Event").equals(event);
+            System.out.println("CachedMode: " + (cacheOk ? "OK" : "FAIL"));
+
+            // Тест: поиск по диапазону дат (индекс в кэше и в журнале, фильтр в прямом режиме)
+            Event june10 = new Event("June 10", LocalDate.of(2024, 6, 10), new Organizer("Tester"), new Schedule());
+            Event june20 = new Event("June 20", LocalDate.of(2024, 6, 20), new Organizer("Tester"), new Schedule());
+            cachedDao.create(june20);
+            cachedDao.create(june10);
+            cachedDao.update(new Event("June 20", LocalDate.of(2024, 7, 20), new Organizer("Tester"), new Schedule()));
+            List<Event> cachedRange = cachedDao.findByDateRange(LocalDate.of(2024, 6, 1), LocalDate.of(2024, 6, 30));
+            List<Event> directRange = new JsonEventDaoImpl(TEST_FILE).findByDateRange(LocalDate.of(2024, 6, 1), LocalDate.of(2024, 6, 30));
+            boolean rangeOk = cachedRange.size() == 2
+                    && cachedRange.get(0).getTitle().equals("Test Event")
+                    && cachedRange.get(1).equals(june10)
+                    && cachedRange.equals(directRange)
+                    && cachedDao.findOnDate(LocalDate.of(2024, 7, 20)).size() == 1;
+            System.out.println("FindByDateRange: " + (rangeOk ? "OK" : "FAIL"));
+
+            // Тест: поиск по организатору, включая переход события к другому организатору
+            cachedDao.update(new Event("June 10", LocalDate.of(2024, 6, 10), new Organizer("Other"), new Schedule()));
+            boolean organizerOk = cachedDao.findByOrganizer("Tester").size() == 2
+                    && cachedDao.findByOrganizer("Other").size() == 1
+                    && cachedDao.findByOrganizer("Other").equals(new JsonEventDaoImpl(TEST_FILE).findByOrganizer("Other"))
+                    && cachedDao.findByOrganizer("Nobody").isEmpty();
+            System.out.println("FindByOrganizer: " + (organizerOk ? "OK" : "FAIL"));
+
+            // Тест: изменение расписания переданного или полученного события не меняет хранимое состояние
+            new File(TEST_FILE).delete();
+            boolean copiesOk = checkCopies(new JsonEventDaoImpl(TEST_FILE, JsonEventDaoImpl.Mode.CACHED))
+                    && new JsonEventDaoImpl(TEST_FILE).read("Copied").getSchedule().getActivitiesByTime().size() == 1;
+            String copiesLog = "test_events_copies.log";
+            deleteLogFiles(copiesLog);
+            LogEventDaoImpl copiesLogDao = new LogEventDaoImpl(copiesLog, 1_000, 60_000);
+            copiesOk = copiesOk && checkCopies(copiesLogDao);
+            copiesLogDao.close();
+            deleteLogFiles(copiesLog);
+            System.out.println("DefensiveCopies: " + (copiesOk ? "OK" : "FAIL"));
+
+            // Тест: групповая фиксация параллельных записей
+            new File(TEST_FILE).delete();
+            EventCalendarDao groupDao = new JsonEventDaoImpl(TEST_FILE, JsonEventDaoImpl.Mode.CACHED);
+            Thread[] writers = new Thread[8];
+            for (int i = 0; i < writers.length; i++) {
+                String title = "Group " + i;
+                writers[i] = new Thread(() -> {
+                    try {
+                        groupDao.create(new Event(title, LocalDate.of(2024, 6, 5), new Organizer("Tester"), new Schedule()));
+                    } catch (DaoException e) {
+                        e.printStackTrace();
+                    }
+                });
+                writers[i].start();
+            }
+            for (Thread writer : writers) {
+                writer.join();
+            }
+            boolean groupOk = new JsonEventDaoImpl(TEST_FILE).findAll().size() == writers.length
+                    && !new File(TEST_FILE + ".tmp").exists();
+            System.out.println("GroupCommit: " + (groupOk ? "OK" : "FAIL"));
+
+            // Тест: параллельные изменения разных и одного и того же события
+            Thread[] mutators = new Thread[8];
+            for (int i = 0; i < mutators.length; i++) {
+                String title = "Group " + i;
+                int day = i + 1;
+                mutators[i] = new Thread(() -> {
+                    try {
+                        groupDao.update(new Event(title, LocalDate.of(2024, 7, day), new Organizer("Striped"), new Schedule()));
+                        groupDao.update(new Event("Group 0", LocalDate.of(2024, 8, day), new Organizer("Shared"), new Schedule()));
+                    } catch (DaoException e) {
+                        e.printStackTrace();
+                    }
+                });
+                mutators[i].start();
+            }
+            for (Thread mutator : mutators) {
+                mutator.join();
+            }
+            List<Event> stripedSnapshot = groupDao.findAll();
+            boolean stripedOk = stripedSnapshot.size() == mutators.length
+                    && groupDao.findByOrganizer("Striped").size() == mutators.length - 1
+                    && groupDao.findByOrganizer("Shared").size() == 1
+                    && groupDao.findByDateRange(LocalDate.of(2024, 8, 1), LocalDate.of(2024, 8, 31)).size() == 1
+                    && new JsonEventDaoImpl(TEST_FILE).read("Group 0").equals(groupDao.read("Group 0"));
+            System.out.println("StripedMutations: " + (stripedOk ? "OK" : "FAIL"));
+
+            // Тест: откат неудачной записи пакета не виден запросам наполовину
+            new File(TEST_FILE).delete();
+            System.out.println("RollbackIsolation: " + (checkRollbackIsolation() ? "OK" : "FAIL"));
+
+            // Тест: запись файла во время пакета не сохраняет пакет наполовину
+            new File(TEST_FILE).delete();
+            System.out.println("FlushDuringBatch: " + (checkFlushDuringBatch() ? "OK" : "FAIL"));
+
+            // Тест: пакетные изменения (всё или ничего, одна запись)
+            new File(TEST_FILE).delete();
+            boolean batchOk = checkBatch(new JsonEventDaoImpl(TEST_FILE, JsonEventDaoImpl.Mode.CACHED))
+                    && new JsonEventDaoImpl(TEST_FILE).findAll().size() == 2;
+            new File(TEST_FILE).delete();
+            batchOk = batchOk && checkBatch(new JsonEventDaoImpl(TEST_FILE));
+            String batchLog = "test_events_batch.log";
+            deleteLogFiles(batchLog);
+            LogEventDaoImpl batchLogDao = new LogEventDaoImpl(batchLog, 1_000, 60_000);
+            batchOk = batchOk && checkBatch(batchLogDao) && batchLogDao.getLogRecordCount() == 3;
+            batchLogDao.close();
+            LogEventDaoImpl batchReplayed = new LogEventDaoImpl(batchLog, 1_000, 60_000);
+            batchOk = batchOk && batchReplayed.findAll().size() == 2
+                    && batchReplayed.findByOrganizer("Batch2").size() == 1;
+            batchReplayed.close();
+            deleteLogFiles(batchLog);
+            System.out.println("BatchMutations: " + (batchOk ? "OK" : "FAIL"));
+
+            // Тест: событие без названия отклоняется исключением DAO, а не NullPointerException
+            new File(TEST_FILE).delete();
+            JsonEventDaoImpl untitledDao = new JsonEventDaoImpl(TEST_FILE, JsonEventDaoImpl.Mode.CACHED);
+            Event untitled = new Event(null, LocalDate.of(2024, 6, 1), new Organizer("Tester"), new Schedule());
+            int untitledRejected = 0;
+            try {
+                untitledDao.create(untitled);
+            } catch (DaoException e) {
+                untitledRejected++;
+            }
+            try {
+                untitledDao.update(untitled);
+            } catch (DaoException e) {
+                untitledRejected++;
+            }
+            System.out.println("NullTitle: " + (untitledRejected == 2 && untitledDao.findAll().isEmpty() ? "OK" : "FAIL"));
+
+            // Тест: пакет разнородных изменений сохраняется одной записью файла
+            new File(TEST_FILE).delete();
+            boolean scopeOk = true;
+            for (JsonEventDaoImpl.Mode mode : new JsonEventDaoImpl.Mode[]{JsonEventDaoImpl.Mode.CACHED, JsonEventDaoImpl.Mode.DIRECT}) {
+                JsonEventDaoImpl scopeDao = new JsonEventDaoImpl(TEST_FILE, mode);
+                long flushesBefore = scopeDao.getFlushCount();
+                scopeDao.beginBatch();
+                boolean duplicateFailed = false;
+                try {
+                    for (int i = 0; i < 5; i++) {
+                        scopeDao.create(new Event("Scope " + i, LocalDate.of(2024, 6, 10), new Organizer("Scope"), new Schedule()));
+                    }
+                    scopeDao.update(new Event("Scope 0", LocalDate.of(2024, 6, 11), new Organizer("Scope"), new Schedule()));
+                    scopeDao.delete("Scope 4");
+                    try {
+                        scopeDao.create(new Event("Scope 1", LocalDate.of(2024, 6, 10), new Organizer("Scope"), new Schedule()));
+                    } catch (DaoException e) {
+                        duplicateFailed = true;
+                    }
+                    // изменения видны внутри пакета, но ещё не записаны
+                    scopeOk = scopeOk && scopeDao.findAll().size() == 4 && scopeDao.getFlushCount() == flushesBefore;
+                } finally {
+                    scopeDao.endBatch();
+                }
+                boolean nestedFailed = false;
+                scopeDao.beginBatch();
+                try {
+                    scopeDao.beginBatch();
+                } catch (DaoException e) {
+                    nestedFailed = true;
+                } finally {
+                    scopeDao.endBatch();
+                }
+                JsonEventDaoImpl scopeReloaded = new JsonEventDaoImpl(TEST_FILE);
+                scopeOk = scopeOk && duplicateFailed && nestedFailed
+                        && scopeDao.getFlushCount() == flushesBefore + 1
+                        && scopeReloaded.findAll().size() == 4
+                        && scopeReloaded.read("Scope 0").getDate().equals(LocalDate.of(2024, 6, 11));
+                new File(TEST_FILE).delete();
+            }
+            System.out.println("BatchScope: " + (scopeOk ? "OK" : "FAIL"));
+
+            // Тест: открытый пакет не задерживает записи других потоков
+            new File(TEST_FILE).delete();
+            System.out.println("BatchIsolation: " + (checkBatchIsolation() ? "OK" : "FAIL"));
+            new File(TEST_FILE).delete();
+
+            // Тест: потоковый обход всех событий без списка, с досрочной остановкой
+            boolean forEachOk = true;
+            for (JsonEventDaoImpl.Mode mode : JsonEventDaoImpl.Mode.values()) {
+                new File(TEST_FILE).delete();
+                JsonEventDaoImpl visitDao = new JsonEventDaoImpl(TEST_FILE, mode);
+                for (int i = 0; i < 3; i++) {
+                    visitDao.create(new Event("Visit " + i, LocalDate.of(2024, 6, 12), new Organizer("Visit"), new Schedule()));
+                }
+                Set<String> visited = new HashSet<>();
+                visitDao.forEachEvent(visit -> visited.add(visit.getTitle()));
+                int[] stopped = {0};
+                visitDao.forEachEvent(visit -> ++stopped[0] < 2);
+                forEachOk = forEachOk && visited.equals(Set.of("Visit 0", "Visit 1", "Visit 2")) && stopped[0] == 2;
+            }
+            new File(TEST_FILE).delete();
+            System.out.println("ForEachEvent: " + (forEachOk ? "OK" : "FAIL"));
+
+            // Тест: слушатели изменений получают название каждого изменённого события, только в кэширующем режиме
+            new File(TEST_FILE).delete();
+            JsonEventDaoImpl notifyingDao = new JsonEventDaoImpl(TEST_FILE, JsonEventDaoImpl.Mode.CACHED);
+            List<String> changed = new ArrayList<>();
+            boolean listenerOk = notifyingDao.addMutationListener(changed::add)
+                    && !new JsonEventDaoImpl(TEST_FILE, JsonEventDaoImpl.Mode.DIRECT).addMutationListener(changed::add);
+            Event notified = new Event("Notified", LocalDate.of(2024, 6, 13), new Organizer("Ops"), new Schedule());
+            notifyingDao.create(notified);
+            notifyingDao.update(notified);
+            try {
+                notifyingDao.create(notified);
+            } catch (DaoException e) {
+                // ожидаемый отказ тоже сообщается
+            }
+            notifyingDao.read("Notified");
+            notifyingDao.delete("Notified");
+            listenerOk = listenerOk && changed.equals(List.of("Notified", "Notified", "Notified", "Notified"));
+            new File(TEST_FILE).delete();
+            System.out.println("MutationListener: " + (listenerOk ? "OK" : "FAIL"));
+
+            // Тест: постраничный обход по курсору
+            new File(TEST_FILE).delete();
+            boolean pageOk = checkPages(new JsonEventDaoImpl(TEST_FILE, JsonEventDaoImpl.Mode.CACHED));
+            new File(TEST_FILE).delete();
+            pageOk = pageOk && checkPages(new JsonEventDaoImpl(TEST_FILE));
+            String pageLog = "test_events_page.log";
+            deleteLogFiles(pageLog);
+            LogEventDaoImpl pageLogDao = new LogEventDaoImpl(pageLog, 1_000, 60_000);
+            pageOk = pageOk && checkPages(pageLogDao);
+            pageLogDao.close();
+            deleteLogFiles(pageLog);
+            System.out.println("FindPage: " + (pageOk ? "OK" : "FAIL"));
+
+            // Тест: потоковое чтение файла
+            new File(TEST_FILE).delete();
+            Map<String, Event> streamed = new HashMap<>();
+            for (int i = 0; i < 1_000; i++) {
+                streamed.put("Stream " + i, new Event("Stream " + i, LocalDate.of(2024, 12, 1).plusDays(i % 30),
+                        new Organizer("Streamer " + (i % 10)), new Schedule()));
+            }
+            JsonStorageHandler streamHandler = new JsonStorageHandler(TEST_FILE);
+            streamHandler.write(streamed);
+            int[] bound = new int[1];
+            streamHandler.scan(title -> title.endsWith("7"), e -> {
+                bound[0]++;
+                return bound[0] < 5;
+            });
+            List<Event> scannedAll = new ArrayList<>();
+            streamHandler.scan(title -> true, scannedAll::add);
+            EventCalendarDao streamDao = new JsonEventDaoImpl(TEST_FILE);
+            boolean streamOk = streamed.get("Stream 500").equals(streamHandler.find("Stream 500"))
+                    && streamHandler.find("Stream 1000") == null
+                    && bound[0] == 5
+                    && scannedAll.size() == streamed.size()
+                    && streamDao.findByOrganizer("Streamer 3").size() == 100
+                    && streamDao.findOnDate(LocalDate.of(2024, 12, 1)).size() == 34
+                    && streamDao.findPage(EventPage.cursorAfter("Stream 998"), 5).getEvents().size() == 1
+                    && streamDao.read("Stream 42").equals(streamed.get("Stream 42"));
+            System.out.println("StreamingRead: " + (streamOk ? "OK" : "FAIL"));
+
+            // Тест: двоичный формат хранения, импорт и экспорт JSON
+            String binaryFile = "test_events.bin";
+            new File(binaryFile).delete();
+            Schedule detailed = new Schedule();
+            detailed.addActivity("09:00 Start");
+            detailed.getActivitiesByTime().put(LocalTime.of(12, 30, 15), "Lunch");
+            detailed.getActivitiesByTime().put(LocalTime.of(23, 59, 59, 999_999_999), null);
+            Event detailedEvent = new Event("Binary Детали", LocalDate.of(1969, 12, 31), new Organizer("Binary"), detailed);
+            Event sparseEvent = new Event("Binary Sparse", null, null, null);
+            Event codecCopy = BinaryEventCodec.decode(ByteBuffer.wrap(BinaryEventCodec.encode(detailedEvent)));
+            BinaryEventDaoImpl binaryDao = new BinaryEventDaoImpl(binaryFile, JsonEventDaoImpl.Mode.CACHED);
+            binaryDao.createAll(List.of(detailedEvent, sparseEvent));
+            binaryDao.update(new Event("Binary Sparse", LocalDate.of(2024, 5, 5), null, new Schedule()));
+            BinaryEventDaoImpl binaryReopened = new BinaryEventDaoImpl(binaryFile);
+            new File(TEST_FILE).delete();
+            boolean binaryOk = codecCopy.equals(detailedEvent)
+                    && binaryReopened.read("Binary Детали").equals(detailedEvent)
+                    && binaryReopened.read("Binary Sparse").getDate().equals(LocalDate.of(2024, 5, 5))
+                    && binaryReopened.findAll().size() == 2
+                    && binaryReopened.exportJson(TEST_FILE) == 2
+                    && new JsonEventDaoImpl(TEST_FILE).read("Binary Детали").equals(detailedEvent);
+            new File(binaryFile).delete();
+            BinaryEventDaoImpl imported = new BinaryEventDaoImpl(binaryFile);
+            binaryOk = binaryOk && imported.importJson(TEST_FILE) == 2
+                    && imported.findByOrganizer("Binary").equals(List.of(detailedEvent))
+                    && new File(binaryFile).length() < new File(TEST_FILE).length();
+            Files.write(Path.of(binaryFile), new byte[]{'E', 'V', 'T', 'B', 99, 0});
+            try {
+                new BinaryEventDaoImpl(binaryFile).findAll();
+                binaryOk = false;
+            } catch (DaoException e) {
+                // неизвестная версия формата отклоняется
+            }
+            new File(binaryFile).delete();
+            System.out.println("BinaryStorage: " + (binaryOk ? "OK" : "FAIL"));
+
+            // Тест: хранилище в отображаемом в память файле
+            String mappedFile = "test_events.mapped";
+            new File(mappedFile).delete();
+            MappedEventDaoImpl mappedDao = new MappedEventDaoImpl(mappedFile, 4096);
+            List<Event> mappedEvents = new ArrayList<>();
+            for (int i = 0; i < 300; i++) {
+                Schedule mappedSchedule = new Schedule();
+                mappedSchedule.addActivity("10:00 Talk" + i);
+                mappedEvents.add(new Event("Mapped " + i, LocalDate.of(2024, 3, 1).plusDays(i % 10),
+                        new Organizer("Mapper " + (i % 3)), mappedSchedule));
+            }
+            mappedDao.createAll(mappedEvents);
+            Schedule longSchedule = new Schedule();
+            for (int h = 0; h < 20; h++) {
+                longSchedule.addActivity(h + ":15 Session" + h);
+            }
+            Event grown = new Event("Mapped 7", LocalDate.of(2024, 4, 1), new Organizer("Mapper 9"), longSchedule);
+            mappedDao.update(grown);
+            mappedDao.deleteAll(List.of("Mapped 1", "Mapped 2", "Mapped 3"));
+            long usedBefore = mappedDao.getUsedBytes();
+            boolean mappedOk = mappedDao.getFreeBytes() > 0;
+            mappedDao.create(new Event("Mapped reuse", LocalDate.of(2024, 3, 2), new Organizer("Mapper 0"), new Schedule()));
+            mappedOk = mappedOk && mappedDao.getUsedBytes() == usedBefore;
+            try {
+                mappedDao.updateAll(List.of(grown, new Event("Mapped 1", null, null, null)));
+                mappedOk = false;
+            } catch (DaoException e) {
+                mappedOk = mappedOk && mappedDao.read("Mapped 7").equals(grown);
+            }
+            mappedOk = mappedOk && mappedDao.read("Mapped 7").equals(grown)
+                    && mappedDao.read("Mapped 250").equals(mappedEvents.get(250))
+                    && mappedDao.findAll().size() == 298
+                    && mappedDao.findByOrganizer("Mapper 9").equals(List.of(grown))
+                    && mappedDao.findOnDate(LocalDate.of(2024, 3, 2)).size() == 30
+                    && mappedDao.findPage(null, 2).getEvents().get(0).getTitle().equals("Mapped 0");
+            mappedDao.close();
+            MappedEventDaoImpl mappedReopened = new MappedEventDaoImpl(mappedFile, 4096);
+            mappedOk = mappedOk && mappedReopened.findAll().size() == 298
+                    && mappedReopened.read("Mapped 7").equals(grown)
+                    && mappedReopened.findByOrganizer("Mapper 9").size() == 1
+                    && mappedReopened.getFreeBytes() > 0;
+            mappedReopened.create(new Event("Mapped uncommitted", LocalDate.of(2024, 3, 3), null, null));
+            mappedReopened.close();
+            // Имитируем сбой до фиксации: откатываем номер зафиксированного изменения в заголовке
+            try (RandomAccessFile raw = new RandomAccessFile(mappedFile, "rw")) {
+                raw.seek(8);
+                long committed = raw.readLong();
+                raw.seek(8);
+                raw.writeLong(committed - 1);
+            }
+            MappedEventDaoImpl afterCrash = new MappedEventDaoImpl(mappedFile, 4096);
+            mappedOk = mappedOk && afterCrash.findAll().size() == 298
+                    && afterCrash.findOnDate(LocalDate.of(2024, 3, 3)).size() == 29
+                    && afterCrash.read("Mapped 250").equals(mappedEvents.get(250))
+                    && afterCrash.findByTitle("Mapped 250").isPresent()
+                    && afterCrash.findByTitle("Mapped 999").isEmpty();
+            afterCrash.close();
+            new File(mappedFile).delete();
+            System.out.println("MappedStore: " + (mappedOk ? "OK" : "FAIL"));
+
+            // Тест: внешние изменения файла (перечитывание только изменившихся событий)
+            new File(TEST_FILE).delete();
+            JsonEventDaoImpl watchedDao = new JsonEventDaoImpl(TEST_FILE, JsonEventDaoImpl.Mode.CACHED);
+            Event kept = new Event("Kept", LocalDate.of(2024, 5, 1), new Organizer("Ops"), new Schedule());
+            watchedDao.createAll(List.of(kept,
+                    new Event("Edited", LocalDate.of(2024, 5, 2), new Organizer("Ops"), new Schedule()),
+                    new Event("Removed", LocalDate.of(2024, 5, 3), new Organizer("Ops"), new Schedule())));
+            boolean reloadOk = watchedDao.reloadIfChanged() == 0;
+            Event edited = new Event("Edited", LocalDate.of(2024, 5, 20), new Organizer("Sidecar"), new Schedule());
+            Map<String, Event> external = new HashMap<>();
+            external.put("Kept", kept);
+            external.put("Edited", edited);
+            external.put("Added", new Event("Added", LocalDate.of(2024, 5, 4), new Organizer("Sidecar"), new Schedule()));
+            JsonStorageHandler sidecar = new JsonStorageHandler(TEST_FILE);
+            sidecar.write(external);
+            Event keptState = watchedDao.read("Kept");
+            reloadOk = reloadOk && watchedDao.reloadIfChanged() == 3
+                    && watchedDao.read("Kept").equals(keptState)
+                    && watchedDao.read("Edited").equals(edited)
+                    && watchedDao.findByOrganizer("Sidecar").size() == 2
+                    && watchedDao.findOnDate(LocalDate.of(2024, 5, 3)).isEmpty()
+                    && watchedDao.findAll().size() == 3
+                    && watchedDao.reloadIfChanged() == 0;
+            // собственные записи DAO не считаются внешними изменениями
+            watchedDao.delete("Added");
+            reloadOk = reloadOk && watchedDao.reloadIfChanged() == 0;
+            StorageFileWatcher watcher = new StorageFileWatcher(watchedDao, 20);
+            external.remove("Added");
+            external.put("Watched", new Event("Watched", LocalDate.of(2024, 5, 5), new Organizer("Sidecar"), new Schedule()));
+            sidecar.write(external);
+            for (int i = 0; i < 200 && watcher.getReloadCount() == 0; i++) {
+                Thread.sleep(10);
+            }
+            reloadOk = reloadOk && watcher.getReloadCount() == 1 && watcher.getChangedEventCount() == 1
+                    && watchedDao.read("Watched").getOrganizer().getName().equals("Sidecar");
+            watcher.close();
+            sidecar.close();
+            System.out.println("ExternalReload: " + (reloadOk ? "OK" : "FAIL"));
+
+            // Тест: межпроцессная блокировка файла (два DAO на одном файле пишут параллельно)
+            new File(TEST_FILE).delete();
+            JsonEventDaoImpl firstShared = new JsonEventDaoImpl(TEST_FILE, JsonEventDaoImpl.Mode.MULTI_PROCESS);
+            JsonEventDaoImpl secondShared = new JsonEventDaoImpl(TEST_FILE, JsonEventDaoImpl.Mode.MULTI_PROCESS);
+            List<Thread> sharedWriters = new ArrayList<>();
+            AtomicInteger sharedErrors = new AtomicInteger();
+            for (int t = 0; t < 4; t++) {
+                JsonEventDaoImpl writerDao = t % 2 == 0 ? firstShared : secondShared;
+                int writer = t;
+                Thread thread = new Thread(() -> {
+                    try {
+                        for (int i = 0; i < 25; i++) {
+                            writerDao.create(new Event("Shared " + writer + "-" + i, LocalDate.of(2024, 5, 1),
+                                    new Organizer("Shared"), new Schedule()));
+                        }
+                    } catch (DaoException e) {
+                        sharedErrors.incrementAndGet();
+                    }
+                });
+                sharedWriters.add(thread);
+                thread.start();
+            }
+            for (Thread thread : sharedWriters) {
+                thread.join();
+            }
+            boolean sharedOk = sharedErrors.get() == 0
+                    && secondShared.findAll().size() == 100
+                    && new JsonEventDaoImpl(TEST_FILE).findAll().size() == 100
+                    && firstShared.getProcessLock() == secondShared.getProcessLock()
+                    && firstShared.getProcessLock().getExclusiveAcquisitions() >= 100
+                    && firstShared.getProcessLock().getSharedAcquisitions() > 0
+                    && new JsonEventDaoImpl(TEST_FILE).getProcessLock() == null;
+            new File(TEST_FILE + ".lock").delete();
+            System.out.println("MultiProcessLock: " + (sharedOk ? "OK" : "FAIL"));
+
+            // Тест: асинхронный DAO (объединение очереди записей в пакеты)
+            new File(TEST_FILE).delete();
+            AtomicInteger createAllCalls = new AtomicInteger();
+            JsonEventDaoImpl slowDao = new JsonEventDaoImpl(TEST_FILE) {
+                @Override
+                public void create(Event e) throws DaoException {
+                    // первая запись задерживается, пока остальные ждут в очереди
+                    if (createAllCalls.get() == 0) {
+                        try {
+                            Thread.sleep(200);
+                        } catch (InterruptedException ie) {
+                            Thread.currentThread().interrupt();
+                        }
+                    }
+                    super.create(e);
+                }
+
+                @Override
+                public void createAll(List<Event> events) throws DaoException {
+                    createAllCalls.incrementAndGet();
+                    super.createAll(events);
+                }
+            };
+            AsyncEventCalendarDaoImpl asyncDao = new AsyncEventCalendarDaoImpl(slowDao, 2, 64);
+            List<CompletableFuture<Void>> asyncWrites = new ArrayList<>();
+            for (int i = 0; i < 100; i++) {
+                asyncWrites.add(asyncDao.create(new Event("Async " + i, LocalDate.of(2024, 4, 1).plusDays(i % 10),
+                        new Organizer("Async"), new Schedule())));
+            }
+            CompletableFuture<Void> duplicate = asyncDao.create(new Event("Async 5", LocalDate.of(2024, 4, 1),
+                    new Organizer("Async"), new Schedule()));
+            CompletableFuture.allOf(asyncWrites.toArray(new CompletableFuture<?>[0])).join();
+            boolean asyncOk = createAllCalls.get() > 0 && createAllCalls.get() < 10;
+            try {
+                duplicate.get();
+                asyncOk = false;
+            } catch (ExecutionException e) {
+                asyncOk = asyncOk && e.getCause() instanceof DaoException;
+            }
+            asyncOk = asyncOk && asyncDao.findAll().get().size() == 100
+                    && asyncDao.read("Async 42").get().getTitle().equals("Async 42")
+                    && asyncDao.findOnDate(LocalDate.of(2024, 4, 3)).get().size() == 10
+                    && asyncDao.findByOrganizer("Async").get().size() == 100;
+            asyncDao.deleteAll(List.of("Async 0", "Async 1")).get();
+            asyncDao.delete("Async 2").get();
+            asyncOk = asyncOk && new JsonEventDaoImpl(TEST_FILE).findAll().size() == 97;
+            asyncDao.close();
+            asyncOk = asyncOk && asyncDao.read("Async 42").isCompletedExceptionally();
+            System.out.println("AsyncDao: " + (asyncOk ? "OK" : "FAIL"));
+
+            // Тест: встроенная база данных через JDBC (только при наличии драйвера)
+            String jdbcUrl = System.getProperty("events.jdbc.test.url", "jdbc:h2:file:./test_events_db");
+            boolean jdbcDriver;
+            try {
+                DriverManager.getDriver(jdbcUrl);
+                jdbcDriver = true;
+            } catch (SQLException e) {
+                jdbcDriver = false;
+            }
+            if (jdbcDriver) {
+                deleteDatabaseFiles();
+                JdbcEventDaoImpl jdbcDao = new JdbcEventDaoImpl(jdbcUrl);
+                boolean jdbcOk = checkBatch(jdbcDao);
+                Schedule jdbcSchedule = new Schedule();
+                jdbcSchedule.addActivity("09:30 Opening");
+                jdbcSchedule.getActivitiesByTime().put(LocalTime.of(12, 0, 0, 5), "Lunch");
+                Event jdbcEvent = new Event("Jdbc Event", LocalDate.of(2024, 9, 5), new Organizer("Batch"), jdbcSchedule);
+                Event bare = new Event("Jdbc Bare", null, null, null);
+                jdbcDao.create(jdbcEvent);
+                jdbcDao.create(bare);
+                jdbcOk = jdbcOk && jdbcDao.read("Jdbc Event").equals(jdbcEvent) && jdbcDao.read("Jdbc Bare").equals(bare);
+                jdbcDao.deleteAll(List.of("Batch 2", "Batch 3", "Jdbc Bare"));
+                jdbcDao.close();
+                JdbcEventDaoImpl reopenedJdbc = new JdbcEventDaoImpl(jdbcUrl);
+                jdbcOk = jdbcOk && reopenedJdbc.findAll().equals(List.of(jdbcEvent))
+                        && reopenedJdbc.findByOrganizer("Batch").size() == 1;
+                reopenedJdbc.delete("Jdbc Event");
+                jdbcOk = jdbcOk && checkPages(reopenedJdbc);
+                reopenedJdbc.close();
+                deleteDatabaseFiles();
+                System.out.println("JdbcDao: " + (jdbcOk ? "OK" : "FAIL"));
+            } else {
+                System.out.println("JdbcDao: SKIPPED (no JDBC driver for " + jdbcUrl + ")");
+            }
+
+            // Тест: журнал изменений (восстановление и компактизация)
+            String logFile = "test_events.log";
+            deleteLogFiles(logFile);
+            int flushersBefore = countThreads("storage-flusher");
+            LogEventDaoImpl logDao = new LogEventDaoImpl(logFile, 2, 60_000);
+            logDao.create(event);
+            logDao.create(new Event("Second Event", LocalDate.of(2024, 6, 3), new Organizer("Tester"), new Schedule()));
+            logDao.update(updated);
+            logDao.delete("Second Event");
+            logDao.close();
+            LogEventDaoImpl replayed = new LogEventDaoImpl(logFile, 2, 60_000);
+            boolean replayOk = replayed.findAll().size() == 1 && replayed.read("Test Event").equals(updated)
+                    && replayed.findOnDate(LocalDate.of(2024, 6, 2)).size() == 1
+                    && replayed.findOnDate(LocalDate.of(2024, 6, 3)).isEmpty()
+                    && replayed.findByOrganizer("Tester2").size() == 1
+                    && replayed.findByOrganizer("Tester").isEmpty();
+            replayed.compact();
+            boolean compactOk = replayed.getLogRecordCount() == 0;
+            replayed.close();
+            LogEventDaoImpl fromSnapshot = new LogEventDaoImpl(logFile, 2, 60_000);
+            compactOk = compactOk && fromSnapshot.read("Test Event").equals(updated);
+            fromSnapshot.close();
+            // закрытие журнала останавливает и поток записи снимка
+            for (int i = 0; i < 100 && countThreads("storage-flusher") > flushersBefore; i++) {
+                Thread.sleep(10);
+            }
+            boolean logCloseOk = countThreads("storage-flusher") == flushersBefore;
+            System.out.println("LogReplay: " + (replayOk ? "OK" : "FAIL"));
+            System.out.println("LogCompaction: " + (compactOk ? "OK" : "FAIL"));
+            System.out.println("LogClose: " + (logCloseOk ? "OK" : "FAIL"));
+            deleteLogFiles(logFile);
+
+            // Тест: нечитаемая строка журнала пропускается только в конце файла
+            String corruptLog = "test_events_corrupt.log";
+            deleteLogFiles(corruptLog);
+            EventLogHandler corruptHandler = new EventLogHandler(corruptLog);
+            for (int i = 0; i < 3; i++) {
+                corruptHandler.append(new EventLogHandler.LogRecord(EventLogHandler.Operation.DELETE, "Title " + i, null));
+            }
+            corruptHandler.close();
+            List<String> logLines = Files.readAllLines(Path.of(corruptLog));
+            Path variant = Path.of(corruptLog + ".variant");
+            Files.writeString(variant, logLines.get(0) + "\n" + logLines.get(1) + "\n" + logLines.get(2).substring(0, 10));
+            boolean corruptionOk = corruptHandler.replay(variant.toFile(), record -> { }) == 2;
+            // оборванная запись, слившаяся со следующей, в середине файла
+            Files.writeString(variant, logLines.get(0) + "\n" + logLines.get(1).substring(0, 10) + logLines.get(2) + "\n"
+                    + logLines.get(2) + "\n");
+            try {
+                corruptHandler.replay(variant.toFile(), record -> { });
+                corruptionOk = false;
+            } catch (IOException e) {
+                // ожидаемо: журнал повреждён
+            }
+            Files.delete(variant);
+            deleteLogFiles(corruptLog);
+            System.out.println("LogCorruption: " + (corruptionOk ? "OK" : "FAIL"));
+
+            // Тест: DAO без собственных метрик замеряются обёрткой
+            MetricsRegistry metrics = MetricsRegistry.getInstance();
+            metrics.setSampleInterval(1);
+            LatencyHistogram daoReads = metrics.histogram("events_dao_duration_seconds", "operation", "read");
+            LatencyHistogram daoWrites = metrics.histogram("events_dao_duration_seconds", "operation", "write");
+            Counter daoMisses = metrics.counter("events_dao_misses_total");
+            Counter daoReadErrors = metrics.counter("events_dao_errors_total", "operation", "read");
+            long readsBefore = daoReads.getCount();
+            long writesBefore = daoWrites.getCount();
+            long missesBefore = daoMisses.getCount();
+            long readErrorsBefore = daoReadErrors.getCount();
+            LogEventDaoImpl timedLog = new LogEventDaoImpl(logFile, 1_000, 60_000);
+            EventCalendarDao timed = new TimedEventCalendarDao(timedLog);
+            timed.create(event);
+            boolean timedOk = timed.findByTitle("Test Event").isPresent()
+                    && timed.findByTitle("Missing").isEmpty()
+                    && timed.findByOrganizer("Tester").size() == 1;
+            try {
+                timed.read("Missing");
+                timedOk = false;
+            } catch (DaoException e) {
+                // ожидаемо: события нет
+            }
+            timedOk = timedOk && daoWrites.getCount() == writesBefore + 1
+                    && daoReads.getCount() == readsBefore + 4
+                    && daoMisses.getCount() == missesBefore + 1
+                    && daoReadErrors.getCount() == readErrorsBefore + 1;
+            metrics.setSampleInterval(MetricsRegistry.DEFAULT_SAMPLE_INTERVAL);
+            timedLog.close();
+            deleteLogFiles(logFile);
+            System.out.println("TimedDao: " + (timedOk ? "OK" : "FAIL"));
+
             // Очистка
             new File(TEST_FILE).delete();
         } catch (Exception e) {
@@ -69,4 +716,217 @@ public class DaoTests {
             System.out.println("Test failed: " + e.getMessage());
         }
     }
+
+    private static boolean checkRollbackIsolation() throws Exception {
+        FlakyStorageHandler handler = new FlakyStorageHandler(TEST_FILE);
+        JsonEventDaoImpl dao = new JsonEventDaoImpl(handler, JsonEventDaoImpl.Mode.CACHED) {
+        };
+        List<Event> base = new ArrayList<>();
+        List<Event> moved = new ArrayList<>();
+        for (int i = 0; i < 2_000; i++) {
+            base.add(new Event("Pair " + i, LocalDate.of(2024, 9, 1), new Organizer("Base"), new Schedule()));
+            moved.add(new Event("Pair " + i, LocalDate.of(2024, 9, 2), new Organizer("Moved"), new Schedule()));
+        }
+        dao.createAll(base);
+        handler.failWrites = true;
+        AtomicInteger torn = new AtomicInteger();
+        AtomicInteger running = new AtomicInteger(1);
+        Thread reader = new Thread(() -> {
+            try {
+                while (running.get() == 1) {
+                    int size = dao.findByOrganizer("Moved").size();
+                    if (size != 0 && size != moved.size()) torn.incrementAndGet();
+                }
+            } catch (DaoException e) {
+                torn.incrementAndGet();
+            }
+        });
+        reader.start();
+        int rejected = 0;
+        for (int i = 0; i < 20; i++) {
+            try {
+                dao.updateAll(moved);
+            } catch (DaoException e) {
+                rejected++;
+            }
+        }
+        running.set(0);
+        reader.join();
+        handler.close();
+        return rejected == 20 && torn.get() == 0 && dao.findByOrganizer("Base").size() == base.size();
+    }
+
+    private static boolean checkFlushDuringBatch() throws Exception {
+        FlakyStorageHandler handler = new FlakyStorageHandler(TEST_FILE);
+        handler.batchSize = 1_000;
+        JsonEventDaoImpl dao = new JsonEventDaoImpl(handler, JsonEventDaoImpl.Mode.CACHED) {
+        };
+        // одиночные записи не дают потоку записи простаивать, пока применяются пакеты
+        AtomicInteger running = new AtomicInteger(1);
+        Thread single = new Thread(() -> {
+            try {
+                for (int i = 0; running.get() == 1; i++) {
+                    dao.create(new Event("Single " + i, LocalDate.of(2024, 10, 1), new Organizer("Single"), new Schedule()));
+                }
+            } catch (DaoException e) {
+                e.printStackTrace();
+            }
+        });
+        single.start();
+        for (int b = 0; b < 10; b++) {
+            List<Event> batch = new ArrayList<>();
+            for (int i = 0; i < handler.batchSize; i++) {
+                batch.add(new Event("Batch " + b + " " + i, LocalDate.of(2024, 10, 2), new Organizer("Batch"), new Schedule()));
+            }
+            dao.createAll(batch);
+        }
+        running.set(0);
+        single.join();
+        handler.close();
+        return handler.tornWrites.get() == 0 && handler.getFlushCount() > 10;
+    }
+
+    private static boolean checkBatchIsolation() throws Exception {
+        JsonEventDaoImpl dao = new JsonEventDaoImpl(TEST_FILE, JsonEventDaoImpl.Mode.CACHED);
+        AtomicBoolean otherDone = new AtomicBoolean();
+        dao.beginBatch();
+        dao.create(new Event("Batch", LocalDate.of(2024, 7, 1), new Organizer("Batch"), new Schedule()));
+        Thread other = new Thread(() -> {
+            try {
+                dao.create(new Event("Other", LocalDate.of(2024, 7, 2), new Organizer("Other"), new Schedule()));
+                otherDone.set(true);
+            } catch (DaoException e) {
+                e.printStackTrace();
+            }
+        });
+        other.start();
+        // запись другого потока подтверждается, пока пакет ещё открыт
+        other.join(2_000);
+        boolean notDelayed = otherDone.get();
+        dao.endBatch();
+        other.join();
+        JsonEventDaoImpl reloaded = new JsonEventDaoImpl(TEST_FILE);
+        return notDelayed && reloaded.read("Batch") != null && reloaded.read("Other") != null;
+    }
+
+    private static boolean checkCopies(EventCalendarDao dao) throws DaoException {
+        Schedule schedule = new Schedule();
+        schedule.addActivity("10:00 Opening");
+        Event event = new Event("Copied", LocalDate.of(2024, 6, 1), new Organizer("Tester"), schedule);
+        dao.create(event);
+        schedule.addActivity("11:00 Added");
+        dao.read("Copied").getSchedule().addActivity("12:00 Read");
+        dao.findAll().get(0).getSchedule().addActivity("13:00 Listed");
+        dao.findByOrganizer("Tester").get(0).getSchedule().addActivity("14:00 Found");
+        return dao.read("Copied").getSchedule().getActivitiesByTime().size() == 1;
+    }
+
+    private static boolean checkBatch(EventCalendarDao dao) throws DaoException {
+        List<Event> batch = List.of(
+                new Event("Batch 1", LocalDate.of(2024, 9, 1), new Organizer("Batch"), new Schedule()),
+                new Event("Batch 2", LocalDate.of(2024, 9, 2), new Organizer("Batch"), new Schedule()),
+                new Event("Batch 3", LocalDate.of(2024, 9, 3), new Organizer("Batch"), new Schedule()));
+        dao.createAll(batch);
+        boolean ok = dao.findByOrganizer("Batch").equals(batch);
+
+        // Пакет с уже существующим событием не должен применяться частично
+        try {
+            dao.createAll(List.of(
+                    new Event("Batch 4", LocalDate.of(2024, 9, 4), new Organizer("Batch"), new Schedule()),
+                    batch.get(0)));
+            ok = false;
+        } catch (DaoException e) {
+            ok = ok && dao.findAll().size() == 3;
+        }
+        try {
+            dao.deleteAll(List.of("Batch 1", "Batch 1"));
+            ok = false;
+        } catch (DaoException e) {
+            ok = ok && dao.findAll().size() == 3;
+        }
+
+        Event moved = new Event("Batch 2", LocalDate.of(2024, 10, 2), new Organizer("Batch2"), new Schedule());
+        dao.updateAll(List.of(moved, new Event("Batch 3", LocalDate.of(2024, 10, 3), new Organizer("Batch"), new Schedule())));
+        dao.deleteAll(List.of("Batch 1"));
+        return ok && dao.findAll().size() == 2
+                && dao.read("Batch 2").equals(moved)
+                && dao.findByTitle("Batch 2").equals(Optional.of(moved))
+                && dao.findByTitle("Batch 1").isEmpty()
+                && dao.findOnDate(LocalDate.of(2024, 9, 2)).isEmpty()
+                && dao.findByDateRange(LocalDate.of(2024, 10, 1), LocalDate.of(2024, 10, 31)).size() == 2;
+    }
+
+    private static boolean checkPages(EventCalendarDao dao) throws DaoException {
+        for (String title : List.of("Page C", "Page A", "Page E", "Page B", "Page D")) {
+            dao.create(new Event(title, LocalDate.of(2024, 11, 1), new Organizer("Pager"), new Schedule()));
+        }
+        List<String> walked = new ArrayList<>();
+        EventPage page = dao.findPage(null, 2);
+        page.getEvents().forEach(e -> walked.add(e.getTitle()));
+
+        // Изменения между страницами не должны приводить к повторам или пропускам
+        dao.delete("Page A");
+        dao.create(new Event("Page 0", LocalDate.of(2024, 11, 1), new Organizer("Pager"), new Schedule()));
+        dao.create(new Event("Page F", LocalDate.of(2024, 11, 1), new Organizer("Pager"), new Schedule()));
+        while (page.getNextCursor() != null) {
+            page = dao.findPage(page.getNextCursor(), 2);
+            page.getEvents().forEach(e -> walked.add(e.getTitle()));
+        }
+        boolean ok = walked.equals(List.of("Page A", "Page B", "Page C", "Page D", "Page E", "Page F"))
+                && dao.findPage(null, 100).getEvents().size() == 6
+                && dao.findPage(null, 100).getNextCursor() == null;
+        try {
+            dao.findPage("not base64!", 2);
+            ok = false;
+        } catch (DaoException e) {
+            // некорректный курсор отклоняется
+        }
+        return ok;
+    }
+
+    private static void deleteDatabaseFiles() {
+        new File("test_events_db.mv.db").delete();
+        new File("test_events_db.trace.db").delete();
+    }
+
+    private static int countThreads(String name) {
+        int count = 0;
+        for (Thread thread : Thread.getAllStackTraces().keySet()) {
+            if (thread.getName().equals(name) && thread.isAlive()) count++;
+        }
+        return count;
+    }
+
+    // обработчик, запись которого можно заставить завершаться ошибкой;
+    // считает записанные состояния, в которые пакет "Batch N ..." попал не целиком
+    private static final class FlakyStorageHandler extends JsonStorageHandler {
+        volatile boolean failWrites;
+        volatile int batchSize;
+        final AtomicInteger tornWrites = new AtomicInteger();
+
+        FlakyStorageHandler(String filePath) throws IOException {
+            super(filePath, 0);
+        }
+
+        @Override
+        protected void writeData(Map<String, Event> data, OutputStream out) throws IOException {
+            if (failWrites) throw new IOException("Simulated write failure");
+            if (batchSize > 0) {
+                Map<String, Integer> perBatch = new HashMap<>();
+                for (String title : data.keySet()) {
+                    if (title.startsWith("Batch ")) perBatch.merge(title.substring(0, title.lastIndexOf(' ')), 1, Integer::sum);
+                }
+                for (int count : perBatch.values()) {
+                    if (count != batchSize) tornWrites.incrementAndGet();
+                }
+            }
+            super.writeData(data, out);
+        }
+    }
+
+    private static void deleteLogFiles(String logFile) {
+        new File(logFile).delete();
+        new File(logFile + ".snapshot").delete();
+        new File(logFile + ".compacting").delete();
+    }
 }
\ No newline at end of file
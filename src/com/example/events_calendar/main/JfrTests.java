@@ -0,0 +1,117 @@
+package com.example.events_calendar.main;
+
+import com.example.events_calendar.controller.EventCalendarController;
+import com.example.events_calendar.dao.DaoProvider;
+import com.example.events_calendar.jfr.CommandDispatchEvent;
+import com.example.events_calendar.jfr.CommandExecutionEvent;
+import com.example.events_calendar.jfr.DaoOperationEvent;
+import com.example.events_calendar.jfr.StorageParseEvent;
+import com.example.events_calendar.jfr.StorageWriteEvent;
+import com.example.events_calendar.model.Event;
+import com.example.events_calendar.model.Organizer;
+import com.example.events_calendar.model.Schedule;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.List;
+
+public class JfrTests {
+    private static final String TEST_FILE = "test_events_jfr.json";
+
+    public static void main(String[] args) {
+        Path dump = null;
+        try {
+            new File(TEST_FILE).delete();
+            System.setProperty(DaoProvider.FILE_PROPERTY, TEST_FILE);
+            System.setProperty(DaoProvider.WATCH_INTERVAL_PROPERTY, "0");
+
+            // Тест: без записи события не создаются
+            System.out.println("NoRecording: " + (DaoOperationEvent.beginIfEnabled() == null ? "OK" : "FAIL"));
+
+            ObjectMapper mapper = new ObjectMapper();
+            mapper.registerModule(new JavaTimeModule());
+            Schedule schedule = new Schedule();
+            schedule.addActivity("10:00 Start");
+            String eventJson = mapper.writeValueAsString(
+                    new Event("JfrTest", LocalDate.of(2024, 9, 1), new Organizer("JfrUser"), schedule));
+
+            List<RecordedEvent> events;
+            try (Recording recording = new Recording()) {
+                // по умолчанию выбор команды выключен, а выполнение и DAO записываются от 1 мс
+                recording.enable(CommandDispatchEvent.class);
+                recording.enable(CommandExecutionEvent.class).withoutThreshold();
+                recording.enable(DaoOperationEvent.class).withoutThreshold();
+                recording.enable(StorageParseEvent.class);
+                recording.enable(StorageWriteEvent.class);
+                recording.start();
+
+                // контроллер создаётся во время записи, чтобы попал разбор файла при загрузке
+                EventCalendarController controller = new EventCalendarController();
+                controller.doAction("ADD_EVENT " + eventJson);
+                controller.doAction("GET_EVENT Unknown");
+                controller.doAction("LIST_EVENT_BY_ORGANIZER JfrUser");
+                controller.doAction("NO_SUCH_COMMAND");
+
+                recording.stop();
+                dump = Files.createTempFile("events_jfr", ".jfr");
+                recording.dump(dump);
+            }
+            events = RecordingFile.readAllEvents(dump);
+
+            // Тест: выбор команды и её выполнение с исходом
+            boolean commandsOk = has(events, "CommandDispatch", "command", "WRONG_REQUEST", "requestedName", "NO_SUCH_COMMAND")
+                    && has(events, "CommandExecution", "command", "GET_EVENT", "arguments", "Unknown", "outcome", "NOT_FOUND")
+                    && has(events, "CommandExecution", "command", "ADD_EVENT", "outcome", "OK");
+            System.out.println("CommandEvents: " + (commandsOk ? "OK" : "FAIL"));
+
+            // Тест: операции DAO с названием, числом событий и ожиданием блокировок
+            boolean daoOk = false;
+            for (RecordedEvent event : find(events, "DaoOperation", "operation", "create", "title", "JfrTest")) {
+                daoOk = event.getBoolean("succeeded") && event.getInt("eventCount") == 1
+                        && event.getDuration("lockWait").toNanos() >= 0;
+            }
+            for (RecordedEvent event : find(events, "DaoOperation", "operation", "findByOrganizer")) {
+                daoOk &= event.getInt("eventCount") == 1;
+            }
+            daoOk &= has(events, "DaoOperation", "operation", "findByTitle", "title", "Unknown");
+            System.out.println("DaoEvents: " + (daoOk ? "OK" : "FAIL"));
+
+            // Тест: разбор файла при загрузке и запись с числом байт, равным размеру файла
+            List<RecordedEvent> writes = find(events, "StorageWrite");
+            boolean storageOk = !find(events, "StorageParse", "path", TEST_FILE).isEmpty()
+                    && !writes.isEmpty()
+                    && writes.get(writes.size() - 1).getLong("bytesWritten") == new File(TEST_FILE).length()
+                    && writes.get(writes.size() - 1).getInt("eventCount") == 1;
+            System.out.println("StorageEvents: " + (storageOk ? "OK" : "FAIL"));
+        } catch (Exception e) {
+            e.printStackTrace();
+            System.out.println("Test failed: " + e.getMessage());
+        } finally {
+            new File(TEST_FILE).delete();
+            if (dump != null) dump.toFile().delete();
+        }
+    }
+
+    private static boolean has(List<RecordedEvent> events, String name, String... fields) {
+        return !find(events, name, fields).isEmpty();
+    }
+
+    private static List<RecordedEvent> find(List<RecordedEvent> events, String name, String... fields) {
+        return events.stream()
+                .filter(event -> event.getEventType().getName().equals("com.example.events_calendar." + name))
+                .filter(event -> {
+                    for (int i = 0; i < fields.length; i += 2) {
+                        if (!fields[i + 1].equals(event.getString(fields[i]))) return false;
+                    }
+                    return true;
+                })
+                .toList();
+    }
+}
@@ -0,0 +1,126 @@
+package com.example.events_calendar.main;
+
+import com.example.events_calendar.controller.Command;
+import com.example.events_calendar.controller.impl.CommandProvider;
+import com.example.events_calendar.dao.DaoProvider;
+import com.example.events_calendar.dao.impl.JsonStorageHandler;
+import com.example.events_calendar.model.Event;
+import com.example.events_calendar.model.Organizer;
+import com.example.events_calendar.model.Schedule;
+
+import java.io.File;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Compares {@code LIST_EVENT} returned as one JSON array {@code String} with
+ * {@code LIST_EVENT ndjson} streamed to an {@link OutputStream}: time until the first byte
+ * reaches the stream, total time, and how far the heap grows above its level before the call.
+ * <p>
+ * Usage: {@code ListStreamingBenchmark [events]}.
+ */
+public class ListStreamingBenchmark {
+    private static final String TEST_FILE = "bench_events_list.json";
+
+    public static void main(String[] args) throws Exception {
+        int eventCount = args.length > 0 ? Integer.parseInt(args[0]) : 200_000;
+
+        new File(TEST_FILE).delete();
+        Map<String, Event> seed = new HashMap<>();
+        for (int i = 0; i < eventCount; i++) {
+            Schedule schedule = new Schedule();
+            schedule.addActivity("10:00 Opening " + i);
+            seed.put("Event " + i, new Event("Event " + i, LocalDate.of(2024, 1, 1).plusDays(i % 365),
+                    new Organizer("Organizer " + (i % 50)), schedule));
+        }
+        new JsonStorageHandler(TEST_FILE).write(seed);
+        seed = null;
+        System.setProperty(DaoProvider.FILE_PROPERTY, TEST_FILE);
+        System.setProperty(DaoProvider.WATCH_INTERVAL_PROPERTY, "0");
+
+        Command list = new CommandProvider().getCommand("LIST_EVENT");
+        System.out.printf("Events: %d%n", eventCount);
+        System.out.printf("%-8s %14s %10s %12s %16s%n", "output", "first byte ms", "total ms", "MB written", "heap growth MB");
+        for (int round = 0; round < 3; round++) {
+            // первые проходы прогревают JIT, выводится последний
+            boolean print = round == 2;
+
+            CountingStream sink = new CountingStream();
+            long baseline = settledHeap();
+            long start = System.nanoTime();
+            sink.write(list.execute("LIST_EVENT").getBytes(StandardCharsets.UTF_8));
+            long end = System.nanoTime();
+            if (print) report("array", sink, start, end, peakHeap() - baseline);
+
+            sink = new CountingStream();
+            baseline = settledHeap();
+            start = System.nanoTime();
+            list.execute("LIST_EVENT ndjson", "LIST_EVENT ".length(), sink);
+            end = System.nanoTime();
+            if (print) report("ndjson", sink, start, end, peakHeap() - baseline);
+        }
+
+        new File(TEST_FILE).delete();
+    }
+
+    private static void report(String output, CountingStream sink, long start, long end, long heapGrowth) {
+        System.out.printf("%-8s %14.1f %10.1f %12.1f %16.1f%n", output, (sink.firstWrite - start) / 1e6,
+                (end - start) / 1e6, sink.count / 1e6, heapGrowth / 1e6);
+    }
+
+    /**
+     * Collects garbage, then restarts peak tracking of the heap pools.
+     *
+     * @return the heap in use afterwards, in bytes
+     */
+    private static long settledHeap() {
+        System.gc();
+        long used = 0;
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP) {
+                pool.resetPeakUsage();
+                used += pool.getUsage().getUsed();
+            }
+        }
+        return used;
+    }
+
+    /**
+     * Returns the sum of the peak usage of the heap pools since {@link #settledHeap()}.
+     * The pools peak at different moments, so this overstates the true peak somewhat.
+     */
+    private static long peakHeap() {
+        long peak = 0;
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP) {
+                peak += pool.getPeakUsage().getUsed();
+            }
+        }
+        return peak;
+    }
+
+    /**
+     * Stream discarding its input, counting the bytes and noting when the first one arrived.
+     */
+    private static final class CountingStream extends OutputStream {
+        private long count;
+        private long firstWrite;
+
+        @Override
+        public void write(int b) {
+            write(new byte[]{(byte) b}, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            if (count == 0 && len > 0) firstWrite = System.nanoTime();
+            count += len;
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package com.example.events_calendar.main;
+
+import com.example.events_calendar.controller.EventCalendarController;
+import com.example.events_calendar.dao.DaoProvider;
+import com.example.events_calendar.dao.impl.JsonStorageHandler;
+import com.example.events_calendar.metrics.MetricsRegistry;
+import com.example.events_calendar.model.Event;
+import com.example.events_calendar.model.Organizer;
+import com.example.events_calendar.model.Schedule;
+import com.example.events_calendar.server.EventCalendarServer;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Measures the cost of the metrics on a read workload: 60% GET_EVENT of existing events,
+ * 20% GET_EVENT of unknown titles, 10% LIST_EVENT_BY_ORGANIZER and 10% pages of LIST_EVENT.
+ * Rounds with recording switched on and off alternate, both for requests passed to the
+ * controller in process and for requests sent over one TCP connection, pipelined
+ * {@value #PIPELINE_DEPTH} at a time. The overhead reported is the median of the relative
+ * differences between the two rounds of each pair, which drift in the machine's speed
+ * affects far less than comparing the median rounds of each mode.
+ * <p>
+ * Writes are left out: they wait for the file to be forced to disk, which dwarfs the metrics.
+ * <p>
+ * Usage: {@code MetricsOverheadBenchmark [requests] [rounds]}.
+ */
+public class MetricsOverheadBenchmark {
+    private static final String TEST_FILE = "bench_events_metrics.json";
+    private static final int EVENT_COUNT = 1_000;
+    private static final int PIPELINE_DEPTH = 100;
+
+    public static void main(String[] args) throws Exception {
+        int requestCount = args.length > 0 ? Integer.parseInt(args[0]) : 10_000;
+        int rounds = args.length > 1 ? Integer.parseInt(args[1]) : 201;
+
+        new File(TEST_FILE).delete();
+        Map<String, Event> seed = new HashMap<>();
+        for (int i = 0; i < EVENT_COUNT; i++) {
+            Schedule schedule = new Schedule();
+            schedule.addActivity("10:00 Opening " + i);
+            seed.put("Event " + i, new Event("Event " + i, LocalDate.of(2024, 1, 1).plusDays(i % 365),
+                    new Organizer("Organizer " + (i % 50)), schedule));
+        }
+        new JsonStorageHandler(TEST_FILE).write(seed);
+        System.setProperty(DaoProvider.FILE_PROPERTY, TEST_FILE);
+        System.setProperty(DaoProvider.WATCH_INTERVAL_PROPERTY, "0");
+
+        String[] requests = new String[1_000];
+        for (int i = 0; i < requests.length; i++) {
+            int kind = i % 10;
+            if (kind < 6) {
+                requests[i] = "GET_EVENT Event " + i;
+            } else if (kind < 8) {
+                requests[i] = "GET_EVENT Unknown " + i;
+            } else if (kind < 9) {
+                requests[i] = "LIST_EVENT_BY_ORGANIZER Organizer " + (i % 50);
+            } else {
+                requests[i] = "LIST_EVENT 20";
+            }
+        }
+
+        MetricsRegistry metrics = MetricsRegistry.getInstance();
+        EventCalendarController controller = new EventCalendarController();
+        EventCalendarServer server = new EventCalendarServer(controller, 0, 4);
+        server.start();
+        try (Socket socket = new Socket("localhost", server.getPort())) {
+            socket.setTcpNoDelay(true);
+            OutputStream out = socket.getOutputStream();
+            BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+            int tcpRequests = requestCount / 10 / PIPELINE_DEPTH * PIPELINE_DEPTH;
+
+            long[][] inProcess = new long[2][rounds];
+            long[][] overTcp = new long[2][rounds];
+            // первый круг прогревает JIT и не учитывается; порядок режимов чередуется
+            for (int round = -1; round < rounds; round++) {
+                for (int step = 0; step < 2; step++) {
+                    int enabled = (round + step) & 1;
+                    metrics.setEnabled(enabled == 1);
+                    long start = System.nanoTime();
+                    for (int i = 0; i < requestCount; i++) {
+                        controller.doAction(requests[i % requests.length]);
+                    }
+                    long controllerNanos = System.nanoTime() - start;
+
+                    start = System.nanoTime();
+                    for (int sent = 0; sent < tcpRequests; sent += PIPELINE_DEPTH) {
+                        StringBuilder batch = new StringBuilder();
+                        for (int i = sent; i < sent + PIPELINE_DEPTH; i++) {
+                            batch.append(requests[i % requests.length]).append('\n');
+                        }
+                        out.write(batch.toString().getBytes(StandardCharsets.UTF_8));
+                        for (int i = 0; i < PIPELINE_DEPTH; i++) {
+                            in.readLine();
+                        }
+                    }
+                    long tcpNanos = System.nanoTime() - start;
+
+                    if (round >= 0) {
+                        inProcess[enabled][round] = controllerNanos / requestCount;
+                        overTcp[enabled][round] = tcpNanos / tcpRequests;
+                    }
+                }
+            }
+            metrics.setEnabled(true);
+
+            System.out.printf("Requests per round: %d in process, %d over TCP; rounds: %d; sample interval: %d%n",
+                    requestCount, tcpRequests, rounds, metrics.getSampleInterval());
+            System.out.printf("%-12s %14s %14s %10s%n", "path", "off ns/req", "on ns/req", "overhead");
+            report("in process", inProcess[0], inProcess[1]);
+            report("TCP", overTcp[0], overTcp[1]);
+        } finally {
+            server.shutdown(2_000);
+            new File(TEST_FILE).delete();
+        }
+    }
+
+    private static long median(long[] values) {
+        long[] sorted = values.clone();
+        Arrays.sort(sorted);
+        return sorted[sorted.length / 2];
+    }
+
+    private static void report(String path, long[] off, long[] on) {
+        double[] overheads = new double[off.length];
+        for (int round = 0; round < off.length; round++) {
+            overheads[round] = 100.0 * (on[round] - off[round]) / off[round];
+        }
+        Arrays.sort(overheads);
+        System.out.printf("%-12s %14d %14d %9.1f%%%n", path, median(off), median(on), overheads[overheads.length / 2]);
+    }
+}
@@ -0,0 +1,93 @@
+package com.example.events_calendar.main;
+
+import com.example.events_calendar.metrics.Counter;
+import com.example.events_calendar.metrics.LatencyHistogram;
+import com.example.events_calendar.metrics.MetricsRegistry;
+
+import java.util.Map;
+
+public class MetricsTests {
+
+    public static void main(String[] args) {
+        try {
+            MetricsRegistry metrics = MetricsRegistry.getInstance();
+            // каждый замер учитывается, без выборки
+            metrics.setSampleInterval(1);
+
+            // Тест: квантили гистограммы с точностью до корзины (степени двойки)
+            LatencyHistogram histogram = metrics.histogram("test_duration_seconds", "case", "quantiles");
+            for (int i = 1; i <= 1000; i++) {
+                histogram.record(i * 1_000L);
+            }
+            long p50 = histogram.getQuantileNanos(0.5);
+            long p99 = histogram.getQuantileNanos(0.99);
+            boolean histogramOk = histogram.getCount() == 1000
+                    && histogram.getSumNanos() == 500_500_000L
+                    && p50 >= 250_000 && p50 <= 1_000_000
+                    && p99 >= 495_000 && p99 <= 1_980_000
+                    && p50 < p99
+                    && metrics.histogram("test_duration_seconds", "case", "quantiles") == histogram;
+            System.out.println("Histogram: " + (histogramOk ? "OK" : "FAIL"));
+
+            // Тест: при выключенных метриках замеры и счётчики не пишутся
+            Counter counter = metrics.counter("test_events_total", "case", "switch");
+            metrics.setEnabled(false);
+            long start = histogram.start();
+            histogram.recordSince(start);
+            counter.increment();
+            metrics.setEnabled(true);
+            counter.increment();
+            histogram.recordSince(histogram.start());
+            boolean switchOk = start == LatencyHistogram.NOT_TIMED && counter.getCount() == 1
+                    && histogram.getCount() == 1001;
+            System.out.println("EnabledSwitch: " + (switchOk ? "OK" : "FAIL"));
+
+            // Тест: текстовый формат Prometheus — накопительные корзины (замер из прошлого теста короче 1 мкс), +Inf равна count
+            metrics.registerCounter("test_supplied_total", () -> 42);
+            String text = metrics.toPrometheusText();
+            boolean prometheusOk = text.contains("# TYPE test_duration_seconds histogram\n")
+                    && text.contains("test_duration_seconds_bucket{case=\"quantiles\",le=\"1.024E-6\"} 2\n")
+                    && text.contains("test_duration_seconds_bucket{case=\"quantiles\",le=\"+Inf\"} 1001\n")
+                    && text.contains("test_duration_seconds_count{case=\"quantiles\"} 1001\n")
+                    && text.contains("test_events_total{case=\"switch\"} 1\n")
+                    && text.contains("test_supplied_total 42\n");
+            System.out.println("PrometheusText: " + (prometheusOk ? "OK" : "FAIL"));
+
+            // Тест: снимок для команды METRICS и конфликт типов
+            Map<String, Object> snapshot = metrics.snapshot();
+            Object quantiles = ((Map<?, ?>) snapshot.get("test_duration_seconds")).get("quantiles");
+            boolean snapshotOk = ((Map<?, ?>) quantiles).get("count").equals(1001L)
+                    && snapshot.get("test_supplied_total").equals(42L);
+            try {
+                metrics.counter("test_duration_seconds", "case", "quantiles");
+                snapshotOk = false;
+            } catch (IllegalArgumentException e) {
+                // ожидаемо: имя уже занято гистограммой
+            }
+            System.out.println("Snapshot: " + (snapshotOk ? "OK" : "FAIL"));
+
+            // Тест: выборочные замеры — записывается часть операций, каждая после первых 64 весит 16
+            metrics.setSampleInterval(16);
+            LatencyHistogram sampled = metrics.histogram("test_duration_seconds", "case", "sampled");
+            for (int i = 0; i < 16_000; i++) {
+                sampled.recordSince(sampled.start());
+            }
+            long[] estimated = sampled.getBucketCounts();
+            long estimatedTotal = 0;
+            for (long bucket : estimated) {
+                estimatedTotal += bucket;
+            }
+            long samples = sampled.getSampleCount();
+            boolean samplingOk = samples > 500 && samples < 2_000
+                    && sampled.getCount() == 64 + (samples - 64) * 16
+                    && sampled.getCount() > 12_000 && sampled.getCount() < 20_000
+                    && estimatedTotal == sampled.getCount()
+                    && sampled.getSumNanos() > 0;
+            metrics.setSampleInterval(MetricsRegistry.DEFAULT_SAMPLE_INTERVAL);
+            System.out.println("Sampling: " + (samplingOk ? "OK" : "FAIL"));
+        } catch (Exception e) {
+            e.printStackTrace();
+            System.out.println("Test failed: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.example.events_calendar.main;
+
+import com.example.events_calendar.controller.EventCalendarController;
+import com.example.events_calendar.controller.EventCalendarException;
+import com.example.events_calendar.dao.DaoProvider;
+import com.example.events_calendar.dao.impl.JsonStorageHandler;
+import com.example.events_calendar.model.Event;
+import com.example.events_calendar.model.Organizer;
+import com.example.events_calendar.model.Schedule;
+import com.example.events_calendar.service.EventCalendarService;
+import com.example.events_calendar.service.ServiceProvider;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+import java.io.File;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Compares GET_EVENT throughput on a workload dominated by unknown titles when a missing event
+ * travels as exceptions through every layer, as GET_EVENT used to handle it, and when it is
+ * reported as an empty result and answered with {@code NOT_FOUND}.
+ * <p>
+ * Usage: {@code MissPathBenchmark [lookups] [missPercent]}.
+ */
+public class MissPathBenchmark {
+    private static final String TEST_FILE = "bench_events_miss.json";
+    private static final int EVENT_COUNT = 1_000;
+
+    public static void main(String[] args) throws Exception {
+        int lookups = args.length > 0 ? Integer.parseInt(args[0]) : 500_000;
+        int missPercent = args.length > 1 ? Integer.parseInt(args[1]) : 90;
+
+        new File(TEST_FILE).delete();
+        Map<String, Event> seed = new HashMap<>();
+        for (int i = 0; i < EVENT_COUNT; i++) {
+            seed.put("Event " + i, new Event("Event " + i, LocalDate.of(2024, 1, 1).plusDays(i % 365),
+                    new Organizer("Organizer " + (i % 50)), new Schedule()));
+        }
+        new JsonStorageHandler(TEST_FILE).write(seed);
+        System.setProperty(DaoProvider.FILE_PROPERTY, TEST_FILE);
+        System.setProperty(DaoProvider.WATCH_INTERVAL_PROPERTY, "0");
+
+        EventCalendarController controller = new EventCalendarController();
+        EventCalendarService service = ServiceProvider.getInstance().getEventService();
+        ObjectMapper mapper = new ObjectMapper();
+        mapper.registerModule(new JavaTimeModule());
+        String[] requests = new String[1_000];
+        for (int i = 0; i < requests.length; i++) {
+            boolean miss = i % 100 < missPercent;
+            requests[i] = "GET_EVENT " + (miss ? "Unknown " + i : "Event " + i);
+        }
+
+        System.out.printf("Lookups: %d, misses: %d%%%n", lookups, missPercent);
+        System.out.printf("%-12s %12s %14s%n", "miss path", "ms", "lookups/s");
+        for (int round = 0; round < 2; round++) {
+            // первый проход прогревает JIT, выводится второй
+            boolean print = round == 1;
+            long start = System.nanoTime();
+            for (int i = 0; i < lookups; i++) {
+                throwingGetEvent(service, mapper, requests[i % requests.length]);
+            }
+            if (print) report("exceptions", start, lookups);
+            start = System.nanoTime();
+            for (int i = 0; i < lookups; i++) {
+                controller.doAction(requests[i % requests.length]);
+            }
+            if (print) report("NOT_FOUND", start, lookups);
+        }
+
+        new File(TEST_FILE).delete();
+    }
+
+    /**
+     * GET_EVENT as it used to be handled: the miss raised by the DAO is wrapped by each layer
+     * and finally turned into {@code ERROR} by the controller.
+     */
+    private static String throwingGetEvent(EventCalendarService service, ObjectMapper mapper, String request) {
+        try {
+            try {
+                String title = request.substring(request.indexOf(' ') + 1).trim();
+                return mapper.writeValueAsString(service.getEvent(title));
+            } catch (Exception e) {
+                throw new EventCalendarException("Error when receiving an event: ", e);
+            }
+        } catch (Exception e) {
+            return "ERROR";
+        }
+    }
+
+    private static void report(String path, long start, int lookups) {
+        double millis = (System.nanoTime() - start) / 1e6;
+        System.out.printf("%-12s %12.0f %14.0f%n", path, millis, lookups / (millis / 1000));
+    }
+}
@@ -0,0 +1,160 @@
+package com.example.events_calendar.main;
+
+import com.example.events_calendar.dao.DaoException;
+import com.example.events_calendar.dao.impl.FileProcessLock;
+import com.example.events_calendar.dao.impl.JsonEventDaoImpl;
+import com.example.events_calendar.model.Event;
+import com.example.events_calendar.model.Organizer;
+import com.example.events_calendar.model.Schedule;
+
+import java.io.File;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Starts several JVMs that create, update and delete events in the same JSON file at once,
+ * then checks that the file holds exactly the events every process expects.
+ * <p>
+ * The run is made with {@link JsonEventDaoImpl.Mode#MULTI_PROCESS}, which must not lose any
+ * update, and then with {@link JsonEventDaoImpl.Mode#DIRECT} for comparison. Each worker
+ * prints how long it waited for the {@link FileProcessLock}.
+ * <p>
+ * Usage: {@code MultiProcessStressTest [processes] [eventsPerProcess]}.
+ */
+public class MultiProcessStressTest {
+    private static final String TEST_FILE = "stress_events.json";
+
+    public static void main(String[] args) throws Exception {
+        if (args.length > 0 && args[0].equals("worker")) {
+            worker(args[1], Integer.parseInt(args[2]), Integer.parseInt(args[3]), JsonEventDaoImpl.Mode.valueOf(args[4]));
+            return;
+        }
+        int processes = args.length > 0 ? Integer.parseInt(args[0]) : 4;
+        int eventsPerProcess = args.length > 1 ? Integer.parseInt(args[1]) : 50;
+
+        System.out.printf("Processes: %d, events per process: %d%n", processes, eventsPerProcess);
+        int lockedLost = run(processes, eventsPerProcess, JsonEventDaoImpl.Mode.MULTI_PROCESS);
+        int directLost = run(processes, eventsPerProcess, JsonEventDaoImpl.Mode.DIRECT);
+        System.out.printf("Lost or wrong events: MULTI_PROCESS %d, DIRECT %d%n", lockedLost, directLost);
+        System.out.println("MultiProcessStress: " + (lockedLost == 0 ? "OK" : "FAIL"));
+    }
+
+    /**
+     * Runs the workers in the given mode and compares the resulting file with the expected events.
+     *
+     * @return the number of expected events that are missing or stale, plus unexpected ones
+     */
+    private static int run(int processes, int eventsPerProcess, JsonEventDaoImpl.Mode mode) throws Exception {
+        cleanUp();
+        // файл создаётся заранее, чтобы сравнивать только одновременные изменения
+        new JsonEventDaoImpl(TEST_FILE);
+        String java = System.getProperty("java.home") + File.separator + "bin" + File.separator + "java";
+        List<Process> workers = new ArrayList<>();
+        long start = System.nanoTime();
+        for (int id = 0; id < processes; id++) {
+            workers.add(new ProcessBuilder(java, "-cp", System.getProperty("java.class.path"),
+                    MultiProcessStressTest.class.getName(), "worker", TEST_FILE,
+                    String.valueOf(id), String.valueOf(eventsPerProcess), mode.name())
+                    .inheritIO()
+                    .start());
+        }
+        for (Process worker : workers) {
+            worker.waitFor();
+        }
+        double millis = (System.nanoTime() - start) / 1e6;
+
+        Map<String, Event> stored = new HashMap<>();
+        try {
+            for (Event event : new JsonEventDaoImpl(TEST_FILE).findAll()) {
+                stored.put(event.getTitle(), event);
+            }
+        } catch (DaoException e) {
+            System.out.println(mode + ": file cannot be read: " + e.getMessage());
+        }
+        int wrong = 0;
+        int expected = 0;
+        for (int id = 0; id < processes; id++) {
+            for (int i = 0; i < eventsPerProcess; i++) {
+                if (deleted(i)) continue;
+                expected++;
+                Event event = stored.remove(title(id, i));
+                if (event == null || !event.getOrganizer().getName().equals("Updated " + id)) wrong++;
+            }
+        }
+        wrong += stored.size();
+        System.out.printf("%s: %.0f ms, %d events expected, %d lost or wrong%n", mode, millis, expected, wrong);
+        cleanUp();
+        return wrong;
+    }
+
+    /**
+     * Worker process: creates its events, updates all of them, deletes some, and reads the
+     * whole file after every step to make sure it is never seen half-written.
+     */
+    private static void worker(String file, int id, int eventCount, JsonEventDaoImpl.Mode mode) throws DaoException {
+        JsonEventDaoImpl dao = new JsonEventDaoImpl(file, mode);
+        int failures = 0;
+        for (int i = 0; i < eventCount; i++) {
+            int index = i;
+            failures += step(dao, () -> dao.create(new Event(title(id, index), LocalDate.of(2024, 1, 1).plusDays(index),
+                    new Organizer("Worker " + id), new Schedule())));
+        }
+        for (int i = 0; i < eventCount; i++) {
+            int index = i;
+            failures += step(dao, () -> dao.update(new Event(title(id, index), LocalDate.of(2024, 1, 1).plusDays(index),
+                    new Organizer("Updated " + id), new Schedule())));
+        }
+        for (int i = 0; i < eventCount; i++) {
+            if (deleted(i)) {
+                int index = i;
+                failures += step(dao, () -> dao.delete(title(id, index)));
+            }
+        }
+        FileProcessLock lock = dao.getProcessLock();
+        if (lock == null) {
+            System.out.printf("  worker %d: %d failed operations, no lock%n", id, failures);
+        } else {
+            System.out.printf("  worker %d: %d failed operations, waited %.1f ms exclusive (%d), "
+                            + "%.1f ms shared (%d), longest %.1f ms%n",
+                    id, failures, lock.getExclusiveWaitNanos() / 1e6, lock.getExclusiveAcquisitions(),
+                    lock.getSharedWaitNanos() / 1e6, lock.getSharedAcquisitions(), lock.getMaxWaitNanos() / 1e6);
+        }
+    }
+
+    /**
+     * Runs one mutation followed by a full read.
+     *
+     * @return 1 if either failed, 0 otherwise
+     */
+    private static int step(JsonEventDaoImpl dao, Mutation mutation) {
+        try {
+            mutation.run();
+            dao.findAll();
+            return 0;
+        } catch (DaoException | RuntimeException e) {
+            return 1;
+        }
+    }
+
+    private static String title(int id, int i) {
+        return "P" + id + " event " + i;
+    }
+
+    private static boolean deleted(int i) {
+        return i % 5 == 0;
+    }
+
+    private static void cleanUp() {
+        new File(TEST_FILE).delete();
+        new File(TEST_FILE + ".tmp").delete();
+        new File(TEST_FILE + ".lock").delete();
+    }
+
+    @FunctionalInterface
+    private interface Mutation {
+        void run() throws DaoException;
+    }
+}
@@ -0,0 +1,158 @@
+package com.example.events_calendar.main;
+
+import com.example.events_calendar.controller.EventCalendarController;
+import com.example.events_calendar.dao.DaoProvider;
+import com.example.events_calendar.model.Event;
+import com.example.events_calendar.model.Organizer;
+import com.example.events_calendar.model.Schedule;
+import com.example.events_calendar.server.EventCalendarServer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Load-test client for {@link EventCalendarServer}.
+ * <p>
+ * Opens the given number of connections; each sends its requests one at a time, waiting for
+ * every response, and the latency of each round trip is recorded. Reports the throughput and
+ * the median, 99th percentile and maximum latency. Without an address, an embedded server is
+ * started on a free port over a scratch storage file seeded with events.
+ * <p>
+ * Usage: {@code ServerLoadTest [connections] [requestsPerConnection] [host:port]}.
+ */
+public class ServerLoadTest {
+    private static final String TEST_FILE = "bench_events_server.json";
+    private static final int EVENT_COUNT = 1_000;
+
+    public static void main(String[] args) throws Exception {
+        int connections = args.length > 0 ? Integer.parseInt(args[0]) : 200;
+        int requestsPerConnection = args.length > 1 ? Integer.parseInt(args[1]) : 500;
+
+        EventCalendarServer embedded = null;
+        String host;
+        int port;
+        if (args.length > 2) {
+            int colon = args[2].lastIndexOf(':');
+            host = args[2].substring(0, colon);
+            port = Integer.parseInt(args[2].substring(colon + 1));
+        } else {
+            new File(TEST_FILE).delete();
+            System.setProperty(DaoProvider.FILE_PROPERTY, TEST_FILE);
+            System.setProperty(DaoProvider.WATCH_INTERVAL_PROPERTY, "0");
+            EventCalendarController controller = new EventCalendarController();
+            seed(controller);
+            embedded = new EventCalendarServer(controller, 0, connections);
+            embedded.start();
+            host = "localhost";
+            port = embedded.getPort();
+        }
+
+        long[][] latencies = new long[connections][];
+        AtomicInteger errors = new AtomicInteger();
+        CountDownLatch ready = new CountDownLatch(connections);
+        CountDownLatch go = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(connections);
+        for (int c = 0; c < connections; c++) {
+            int client = c;
+            new Thread(() -> {
+                boolean counted = false;
+                try (Socket socket = new Socket(host, port);
+                     BufferedReader in = new BufferedReader(
+                             new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+                     Writer out = new BufferedWriter(
+                             new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8))) {
+                    socket.setTcpNoDelay(true);
+                    long[] own = new long[requestsPerConnection];
+                    ready.countDown();
+                    counted = true;
+                    go.await();
+                    for (int i = 0; i < requestsPerConnection; i++) {
+                        long start = System.nanoTime();
+                        out.write(request(client, i));
+                        out.write('\n');
+                        out.flush();
+                        String response = in.readLine();
+                        own[i] = System.nanoTime() - start;
+                        if (response == null || response.equals("ERROR")
+                                || response.equals(EventCalendarServer.BUSY_RESPONSE)) {
+                            errors.incrementAndGet();
+                            if (response == null || i == 0) break;
+                        }
+                    }
+                    latencies[client] = own;
+                } catch (Exception e) {
+                    errors.incrementAndGet();
+                } finally {
+                    if (!counted) ready.countDown();
+                    done.countDown();
+                }
+            }, "load-client-" + c).start();
+        }
+        ready.await();
+        long start = System.nanoTime();
+        go.countDown();
+        done.await();
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        long[] all = Arrays.stream(latencies).filter(l -> l != null).flatMapToLong(Arrays::stream)
+                .filter(l -> l > 0).sorted().toArray();
+        System.out.printf("Connections: %d, requests per connection: %d%s%n", connections, requestsPerConnection,
+                embedded == null ? "" : embedded.isUsingVirtualThreads() ? ", virtual threads" : ", platform threads");
+        System.out.printf("Requests: %d in %.2f s, %.0f requests/s, errors: %d%n",
+                all.length, seconds, all.length / seconds, errors.get());
+        if (all.length > 0) {
+            System.out.printf("Latency: p50 %.2f ms, p99 %.2f ms, max %.2f ms%n",
+                    percentile(all, 50) / 1e6, percentile(all, 99) / 1e6, all[all.length - 1] / 1e6);
+        }
+
+        if (embedded != null) {
+            embedded.close();
+            new File(TEST_FILE).delete();
+        }
+    }
+
+    /**
+     * Mix of requests: mostly lookups of existing events, some misses and some date queries.
+     */
+    private static String request(int client, int i) {
+        int n = client * 31 + i;
+        switch (n % 10) {
+            case 0:
+                return "GET_EVENT Unknown " + n;
+            case 1:
+                return "LIST_EVENT_BY_DATE " + LocalDate.of(2024, 1, 1).plusDays(n % 365);
+            default:
+                return "GET_EVENT Event " + (n % EVENT_COUNT);
+        }
+    }
+
+    private static void seed(EventCalendarController controller) throws Exception {
+        ObjectMapper mapper = new ObjectMapper();
+        mapper.registerModule(new JavaTimeModule());
+        List<Event> events = new ArrayList<>();
+        for (int i = 0; i < EVENT_COUNT; i++) {
+            events.add(new Event("Event " + i, LocalDate.of(2024, 1, 1).plusDays(i % 365),
+                    new Organizer("Organizer " + (i % 50)), new Schedule()));
+        }
+        controller.doAction("IMPORT_EVENTS " + mapper.writeValueAsString(events));
+    }
+
+    private static long percentile(long[] sorted, int percent) {
+        int index = (int) Math.ceil(sorted.length * percent / 100.0) - 1;
+        return sorted[Math.max(0, index)];
+    }
+}
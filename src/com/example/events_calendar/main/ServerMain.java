@@ -0,0 +1,37 @@
+package com.example.events_calendar.main;
+
+import com.example.events_calendar.controller.EventCalendarController;
+import com.example.events_calendar.controller.impl.CommandProvider;
+import com.example.events_calendar.server.EventCalendarHttpServer;
+import com.example.events_calendar.server.EventCalendarServer;
+
+/**
+ * Serves the calendar over TCP with {@link EventCalendarServer}, and over HTTP with
+ * {@link EventCalendarHttpServer}, until the JVM is stopped.
+ * <p>
+ * Usage: {@code ServerMain [port] [maxConnections] [httpPort]}; the defaults are
+ * {@value EventCalendarServer#DEFAULT_PORT}, {@value EventCalendarServer#DEFAULT_MAX_CONNECTIONS}
+ * and {@value EventCalendarHttpServer#DEFAULT_PORT}. An HTTP port of -1 disables the HTTP server.
+ * The servers are shut down gracefully when the JVM exits, for example on Ctrl+C.
+ */
+public class ServerMain {
+
+    public static void main(String[] args) throws Exception {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : EventCalendarServer.DEFAULT_PORT;
+        int maxConnections = args.length > 1 ? Integer.parseInt(args[1]) : EventCalendarServer.DEFAULT_MAX_CONNECTIONS;
+        int httpPort = args.length > 2 ? Integer.parseInt(args[2]) : EventCalendarHttpServer.DEFAULT_PORT;
+
+        EventCalendarServer server = new EventCalendarServer(new EventCalendarController(), port, maxConnections);
+        Runtime.getRuntime().addShutdownHook(new Thread(server::close, "event-server-shutdown"));
+        server.start();
+        System.out.printf("Listening on port %d, up to %d connections, %s threads%n", server.getPort(),
+                maxConnections, server.isUsingVirtualThreads() ? "virtual" : "platform");
+
+        if (httpPort >= 0) {
+            EventCalendarHttpServer http = new EventCalendarHttpServer(new CommandProvider(), httpPort);
+            Runtime.getRuntime().addShutdownHook(new Thread(http::close, "event-http-shutdown"));
+            http.start();
+            System.out.printf("HTTP on port %d%s%n", http.getPort(), EventCalendarHttpServer.EVENTS_PATH);
+        }
+    }
+}
@@ -0,0 +1,262 @@
+package com.example.events_calendar.main;
+
+import com.example.events_calendar.controller.Command;
+import com.example.events_calendar.controller.CommandName;
+import com.example.events_calendar.controller.EventCalendarController;
+import com.example.events_calendar.controller.EventCalendarException;
+import com.example.events_calendar.controller.impl.CommandProvider;
+import com.example.events_calendar.controller.impl.ListEventCommand;
+import com.example.events_calendar.dao.DaoProvider;
+import com.example.events_calendar.model.Event;
+import com.example.events_calendar.model.Organizer;
+import com.example.events_calendar.model.Schedule;
+import com.example.events_calendar.server.EventCalendarHttpServer;
+import com.example.events_calendar.server.EventCalendarServer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.Socket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+
+public class ServerTests {
+    private static final String TEST_FILE = "test_events_server.json";
+
+    public static void main(String[] args) {
+        try {
+            // Отдельный файл хранилища, чтобы не трогать events.json
+            new File(TEST_FILE).delete();
+            System.setProperty(DaoProvider.FILE_PROPERTY, TEST_FILE);
+            System.setProperty(DaoProvider.WATCH_INTERVAL_PROPERTY, "0");
+            EventCalendarController controller = new EventCalendarController();
+            ObjectMapper mapper = new ObjectMapper();
+            mapper.registerModule(new JavaTimeModule());
+            controller.doAction("ADD_EVENT " + mapper.writeValueAsString(
+                    new Event("ServerTest", LocalDate.of(2024, 8, 1), new Organizer("Server"), new Schedule())));
+
+            EventCalendarServer server = new EventCalendarServer(controller, 0, 1);
+            server.start();
+
+            // Тест: запросы по одному соединению, в том числе отправленные разом
+            try (Socket socket = new Socket("localhost", server.getPort())) {
+                BufferedReader in = reader(socket);
+                send(socket, "GET_EVENT ServerTest\nget_event Missing\nLIST_EVENT_BY_ORGANIZER Server\n");
+                String found = in.readLine();
+                String missing = in.readLine();
+                String byOrganizer = in.readLine();
+                boolean roundTripOk = found.equals(controller.doAction("GET_EVENT ServerTest"))
+                        && missing.equals("NOT_FOUND")
+                        && byOrganizer.contains("ServerTest");
+                System.out.println("ServerRoundTrip: " + (roundTripOk ? "OK" : "FAIL"));
+
+                // Тест: многострочный NDJSON не ломает построчные ответы на запросы, отправленные разом
+                send(socket, "LIST_EVENT ndjson\nGET_EVENT ServerTest\nLIST_EVENT ndjson\n");
+                boolean pipelineOk = EventCalendarServer.ERROR_RESPONSE.equals(in.readLine())
+                        && in.readLine().equals(found)
+                        && EventCalendarServer.ERROR_RESPONSE.equals(in.readLine());
+                System.out.println("ServerNdjsonPipeline: " + (pipelineOk ? "OK" : "FAIL"));
+
+                // Тест: при достижении лимита соединений новое соединение получает BUSY
+                try (Socket second = new Socket("localhost", server.getPort())) {
+                    String busy = reader(second).readLine();
+                    boolean limitOk = EventCalendarServer.BUSY_RESPONSE.equals(busy)
+                            && server.getRejectedConnections() == 1
+                            && server.getActiveConnections() == 1;
+                    System.out.println("ConnectionLimit: " + (limitOk ? "OK" : "FAIL"));
+                }
+
+                // Тест: плавная остановка закрывает простаивающее соединение
+                boolean finished = server.shutdown(2_000);
+                boolean shutdownOk = finished && in.readLine() == null && server.getRequestCount() == 6;
+                try {
+                    new Socket("localhost", server.getPort()).close();
+                    shutdownOk = false;
+                } catch (IOException e) {
+                    // ожидаемо: сервер больше не принимает соединения
+                }
+                System.out.println("GracefulShutdown: " + (shutdownOk ? "OK" : "FAIL"));
+            }
+
+            // Тест: слишком длинная строка запроса получает ERROR, и соединение закрывается
+            try (EventCalendarServer limited = new EventCalendarServer(controller, 0, 1, 64);
+                 Socket socket = new Socket("localhost", startedPort(limited))) {
+                BufferedReader in = reader(socket);
+                send(socket, "GET_EVENT ServerTest\nGET_EVENT " + "x".repeat(200) + "\nGET_EVENT ServerTest\n");
+                boolean lineLimitOk = in.readLine().contains("ServerTest")
+                        && EventCalendarServer.ERROR_RESPONSE.equals(in.readLine())
+                        && in.readLine() == null
+                        && limited.getRequestCount() == 1;
+                System.out.println("RequestLineLimit: " + (lineLimitOk ? "OK" : "FAIL"));
+            }
+
+            // Тест: HTTP-адаптер отображает маршруты на команды
+            try (EventCalendarHttpServer http = new EventCalendarHttpServer(new CommandProvider(), 0)) {
+                http.start();
+                HttpClient client = HttpClient.newHttpClient();
+                String base = "http://localhost:" + http.getPort() + EventCalendarHttpServer.EVENTS_PATH;
+                String created = mapper.writeValueAsString(
+                        new Event("Http Test", LocalDate.of(2024, 8, 2), new Organizer("Server"), new Schedule()));
+                HttpResponse<String> post = client.send(HttpRequest.newBuilder(URI.create(base))
+                        .POST(HttpRequest.BodyPublishers.ofString(created)).build(), HttpResponse.BodyHandlers.ofString());
+                HttpResponse<String> get = client.send(HttpRequest.newBuilder(URI.create(base + "/Http%20Test")).build(),
+                        HttpResponse.BodyHandlers.ofString());
+                String expectedGet = controller.doAction("GET_EVENT Http Test");
+                HttpResponse<String> missing = client.send(HttpRequest.newBuilder(URI.create(base + "/Missing")).build(),
+                        HttpResponse.BodyHandlers.ofString());
+                HttpResponse<String> byDate = client.send(HttpRequest.newBuilder(
+                        URI.create(base + "?from=2024-08-01&to=2024-08-31")).build(), HttpResponse.BodyHandlers.ofString());
+                HttpResponse<String> byOrganizer = client.send(HttpRequest.newBuilder(
+                        URI.create(base + "?organizer=Server")).build(), HttpResponse.BodyHandlers.ofString());
+                String expectedByOrganizer = controller.doAction("LIST_EVENT_BY_ORGANIZER Server");
+                HttpResponse<String> wrongTitle = client.send(HttpRequest.newBuilder(URI.create(base + "/Other"))
+                        .PUT(HttpRequest.BodyPublishers.ofString(created)).build(), HttpResponse.BodyHandlers.ofString());
+                HttpResponse<String> delete = client.send(HttpRequest.newBuilder(URI.create(base + "/Http%20Test"))
+                        .DELETE().build(), HttpResponse.BodyHandlers.ofString());
+                HttpResponse<String> deleted = client.send(HttpRequest.newBuilder(URI.create(base + "/Http%20Test")).build(),
+                        HttpResponse.BodyHandlers.ofString());
+                boolean routesOk = post.statusCode() == 201
+                        && get.statusCode() == 200
+                        && get.body().equals(expectedGet)
+                        && get.headers().firstValue("Content-Type").orElse("").startsWith("application/json")
+                        && missing.statusCode() == 404
+                        && byDate.statusCode() == 200 && byDate.body().contains("ServerTest") && byDate.body().contains("Http Test")
+                        && byOrganizer.body().equals(expectedByOrganizer)
+                        && wrongTitle.statusCode() == 400 && wrongTitle.body().equals("ERROR")
+                        && delete.statusCode() == 200
+                        && deleted.statusCode() == 404;
+                System.out.println("HttpRoutes: " + (routesOk ? "OK" : "FAIL"));
+
+                // Тест: потоковая выдача списка в формате NDJSON
+                HttpResponse<String> ndjson = client.send(HttpRequest.newBuilder(URI.create(base + "?format=ndjson")).build(),
+                        HttpResponse.BodyHandlers.ofString());
+                boolean ndjsonOk = ndjson.statusCode() == 200
+                        && ndjson.headers().firstValue("Content-Type").orElse("").startsWith("application/x-ndjson")
+                        && ndjson.body().endsWith("\n")
+                        && ndjson.body().split("\n").length == mapper.readTree(controller.doAction("LIST_EVENT")).size()
+                        && ndjson.body().contains("ServerTest");
+                System.out.println("HttpNdjson: " + (ndjsonOk ? "OK" : "FAIL"));
+
+                // Тест: несколько запросов по одному соединению (keep-alive)
+                try (Socket socket = new Socket("localhost", http.getPort())) {
+                    String request = "GET " + EventCalendarHttpServer.EVENTS_PATH + "/Missing HTTP/1.1\r\nHost: localhost\r\n\r\n";
+                    BufferedReader in = reader(socket);
+                    int statuses = 0;
+                    for (int i = 0; i < 2; i++) {
+                        send(socket, request);
+                        String status = in.readLine();
+                        String line;
+                        while ((line = in.readLine()) != null && !line.isEmpty()) {
+                            // заголовки ответа; тела у 404 нет
+                        }
+                        if (status != null && status.startsWith("HTTP/1.1 404")) statuses++;
+                    }
+                    System.out.println("HttpKeepAlive: " + (statuses == 2 ? "OK" : "FAIL"));
+                }
+
+                // Тест: тело запроса больше лимита получает 413
+                try (EventCalendarHttpServer limited = new EventCalendarHttpServer(new CommandProvider(), 0, 1_024)) {
+                    limited.start();
+                    String limitedBase = "http://localhost:" + limited.getPort() + EventCalendarHttpServer.EVENTS_PATH;
+                    HttpResponse<String> large = client.send(HttpRequest.newBuilder(URI.create(limitedBase))
+                            .POST(HttpRequest.BodyPublishers.ofString("x".repeat(4_096))).build(),
+                            HttpResponse.BodyHandlers.ofString());
+                    // без Content-Length тело передаётся частями, и лимит проверяется при чтении
+                    HttpResponse<String> chunked = client.send(HttpRequest.newBuilder(URI.create(limitedBase))
+                            .POST(HttpRequest.BodyPublishers.ofInputStream(
+                                    () -> new ByteArrayInputStream(new byte[4_096]))).build(),
+                            HttpResponse.BodyHandlers.ofString());
+                    HttpResponse<String> small = client.send(HttpRequest.newBuilder(URI.create(limitedBase + "/Missing")).build(),
+                            HttpResponse.BodyHandlers.ofString());
+                    boolean bodyLimitOk = large.statusCode() == 413 && chunked.statusCode() == 413 && small.statusCode() == 404;
+                    System.out.println("HttpBodyLimit: " + (bodyLimitOk ? "OK" : "FAIL"));
+                }
+
+                // Тест: сбой команды посреди потокового ответа обрывает соединение, а не завершает ответ
+                try (EventCalendarHttpServer failing = new EventCalendarHttpServer(new FailingListProvider(), 0)) {
+                    failing.start();
+                    String failingBase = "http://localhost:" + failing.getPort() + EventCalendarHttpServer.EVENTS_PATH;
+                    boolean abortOk = false;
+                    try {
+                        client.send(HttpRequest.newBuilder(URI.create(failingBase + "?format=ndjson")).build(),
+                                HttpResponse.BodyHandlers.ofString());
+                    } catch (IOException e) {
+                        abortOk = true;
+                    }
+                    // сбой до начала ответа по-прежнему даёт 400
+                    HttpResponse<String> early = client.send(HttpRequest.newBuilder(URI.create(failingBase + "?limit=5")).build(),
+                            HttpResponse.BodyHandlers.ofString());
+                    abortOk = abortOk && early.statusCode() == 400 && early.body().equals("ERROR");
+                    System.out.println("HttpAbortMidStream: " + (abortOk ? "OK" : "FAIL"));
+                }
+
+                // Тест: метрики в текстовом формате Prometheus
+                String metricsUri = "http://localhost:" + http.getPort() + EventCalendarHttpServer.METRICS_PATH;
+                HttpResponse<String> metrics = client.send(HttpRequest.newBuilder(URI.create(metricsUri)).build(),
+                        HttpResponse.BodyHandlers.ofString());
+                HttpResponse<String> postMetrics = client.send(HttpRequest.newBuilder(URI.create(metricsUri))
+                        .POST(HttpRequest.BodyPublishers.noBody()).build(), HttpResponse.BodyHandlers.ofString());
+                boolean metricsOk = metrics.statusCode() == 200
+                        && metrics.headers().firstValue("Content-Type").orElse("").startsWith("text/plain")
+                        && metrics.body().contains("# TYPE events_command_duration_seconds histogram\n")
+                        && metrics.body().contains("events_command_misses_total{command=\"GET_EVENT\"} ")
+                        && postMetrics.statusCode() == 405;
+                System.out.println("HttpMetrics: " + (metricsOk ? "OK" : "FAIL"));
+            }
+
+            // Очистка
+            new File(TEST_FILE).delete();
+        } catch (Exception e) {
+            e.printStackTrace();
+            System.out.println("Test failed: " + e.getMessage());
+        }
+    }
+
+    private static int startedPort(EventCalendarServer server) {
+        server.start();
+        return server.getPort();
+    }
+
+    private static final class FailingListProvider extends CommandProvider {
+        @Override
+        public Command getCommand(String name) {
+            Command command = super.getCommand(name);
+            if (!CommandName.LIST_EVENT.name().equals(name)) return command;
+            return new Command() {
+                @Override
+                public String execute(String request) throws EventCalendarException {
+                    return command.execute(request);
+                }
+
+                @Override
+                public boolean execute(String request, int argsOffset, OutputStream out) throws IOException {
+                    if (request.equals(ListEventCommand.NDJSON)) {
+                        // первая строка уже отправлена клиенту
+                        out.write("{\"title\":\"Partial\"}\n".getBytes(StandardCharsets.UTF_8));
+                        out.flush();
+                    }
+                    throw new IllegalStateException("Simulated failure");
+                }
+            };
+        }
+    }
+
+    private static BufferedReader reader(Socket socket) throws IOException {
+        return new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+    }
+
+    private static void send(Socket socket, String lines) throws IOException {
+        OutputStream out = socket.getOutputStream();
+        out.write(lines.getBytes(StandardCharsets.UTF_8));
+        out.flush();
+    }
+}
@@ -1,17 +1,21 @@
 package com.example.events_calendar.main;
 
 import com.example.events_calendar.dao.EventCalendarDao;
+import com.example.events_calendar.dao.impl.AsyncEventCalendarDaoImpl;
 import com.example.events_calendar.dao.impl.JsonEventDaoImpl;
 import com.example.events_calendar.model.Event;
 import com.example.events_calendar.model.Organizer;
 import com.example.events_calendar.model.Schedule;
+import com.example.events_calendar.service.AsyncEventCalendarService;
 import com.example.events_calendar.service.EventCalendarService;
 import com.example.events_calendar.service.ServiceException;
+import com.example.events_calendar.service.impl.AsyncEventCalendarServiceImpl;
 import com.example.events_calendar.service.impl.EventCalendarServiceImpl;
 
 import java.io.File;
 import java.time.LocalDate;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
 
 public class ServiceTests {
     private static final String TEST_FILE = "test_events_service.json";
@@ -64,6 +68,53 @@ public class ServiceTests {
             assert all.size() == 1;
             System.out.println("GetAllEvents: OK");
 
+            // Тест: события по диапазону дат
+            boolean rangeOk = service.getEventsByDateRange(LocalDate.of(2024, 6, 1), LocalDate.of(2024, 6, 30)).size() == 1
+                    && service.getEventsOnDate(LocalDate.of(2024, 6, 10)).isEmpty();
+            try {
+                service.getEventsByDateRange(LocalDate.of(2024, 6, 30), LocalDate.of(2024, 6, 1));
+                rangeOk = false;
+            } catch (ServiceException e) {
+                // обратный диапазон отклоняется
+            }
+            System.out.println("GetEventsByDateRange: " + (rangeOk ? "OK" : "FAIL"));
+
+            // Тест: постраничный список событий
+            boolean pageOk = service.getEventPage(null, 10).getEvents().size() == 1;
+            try {
+                service.getEventPage(null, 0);
+                pageOk = false;
+            } catch (ServiceException e) {
+                // нулевой размер страницы отклоняется
+            }
+            System.out.println("GetEventPage: " + (pageOk ? "OK" : "FAIL"));
+
+            // Тест: асинхронный сервис
+            AsyncEventCalendarDaoImpl asyncDao = new AsyncEventCalendarDaoImpl(dao);
+            AsyncEventCalendarService asyncService = new AsyncEventCalendarServiceImpl(asyncDao);
+            Event asyncEvent = new Event("Async Service Event", LocalDate.of(2024, 6, 12),
+                    new Organizer("ServiceTester"), new Schedule());
+            asyncService.addEvent(asyncEvent).get();
+            boolean asyncOk = asyncService.getEvent("Async Service Event").get().equals(asyncEvent)
+                    && asyncService.getEventsOnDate(LocalDate.of(2024, 6, 12)).get().size() == 1
+                    && asyncService.getAllEvents().get().size() == 2;
+            try {
+                asyncService.addEvent(new Event("", LocalDate.of(2024, 6, 12), new Organizer("X"), new Schedule())).get();
+                asyncOk = false;
+            } catch (ExecutionException e) {
+                // пустое название отклоняется без обращения к DAO
+                asyncOk = asyncOk && e.getCause() instanceof ServiceException;
+            }
+            try {
+                asyncService.getEvent("Missing Event").get();
+                asyncOk = false;
+            } catch (ExecutionException e) {
+                asyncOk = asyncOk && e.getCause() instanceof ServiceException;
+            }
+            asyncService.deleteEvent("Async Service Event").get();
+            asyncDao.close();
+            System.out.println("AsyncService: " + (asyncOk && service.getAllEvents().size() == 1 ? "OK" : "FAIL"));
+
             // Тест: удаление события
             service.deleteEvent("Service Event");
             try {
@@ -73,6 +124,16 @@ public class ServiceTests {
                 System.out.println("DeleteEvent: OK");
             }
 
+            // Тест: поиск удалённого события возвращает пустой результат, а пустое название — ошибку
+            boolean findOk = service.findEventByTitle("Service Event").isEmpty();
+            try {
+                service.findEventByTitle(" ");
+                findOk = false;
+            } catch (ServiceException e) {
+                // ожидаемо
+            }
+            System.out.println("FindEventByTitle: " + (findOk ? "OK" : "FAIL"));
+
             // Очистка
             new File(TEST_FILE).delete();
         } catch (Exception e) {
@@ -0,0 +1,120 @@
+package com.example.events_calendar.main;
+
+import com.example.events_calendar.dao.impl.BinaryEventCodec;
+import com.example.events_calendar.dao.impl.BinaryStorageHandler;
+import com.example.events_calendar.dao.impl.FileStorageHandler;
+import com.example.events_calendar.dao.impl.JsonStorageHandler;
+import com.example.events_calendar.model.Event;
+import com.example.events_calendar.model.Organizer;
+import com.example.events_calendar.model.Schedule;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.type.MapType;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Compares the indented JSON storage format with the binary one: file size,
+ * in-memory encode and decode throughput, and the time to load a file from disk.
+ * <p>
+ * Usage: {@code StorageCodecBenchmark [events] [rounds]}.
+ */
+public class StorageCodecBenchmark {
+    private static final String JSON_FILE = "bench_events_codec.json";
+    private static final String BINARY_FILE = "bench_events_codec.bin";
+
+    public static void main(String[] args) throws Exception {
+        int eventCount = args.length > 0 ? Integer.parseInt(args[0]) : 50_000;
+        int rounds = args.length > 1 ? Integer.parseInt(args[1]) : 5;
+
+        Map<String, Event> events = new HashMap<>();
+        for (int i = 0; i < eventCount; i++) {
+            Schedule schedule = new Schedule();
+            schedule.addActivity("09:00 Registration");
+            schedule.addActivity("10:30 Talk_" + i);
+            schedule.addActivity("18:15 Closing");
+            events.put("Event " + i, new Event("Event " + i, LocalDate.of(2024, 1, 1).plusDays(i % 365),
+                    new Organizer("Organizer " + (i % 500)), schedule));
+        }
+
+        ObjectMapper mapper = new ObjectMapper();
+        mapper.registerModule(new JavaTimeModule());
+        mapper.enable(SerializationFeature.INDENT_OUTPUT);
+        MapType mapType = mapper.getTypeFactory().constructMapType(HashMap.class, String.class, Event.class);
+
+        byte[] json = mapper.writeValueAsBytes(events);
+        ByteArrayOutputStream binaryOut = new ByteArrayOutputStream();
+        BinaryEventCodec.writeFile(events, binaryOut);
+        byte[] binary = binaryOut.toByteArray();
+
+        System.out.printf("Events: %d, best of %d rounds%n", eventCount, rounds);
+        System.out.printf("%-8s %14s %16s %16s %14s%n", "format", "bytes", "encode ev/s", "decode ev/s", "load ms");
+
+        long jsonEncode = Long.MAX_VALUE, jsonDecode = Long.MAX_VALUE;
+        long binaryEncode = Long.MAX_VALUE, binaryDecode = Long.MAX_VALUE;
+        for (int round = 0; round < rounds; round++) {
+            long start = System.nanoTime();
+            mapper.writeValueAsBytes(events);
+            jsonEncode = Math.min(jsonEncode, System.nanoTime() - start);
+
+            start = System.nanoTime();
+            Map<String, Event> decoded = mapper.readValue(json, mapType);
+            jsonDecode = Math.min(jsonDecode, System.nanoTime() - start);
+            check(decoded, events);
+
+            start = System.nanoTime();
+            BinaryEventCodec.writeFile(events, new ByteArrayOutputStream(binary.length));
+            binaryEncode = Math.min(binaryEncode, System.nanoTime() - start);
+
+            start = System.nanoTime();
+            Map<String, Event> binaryDecoded = new HashMap<>();
+            BinaryEventCodec.scanFile(new ByteArrayInputStream(binary), title -> true, event -> {
+                binaryDecoded.put(event.getTitle(), event);
+                return true;
+            });
+            binaryDecode = Math.min(binaryDecode, System.nanoTime() - start);
+            check(binaryDecoded, events);
+        }
+
+        new File(JSON_FILE).delete();
+        new File(BINARY_FILE).delete();
+        try (JsonStorageHandler jsonHandler = new JsonStorageHandler(JSON_FILE);
+             BinaryStorageHandler binaryHandler = new BinaryStorageHandler(BINARY_FILE)) {
+            jsonHandler.write(events);
+            binaryHandler.write(events);
+            report("json", new File(JSON_FILE).length(), eventCount, jsonEncode, jsonDecode, load(jsonHandler, rounds, events));
+            report("binary", new File(BINARY_FILE).length(), eventCount, binaryEncode, binaryDecode, load(binaryHandler, rounds, events));
+        }
+        System.out.printf("In-memory sizes: json %d bytes, binary %d bytes (%.1fx smaller)%n",
+                json.length, binary.length, json.length / (double) binary.length);
+
+        new File(JSON_FILE).delete();
+        new File(BINARY_FILE).delete();
+    }
+
+    private static double load(FileStorageHandler handler, int rounds, Map<String, Event> expected) throws Exception {
+        long best = Long.MAX_VALUE;
+        for (int round = 0; round < rounds; round++) {
+            long start = System.nanoTime();
+            Map<String, Event> loaded = handler.read();
+            best = Math.min(best, System.nanoTime() - start);
+            check(loaded, expected);
+        }
+        return best / 1e6;
+    }
+
+    private static void report(String format, long bytes, int events, long encodeNanos, long decodeNanos, double loadMillis) {
+        System.out.printf("%-8s %14d %16.0f %16.0f %14.1f%n", format, bytes,
+                events / (encodeNanos / 1e9), events / (decodeNanos / 1e9), loadMillis);
+    }
+
+    private static void check(Map<String, Event> actual, Map<String, Event> expected) {
+        if (!actual.equals(expected)) throw new IllegalStateException("Decoded events differ from the original ones");
+    }
+}
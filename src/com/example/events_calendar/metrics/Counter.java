@@ -0,0 +1,39 @@
+package com.example.events_calendar.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free counter of events such as errors or misses.
+ * <p>
+ * Increments are ignored while the owning {@link MetricsRegistry} is disabled.</p>
+ */
+public final class Counter {
+
+    /** Registry whose switch turns counting on and off. */
+    private final MetricsRegistry registry;
+
+    /** Number of events counted. */
+    private final LongAdder count = new LongAdder();
+
+    Counter(MetricsRegistry registry) {
+        this.registry = registry;
+    }
+
+    /**
+     * Counts one event.
+     */
+    public void increment() {
+        if (registry.isEnabled()) {
+            count.increment();
+        }
+    }
+
+    /**
+     * Returns the number of events counted.
+     *
+     * @return the count
+     */
+    public long getCount() {
+        return count.sum();
+    }
+}
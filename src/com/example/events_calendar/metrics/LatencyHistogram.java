@@ -0,0 +1,188 @@
+package com.example.events_calendar.metrics;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock-free histogram of durations measured in nanoseconds.
+ * <p>
+ * Durations are counted in buckets whose bounds are powers of two, so recording one costs
+ * a few atomic additions and no allocation, whatever the number of threads. Quantiles are
+ * estimated by interpolating within the bucket they fall in, which keeps them within a
+ * factor of two of the exact value.</p>
+ * <p>
+ * Reading the clock and updating shared counters cost more than most of the operations
+ * measured, so only a random sample of the operations measured with {@link #start()} and
+ * {@link #recordSince(long)}, one in {@link MetricsRegistry#getSampleInterval()}, is recorded,
+ * and each one recorded stands for that many. The others only draw a random number. The first
+ * {@value #MIN_SAMPLES} are always recorded, each standing for itself, so rare operations still
+ * get a distribution. The count, the sum and the bucket counts are therefore estimates, exact
+ * when the interval is 1.</p>
+ * <p>
+ * Nothing is recorded while the owning {@link MetricsRegistry} is disabled: {@link #start()}
+ * then returns {@link #NOT_TIMED} and {@link #recordSince(long)} ignores it.</p>
+ */
+public final class LatencyHistogram {
+
+    /** Start time returned by {@link #start()} when the operation is not timed. */
+    public static final long NOT_TIMED = Long.MIN_VALUE;
+
+    /** Number of buckets; bucket {@code i} counts durations in {@code [2^(i-1), 2^i)} ns, bucket 0 counts 0. */
+    static final int BUCKETS = 64;
+
+    /** Number of operations timed before sampling starts. */
+    static final int MIN_SAMPLES = 64;
+
+    /** Registry whose settings turn recording and sampling on and off. */
+    private final MetricsRegistry registry;
+
+    /** Number of recorded operations. */
+    private final AtomicLong samples = new AtomicLong();
+
+    /** Estimated number of operations in each bucket. */
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+
+    /** Estimated sum of the durations, in nanoseconds. */
+    private final AtomicLong sum = new AtomicLong();
+
+    LatencyHistogram(MetricsRegistry registry) {
+        this.registry = registry;
+    }
+
+    /**
+     * Returns the start time of an operation to pass to {@link #recordSince(long)}.
+     *
+     * @return the current {@link System#nanoTime()}, or {@link #NOT_TIMED} if the operation
+     *         is left out of the sample or recording is disabled
+     */
+    public long start() {
+        if (!registry.isEnabled()) {
+            return NOT_TIMED;
+        }
+        int interval = registry.getSampleInterval();
+        if (interval > 1 && samples.get() >= MIN_SAMPLES && ThreadLocalRandom.current().nextInt(interval) != 0) {
+            return NOT_TIMED;
+        }
+        return System.nanoTime();
+    }
+
+    /**
+     * Records the time elapsed since the given start.
+     *
+     * @param start the value returned by {@link #start()}; {@link #NOT_TIMED} records nothing
+     */
+    public void recordSince(long start) {
+        if (start != NOT_TIMED) {
+            long nanos = System.nanoTime() - start;
+            // the first samples were taken whatever the interval
+            long samplesBefore = samples.getAndIncrement();
+            add(nanos, samplesBefore < MIN_SAMPLES ? 1 : registry.getSampleInterval());
+        }
+    }
+
+    /**
+     * Records an operation whose duration was measured elsewhere, bypassing sampling.
+     *
+     * @param nanos the duration in nanoseconds; negative values count as 0
+     */
+    public void record(long nanos) {
+        if (registry.isEnabled()) {
+            samples.getAndIncrement();
+            add(nanos, 1);
+        }
+    }
+
+    /**
+     * Returns the estimated number of operations.
+     *
+     * @return the count
+     */
+    public long getCount() {
+        long total = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            total += buckets.get(i);
+        }
+        return total;
+    }
+
+    /**
+     * Returns the number of recorded operations.
+     *
+     * @return the sample size
+     */
+    public long getSampleCount() {
+        return samples.get();
+    }
+
+    /**
+     * Returns the estimated sum of the durations of the operations.
+     *
+     * @return the sum in nanoseconds
+     */
+    public long getSumNanos() {
+        return sum.get();
+    }
+
+    /**
+     * Estimates a quantile of the durations.
+     *
+     * @param quantile the quantile, between 0 and 1
+     * @return the estimated duration in nanoseconds, or 0 if no operation was recorded
+     */
+    public long getQuantileNanos(double quantile) {
+        long[] snapshot = getBucketCounts();
+        long total = 0;
+        for (long c : snapshot) {
+            total += c;
+        }
+        if (total == 0) {
+            return 0;
+        }
+        double rank = Math.min(Math.max(quantile, 0), 1) * total;
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            if (snapshot[i] == 0) continue;
+            if (seen + snapshot[i] >= rank) {
+                long lower = lowerBound(i);
+                double fraction = (rank - seen) / snapshot[i];
+                return lower + (long) (fraction * (upperBound(i) - lower));
+            }
+            seen += snapshot[i];
+        }
+        return upperBound(BUCKETS - 1);
+    }
+
+    /**
+     * Returns the estimated number of operations in each bucket.
+     *
+     * @return the counts, indexed like the buckets
+     */
+    public long[] getBucketCounts() {
+        long[] snapshot = new long[BUCKETS];
+        for (int i = 0; i < BUCKETS; i++) {
+            snapshot[i] = buckets.get(i);
+        }
+        return snapshot;
+    }
+
+    /**
+     * Returns the exclusive upper bound of a bucket.
+     *
+     * @param bucket the bucket index
+     * @return the bound in nanoseconds
+     */
+    static long upperBound(int bucket) {
+        return bucket >= BUCKETS - 1 ? Long.MAX_VALUE : 1L << bucket;
+    }
+
+    private void add(long nanos, int weight) {
+        long value = Math.max(nanos, 0);
+        buckets.getAndAdd(64 - Long.numberOfLeadingZeros(value), weight);
+        sum.getAndAdd(value * weight);
+    }
+
+    private static long lowerBound(int bucket) {
+        return bucket == 0 ? 0 : 1L << (bucket - 1);
+    }
+}
@@ -0,0 +1,293 @@
+package com.example.events_calendar.metrics;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.LongSupplier;
+
+/**
+ * Registry of the latency histograms and counters of the application.
+ * <p>
+ * Metrics are grouped in families sharing a name and, optionally, one label such as the
+ * command name. They are created once, typically when the instrumented object is built,
+ * and kept in fields, so recording never looks anything up. Reading them for
+ * {@link #snapshot()} or {@link #toPrometheusText()} does not block recording.</p>
+ * <p>
+ * Recording can be switched off at run time with {@link #setEnabled(boolean)}, or at start-up
+ * with the system property {@value #ENABLED_PROPERTY}{@code =false}; the instrumented code then
+ * only reads a volatile flag.</p>
+ * <p>
+ * Latency histograms record one operation in {@link #getSampleInterval()}, set with the system
+ * property {@value #SAMPLE_INTERVAL_PROPERTY} (default {@value #DEFAULT_SAMPLE_INTERVAL}; 1 records
+ * every operation), and estimate the others from it. Counters are always exact.</p>
+ */
+public final class MetricsRegistry {
+
+    /** System property that disables recording when set to {@code false}. */
+    public static final String ENABLED_PROPERTY = "events.metrics";
+
+    /** System property holding the number of operations per recorded operation. */
+    public static final String SAMPLE_INTERVAL_PROPERTY = "events.metrics.sample.interval";
+
+    /** Number of operations per recorded operation used when {@value #SAMPLE_INTERVAL_PROPERTY} is not set. */
+    public static final int DEFAULT_SAMPLE_INTERVAL = 64;
+
+    private static final MetricsRegistry instance =
+            new MetricsRegistry(!"false".equalsIgnoreCase(System.getProperty(ENABLED_PROPERTY)),
+                    Integer.getInteger(SAMPLE_INTERVAL_PROPERTY, DEFAULT_SAMPLE_INTERVAL));
+
+    /** Upper bound of the smallest bucket written to the Prometheus text, as a power of two in ns (about 1 us). */
+    private static final int FIRST_EXPORTED_BUCKET = 10;
+
+    /** Upper bound of the largest bucket written to the Prometheus text, as a power of two in ns (about 69 s). */
+    private static final int LAST_EXPORTED_BUCKET = 36;
+
+    /** Quantiles reported by {@link #snapshot()}. */
+    private static final double[] QUANTILES = {0.5, 0.9, 0.99};
+
+    /** Whether metrics are recorded. */
+    private volatile boolean enabled;
+
+    /** Number of operations per recorded operation. */
+    private volatile int sampleInterval;
+
+    /** Families by name, in name order. */
+    private final Map<String, Family> families = new ConcurrentSkipListMap<>();
+
+    private MetricsRegistry(boolean enabled, int sampleInterval) {
+        this.enabled = enabled;
+        this.sampleInterval = Math.max(sampleInterval, 1);
+    }
+
+    public static MetricsRegistry getInstance() {
+        return instance;
+    }
+
+    /**
+     * Returns whether metrics are recorded.
+     *
+     * @return {@code true} unless recording was switched off
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Switches recording on or off. Values already recorded are kept.
+     *
+     * @param enabled whether to record metrics
+     */
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * Returns how many operations each operation recorded by a latency histogram stands for.
+     *
+     * @return the sample interval; 1 if every operation is recorded
+     */
+    public int getSampleInterval() {
+        return sampleInterval;
+    }
+
+    /**
+     * Sets how many operations each operation recorded by a latency histogram stands for.
+     *
+     * @param sampleInterval the sample interval; 1 records every operation
+     * @throws IllegalArgumentException if the interval is not positive
+     */
+    public void setSampleInterval(int sampleInterval) {
+        if (sampleInterval < 1) throw new IllegalArgumentException("Sample interval must be positive: " + sampleInterval);
+        this.sampleInterval = sampleInterval;
+    }
+
+    /**
+     * Returns the latency histogram with the given name and label, creating it if needed.
+     *
+     * @param name       the name of the family, ending in {@code _seconds}
+     * @param labelName  the name of the label distinguishing the histograms of the family
+     * @param labelValue the value of the label
+     * @return the histogram
+     * @throws IllegalArgumentException if the family exists with another type or label
+     */
+    public LatencyHistogram histogram(String name, String labelName, String labelValue) {
+        return (LatencyHistogram) family(name, Type.HISTOGRAM, labelName)
+                .metrics.computeIfAbsent(labelValue, value -> new LatencyHistogram(this));
+    }
+
+    /**
+     * Returns the counter with the given name and label, creating it if needed.
+     *
+     * @param name       the name of the family, ending in {@code _total}
+     * @param labelName  the name of the label distinguishing the counters of the family
+     * @param labelValue the value of the label
+     * @return the counter
+     * @throws IllegalArgumentException if the family exists with another type or label
+     */
+    public Counter counter(String name, String labelName, String labelValue) {
+        return (Counter) family(name, Type.COUNTER, labelName)
+                .metrics.computeIfAbsent(labelValue, value -> new Counter(this));
+    }
+
+    /**
+     * Returns the unlabeled counter with the given name, creating it if needed.
+     *
+     * @param name the name of the counter, ending in {@code _total}
+     * @return the counter
+     * @throws IllegalArgumentException if the name is used by another type of metric
+     */
+    public Counter counter(String name) {
+        return counter(name, null, "");
+    }
+
+    /**
+     * Registers an unlabeled counter whose value is read from another object, such as a cache
+     * keeping its own statistics. A counter registered earlier under the name is replaced.
+     *
+     * @param name  the name of the counter, ending in {@code _total}
+     * @param value the supplier of the current count
+     * @throws IllegalArgumentException if the name is used by another type of metric
+     */
+    public void registerCounter(String name, LongSupplier value) {
+        family(name, Type.COUNTER, null).metrics.put("", value);
+    }
+
+    /**
+     * Returns the current values of all metrics, ready to be serialized to JSON.
+     * <p>
+     * Each family maps to its value, or, if it is labeled, to a map from label values to values.
+     * A counter is a number; a histogram is a map holding its estimated {@code count}, the
+     * number of recorded {@code samples}, the estimated {@code sum} of its durations and their
+     * {@code p50}, {@code p90} and {@code p99}, all in seconds.
+     *
+     * @return the metrics by family name, in name order
+     */
+    public Map<String, Object> snapshot() {
+        Map<String, Object> snapshot = new LinkedHashMap<>();
+        for (Map.Entry<String, Family> entry : families.entrySet()) {
+            Family family = entry.getValue();
+            if (family.labelName == null) {
+                Object metric = family.metrics.get("");
+                if (metric != null) snapshot.put(entry.getKey(), valueOf(metric));
+            } else {
+                Map<String, Object> values = new LinkedHashMap<>();
+                for (Map.Entry<String, Object> metric : family.metrics.entrySet()) {
+                    values.put(metric.getKey(), valueOf(metric.getValue()));
+                }
+                snapshot.put(entry.getKey(), values);
+            }
+        }
+        return snapshot;
+    }
+
+    /**
+     * Returns all metrics in the Prometheus text exposition format.
+     * <p>
+     * Histogram buckets are written for every power of four nanoseconds from about 1 us to
+     * about 69 s; durations are in seconds. Bucket counts, sums and counts are estimated from
+     * the recorded operations.
+     *
+     * @return the metrics, one sample per line
+     */
+    public String toPrometheusText() {
+        StringBuilder out = new StringBuilder();
+        for (Map.Entry<String, Family> entry : families.entrySet()) {
+            String name = entry.getKey();
+            Family family = entry.getValue();
+            out.append("# TYPE ").append(name).append(' ').append(family.type.prometheusName).append('\n');
+            for (Map.Entry<String, Object> metric : family.metrics.entrySet()) {
+                String label = family.labelName == null ? null
+                        : family.labelName + "=\"" + escape(metric.getKey()) + '"';
+                if (family.type == Type.COUNTER) {
+                    sample(out, name, label, null, Long.toString(countOf(metric.getValue())));
+                } else {
+                    LatencyHistogram histogram = (LatencyHistogram) metric.getValue();
+                    long[] buckets = histogram.getBucketCounts();
+                    long cumulative = 0;
+                    for (int i = 0; i < buckets.length; i++) {
+                        cumulative += buckets[i];
+                        if (i >= FIRST_EXPORTED_BUCKET && i <= LAST_EXPORTED_BUCKET && i % 2 == 0) {
+                            String le = "le=\"" + LatencyHistogram.upperBound(i) / 1e9 + '"';
+                            sample(out, name + "_bucket", label, le, Long.toString(cumulative));
+                        }
+                    }
+                    sample(out, name + "_bucket", label, "le=\"+Inf\"", Long.toString(cumulative));
+                    sample(out, name + "_sum", label, null, Double.toString(histogram.getSumNanos() / 1e9));
+                    sample(out, name + "_count", label, null, Long.toString(cumulative));
+                }
+            }
+        }
+        return out.toString();
+    }
+
+    private Family family(String name, Type type, String labelName) {
+        Family family = families.computeIfAbsent(name, key -> new Family(type, labelName));
+        if (family.type != type || (family.labelName == null ? labelName != null : !family.labelName.equals(labelName))) {
+            throw new IllegalArgumentException("Metric " + name + " is already registered with another type or label");
+        }
+        return family;
+    }
+
+    private static Object valueOf(Object metric) {
+        if (!(metric instanceof LatencyHistogram)) {
+            return countOf(metric);
+        }
+        LatencyHistogram histogram = (LatencyHistogram) metric;
+        Map<String, Object> value = new LinkedHashMap<>();
+        value.put("count", histogram.getCount());
+        value.put("samples", histogram.getSampleCount());
+        value.put("sum", histogram.getSumNanos() / 1e9);
+        for (double quantile : QUANTILES) {
+            value.put("p" + Math.round(quantile * 100), histogram.getQuantileNanos(quantile) / 1e9);
+        }
+        return value;
+    }
+
+    private static long countOf(Object metric) {
+        return metric instanceof Counter ? ((Counter) metric).getCount() : ((LongSupplier) metric).getAsLong();
+    }
+
+    private static void sample(StringBuilder out, String name, String label, String extraLabel, String value) {
+        out.append(name);
+        if (label != null || extraLabel != null) {
+            out.append('{');
+            if (label != null) out.append(label);
+            if (label != null && extraLabel != null) out.append(',');
+            if (extraLabel != null) out.append(extraLabel);
+            out.append('}');
+        }
+        out.append(' ').append(value).append('\n');
+    }
+
+    private static String escape(String labelValue) {
+        return labelValue.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+    }
+
+    /**
+     * Kind of metric held by a family.
+     */
+    private enum Type {
+        HISTOGRAM("histogram"),
+        COUNTER("counter");
+
+        private final String prometheusName;
+
+        Type(String prometheusName) {
+            this.prometheusName = prometheusName;
+        }
+    }
+
+    /**
+     * Metrics sharing a name, keyed by the value of their label, or by {@code ""} if unlabeled.
+     */
+    private static final class Family {
+        private final Type type;
+        private final String labelName;
+        private final Map<String, Object> metrics = new ConcurrentSkipListMap<>();
+
+        private Family(Type type, String labelName) {
+            this.type = type;
+            this.labelName = labelName;
+        }
+    }
+}
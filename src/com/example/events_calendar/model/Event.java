@@ -90,6 +90,16 @@ public final class Event implements Serializable {
         return schedule;
     }
 
+    /**
+     * Returns a copy of this event with its own schedule, so activities added
+     * to either schedule are not visible through the other.
+     *
+     * @return a copy of this event
+     */
+    public Event copy() {
+        return new Event(title, date, organizer, schedule == null ? null : new Schedule(schedule));
+    }
+
     @Override
     public boolean equals(Object o) {
         if (o == null || getClass() != o.getClass()) return false;
@@ -0,0 +1,119 @@
+package com.example.events_calendar.model;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Represents one page of events, ordered by title, together with the cursor of the next page.
+ * <p>
+ * Cursors are opaque to clients: they encode the title of the last event of a page, so
+ * walking the pages returns every event that exists during the whole walk exactly once,
+ * even if other events are added or removed in between.
+ */
+public final class EventPage implements Serializable {
+    @Serial
+    private static final long serialVersionUID = 1L;
+    /**
+     * Events of this page, in ascending title order.
+     */
+    private final List<Event> events;
+
+    /**
+     * Cursor of the next page, or {@code null} if this is the last page.
+     */
+    private final String nextCursor;
+
+    /**
+     * Constructs a new EventPage.
+     *
+     * @param events     the events of the page, in ascending title order
+     * @param nextCursor the cursor of the next page, or {@code null} if this is the last page
+     */
+    @JsonCreator
+    public EventPage(
+            @JsonProperty("events") List<Event> events,
+            @JsonProperty("nextCursor") String nextCursor) {
+        this.events = List.copyOf(events);
+        this.nextCursor = nextCursor;
+    }
+
+    /**
+     * Builds a page from the events following a cursor.
+     *
+     * @param fetched up to {@code limit + 1} events in ascending title order; a surplus
+     *                event only signals that another page exists
+     * @param limit   the maximum number of events on the page
+     * @return the page holding the first {@code limit} events
+     */
+    public static EventPage of(List<Event> fetched, int limit) {
+        if (fetched.size() <= limit) {
+            return new EventPage(fetched, null);
+        }
+        List<Event> events = new ArrayList<>(fetched.subList(0, limit));
+        return new EventPage(events, cursorAfter(events.get(limit - 1).getTitle()));
+    }
+
+    /**
+     * Returns the cursor of the page starting right after the given title.
+     *
+     * @param title the title of the last event already returned
+     * @return the opaque cursor
+     */
+    public static String cursorAfter(String title) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(title.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Returns the title a cursor continues after.
+     *
+     * @param cursor the cursor returned with a previous page
+     * @return the title of the last event of that page
+     * @throws IllegalArgumentException if the cursor is malformed
+     */
+    public static String titleAfter(String cursor) {
+        return new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Returns the events of this page.
+     *
+     * @return an unmodifiable list of events in ascending title order
+     */
+    public List<Event> getEvents() {
+        return events;
+    }
+
+    /**
+     * Returns the cursor of the next page.
+     *
+     * @return the cursor, or {@code null} if this is the last page
+     */
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (o == null || getClass() != o.getClass()) return false;
+        EventPage page = (EventPage) o;
+        return events.equals(page.events) && Objects.equals(nextCursor, page.nextCursor);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(events, nextCursor);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("EventPage[events=%s, nextCursor='%s']", events, nextCursor);
+    }
+}
@@ -30,6 +30,15 @@ public class Schedule implements Serializable {
     public Schedule() {
     }
 
+    /**
+     * Constructs a Schedule holding the same activities as {@code other}.
+     *
+     * @param other the schedule to copy
+     */
+    public Schedule(Schedule other) {
+        activitiesByTime.putAll(other.activitiesByTime);
+    }
+
     /**
      * Returns the schedule of activities.
      *
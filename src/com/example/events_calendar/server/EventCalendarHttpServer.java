@@ -0,0 +1,474 @@
+package com.example.events_calendar.server;
+
+import com.example.events_calendar.controller.Command;
+import com.example.events_calendar.controller.CommandName;
+import com.example.events_calendar.controller.EventCalendarException;
+import com.example.events_calendar.controller.impl.CommandProvider;
+import com.example.events_calendar.controller.impl.ListEventCommand;
+import com.example.events_calendar.controller.impl.MetricsCommand;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * HTTP/JSON front end mapping REST-style requests onto the {@link Command} implementations.
+ * <p>
+ * Routes:</p>
+ * <ul>
+ *     <li>{@code GET /events/{title}} - {@code GET_EVENT}; 404 if there is no such event</li>
+ *     <li>{@code GET /events} - {@code LIST_EVENT}, one page with {@code ?limit=&cursor=},
+ *     or newline-delimited JSON streamed event by event with {@code ?format=ndjson}</li>
+ *     <li>{@code GET /events?date=} or {@code ?from=&to=} - {@code LIST_EVENT_BY_DATE}</li>
+ *     <li>{@code GET /events?organizer=} - {@code LIST_EVENT_BY_ORGANIZER}</li>
+ *     <li>{@code POST /events} - {@code ADD_EVENT}, or {@code IMPORT_EVENTS} for a JSON array; 201</li>
+ *     <li>{@code PUT /events/{title}} - {@code UPDATE_EVENT}; the body must hold the same title</li>
+ *     <li>{@code DELETE /events/{title}} - {@code DELETE_EVENT}</li>
+ *     <li>{@code GET /metrics} - {@code METRICS prometheus}, in the Prometheus text format</li>
+ * </ul>
+ * <p>
+ * Results of the read routes are serialized by the commands straight to the exchange stream,
+ * sent with chunked transfer encoding, so no response is held as a {@code String}. Rejected
+ * requests are answered with 400 and an {@code ERROR} body, as the controller does. A request
+ * body longer than {@code maxBodyBytes} is answered with 413 without being read past the limit,
+ * and the connection is closed.</p>
+ * <p>
+ * Connections are kept alive between requests: every request body is consumed before the
+ * response is sent and every exchange is closed, which returns the connection to the server. Exchanges are handled on
+ * virtual threads when the runtime supports them, otherwise on a cached pool of platform threads.</p>
+ * <p>
+ * An exchange that fails with an I/O error, including a command failing after its response
+ * has started, is not closed: the error is passed on to the HTTP server, which then drops the
+ * connection without ending the chunked body, so a client never takes a response cut off
+ * midway for a complete one.</p>
+ */
+public class EventCalendarHttpServer implements AutoCloseable {
+
+    /** Port used when none is configured. */
+    public static final int DEFAULT_PORT = 8080;
+
+    /** Maximum size of a request body, in bytes, when no limit is configured. */
+    public static final int DEFAULT_MAX_BODY_BYTES = 1 << 20;
+
+    /** Context path of the event resources. */
+    public static final String EVENTS_PATH = "/events";
+
+    /** Context path of the metrics in the Prometheus text format. */
+    public static final String METRICS_PATH = "/metrics";
+
+    /** Content type of JSON responses. */
+    private static final String JSON = "application/json; charset=utf-8";
+
+    /** Content type of newline-delimited JSON responses. */
+    private static final String NDJSON = "application/x-ndjson; charset=utf-8";
+
+    /** Content type of the plain-text messages answering mutations. */
+    private static final String TEXT = "text/plain; charset=utf-8";
+
+    /** Content type of the Prometheus text exposition format. */
+    private static final String PROMETHEUS_TEXT = "text/plain; version=0.0.4; charset=utf-8";
+
+    /** Body of the responses to rejected requests. */
+    private static final byte[] ERROR_BODY = "ERROR".getBytes(StandardCharsets.UTF_8);
+
+    /** Time {@link #close()} lets exchanges in progress finish, in seconds. */
+    private static final int STOP_DELAY_SECONDS = 1;
+
+    /** Underlying JDK HTTP server. */
+    private final HttpServer server;
+
+    /** Executor handling the exchanges. */
+    private final ExecutorService executor;
+
+    /** Whether {@link #executor} runs its tasks on virtual threads. */
+    private final boolean virtualThreads;
+
+    /** Maximum size of a request body, in bytes. */
+    private final int maxBodyBytes;
+
+    /** Mapper used to check the title of updated events. */
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    private final Command getEvent;
+    private final Command listEvent;
+    private final Command listEventByDate;
+    private final Command listEventByOrganizer;
+    private final Command addEvent;
+    private final Command importEvents;
+    private final Command updateEvent;
+    private final Command deleteEvent;
+    private final Command metrics;
+
+    /**
+     * Creates a server bound to the given port. Requests are served once {@link #start()} is called.
+     *
+     * @param provider the provider of the commands executing the requests; must not be null
+     * @param port     the port to listen on, or 0 to pick a free port
+     * @throws IOException if the port cannot be bound
+     */
+    public EventCalendarHttpServer(CommandProvider provider, int port) throws IOException {
+        this(provider, port, DEFAULT_MAX_BODY_BYTES);
+    }
+
+    /**
+     * Creates a server bound to the given port with a limit on the size of request bodies.
+     * Requests are served once {@link #start()} is called.
+     *
+     * @param provider     the provider of the commands executing the requests; must not be null
+     * @param port         the port to listen on, or 0 to pick a free port
+     * @param maxBodyBytes the maximum size of a request body, in bytes; must be positive
+     * @throws IOException if the port cannot be bound
+     */
+    public EventCalendarHttpServer(CommandProvider provider, int port, int maxBodyBytes) throws IOException {
+        if (provider == null) throw new IllegalArgumentException("Command provider cannot be null");
+        if (maxBodyBytes <= 0 || maxBodyBytes == Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Body size limit out of range: " + maxBodyBytes);
+        }
+        this.maxBodyBytes = maxBodyBytes;
+        this.getEvent = provider.getCommand(CommandName.GET_EVENT.name());
+        this.listEvent = provider.getCommand(CommandName.LIST_EVENT.name());
+        this.listEventByDate = provider.getCommand(CommandName.LIST_EVENT_BY_DATE.name());
+        this.listEventByOrganizer = provider.getCommand(CommandName.LIST_EVENT_BY_ORGANIZER.name());
+        this.addEvent = provider.getCommand(CommandName.ADD_EVENT.name());
+        this.importEvents = provider.getCommand(CommandName.IMPORT_EVENTS.name());
+        this.updateEvent = provider.getCommand(CommandName.UPDATE_EVENT.name());
+        this.deleteEvent = provider.getCommand(CommandName.DELETE_EVENT.name());
+        this.metrics = provider.getCommand(CommandName.METRICS.name());
+
+        this.server = HttpServer.create(new InetSocketAddress(port), 0);
+        ExecutorService virtual = ServerExecutors.newVirtualThreadExecutor();
+        this.virtualThreads = virtual != null;
+        this.executor = virtual != null ? virtual : ServerExecutors.newPlatformThreadExecutor("event-http-");
+        server.setExecutor(executor);
+        server.createContext(EVENTS_PATH, this::handle);
+        server.createContext(METRICS_PATH, this::handleMetrics);
+    }
+
+    /**
+     * Starts serving requests.
+     */
+    public void start() {
+        server.start();
+    }
+
+    /**
+     * Returns the port the server listens on.
+     *
+     * @return the local port
+     */
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    /**
+     * Returns whether exchanges are handled on virtual threads.
+     *
+     * @return {@code true} on runtimes supporting virtual threads
+     */
+    public boolean isUsingVirtualThreads() {
+        return virtualThreads;
+    }
+
+    /**
+     * Stops the server, letting exchanges in progress finish for up to the given delay.
+     *
+     * @param delaySeconds the time to wait for exchanges to finish, in seconds
+     */
+    public void stop(int delaySeconds) {
+        server.stop(delaySeconds);
+        executor.shutdown();
+        try {
+            executor.awaitTermination(delaySeconds, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Stops the server, waiting up to {@value #STOP_DELAY_SECONDS} s for exchanges to finish.
+     */
+    @Override
+    public void close() {
+        stop(STOP_DELAY_SECONDS);
+    }
+
+    /**
+     * Serves an exchange on the event resources, closing it once the response is complete.
+     *
+     * @param exchange the exchange to handle
+     * @throws IOException if the response could not be completed; the exchange is left open,
+     *                     so the server aborts the connection
+     */
+    private void handle(HttpExchange exchange) throws IOException {
+        route(exchange);
+        exchange.close();
+    }
+
+    /**
+     * Routes one exchange to its command and sends the response.
+     *
+     * @param exchange the exchange to handle
+     * @throws IOException if the response could not be completed
+     */
+    private void route(HttpExchange exchange) throws IOException {
+        // the server keeps a connection open only if the request body was read to the end
+        // before the response completes, so it is consumed up front on every route
+        String body = readBody(exchange);
+        if (body == null) {
+            tooLarge(exchange);
+            return;
+        }
+        String path = exchange.getRequestURI().getPath();
+        String title = null;
+        if (path.length() > EVENTS_PATH.length() + 1 && path.charAt(EVENTS_PATH.length()) == '/') {
+            title = path.substring(EVENTS_PATH.length() + 1);
+        } else if (!path.equals(EVENTS_PATH) && !path.equals(EVENTS_PATH + "/")) {
+            sendEmpty(exchange, 404);
+            return;
+        }
+        switch (exchange.getRequestMethod()) {
+            case "GET":
+                if (title != null) {
+                    execute(exchange, getEvent, title, 200, JSON);
+                } else {
+                    list(exchange);
+                }
+                break;
+            case "POST":
+                if (title != null) {
+                    notAllowed(exchange, "GET, PUT, DELETE");
+                } else {
+                    boolean array = !body.isEmpty() && body.stripLeading().startsWith("[");
+                    execute(exchange, array ? importEvents : addEvent, body, 201, TEXT);
+                }
+                break;
+            case "PUT":
+                if (title == null) {
+                    notAllowed(exchange, "GET, POST");
+                } else {
+                    if (!title.equals(titleOf(body))) {
+                        sendError(exchange);
+                    } else {
+                        execute(exchange, updateEvent, body, 200, TEXT);
+                    }
+                }
+                break;
+            case "DELETE":
+                if (title == null) {
+                    notAllowed(exchange, "GET, POST");
+                } else {
+                    execute(exchange, deleteEvent, title, 200, TEXT);
+                }
+                break;
+            default:
+                notAllowed(exchange, title == null ? "GET, POST" : "GET, PUT, DELETE");
+        }
+    }
+
+    /**
+     * Serves {@code GET /metrics}.
+     *
+     * @param exchange the exchange to handle
+     * @throws IOException if the response could not be completed; the exchange is left open,
+     *                     so the server aborts the connection
+     */
+    private void handleMetrics(HttpExchange exchange) throws IOException {
+        if (readBody(exchange) == null) {
+            tooLarge(exchange);
+        } else if (!exchange.getRequestURI().getPath().equals(METRICS_PATH)) {
+            sendEmpty(exchange, 404);
+        } else if (!exchange.getRequestMethod().equals("GET")) {
+            notAllowed(exchange, "GET");
+        } else {
+            execute(exchange, metrics, MetricsCommand.PROMETHEUS, 200, PROMETHEUS_TEXT);
+        }
+        exchange.close();
+    }
+
+    /**
+     * Serves {@code GET /events}, picking the list command from the query parameters.
+     */
+    private void list(HttpExchange exchange) throws IOException {
+        Map<String, String> query = parseQuery(exchange.getRequestURI().getRawQuery());
+        String organizer = query.get("organizer");
+        String date = query.get("date");
+        String from = query.get("from");
+        String limit = query.get("limit");
+        if (ListEventCommand.NDJSON.equals(query.get("format"))) {
+            execute(exchange, listEvent, ListEventCommand.NDJSON, 200, NDJSON);
+        } else if (organizer != null) {
+            execute(exchange, listEventByOrganizer, organizer, 200, JSON);
+        } else if (date != null) {
+            execute(exchange, listEventByDate, date, 200, JSON);
+        } else if (from != null) {
+            String to = query.get("to");
+            execute(exchange, listEventByDate, to == null ? from : from + ' ' + to, 200, JSON);
+        } else if (limit != null) {
+            String cursor = query.get("cursor");
+            execute(exchange, listEvent, cursor == null ? limit : limit + ' ' + cursor, 200, JSON);
+        } else {
+            execute(exchange, listEvent, "", 200, JSON);
+        }
+    }
+
+    /**
+     * Executes a command on the given arguments and streams its result as the response body.
+     *
+     * @param exchange    the exchange to answer
+     * @param command     the command to execute
+     * @param args        the arguments of the command
+     * @param status      the status sent with a result
+     * @param contentType the content type of the result
+     */
+    private void execute(HttpExchange exchange, Command command, String args, int status, String contentType)
+            throws IOException {
+        exchange.getResponseHeaders().set("Content-Type", contentType);
+        ResponseStream out = new ResponseStream(exchange, status);
+        boolean found;
+        try {
+            found = command.execute(args, 0, out);
+        } catch (EventCalendarException | RuntimeException e) {
+            if (out.started) {
+                // the status is already sent, so the connection is aborted rather than the body ended
+                throw new IOException("Command failed after the response started", e);
+            }
+            exchange.getResponseHeaders().remove("Content-Type");
+            sendError(exchange);
+            return;
+        }
+        if (!out.started) {
+            exchange.getResponseHeaders().remove("Content-Type");
+            sendEmpty(exchange, found ? status : 404);
+        }
+    }
+
+    /**
+     * Returns the title of the event in a JSON body.
+     *
+     * @return the title, or {@code null} if the body is not an event with a title
+     */
+    private String titleOf(String body) {
+        try {
+            JsonNode title = mapper.readTree(body).get("title");
+            return title == null ? null : title.asText();
+        } catch (IOException | RuntimeException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Reads the request body, reading at most one byte past the size limit.
+     *
+     * @return the body, or {@code null} if it is larger than {@link #maxBodyBytes}
+     */
+    private String readBody(HttpExchange exchange) throws IOException {
+        try (InputStream in = exchange.getRequestBody()) {
+            if (declaredLength(exchange) > maxBodyBytes) return null;
+            byte[] body = in.readNBytes(maxBodyBytes + 1);
+            return body.length > maxBodyBytes ? null : new String(body, StandardCharsets.UTF_8);
+        }
+    }
+
+    /**
+     * Returns the length declared by the {@code Content-Length} header, or -1 if there is none.
+     */
+    private static long declaredLength(HttpExchange exchange) {
+        String length = exchange.getRequestHeaders().getFirst("Content-Length");
+        try {
+            return length == null ? -1 : Long.parseLong(length.trim());
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private static Map<String, String> parseQuery(String rawQuery) {
+        Map<String, String> query = new HashMap<>();
+        if (rawQuery == null || rawQuery.isEmpty()) {
+            return query;
+        }
+        for (String pair : rawQuery.split("&")) {
+            int eq = pair.indexOf('=');
+            String name = eq < 0 ? pair : pair.substring(0, eq);
+            String value = eq < 0 ? "" : pair.substring(eq + 1);
+            query.putIfAbsent(URLDecoder.decode(name, StandardCharsets.UTF_8),
+                    URLDecoder.decode(value, StandardCharsets.UTF_8));
+        }
+        return query;
+    }
+
+    private static void notAllowed(HttpExchange exchange, String allow) throws IOException {
+        exchange.getResponseHeaders().set("Allow", allow);
+        sendEmpty(exchange, 405);
+    }
+
+    private static void sendError(HttpExchange exchange) throws IOException {
+        exchange.getResponseHeaders().set("Content-Type", TEXT);
+        exchange.sendResponseHeaders(400, ERROR_BODY.length);
+        exchange.getResponseBody().write(ERROR_BODY);
+    }
+
+    private static void tooLarge(HttpExchange exchange) throws IOException {
+        // the rest of the body is left unread, so the connection cannot carry another request
+        exchange.getResponseHeaders().set("Connection", "close");
+        sendEmpty(exchange, 413);
+    }
+
+    private static void sendEmpty(HttpExchange exchange, int status) throws IOException {
+        exchange.sendResponseHeaders(status, -1);
+    }
+
+    /**
+     * Response body that sends the headers, with chunked transfer encoding, on the first write,
+     * so a command failing before it writes anything can still be answered with an error status.
+     */
+    private static final class ResponseStream extends OutputStream {
+        private final HttpExchange exchange;
+        private final int status;
+        private OutputStream body;
+        private boolean started;
+
+        ResponseStream(HttpExchange exchange, int status) {
+            this.exchange = exchange;
+            this.status = status;
+        }
+
+        private OutputStream body() throws IOException {
+            if (!started) {
+                started = true;
+                exchange.sendResponseHeaders(status, 0);
+                body = exchange.getResponseBody();
+            }
+            return body;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            body().write(b);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            if (len > 0) {
+                body().write(b, off, len);
+            }
+        }
+
+        @Override
+        public void flush() throws IOException {
+            if (started) {
+                body.flush();
+            }
+        }
+    }
+}
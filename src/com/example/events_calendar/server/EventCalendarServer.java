@@ -0,0 +1,349 @@
+package com.example.events_calendar.server;
+
+import com.example.events_calendar.controller.EventCalendarController;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Line-oriented TCP front end for an {@link EventCalendarController}.
+ * <p>
+ * Each line received on a connection is passed to {@link EventCalendarController#doAction(String)}
+ * and the response is sent back as one line, so a client may pipeline several requests.
+ * Lines are encoded in UTF-8. Every connection is served by its own thread: a virtual thread
+ * when the runtime supports them, otherwise a platform thread from a cached pool.</p>
+ * <p>
+ * At most {@code maxConnections} connections are served at once; further connections are
+ * answered with a single {@value #BUSY_RESPONSE} line and closed, so clients fail fast
+ * instead of waiting in the accept backlog.</p>
+ * <p>
+ * A request line longer than {@code maxRequestLength} characters is answered with
+ * {@value #ERROR_RESPONSE} and the connection is closed, without buffering the rest of the line.
+ * If accepting a connection fails, for example because the process ran out of file descriptors,
+ * the acceptor waits {@value #ACCEPT_RETRY_DELAY_MILLIS} ms before trying again.</p>
+ * <p>
+ * {@link #shutdown(long)} stops accepting connections, lets requests that were already
+ * received be answered, closes idle connections, and only forces the remaining ones closed
+ * once the timeout has passed.</p>
+ */
+public class EventCalendarServer implements AutoCloseable {
+
+    /** Port used when none is configured. */
+    public static final int DEFAULT_PORT = 7070;
+
+    /** Number of connections served at once when no limit is configured. */
+    public static final int DEFAULT_MAX_CONNECTIONS = 1_000;
+
+    /** Time {@link #close()} waits for connections to finish, in milliseconds. */
+    public static final long DEFAULT_SHUTDOWN_TIMEOUT_MILLIS = 5_000;
+
+    /** Maximum length of a request line, in characters, when no limit is configured. */
+    public static final int DEFAULT_MAX_REQUEST_LENGTH = 1 << 20;
+
+    /** Line sent to connections refused because the server is at its connection limit. */
+    public static final String BUSY_RESPONSE = "BUSY";
+
+    /** Line sent before closing a connection whose request line is too long. */
+    public static final String ERROR_RESPONSE = "ERROR";
+
+    /** Time the acceptor waits after a failed accept, in milliseconds. */
+    static final long ACCEPT_RETRY_DELAY_MILLIS = 100;
+
+    /** Controller executing the requests. */
+    private final EventCalendarController controller;
+
+    /** Socket accepting the connections. */
+    private final ServerSocket serverSocket;
+
+    /** Maximum length of a request line, in characters. */
+    private final int maxRequestLength;
+
+    /** Permits for the connections served at once. */
+    private final Semaphore connectionPermits;
+
+    /** Executor running one task per connection. */
+    private final ExecutorService connectionExecutor;
+
+    /** Whether {@link #connectionExecutor} runs its tasks on virtual threads. */
+    private final boolean virtualThreads;
+
+    /** Connections currently being served. */
+    private final Set<Socket> connections = ConcurrentHashMap.newKeySet();
+
+    /** Thread accepting the connections. */
+    private final Thread acceptor;
+
+    /** Number of requests answered. */
+    private final LongAdder requests = new LongAdder();
+
+    /** Number of connections refused because of the connection limit. */
+    private final AtomicLong rejectedConnections = new AtomicLong();
+
+    /** Whether the server accepts connections. */
+    private volatile boolean running;
+
+    /**
+     * Creates a server bound to the given port. Connections are accepted once {@link #start()} is called.
+     *
+     * @param controller     the controller executing the requests; must not be null
+     * @param port           the port to listen on, or 0 to pick a free port
+     * @param maxConnections the number of connections served at once; must be positive
+     * @throws IOException if the port cannot be bound
+     */
+    public EventCalendarServer(EventCalendarController controller, int port, int maxConnections) throws IOException {
+        this(controller, port, maxConnections, DEFAULT_MAX_REQUEST_LENGTH);
+    }
+
+    /**
+     * Creates a server bound to the given port with a limit on the length of request lines.
+     * Connections are accepted once {@link #start()} is called.
+     *
+     * @param controller       the controller executing the requests; must not be null
+     * @param port             the port to listen on, or 0 to pick a free port
+     * @param maxConnections   the number of connections served at once; must be positive
+     * @param maxRequestLength the maximum length of a request line, in characters; must be positive
+     * @throws IOException if the port cannot be bound
+     */
+    public EventCalendarServer(EventCalendarController controller, int port, int maxConnections,
+                               int maxRequestLength) throws IOException {
+        if (controller == null) throw new IllegalArgumentException("Controller cannot be null");
+        if (maxConnections <= 0) throw new IllegalArgumentException("Connection limit must be positive");
+        if (maxRequestLength <= 0) throw new IllegalArgumentException("Request length limit must be positive");
+        this.controller = controller;
+        this.maxRequestLength = maxRequestLength;
+        this.connectionPermits = new Semaphore(maxConnections);
+        this.serverSocket = new ServerSocket();
+        serverSocket.setReuseAddress(true);
+        serverSocket.bind(new InetSocketAddress(port), Math.min(maxConnections, 1_024));
+        ExecutorService virtual = ServerExecutors.newVirtualThreadExecutor();
+        this.virtualThreads = virtual != null;
+        this.connectionExecutor = virtual != null ? virtual : ServerExecutors.newPlatformThreadExecutor("event-connection-");
+        this.acceptor = new Thread(this::acceptConnections, "event-server-acceptor");
+    }
+
+    /**
+     * Starts accepting connections.
+     *
+     * @throws IllegalStateException if the server was already started or stopped
+     */
+    public synchronized void start() {
+        if (acceptor.getState() != Thread.State.NEW) throw new IllegalStateException("Server already started");
+        if (serverSocket.isClosed()) throw new IllegalStateException("Server stopped");
+        running = true;
+        acceptor.start();
+    }
+
+    /**
+     * Returns the port the server listens on.
+     *
+     * @return the local port
+     */
+    public int getPort() {
+        return serverSocket.getLocalPort();
+    }
+
+    /**
+     * Returns whether connections are served on virtual threads.
+     *
+     * @return {@code true} on runtimes supporting virtual threads
+     */
+    public boolean isUsingVirtualThreads() {
+        return virtualThreads;
+    }
+
+    /**
+     * Returns the number of connections currently being served.
+     *
+     * @return the open connection count
+     */
+    public int getActiveConnections() {
+        return connections.size();
+    }
+
+    /**
+     * Returns the number of connections refused because of the connection limit.
+     *
+     * @return the rejected connection count
+     */
+    public long getRejectedConnections() {
+        return rejectedConnections.get();
+    }
+
+    /**
+     * Returns the number of requests answered.
+     *
+     * @return the request count
+     */
+    public long getRequestCount() {
+        return requests.sum();
+    }
+
+    /**
+     * Stops the server gracefully.
+     * <p>
+     * No new connection is accepted. Connections stop reading from their clients, so idle
+     * ones are closed at once, while requests already received are still answered. Connections
+     * still open when the timeout expires are closed forcibly.
+     *
+     * @param timeoutMillis the time to wait for connections to finish, in milliseconds
+     * @return {@code true} if every connection finished in time
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public boolean shutdown(long timeoutMillis) throws InterruptedException {
+        synchronized (this) {
+            running = false;
+        }
+        closeQuietly(serverSocket);
+        if (acceptor.getState() != Thread.State.NEW) {
+            acceptor.join();
+        }
+        connectionExecutor.shutdown();
+        for (Socket socket : connections) {
+            try {
+                socket.shutdownInput();
+            } catch (IOException e) {
+                closeQuietly(socket);
+            }
+        }
+        boolean finished = connectionExecutor.awaitTermination(timeoutMillis, TimeUnit.MILLISECONDS);
+        if (!finished) {
+            for (Socket socket : connections) {
+                closeQuietly(socket);
+            }
+            connectionExecutor.shutdownNow();
+        }
+        return finished;
+    }
+
+    /**
+     * Stops the server gracefully, waiting up to {@value #DEFAULT_SHUTDOWN_TIMEOUT_MILLIS} ms
+     * for connections to finish.
+     */
+    @Override
+    public void close() {
+        try {
+            shutdown(DEFAULT_SHUTDOWN_TIMEOUT_MILLIS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Accepts connections until the server socket is closed. Runs on the {@link #acceptor} thread.
+     */
+    private void acceptConnections() {
+        while (running) {
+            Socket socket;
+            try {
+                socket = serverSocket.accept();
+            } catch (IOException e) {
+                // the server socket was closed by shutdown, or accepting failed, possibly
+                // for want of file descriptors: wait rather than spin until it recovers
+                if (running) pauseAccepting();
+                continue;
+            }
+            if (!connectionPermits.tryAcquire()) {
+                rejectedConnections.incrementAndGet();
+                refuse(socket);
+                continue;
+            }
+            connections.add(socket);
+            try {
+                // responses are flushed whole, so there is nothing to gain from delaying small packets
+                socket.setTcpNoDelay(true);
+            } catch (IOException e) {
+                // keep the default
+            }
+            try {
+                connectionExecutor.execute(() -> serve(socket));
+            } catch (RejectedExecutionException e) {
+                connections.remove(socket);
+                connectionPermits.release();
+                closeQuietly(socket);
+            }
+        }
+    }
+
+    /**
+     * Answers the requests of one connection until the client closes it or the server stops.
+     *
+     * @param socket the connection to serve
+     */
+    private void serve(Socket socket) {
+        try (socket;
+             Writer out = new BufferedWriter(
+                     new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8))) {
+            RequestLineReader in = new RequestLineReader(
+                    new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8), maxRequestLength);
+            String line;
+            try {
+                while ((line = in.readLine()) != null) {
+                    out.write(controller.doAction(line));
+                    out.write('\n');
+                    requests.increment();
+                    // pipelined requests that are already buffered are answered before flushing
+                    if (!in.ready()) {
+                        out.flush();
+                    }
+                }
+            } catch (RequestLineReader.LineTooLongException e) {
+                out.write(ERROR_RESPONSE);
+                out.write('\n');
+                out.flush();
+            }
+        } catch (IOException e) {
+            // the client disconnected or the connection was closed by shutdown
+        } finally {
+            connections.remove(socket);
+            connectionPermits.release();
+        }
+    }
+
+    /**
+     * Waits before the next accept after one failed.
+     */
+    private void pauseAccepting() {
+        try {
+            Thread.sleep(ACCEPT_RETRY_DELAY_MILLIS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            running = false;
+        }
+    }
+
+    /**
+     * Tells a connection that the server is busy and closes it.
+     *
+     * @param socket the refused connection
+     */
+    private static void refuse(Socket socket) {
+        try (socket) {
+            socket.getOutputStream().write((BUSY_RESPONSE + "\n").getBytes(StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            // the client is gone already
+        }
+    }
+
+    private static void closeQuietly(AutoCloseable closeable) {
+        try {
+            closeable.close();
+        } catch (Exception e) {
+            // nothing left to release
+        }
+    }
+}
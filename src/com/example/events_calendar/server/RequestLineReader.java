@@ -0,0 +1,121 @@
+package com.example.events_calendar.server;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Serial;
+
+/**
+ * Reads request lines from a connection, refusing lines longer than a fixed limit.
+ * <p>
+ * Lines end with {@code '\n'}, {@code '\r'} or {@code "\r\n"}, as for
+ * {@link java.io.BufferedReader#readLine()}, but a line is never buffered beyond the limit,
+ * so a client cannot make the server hold an unbounded request in memory.
+ */
+final class RequestLineReader {
+
+    /**
+     * Signals a request line longer than the limit. The rest of the line is not read,
+     * so the connection cannot be used any further.
+     */
+    static final class LineTooLongException extends IOException {
+        @Serial
+        private static final long serialVersionUID = 1L;
+
+        LineTooLongException(int maxLength) {
+            super("Request line longer than " + maxLength + " characters");
+        }
+    }
+
+    /** Source of the characters. */
+    private final Reader in;
+
+    /** Maximum number of characters in a line, not counting its terminator. */
+    private final int maxLength;
+
+    /** Characters read from {@link #in} and not consumed yet. */
+    private final char[] buffer = new char[8_192];
+
+    /** Index of the next unconsumed character in {@link #buffer}. */
+    private int position;
+
+    /** Number of valid characters in {@link #buffer}. */
+    private int limit;
+
+    /** Whether the previous line ended with {@code '\r'}, so a following {@code '\n'} is skipped. */
+    private boolean skipLineFeed;
+
+    /**
+     * Creates a reader of request lines.
+     *
+     * @param in        the source of the characters
+     * @param maxLength the maximum number of characters in a line; must be positive
+     */
+    RequestLineReader(Reader in, int maxLength) {
+        this.in = in;
+        this.maxLength = maxLength;
+    }
+
+    /**
+     * Reads the next line.
+     *
+     * @return the line without its terminator, or {@code null} at the end of the stream
+     * @throws LineTooLongException if the line is longer than the limit
+     * @throws IOException          if reading fails
+     */
+    String readLine() throws IOException {
+        StringBuilder partial = null;
+        while (true) {
+            if (position == limit && !fill()) {
+                if (partial == null || partial.isEmpty()) return null;
+                return partial.toString();
+            }
+            if (skipLineFeed) {
+                skipLineFeed = false;
+                if (buffer[position] == '\n') {
+                    position++;
+                    continue;
+                }
+            }
+            int start = position;
+            while (position < limit && buffer[position] != '\n' && buffer[position] != '\r') {
+                position++;
+            }
+            int length = position - start + (partial == null ? 0 : partial.length());
+            if (length > maxLength) throw new LineTooLongException(maxLength);
+            if (position < limit) {
+                skipLineFeed = buffer[position] == '\r';
+                position++;
+                if (partial == null) return new String(buffer, start, position - 1 - start);
+                return partial.append(buffer, start, position - 1 - start).toString();
+            }
+            if (partial == null) partial = new StringBuilder(Math.min(2 * (position - start) + 16, maxLength));
+            partial.append(buffer, start, position - start);
+        }
+    }
+
+    /**
+     * Tells whether a line can be read without blocking, at least partly.
+     *
+     * @return {@code true} if characters are buffered or the source is ready
+     * @throws IOException if the source cannot be checked
+     */
+    boolean ready() throws IOException {
+        return position < limit || in.ready();
+    }
+
+    /**
+     * Refills the buffer once it is consumed.
+     *
+     * @return {@code false} at the end of the stream
+     */
+    private boolean fill() throws IOException {
+        int read;
+        do {
+            read = in.read(buffer, 0, buffer.length);
+        } while (read == 0);
+        if (read < 0) return false;
+        position = 0;
+        limit = read;
+        return true;
+    }
+}
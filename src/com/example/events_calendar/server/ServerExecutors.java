@@ -0,0 +1,45 @@
+package com.example.events_calendar.server;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Executors running the requests of the servers in this package.
+ */
+final class ServerExecutors {
+
+    private ServerExecutors() {
+    }
+
+    /**
+     * Creates an executor starting a virtual thread per task, if the runtime supports them.
+     * The factory method is looked up reflectively so the code also runs on older runtimes.
+     *
+     * @return the executor, or {@code null} if virtual threads are not available
+     */
+    static ExecutorService newVirtualThreadExecutor() {
+        try {
+            Method factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) factory.invoke(null);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Creates an executor running each task on a pooled daemon platform thread.
+     *
+     * @param namePrefix the prefix of the thread names, followed by a sequence number
+     * @return the executor
+     */
+    static ExecutorService newPlatformThreadExecutor(String namePrefix) {
+        AtomicInteger threadCount = new AtomicInteger();
+        return Executors.newCachedThreadPool(task -> {
+            Thread thread = new Thread(task, namePrefix + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+}
@@ -0,0 +1,124 @@
+package com.example.events_calendar.service;
+
+import com.example.events_calendar.model.Event;
+import com.example.events_calendar.model.EventPage;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Non-blocking counterpart of {@link EventCalendarService}.
+ * <p>
+ * Every operation validates its input and returns immediately with a {@link CompletableFuture};
+ * no method blocks the calling thread on I/O. Validation and persistence failures complete the
+ * future exceptionally with a {@link ServiceException}.</p>
+ */
+public interface AsyncEventCalendarService {
+
+    /**
+     * Adds a new event to the calendar.
+     *
+     * @param event the {@link Event} to add
+     * @return a future completed once the event is stored
+     */
+    CompletableFuture<Void> addEvent(Event event);
+
+    /**
+     * Retrieves an event by its title.
+     *
+     * @param title the title of the event to retrieve
+     * @return a future completed with the {@link Event} with the specified title
+     */
+    CompletableFuture<Event> getEvent(String title);
+
+    /**
+     * Looks up an event by its title, reporting a missing event as an empty result.
+     *
+     * @param title the title of the event to look up
+     * @return a future completed with the {@link Event}, or with an empty {@link Optional} if there is none
+     */
+    CompletableFuture<Optional<Event>> findEventByTitle(String title);
+
+    /**
+     * Updates an existing event in the calendar.
+     *
+     * @param event the {@link Event} containing updated data
+     * @return a future completed once the event is stored
+     */
+    CompletableFuture<Void> updateEvent(Event event);
+
+    /**
+     * Deletes an event from the calendar by its title.
+     *
+     * @param title the title of the event to delete
+     * @return a future completed once the event is removed
+     */
+    CompletableFuture<Void> deleteEvent(String title);
+
+    /**
+     * Adds several new events to the calendar at once; either every event is added or none is.
+     *
+     * @param events the {@link Event}s to add
+     * @return a future completed once the batch is stored
+     */
+    CompletableFuture<Void> addEvents(List<Event> events);
+
+    /**
+     * Updates several existing events at once; either every event is updated or none is.
+     *
+     * @param events the {@link Event}s containing updated data
+     * @return a future completed once the batch is stored
+     */
+    CompletableFuture<Void> updateEvents(List<Event> events);
+
+    /**
+     * Deletes several events at once; either every event is deleted or none is.
+     *
+     * @param titles the titles of the events to delete
+     * @return a future completed once the batch is removed
+     */
+    CompletableFuture<Void> deleteEvents(List<String> titles);
+
+    /**
+     * Returns a list of all events currently in the calendar.
+     *
+     * @return a future completed with a {@link List} of all {@link Event} instances
+     */
+    CompletableFuture<List<Event>> getAllEvents();
+
+    /**
+     * Returns one page of events ordered by title.
+     *
+     * @param cursor the cursor returned with the previous page, or {@code null} for the first page
+     * @param limit  the maximum number of events on the page
+     * @return a future completed with the {@link EventPage}
+     */
+    CompletableFuture<EventPage> getEventPage(String cursor, int limit);
+
+    /**
+     * Returns the events taking place between two dates, inclusive, ordered by date.
+     *
+     * @param from the first date of the range
+     * @param to   the last date of the range
+     * @return a future completed with a {@link List} of matching {@link Event} instances
+     */
+    CompletableFuture<List<Event>> getEventsByDateRange(LocalDate from, LocalDate to);
+
+    /**
+     * Returns the events taking place on the given date.
+     *
+     * @param date the date to look up
+     * @return a future completed with a {@link List} of matching {@link Event} instances
+     */
+    CompletableFuture<List<Event>> getEventsOnDate(LocalDate date);
+
+    /**
+     * Returns the events run by the organizer with the given name, ordered by title.
+     *
+     * @param organizerName the name of the organizer
+     * @return a future completed with a {@link List} of matching {@link Event} instances
+     */
+    CompletableFuture<List<Event>> getEventsByOrganizer(String organizerName);
+}
@@ -1,8 +1,13 @@
 package com.example.events_calendar.service;
 
+import com.example.events_calendar.dao.EventMutationListener;
 import com.example.events_calendar.model.Event;
+import com.example.events_calendar.model.EventPage;
 
+import java.time.LocalDate;
 import java.util.List;
+import java.util.Optional;
+import java.util.function.Predicate;
 
 /**
  * Defines operations for managing calendar events at the business-logic layer.
@@ -30,6 +35,16 @@ public interface EventCalendarService {
      */
     Event getEvent(String title) throws ServiceException;
 
+    /**
+     * Looks up an event by its title, reporting a missing event as an empty result
+     * rather than as an error.
+     *
+     * @param title the title of the event to look up
+     * @return the {@link Event} with the specified title, or an empty {@link Optional} if there is none
+     * @throws ServiceException if validation fails or a retrieval error occurs
+     */
+    Optional<Event> findEventByTitle(String title) throws ServiceException;
+
     /**
      * Updates an existing event in the calendar.
      *
@@ -46,6 +61,36 @@ public interface EventCalendarService {
      */
     void deleteEvent(String title) throws ServiceException;
 
+    /**
+     * Adds several new events to the calendar at once.
+     * <p>
+     * The whole batch is validated first; either every event is added or none is.
+     *
+     * @param events the {@link Event}s to add
+     * @throws ServiceException if validation of any event fails or a persistence error occurs
+     */
+    void addEvents(List<Event> events) throws ServiceException;
+
+    /**
+     * Updates several existing events in the calendar at once.
+     * <p>
+     * The whole batch is validated first; either every event is updated or none is.
+     *
+     * @param events the {@link Event}s containing updated data
+     * @throws ServiceException if an event does not exist, validation fails, or an update error occurs
+     */
+    void updateEvents(List<Event> events) throws ServiceException;
+
+    /**
+     * Deletes several events from the calendar at once.
+     * <p>
+     * Either every event is deleted or none is.
+     *
+     * @param titles the titles of the events to delete
+     * @throws ServiceException if an event does not exist or a deletion error occurs
+     */
+    void deleteEvents(List<String> titles) throws ServiceException;
+
     /**
      * Returns a list of all events currently in the calendar.
      *
@@ -53,4 +98,76 @@ public interface EventCalendarService {
      * @throws ServiceException if a retrieval error occurs
      */
     List<Event> getAllEvents() throws ServiceException;
+
+    /**
+     * Returns one page of events ordered by title.
+     *
+     * @param cursor the cursor returned with the previous page, or {@code null} for the first page
+     * @param limit  the maximum number of events on the page
+     * @return the {@link EventPage} holding the events and the cursor of the next page
+     * @throws ServiceException if the limit is out of range, the cursor is malformed, or a retrieval error occurs
+     */
+    EventPage getEventPage(String cursor, int limit) throws ServiceException;
+
+    /**
+     * Returns the events taking place between two dates, inclusive, ordered by date.
+     *
+     * @param from the first date of the range
+     * @param to   the last date of the range
+     * @return a {@link List} of matching {@link Event} instances
+     * @throws ServiceException if a date is missing, the range is reversed, or a retrieval error occurs
+     */
+    List<Event> getEventsByDateRange(LocalDate from, LocalDate to) throws ServiceException;
+
+    /**
+     * Returns the events taking place on the given date.
+     *
+     * @param date the date to look up
+     * @return a {@link List} of matching {@link Event} instances
+     * @throws ServiceException if the date is missing or a retrieval error occurs
+     */
+    List<Event> getEventsOnDate(LocalDate date) throws ServiceException;
+
+    /**
+     * Returns the events run by the organizer with the given name, ordered by title.
+     *
+     * @param organizerName the name of the organizer
+     * @return a {@link List} of matching {@link Event} instances
+     * @throws ServiceException if the name is missing or a retrieval error occurs
+     */
+    List<Event> getEventsByOrganizer(String organizerName) throws ServiceException;
+
+    /**
+     * Passes every event to a visitor, one at a time, until the visitor returns {@code false},
+     * without collecting them into a list first.
+     *
+     * @param visitor receives the events and returns whether to continue
+     * @throws ServiceException if the visitor is missing or a retrieval error occurs
+     */
+    void forEachEvent(Predicate<Event> visitor) throws ServiceException;
+
+    /**
+     * Registers a listener notified after every change of the stored events, so data derived
+     * from them can be invalidated.
+     *
+     * @param listener the listener to notify; must not be null
+     * @return {@code true} if the listener was registered, {@code false} if changes cannot be
+     *         reported reliably, in which case data derived from the events must not be cached
+     */
+    boolean addMutationListener(EventMutationListener listener);
+
+    /**
+     * Starts a batch on the calling thread: changes made until {@link #endBatch()} are
+     * persisted together. Must be paired with {@link #endBatch()} on the same thread.
+     *
+     * @throws ServiceException if a batch is already open on the calling thread
+     */
+    void beginBatch() throws ServiceException;
+
+    /**
+     * Ends the batch started on the calling thread once its changes are persisted.
+     *
+     * @throws ServiceException if no batch is open or the changes could not be persisted
+     */
+    void endBatch() throws ServiceException;
 }
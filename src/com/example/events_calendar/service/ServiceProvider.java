@@ -1,17 +1,22 @@
 package com.example.events_calendar.service;
 
+import com.example.events_calendar.service.impl.AsyncEventCalendarServiceImpl;
 import com.example.events_calendar.service.impl.EventCalendarServiceImpl;
+import com.example.events_calendar.service.impl.TimedEventCalendarService;
 
 /**
  * Singleton provider for application service instances.
  *
  * <p>This class ensures a single {@link EventCalendarService} is created
- * and shared throughout the application.</p>
+ * and shared throughout the application, together with its non-blocking
+ * counterpart {@link AsyncEventCalendarService}.</p>
  */
 public class ServiceProvider {
     private static final ServiceProvider instance = new ServiceProvider();
 
-    private final EventCalendarService eventCalendarService = new EventCalendarServiceImpl();
+    private final EventCalendarService eventCalendarService = new TimedEventCalendarService(new EventCalendarServiceImpl());
+
+    private final AsyncEventCalendarService asyncEventCalendarService = new AsyncEventCalendarServiceImpl();
 
     private ServiceProvider() {
     }
@@ -27,4 +32,11 @@ public class ServiceProvider {
         }
         return eventCalendarService;
     }
+
+    public AsyncEventCalendarService getAsyncEventService() {
+        if (asyncEventCalendarService == null) {
+            throw new IllegalStateException("AsyncEventCalendarService is not initialized");
+        }
+        return asyncEventCalendarService;
+    }
 }
@@ -0,0 +1,270 @@
+package com.example.events_calendar.service.impl;
+
+import com.example.events_calendar.dao.AsyncEventCalendarDao;
+import com.example.events_calendar.dao.DaoProvider;
+import com.example.events_calendar.model.Event;
+import com.example.events_calendar.model.EventPage;
+import com.example.events_calendar.service.AsyncEventCalendarService;
+import com.example.events_calendar.service.ServiceException;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Default implementation of {@link AsyncEventCalendarService} that validates input data
+ * on the calling thread and delegates persistence to an {@link AsyncEventCalendarDao}.
+ * <p>
+ * Validation applies the same rules as {@link EventCalendarServiceImpl}; invalid input
+ * produces an already failed future without touching the data store.</p>
+ */
+public class AsyncEventCalendarServiceImpl implements AsyncEventCalendarService {
+
+    /** Asynchronous data access object used for operations on events. */
+    private final AsyncEventCalendarDao eventDao;
+
+    /**
+     * Constructs a new AsyncEventCalendarServiceImpl and retrieves
+     * the {@link AsyncEventCalendarDao} instance from {@link DaoProvider}.
+     */
+    public AsyncEventCalendarServiceImpl() {
+        this(DaoProvider.getInstance().getAsyncEventDao());
+    }
+
+    /**
+     * Constructs a new AsyncEventCalendarServiceImpl on top of the given DAO.
+     *
+     * @param eventDao the asynchronous DAO to delegate to
+     */
+    public AsyncEventCalendarServiceImpl(AsyncEventCalendarDao eventDao) {
+        this.eventDao = eventDao;
+    }
+
+    /**
+     * Validates the provided {@link Event} and queues its addition.
+     *
+     * @param event the Event to add; must pass the checks of {@link EventCalendarServiceImpl#addEvent}
+     * @return a future completed once the event is stored
+     */
+    @Override
+    public CompletableFuture<Void> addEvent(Event event) {
+        try {
+            EventValidator.validate(event);
+        } catch (ServiceException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        return translate(eventDao.create(event), "Error adding event");
+    }
+
+    /**
+     * Retrieves an {@link Event} by its title.
+     *
+     * @param title the title of the event to retrieve; must not be null or blank
+     * @return a future completed with the Event matching the given title
+     */
+    @Override
+    public CompletableFuture<Event> getEvent(String title) {
+        try {
+            EventValidator.requireTitle(title);
+        } catch (ServiceException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        return translate(eventDao.read(title), "Error receiving event");
+    }
+
+    /**
+     * Looks up an {@link Event} by its title without failing when it does not exist.
+     *
+     * @param title the title of the event to look up; must not be null or blank
+     * @return a future completed with the Event or an empty {@link Optional}
+     */
+    @Override
+    public CompletableFuture<Optional<Event>> findEventByTitle(String title) {
+        try {
+            EventValidator.requireTitle(title);
+        } catch (ServiceException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        return translate(eventDao.findByTitle(title), "Error receiving event");
+    }
+
+    /**
+     * Validates the provided {@link Event} and queues its update.
+     *
+     * @param event the Event containing updated data; must pass the checks of {@link EventCalendarServiceImpl#updateEvent}
+     * @return a future completed once the event is stored
+     */
+    @Override
+    public CompletableFuture<Void> updateEvent(Event event) {
+        try {
+            EventValidator.validate(event);
+        } catch (ServiceException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        return translate(eventDao.update(event), "Event update error");
+    }
+
+    /**
+     * Queues the deletion of the event with the specified title.
+     *
+     * @param title the title of the event to delete; must not be null or blank
+     * @return a future completed once the event is removed
+     */
+    @Override
+    public CompletableFuture<Void> deleteEvent(String title) {
+        try {
+            EventValidator.requireTitle(title);
+        } catch (ServiceException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        return translate(eventDao.delete(title), "Error deleting an event");
+    }
+
+    /**
+     * Validates every {@link Event} of the batch and queues their addition as one write.
+     *
+     * @param events the Events to add; must not be null and each must be valid
+     * @return a future completed once the batch is stored
+     */
+    @Override
+    public CompletableFuture<Void> addEvents(List<Event> events) {
+        try {
+            EventValidator.validateAll(events);
+        } catch (ServiceException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        return translate(eventDao.createAll(events), "Error adding events");
+    }
+
+    /**
+     * Validates every {@link Event} of the batch and queues their update as one write.
+     *
+     * @param events the Events containing updated data; must not be null and each must be valid
+     * @return a future completed once the batch is stored
+     */
+    @Override
+    public CompletableFuture<Void> updateEvents(List<Event> events) {
+        try {
+            EventValidator.validateAll(events);
+        } catch (ServiceException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        return translate(eventDao.updateAll(events), "Events update error");
+    }
+
+    /**
+     * Queues the deletion of the events with the specified titles as one write.
+     *
+     * @param titles the titles of the events to delete; must not be null and none may be null or blank
+     * @return a future completed once the batch is removed
+     */
+    @Override
+    public CompletableFuture<Void> deleteEvents(List<String> titles) {
+        try {
+            EventValidator.requireTitles(titles);
+        } catch (ServiceException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        return translate(eventDao.deleteAll(titles), "Error deleting events");
+    }
+
+    /**
+     * Fetches all events currently stored in the calendar.
+     *
+     * @return a future completed with a list of all {@link Event} objects
+     */
+    @Override
+    public CompletableFuture<List<Event>> getAllEvents() {
+        return translate(eventDao.findAll(), "Error receiving event list");
+    }
+
+    /**
+     * Fetches one page of events ordered by title.
+     *
+     * @param cursor the cursor returned with the previous page, or {@code null} for the first page
+     * @param limit  the maximum number of events on the page; between 1 and {@link EventCalendarServiceImpl#MAX_PAGE_SIZE}
+     * @return a future completed with the page of events and the cursor of the next page
+     */
+    @Override
+    public CompletableFuture<EventPage> getEventPage(String cursor, int limit) {
+        try {
+            EventValidator.checkPageSize(limit);
+        } catch (ServiceException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        return translate(eventDao.findPage(cursor, limit), "Error receiving event page");
+    }
+
+    /**
+     * Fetches the events taking place between two dates, inclusive.
+     *
+     * @param from the first date of the range; must not be null
+     * @param to   the last date of the range; must not be null or before {@code from}
+     * @return a future completed with the matching {@link Event} objects ordered by date
+     */
+    @Override
+    public CompletableFuture<List<Event>> getEventsByDateRange(LocalDate from, LocalDate to) {
+        try {
+            EventValidator.checkRange(from, to);
+        } catch (ServiceException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        return translate(eventDao.findByDateRange(from, to), "Error receiving events by date");
+    }
+
+    /**
+     * Fetches the events taking place on the given date.
+     *
+     * @param date the date to look up; must not be null
+     * @return a future completed with the matching {@link Event} objects
+     */
+    @Override
+    public CompletableFuture<List<Event>> getEventsOnDate(LocalDate date) {
+        try {
+            EventValidator.requireDate(date);
+        } catch (ServiceException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        return translate(eventDao.findOnDate(date), "Error receiving events by date");
+    }
+
+    /**
+     * Fetches the events run by the organizer with the given name.
+     *
+     * @param organizerName the name of the organizer; must not be null or blank
+     * @return a future completed with the matching {@link Event} objects ordered by title
+     */
+    @Override
+    public CompletableFuture<List<Event>> getEventsByOrganizer(String organizerName) {
+        try {
+            EventValidator.requireOrganizerName(organizerName);
+        } catch (ServiceException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        return translate(eventDao.findByOrganizer(organizerName), "Error receiving events by organizer");
+    }
+
+    /**
+     * Returns a future with the outcome of a DAO future, wrapping its failure in a {@link ServiceException}.
+     *
+     * @param future  the future returned by the DAO
+     * @param message the message of the service exception
+     * @param <T>     the type of the result
+     * @return a future completed with the same value, or exceptionally with a {@link ServiceException}
+     */
+    private static <T> CompletableFuture<T> translate(CompletableFuture<T> future, String message) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        future.whenComplete((value, failure) -> {
+            if (failure == null) {
+                result.complete(value);
+                return;
+            }
+            Throwable cause = failure instanceof CompletionException && failure.getCause() != null
+                    ? failure.getCause() : failure;
+            result.completeExceptionally(cause instanceof Exception e ? new ServiceException(message, e) : cause);
+        });
+        return result;
+    }
+}
@@ -3,11 +3,16 @@ package com.example.events_calendar.service.impl;
 import com.example.events_calendar.dao.DaoException;
 import com.example.events_calendar.dao.DaoProvider;
 import com.example.events_calendar.dao.EventCalendarDao;
+import com.example.events_calendar.dao.EventMutationListener;
 import com.example.events_calendar.model.Event;
+import com.example.events_calendar.model.EventPage;
 import com.example.events_calendar.service.EventCalendarService;
 import com.example.events_calendar.service.ServiceException;
 
+import java.time.LocalDate;
 import java.util.List;
+import java.util.Optional;
+import java.util.function.Predicate;
 
 /**
  * Default implementation of {@link EventCalendarService} that performs
@@ -16,6 +21,9 @@ import java.util.List;
  */
 public class EventCalendarServiceImpl implements EventCalendarService {
 
+    /** Largest number of events a single page may hold. */
+    public static final int MAX_PAGE_SIZE = 1_000;
+
     /** Data access object used for CRUD operations on events. */
     private final EventCalendarDao eventDao;
 
@@ -37,19 +45,7 @@ public class EventCalendarServiceImpl implements EventCalendarService {
     @Override
     public void addEvent(Event event) throws ServiceException {
         try {
-            if (event == null) {
-                throw new ServiceException("Event cannot be null");
-            }
-            if (event.getTitle() == null || event.getTitle().isBlank()) {
-                throw new ServiceException("The name of the event is required");
-            }
-            if (event.getDate() == null) {
-                throw new ServiceException("Date of the event is required");
-            }
-            if (event.getOrganizer() == null || event.getOrganizer().getName() == null || event.getOrganizer().getName().isBlank()) {
-                throw new ServiceException("An organiser is a must");
-            }
-
+            EventValidator.validate(event);
             eventDao.create(event);
         } catch (DaoException e) {
             throw new ServiceException("Error adding event", e);
@@ -67,15 +63,30 @@ public class EventCalendarServiceImpl implements EventCalendarService {
     @Override
     public Event getEvent(String title) throws ServiceException {
         try {
-            if (title == null || title.isBlank()) {
-                throw new ServiceException("The name of the event is required");
-            }
+            EventValidator.requireTitle(title);
             return eventDao.read(title);
         } catch (DaoException e) {
             throw new ServiceException("Error receiving event", e);
         }
     }
 
+    /**
+     * Looks up an {@link Event} by its title without failing when it does not exist.
+     *
+     * @param title the title of the event to look up; must not be null or blank
+     * @return the Event matching the given title, or an empty {@link Optional} if there is none
+     * @throws ServiceException if validation fails or a persistence error occurs
+     */
+    @Override
+    public Optional<Event> findEventByTitle(String title) throws ServiceException {
+        try {
+            EventValidator.requireTitle(title);
+            return eventDao.findByTitle(title);
+        } catch (DaoException e) {
+            throw new ServiceException("Error receiving event", e);
+        }
+    }
+
     /**
      * Validates and updates an existing {@link Event} in the calendar.
      *
@@ -86,19 +97,7 @@ public class EventCalendarServiceImpl implements EventCalendarService {
     @Override
     public void updateEvent(Event event) throws ServiceException {
         try {
-            if (event == null) {
-                throw new ServiceException("Event cannot be null");
-            }
-            if (event.getTitle() == null || event.getTitle().isBlank()) {
-                throw new ServiceException("The name of the event is required");
-            }
-            if (event.getDate() == null) {
-                throw new ServiceException("Date of the event is required");
-            }
-            if (event.getOrganizer() == null || event.getOrganizer().getName() == null || event.getOrganizer().getName().isBlank()) {
-                throw new ServiceException("An organiser is a must");
-            }
-
+            EventValidator.validate(event);
             eventDao.update(event);
         } catch (DaoException e) {
             throw new ServiceException("Event update error", e);
@@ -114,15 +113,62 @@ public class EventCalendarServiceImpl implements EventCalendarService {
     @Override
     public void deleteEvent(String title) throws ServiceException {
         try {
-            if (title == null || title.isBlank()) {
-                throw new ServiceException("The name of the event is required");
-            }
+            EventValidator.requireTitle(title);
             eventDao.delete(title);
         } catch (DaoException e) {
             throw new ServiceException("Error deleting an event", e);
         }
     }
 
+    /**
+     * Validates every {@link Event} of the batch and adds them to the calendar with a single write.
+     *
+     * @param events the Events to add; must not be null and each must pass the checks of {@link #addEvent}
+     * @throws ServiceException if validation fails or a persistence error occurs
+     */
+    @Override
+    public void addEvents(List<Event> events) throws ServiceException {
+        try {
+            EventValidator.validateAll(events);
+            eventDao.createAll(events);
+        } catch (DaoException e) {
+            throw new ServiceException("Error adding events", e);
+        }
+    }
+
+    /**
+     * Validates every {@link Event} of the batch and updates them with a single write.
+     *
+     * @param events the Events containing updated data; must not be null and each must pass
+     *               the checks of {@link #updateEvent}
+     * @throws ServiceException if validation fails or a persistence error occurs
+     */
+    @Override
+    public void updateEvents(List<Event> events) throws ServiceException {
+        try {
+            EventValidator.validateAll(events);
+            eventDao.updateAll(events);
+        } catch (DaoException e) {
+            throw new ServiceException("Events update error", e);
+        }
+    }
+
+    /**
+     * Deletes the events with the specified titles from the calendar with a single write.
+     *
+     * @param titles the titles of the events to delete; must not be null and none may be null or blank
+     * @throws ServiceException if validation fails or a persistence error occurs
+     */
+    @Override
+    public void deleteEvents(List<String> titles) throws ServiceException {
+        try {
+            EventValidator.requireTitles(titles);
+            eventDao.deleteAll(titles);
+        } catch (DaoException e) {
+            throw new ServiceException("Error deleting events", e);
+        }
+    }
+
     /**
      * Fetches all events currently stored in the calendar.
      *
@@ -137,4 +183,129 @@ public class EventCalendarServiceImpl implements EventCalendarService {
             throw new ServiceException("Error receiving event list", e);
         }
     }
+
+    /**
+     * Fetches one page of events ordered by title.
+     *
+     * @param cursor the cursor returned with the previous page, or {@code null} for the first page
+     * @param limit  the maximum number of events on the page; between 1 and {@link #MAX_PAGE_SIZE}
+     * @return the page of events and the cursor of the next page
+     * @throws ServiceException if validation fails or a persistence error occurs during retrieval
+     */
+    @Override
+    public EventPage getEventPage(String cursor, int limit) throws ServiceException {
+        try {
+            EventValidator.checkPageSize(limit);
+            return eventDao.findPage(cursor, limit);
+        } catch (DaoException e) {
+            throw new ServiceException("Error receiving event page", e);
+        }
+    }
+
+    /**
+     * Fetches the events taking place between two dates, inclusive.
+     *
+     * @param from the first date of the range; must not be null
+     * @param to   the last date of the range; must not be null or before {@code from}
+     * @return a list of matching {@link Event} objects ordered by date
+     * @throws ServiceException if validation fails or a persistence error occurs during retrieval
+     */
+    @Override
+    public List<Event> getEventsByDateRange(LocalDate from, LocalDate to) throws ServiceException {
+        try {
+            EventValidator.checkRange(from, to);
+            return eventDao.findByDateRange(from, to);
+        } catch (DaoException e) {
+            throw new ServiceException("Error receiving events by date", e);
+        }
+    }
+
+    /**
+     * Fetches the events taking place on the given date.
+     *
+     * @param date the date to look up; must not be null
+     * @return a list of matching {@link Event} objects
+     * @throws ServiceException if validation fails or a persistence error occurs during retrieval
+     */
+    @Override
+    public List<Event> getEventsOnDate(LocalDate date) throws ServiceException {
+        try {
+            EventValidator.requireDate(date);
+            return eventDao.findOnDate(date);
+        } catch (DaoException e) {
+            throw new ServiceException("Error receiving events by date", e);
+        }
+    }
+
+    /**
+     * Fetches the events run by the organizer with the given name.
+     *
+     * @param organizerName the name of the organizer; must not be null or blank
+     * @return a list of matching {@link Event} objects ordered by title
+     * @throws ServiceException if validation fails or a persistence error occurs during retrieval
+     */
+    @Override
+    public List<Event> getEventsByOrganizer(String organizerName) throws ServiceException {
+        try {
+            EventValidator.requireOrganizerName(organizerName);
+            return eventDao.findByOrganizer(organizerName);
+        } catch (DaoException e) {
+            throw new ServiceException("Error receiving events by organizer", e);
+        }
+    }
+    /**
+     * Streams every event to the visitor through the DAO. Runtime exceptions thrown by the
+     * visitor propagate unchanged.
+     *
+     * @param visitor receives the events and returns whether to continue; must not be null
+     * @throws ServiceException if the visitor is missing or a persistence error occurs during retrieval
+     */
+    @Override
+    public void forEachEvent(Predicate<Event> visitor) throws ServiceException {
+        if (visitor == null) throw new ServiceException("Visitor cannot be null");
+        try {
+            eventDao.forEachEvent(visitor);
+        } catch (DaoException e) {
+            throw new ServiceException("Error receiving events", e);
+        }
+    }
+
+    /**
+     * Registers the listener with the DAO, which notifies it of every change it makes or picks up.
+     *
+     * @param listener the listener to notify; must not be null
+     * @return {@code true} if the DAO accepted the listener
+     */
+    @Override
+    public boolean addMutationListener(EventMutationListener listener) {
+        return eventDao.addMutationListener(listener);
+    }
+
+    /**
+     * Starts a batch in the DAO, so the mutations made until {@link #endBatch()} share a single persist.
+     *
+     * @throws ServiceException if a batch is already open on the calling thread
+     */
+    @Override
+    public void beginBatch() throws ServiceException {
+        try {
+            eventDao.beginBatch();
+        } catch (DaoException e) {
+            throw new ServiceException("Error starting batch", e);
+        }
+    }
+
+    /**
+     * Ends the batch in the DAO and waits until its mutations are durable.
+     *
+     * @throws ServiceException if no batch is open or the mutations could not be persisted
+     */
+    @Override
+    public void endBatch() throws ServiceException {
+        try {
+            eventDao.endBatch();
+        } catch (DaoException e) {
+            throw new ServiceException("Error persisting batch", e);
+        }
+    }
 }
@@ -0,0 +1,127 @@
+package com.example.events_calendar.service.impl;
+
+import com.example.events_calendar.model.Event;
+import com.example.events_calendar.service.ServiceException;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Input checks shared by the blocking and the asynchronous calendar services.
+ */
+final class EventValidator {
+
+    private EventValidator() {
+    }
+
+    /**
+     * Checks that an {@link Event} has a non-blank title, a date and a named organizer.
+     *
+     * @param event the event to check
+     * @throws ServiceException if the event is null or a required field is missing
+     */
+    static void validate(Event event) throws ServiceException {
+        if (event == null) {
+            throw new ServiceException("Event cannot be null");
+        }
+        requireTitle(event.getTitle());
+        if (event.getDate() == null) {
+            throw new ServiceException("Date of the event is required");
+        }
+        requireOrganizerName(event.getOrganizer() == null ? null : event.getOrganizer().getName());
+    }
+
+    /**
+     * Checks every {@link Event} of a batch with {@link #validate(Event)}.
+     *
+     * @param events the events to check
+     * @throws ServiceException if the batch is null or an event is invalid
+     */
+    static void validateAll(List<Event> events) throws ServiceException {
+        if (events == null) {
+            throw new ServiceException("Events cannot be null");
+        }
+        for (Event event : events) {
+            validate(event);
+        }
+    }
+
+    /**
+     * Checks that an event title is present.
+     *
+     * @param title the title to check
+     * @throws ServiceException if the title is null or blank
+     */
+    static void requireTitle(String title) throws ServiceException {
+        if (title == null || title.isBlank()) {
+            throw new ServiceException("The name of the event is required");
+        }
+    }
+
+    /**
+     * Checks that every title of a batch is present.
+     *
+     * @param titles the titles to check
+     * @throws ServiceException if the batch is null or a title is null or blank
+     */
+    static void requireTitles(List<String> titles) throws ServiceException {
+        if (titles == null) {
+            throw new ServiceException("Titles cannot be null");
+        }
+        for (String title : titles) {
+            requireTitle(title);
+        }
+    }
+
+    /**
+     * Checks that an organizer name is present.
+     *
+     * @param organizerName the name to check
+     * @throws ServiceException if the name is null or blank
+     */
+    static void requireOrganizerName(String organizerName) throws ServiceException {
+        if (organizerName == null || organizerName.isBlank()) {
+            throw new ServiceException("An organiser is a must");
+        }
+    }
+
+    /**
+     * Checks that a date is present.
+     *
+     * @param date the date to check
+     * @throws ServiceException if the date is null
+     */
+    static void requireDate(LocalDate date) throws ServiceException {
+        if (date == null) {
+            throw new ServiceException("Date of the event is required");
+        }
+    }
+
+    /**
+     * Checks that both dates of a range are present and in order.
+     *
+     * @param from the first date of the range
+     * @param to   the last date of the range
+     * @throws ServiceException if a date is null or {@code from} is after {@code to}
+     */
+    static void checkRange(LocalDate from, LocalDate to) throws ServiceException {
+        if (from == null || to == null) {
+            throw new ServiceException("Both dates of the range are required");
+        }
+        if (from.isAfter(to)) {
+            throw new ServiceException("The start of the range is after its end");
+        }
+    }
+
+    /**
+     * Checks that a page size is between 1 and {@link EventCalendarServiceImpl#MAX_PAGE_SIZE}.
+     *
+     * @param limit the page size to check
+     * @throws ServiceException if the page size is out of range
+     */
+    static void checkPageSize(int limit) throws ServiceException {
+        if (limit <= 0 || limit > EventCalendarServiceImpl.MAX_PAGE_SIZE) {
+            throw new ServiceException("Page size must be between 1 and " + EventCalendarServiceImpl.MAX_PAGE_SIZE);
+        }
+    }
+}
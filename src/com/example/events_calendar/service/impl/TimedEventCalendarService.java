@@ -0,0 +1,189 @@
+package com.example.events_calendar.service.impl;
+
+import com.example.events_calendar.dao.EventMutationListener;
+import com.example.events_calendar.metrics.Counter;
+import com.example.events_calendar.metrics.LatencyHistogram;
+import com.example.events_calendar.metrics.MetricsRegistry;
+import com.example.events_calendar.model.Event;
+import com.example.events_calendar.model.EventPage;
+import com.example.events_calendar.service.EventCalendarService;
+import com.example.events_calendar.service.ServiceException;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Predicate;
+
+/**
+ * Decorator of an {@link EventCalendarService} recording the latency and the failures of its
+ * reads and writes, validation included.
+ * <p>
+ * Reads are the lookups and queries returning events; writes are the changes and
+ * {@link #endBatch()}, which persists a batch. {@link #forEachEvent(Predicate)} is not timed,
+ * because it lasts as long as its visitor.</p>
+ */
+public class TimedEventCalendarService implements EventCalendarService {
+
+    /** Service doing the work. */
+    private final EventCalendarService service;
+
+    /** Latency of the reads. */
+    private final LatencyHistogram reads;
+
+    /** Latency of the writes. */
+    private final LatencyHistogram writes;
+
+    /** Number of reads that failed. */
+    private final Counter readErrors;
+
+    /** Number of writes that failed. */
+    private final Counter writeErrors;
+
+    /**
+     * Constructs a TimedEventCalendarService measuring the given service.
+     *
+     * @param service the service to measure
+     */
+    public TimedEventCalendarService(EventCalendarService service) {
+        MetricsRegistry metrics = MetricsRegistry.getInstance();
+        this.service = service;
+        this.reads = metrics.histogram("events_service_duration_seconds", "operation", "read");
+        this.writes = metrics.histogram("events_service_duration_seconds", "operation", "write");
+        this.readErrors = metrics.counter("events_service_errors_total", "operation", "read");
+        this.writeErrors = metrics.counter("events_service_errors_total", "operation", "write");
+    }
+
+    @Override
+    public void addEvent(Event event) throws ServiceException {
+        write(() -> {
+            service.addEvent(event);
+            return null;
+        });
+    }
+
+    @Override
+    public Event getEvent(String title) throws ServiceException {
+        return read(() -> service.getEvent(title));
+    }
+
+    @Override
+    public Optional<Event> findEventByTitle(String title) throws ServiceException {
+        return read(() -> service.findEventByTitle(title));
+    }
+
+    @Override
+    public void updateEvent(Event event) throws ServiceException {
+        write(() -> {
+            service.updateEvent(event);
+            return null;
+        });
+    }
+
+    @Override
+    public void deleteEvent(String title) throws ServiceException {
+        write(() -> {
+            service.deleteEvent(title);
+            return null;
+        });
+    }
+
+    @Override
+    public void addEvents(List<Event> events) throws ServiceException {
+        write(() -> {
+            service.addEvents(events);
+            return null;
+        });
+    }
+
+    @Override
+    public void updateEvents(List<Event> events) throws ServiceException {
+        write(() -> {
+            service.updateEvents(events);
+            return null;
+        });
+    }
+
+    @Override
+    public void deleteEvents(List<String> titles) throws ServiceException {
+        write(() -> {
+            service.deleteEvents(titles);
+            return null;
+        });
+    }
+
+    @Override
+    public List<Event> getAllEvents() throws ServiceException {
+        return read(service::getAllEvents);
+    }
+
+    @Override
+    public EventPage getEventPage(String cursor, int limit) throws ServiceException {
+        return read(() -> service.getEventPage(cursor, limit));
+    }
+
+    @Override
+    public List<Event> getEventsByDateRange(LocalDate from, LocalDate to) throws ServiceException {
+        return read(() -> service.getEventsByDateRange(from, to));
+    }
+
+    @Override
+    public List<Event> getEventsOnDate(LocalDate date) throws ServiceException {
+        return read(() -> service.getEventsOnDate(date));
+    }
+
+    @Override
+    public List<Event> getEventsByOrganizer(String organizerName) throws ServiceException {
+        return read(() -> service.getEventsByOrganizer(organizerName));
+    }
+
+    @Override
+    public void forEachEvent(Predicate<Event> visitor) throws ServiceException {
+        service.forEachEvent(visitor);
+    }
+
+    @Override
+    public boolean addMutationListener(EventMutationListener listener) {
+        return service.addMutationListener(listener);
+    }
+
+    @Override
+    public void beginBatch() throws ServiceException {
+        service.beginBatch();
+    }
+
+    @Override
+    public void endBatch() throws ServiceException {
+        write(() -> {
+            service.endBatch();
+            return null;
+        });
+    }
+
+    private <T> T read(ServiceCall<T> call) throws ServiceException {
+        return measure(call, reads, readErrors);
+    }
+
+    private <T> T write(ServiceCall<T> call) throws ServiceException {
+        return measure(call, writes, writeErrors);
+    }
+
+    private static <T> T measure(ServiceCall<T> call, LatencyHistogram latency, Counter errors) throws ServiceException {
+        long start = latency.start();
+        try {
+            return call.call();
+        } catch (ServiceException | RuntimeException e) {
+            errors.increment();
+            throw e;
+        } finally {
+            latency.recordSince(start);
+        }
+    }
+
+    /**
+     * Call to the measured service.
+     */
+    @FunctionalInterface
+    private interface ServiceCall<T> {
+        T call() throws ServiceException;
+    }
+}